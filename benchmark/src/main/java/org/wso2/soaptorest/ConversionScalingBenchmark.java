@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+import org.wso2.soaptorest.utils.SyntheticWSDLGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the complete conversion of generated WSDL files that grow one dimension at a time, the same dimensions
+ * {@code ConversionScalingTest} checks the output size of. The {@code scale} parameter multiplies the grown
+ * dimension, so comparing the time and the allocation ({@code gc.alloc.rate.norm}) of scale 1 and scale 4 of a
+ * dimension shows whether the conversion grows close to linearly with it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ConversionScalingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ScalingState {
+
+        @Param({"operations", "types", "nesting", "arrays", "choice", "groups", "imports"})
+        public String dimension;
+
+        @Param({"1", "4"})
+        public int scale;
+
+        String wsdlPath;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+
+            SyntheticWSDLGenerator generator = new SyntheticWSDLGenerator();
+            switch (dimension) {
+                case "operations":
+                    generator.setOperationCount(50 * scale);
+                    generator.setTypeCount(40);
+                    break;
+                case "types":
+                    generator.setOperationCount(40);
+                    generator.setTypeCount(50 * scale);
+                    break;
+                case "nesting":
+                    generator.setOperationCount(4);
+                    generator.setTypeCount(16 * scale);
+                    generator.setNestingDepth(4 * scale);
+                    break;
+                case "arrays":
+                    generator.setOperationCount(20);
+                    generator.setTypeCount(40);
+                    generator.setArrayFanOut(4 * scale);
+                    break;
+                case "choice":
+                    generator.setOperationCount(25 * scale);
+                    generator.setTypeCount(25 * scale);
+                    generator.setChoiceDensity(0.5);
+                    break;
+                case "groups":
+                    generator.setOperationCount(25 * scale);
+                    generator.setTypeCount(25 * scale);
+                    generator.setGroupDensity(0.5);
+                    break;
+                case "imports":
+                    generator.setOperationCount(8 * scale);
+                    generator.setTypeCount(8 * scale);
+                    generator.setImportChainLength(2 * scale);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown dimension " + dimension);
+            }
+            File directory = Files.createTempDirectory("soaptorest-benchmark").toFile();
+            directory.deleteOnExit();
+            File wsdlFile = generator.generate(directory);
+            for (File file : directory.listFiles()) {
+                file.deleteOnExit();
+            }
+            wsdlPath = wsdlFile.getPath();
+        }
+    }
+
+    @Benchmark
+    public SOAPtoRESTConversionData getSOAPtoRESTConversionData(ScalingState scalingState)
+            throws SOAPToRESTException {
+
+        return SOAPToRESTConverter.getSOAPtoRESTConversionData(scalingState.wsdlPath, "Benchmark API", "1.0.0");
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+import org.wso2.soaptorest.models.WSDLInfo;
+import org.wso2.soaptorest.models.XSModel;
+import org.wso2.soaptorest.models.XSTypeRegistry;
+import org.wso2.soaptorest.utils.SOAPOperationExtractingUtil;
+import org.wso2.soaptorest.utils.SyntheticWSDLGenerator;
+
+import javax.wsdl.Definition;
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each stage of {@link SOAPToRESTConverter#getSOAPtoRESTConversionData(String, String, String)} on its own,
+ * together with the complete conversion. Every stage gets its input prepared outside the measured region, so the
+ * numbers of a stage do not include the cost of the stages before it.
+ * <p>
+ * The {@code wsdl} parameter either names a file relative to the test resources of the library (resolved through the
+ * {@code soaptorest.test.resources} system property) or has the form {@code generated:<operations>:<types>}, in which
+ * case a WSDL of that size is written with {@link SyntheticWSDLGenerator}. An optional third number,
+ * {@code generated:<operations>:<types>:<arrays>}, sets the number of array elements of every generated type.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ConversionStageBenchmark {
+
+    private static final String TEST_RESOURCES_PROPERTY = "soaptorest.test.resources";
+    private static final String DEFAULT_TEST_RESOURCES = "../src/test/resources";
+    private static final String GENERATED_PREFIX = "generated:";
+    private static final String API_TITLE = "Benchmark API";
+    private static final String API_VERSION = "1.0.0";
+
+    @State(Scope.Benchmark)
+    public static class WSDLState {
+
+        @Param({"calculator/calculator.wsdl", "complex/nested.wsdl", "complex/arrays.wsdl", "complex/groups.wsdl",
+                "complex/choice.wsdl", "generated:100:200", "generated:500:2000"})
+        public String wsdl;
+
+        String wsdlPath;
+        Definition wsdlDefinition;
+        List<XSModel> xsdDataModels;
+        XSTypeRegistry typeRegistry;
+        WSDLInfo wsdlInfo;
+        OpenAPI openAPI;
+        ConversionCache conversionCache = new ConversionCache();
+        SOAPtoRESTConversionData previousConversionData;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException, SOAPToRESTException {
+
+            wsdlPath = resolveWSDLPath(wsdl);
+            WSDLProcessor wsdlProcessor = new WSDLProcessor();
+            wsdlProcessor.init(wsdlPath);
+            wsdlDefinition = wsdlProcessor.getWsdlDefinition();
+            xsdDataModels = wsdlProcessor.xsdDataModels;
+            typeRegistry = wsdlProcessor.getTypeRegistry();
+            wsdlInfo = new SOAPOperationExtractingUtil().getWsdlInfo(wsdlDefinition);
+            openAPI = OASGenerator.generateOpenAPIFromWSDL(wsdlInfo, xsdDataModels, API_TITLE, API_VERSION);
+            previousConversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath, API_TITLE,
+                    API_VERSION, ConversionOptions.builder().conversionCache(conversionCache).componentDigests(true)
+                            .build());
+        }
+    }
+
+    /**
+     * {@link OASGenerator#generateOpenAPIFromWSDL} renames the operations of the {@link WSDLInfo} it is given, so
+     * the OAS stage needs a fresh one for every invocation. The stages it covers take milliseconds for the larger
+     * inputs, which keeps the invocation level setup overhead out of the results.
+     */
+    @State(Scope.Thread)
+    public static class OperationState {
+
+        WSDLInfo wsdlInfo;
+
+        @Setup(Level.Invocation)
+        public void setUp(WSDLState wsdlState) throws SOAPToRESTException {
+
+            wsdlInfo = new SOAPOperationExtractingUtil().getWsdlInfo(wsdlState.wsdlDefinition);
+        }
+    }
+
+    @Benchmark
+    public WSDLProcessor wsdlProcessorInit(WSDLState wsdlState) throws SOAPToRESTException {
+
+        WSDLProcessor wsdlProcessor = new WSDLProcessor();
+        wsdlProcessor.init(wsdlState.wsdlPath);
+        return wsdlProcessor;
+    }
+
+    /**
+     * Reads the WSDL and its XSD documents with the StAX based {@link StreamingWSDLLoader}, which fills the
+     * {@link WSDLInfo} and the XSD models without a DOM, to compare with {@link #wsdlProcessorInit(WSDLState)}.
+     */
+    @Benchmark
+    public StreamingWSDLLoader streamingWSDLLoaderLoad(WSDLState wsdlState)
+            throws MalformedURLException, SOAPToRESTException {
+
+        return StreamingWSDLLoader.load(new File(wsdlState.wsdlPath).toURI().toURL(), null);
+    }
+
+    @Benchmark
+    public WSDLInfo getWsdlInfo(WSDLState wsdlState) throws SOAPToRESTException {
+
+        return new SOAPOperationExtractingUtil().getWsdlInfo(wsdlState.wsdlDefinition);
+    }
+
+    @Benchmark
+    public OpenAPI generateOpenAPIFromWSDL(WSDLState wsdlState, OperationState operationState) {
+
+        return OASGenerator.generateOpenAPIFromWSDL(operationState.wsdlInfo, wsdlState.xsdDataModels, API_TITLE,
+                API_VERSION);
+    }
+
+    /**
+     * Generates the schemas of the components in parallel on the common fork join pool, to compare with the
+     * sequential {@link #generateOpenAPIFromWSDL(WSDLState, OperationState)}.
+     */
+    @Benchmark
+    public OpenAPI generateOpenAPIFromWSDLParallel(WSDLState wsdlState, OperationState operationState) {
+
+        return OASGenerator.generateOpenAPIFromWSDL(operationState.wsdlInfo, wsdlState.xsdDataModels,
+                wsdlState.typeRegistry, API_TITLE, API_VERSION, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public SOAPtoRESTConversionData generateSOAPtoRESTConversionObjectFromOAS(WSDLState wsdlState)
+            throws SOAPToRESTException {
+
+        return SOAPRequestBodyGenerator.generateSOAPtoRESTConversionObjectFromOAS(wsdlState.openAPI,
+                wsdlState.wsdlInfo.getSoapService(), wsdlState.wsdlInfo.getSoapPort());
+    }
+
+    /**
+     * Generates the SOAP payloads of the operations in parallel on the common fork join pool, to compare with the
+     * sequential {@link #generateSOAPtoRESTConversionObjectFromOAS(WSDLState)}.
+     */
+    @Benchmark
+    public SOAPtoRESTConversionData generateSOAPtoRESTConversionObjectFromOASParallel(WSDLState wsdlState)
+            throws SOAPToRESTException {
+
+        return SOAPRequestBodyGenerator.generateSOAPtoRESTConversionObjectFromOAS(wsdlState.openAPI,
+                wsdlState.wsdlInfo.getSoapService(), wsdlState.wsdlInfo.getSoapPort(), ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public SOAPtoRESTConversionData getSOAPtoRESTConversionData(WSDLState wsdlState) throws SOAPToRESTException {
+
+        return SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlState.wsdlPath, API_TITLE, API_VERSION);
+    }
+
+    /**
+     * Converts the WSDL with a {@link ConversionCache} that already has its conversion, which leaves reading and
+     * hashing the WSDL and its XSD documents.
+     */
+    @Benchmark
+    public SOAPtoRESTConversionData getSOAPtoRESTConversionDataCached(WSDLState wsdlState)
+            throws SOAPToRESTException {
+
+        return SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlState.wsdlPath, API_TITLE, API_VERSION,
+                ConversionOptions.builder().conversionCache(wsdlState.conversionCache).build());
+    }
+
+    /**
+     * Converts the WSDL incrementally from its previous conversion. Since the WSDL did not change, every schema and
+     * SOAP payload is reused, which leaves reading and modelling the WSDL and computing the digests of its
+     * definitions.
+     */
+    @Benchmark
+    public SOAPtoRESTConversionData getUpdatedSOAPtoRESTConversionData(WSDLState wsdlState)
+            throws SOAPToRESTException {
+
+        return SOAPToRESTConverter.getUpdatedSOAPtoRESTConversionData(wsdlState.previousConversionData,
+                wsdlState.wsdlPath, API_TITLE, API_VERSION, ConversionOptions.defaults());
+    }
+
+    /**
+     * Converts the WSDL modelling only the XSD definitions its operations use, to compare with
+     * {@link #getSOAPtoRESTConversionData(WSDLState)} on WSDL files with many unused types.
+     */
+    @Benchmark
+    public SOAPtoRESTConversionData getSOAPtoRESTConversionDataReachableTypes(WSDLState wsdlState)
+            throws SOAPToRESTException {
+
+        return SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlState.wsdlPath, API_TITLE, API_VERSION,
+                ConversionOptions.builder().reachableTypesOnly(true).build());
+    }
+
+    /**
+     * Converts the WSDL read with the {@link StreamingWSDLLoader}, to compare with
+     * {@link #getSOAPtoRESTConversionData(WSDLState)}.
+     */
+    @Benchmark
+    public SOAPtoRESTConversionData getSOAPtoRESTConversionDataStreaming(WSDLState wsdlState)
+            throws SOAPToRESTException {
+
+        return SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlState.wsdlPath, API_TITLE, API_VERSION,
+                ConversionOptions.builder().streaming(true).build());
+    }
+
+    static String resolveWSDLPath(String wsdl) throws IOException {
+
+        if (wsdl.startsWith(GENERATED_PREFIX)) {
+            String[] size = wsdl.substring(GENERATED_PREFIX.length()).split(":");
+            SyntheticWSDLGenerator generator = new SyntheticWSDLGenerator();
+            generator.setOperationCount(Integer.parseInt(size[0]));
+            generator.setTypeCount(Integer.parseInt(size[1]));
+            if (size.length > 2) {
+                generator.setArrayFanOut(Integer.parseInt(size[2]));
+            }
+            File directory = Files.createTempDirectory("soaptorest-benchmark").toFile();
+            directory.deleteOnExit();
+            File wsdlFile = generator.generate(directory);
+            for (File file : directory.listFiles()) {
+                file.deleteOnExit();
+            }
+            return wsdlFile.getPath();
+        }
+        File wsdlFile = new File(System.getProperty(TEST_RESOURCES_PROPERTY, DEFAULT_TEST_RESOURCES), wsdl);
+        if (!wsdlFile.isFile()) {
+            throw new IOException("Cannot find " + wsdlFile.getAbsolutePath() + ", set -D" + TEST_RESOURCES_PROPERTY
+                    + " to the src/test/resources directory of the library");
+        }
+        return wsdlFile.getPath();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+import org.wso2.soaptorest.utils.WSDLProcessingUtil;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the pooled secured document builders of {@link WSDLProcessingUtil} with creating and configuring a
+ * document builder factory for every document, which is what the request body generation did for every operation and
+ * the WSDL reading did for every parse. {@code newDocuments} creates one empty document for each of the
+ * {@code operations}, like the request bodies of a WSDL with that many operations, and {@code parse} parses the WSDL
+ * of the {@code wsdl} parameter, which is read like in {@link ConversionStageBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DocumentBuilderBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class DocumentState {
+
+        @Param({"500"})
+        public int operations;
+
+        @Param({"calculator/calculator.wsdl"})
+        public String wsdl;
+
+        byte[] wsdlContent;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+
+            wsdlContent = Files.readAllBytes(new File(ConversionStageBenchmark.resolveWSDLPath(wsdl)).toPath());
+        }
+    }
+
+    @Benchmark
+    public int newDocumentsWithFactoryPerDocument(DocumentState documentState) throws ParserConfigurationException {
+
+        int childCount = 0;
+        for (int i = 0; i < documentState.operations; i++) {
+            Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+            childCount += document.getChildNodes().getLength();
+        }
+        return childCount;
+    }
+
+    @Benchmark
+    public int newDocumentsWithPooledBuilders(DocumentState documentState) throws SOAPToRESTException {
+
+        int childCount = 0;
+        for (int i = 0; i < documentState.operations; i++) {
+            Document document = WSDLProcessingUtil.newDocument();
+            childCount += document.getChildNodes().getLength();
+        }
+        return childCount;
+    }
+
+    @Benchmark
+    public Document parseWithSecuredFactoryPerParse(DocumentState documentState)
+            throws ParserConfigurationException, IOException, SAXException {
+
+        return createSecuredFactory().newDocumentBuilder().parse(new ByteArrayInputStream(documentState.wsdlContent));
+    }
+
+    @Benchmark
+    public Document parseWithPooledSecuredBuilders(DocumentState documentState) throws SOAPToRESTException {
+
+        return WSDLProcessingUtil.getSecuredParsedDocumentFromBytes(documentState.wsdlContent, null);
+    }
+
+    /**
+     * Creates a factory with the configuration of the secured factory of {@link WSDLProcessingUtil}.
+     */
+    private static DocumentBuilderFactory createSecuredFactory() throws ParserConfigurationException {
+
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setXIncludeAware(false);
+        factory.setExpandEntityReferences(false);
+        factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+        factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+        factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        return factory;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares publishing the OpenAPI of a conversion as the string of {@link SOAPtoRESTConversionData#getOASString()},
+ * written to a stream, with streaming it through a Jackson generator and with writing its cached serialized form. The
+ * stream only counts the bytes, so the allocation rate is the one of the serialization.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OASSerializationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ConversionState {
+
+        @Param({"calculator/calculator.wsdl", "generated:500:2000"})
+        public String wsdl;
+
+        SOAPtoRESTConversionData conversionData;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException, SOAPToRESTException {
+
+            conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(
+                    ConversionStageBenchmark.resolveWSDLPath(wsdl), "Benchmark API", "1.0.0");
+        }
+    }
+
+    @Benchmark
+    public long getOASString(ConversionState conversionState) throws IOException {
+
+        CountingOutputStream outputStream = new CountingOutputStream();
+        outputStream.write(conversionState.conversionData.getOASString().getBytes(StandardCharsets.UTF_8));
+        return outputStream.count;
+    }
+
+    @Benchmark
+    public long writeOAS(ConversionState conversionState) throws SOAPToRESTException {
+
+        CountingOutputStream outputStream = new CountingOutputStream();
+        conversionState.conversionData.writeOAS(outputStream, SOAPtoRESTConversionData.OASFormat.YAML);
+        return outputStream.count;
+    }
+
+    @Benchmark
+    public long writeSerializedOAS(ConversionState conversionState) throws SOAPToRESTException {
+
+        CountingOutputStream outputStream = new CountingOutputStream();
+        conversionState.conversionData.writeSerializedOAS(outputStream, SOAPtoRESTConversionData.OASFormat.YAML);
+        return outputStream.count;
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        long count;
+
+        @Override
+        public void write(int b) {
+
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+
+            count += len;
+        }
+    }
+}
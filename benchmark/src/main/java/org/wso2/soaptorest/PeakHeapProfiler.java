@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reports the peak heap of every iteration. {@code heap.peak} is the sum of the peak usage of the heap memory pools,
+ * which includes garbage that was not collected yet, and {@code heap.peak.live} is the largest heap usage left after a
+ * garbage collection during the iteration, which is close to the memory the benchmark keeps reachable at once. The
+ * second one is only reported when a collection ran during the iteration, so a small young generation (for example
+ * {@code -jvmArgsAppend -Xmn16m}) makes it more precise.
+ */
+public class PeakHeapProfiler implements InternalProfiler, NotificationListener {
+
+    private static final double BYTES_PER_MB = 1024 * 1024;
+
+    private final List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+    private final Set<String> heapPoolNames = new HashSet<>();
+    private final AtomicLong peakLiveHeap = new AtomicLong(-1);
+
+    public PeakHeapProfiler() {
+
+        for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (memoryPool.getType() == MemoryType.HEAP) {
+                heapPools.add(memoryPool);
+                heapPoolNames.add(memoryPool.getName());
+            }
+        }
+    }
+
+    @Override
+    public String getDescription() {
+
+        return "Peak heap usage of every iteration";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+
+        peakLiveHeap.set(-1);
+        for (GarbageCollectorMXBean garbageCollector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (garbageCollector instanceof NotificationEmitter) {
+                ((NotificationEmitter) garbageCollector).addNotificationListener(this, null, null);
+            }
+        }
+        for (MemoryPoolMXBean memoryPool : heapPools) {
+            memoryPool.resetPeakUsage();
+        }
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams,
+                                                       IterationParams iterationParams, IterationResult result) {
+
+        long peakHeap = 0;
+        for (MemoryPoolMXBean memoryPool : heapPools) {
+            peakHeap += memoryPool.getPeakUsage().getUsed();
+        }
+        for (GarbageCollectorMXBean garbageCollector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (garbageCollector instanceof NotificationEmitter) {
+                try {
+                    ((NotificationEmitter) garbageCollector).removeNotificationListener(this);
+                } catch (ListenerNotFoundException e) {
+                    // Not registered on this collector
+                }
+            }
+        }
+        List<Result> results = new ArrayList<>();
+        results.add(new ScalarResult("heap.peak", peakHeap / BYTES_PER_MB, "MB", AggregationPolicy.MAX));
+        if (peakLiveHeap.get() >= 0) {
+            results.add(new ScalarResult("heap.peak.live", peakLiveHeap.get() / BYTES_PER_MB, "MB",
+                    AggregationPolicy.MAX));
+        }
+        return results;
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from(
+                (CompositeData) notification.getUserData());
+        long liveHeap = 0;
+        for (Map.Entry<String, MemoryUsage> usageEntry : info.getGcInfo().getMemoryUsageAfterGc()
+                .entrySet()) {
+            if (heapPoolNames.contains(usageEntry.getKey())) {
+                liveHeap += usageEntry.getValue().getUsed();
+            }
+        }
+        peakLiveHeap.accumulateAndGet(liveHeap, Math::max);
+    }
+}
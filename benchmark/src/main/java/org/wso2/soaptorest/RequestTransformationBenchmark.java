@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import freemarker.template.TemplateException;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+import org.wso2.soaptorest.models.SOAPRequestElement;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+import org.wso2.soaptorest.runtime.FreeMarkerRequestTemplate;
+import org.wso2.soaptorest.runtime.SOAPRequestTransformer;
+import org.wso2.soaptorest.runtime.SampleRequestGenerator;
+
+import javax.xml.transform.TransformerException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the runtime transformation of JSON requests into SOAP requests with a {@link SOAPRequestTransformer}
+ * against rendering the FreeMarker template of the same request body. Every invocation transforms one complete JSON
+ * request for each operation of the WSDL, so the score is the number of times all the operations are called per
+ * second. The {@code wsdl} parameter is read like in {@link ConversionStageBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RequestTransformationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class RequestState {
+
+        @Param({"complex/nested.wsdl", "complex/arrays.wsdl", "generated:100:200"})
+        public String wsdl;
+
+        List<SOAPRequestTransformer> transformers = new ArrayList<>();
+        List<FreeMarkerRequestTemplate> templates = new ArrayList<>();
+        List<byte[]> payloads = new ArrayList<>();
+        List<Map<String, String>> uriVariables = new ArrayList<>();
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException, SOAPToRESTException, TransformerException {
+
+            SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(
+                    ConversionStageBenchmark.resolveWSDLPath(wsdl), "Benchmark API", "1.0.0");
+            Map<String, SOAPRequestElement> requestBodies = new HashMap<>();
+            for (Map.Entry<String, SOAPRequestElement> entry : conversionData.getAllSOAPRequestBodies()) {
+                requestBodies.put(entry.getKey(), entry.getValue());
+            }
+            Map<String, List<String>> jsonPaths = SampleRequestGenerator.getRequestJSONPaths(
+                    conversionData.getOpenAPI());
+            SampleRequestGenerator generator = new SampleRequestGenerator(null, 0);
+            for (PathItem pathItem : conversionData.getOpenAPI().getPaths().values()) {
+                for (Operation operation : pathItem.readOperations()) {
+                    SOAPRequestElement requestBody = requestBodies.get(operation.getOperationId());
+                    transformers.add(SOAPRequestTransformer.compile(requestBody));
+                    templates.add(new FreeMarkerRequestTemplate(requestBody));
+                    List<String> operationJSONPaths = jsonPaths.get(operation.getOperationId());
+                    payloads.add(operationJSONPaths != null ? generator.generate(operationJSONPaths) : null);
+                    uriVariables.add(SampleRequestGenerator.generateURIVariables(operation));
+                }
+            }
+        }
+    }
+
+    /**
+     * Output buffer of a benchmark thread, reused for every request.
+     */
+    @State(Scope.Thread)
+    public static class OutputState {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(16 * 1024);
+    }
+
+    @Benchmark
+    public int freeMarkerTemplate(RequestState requestState, OutputState outputState)
+            throws IOException, TemplateException {
+
+        int size = 0;
+        for (int i = 0; i < requestState.templates.size(); i++) {
+            outputState.outputStream.reset();
+            requestState.templates.get(i).process(toInputStream(requestState.payloads.get(i)),
+                    requestState.uriVariables.get(i), outputState.outputStream);
+            size += outputState.outputStream.size();
+        }
+        return size;
+    }
+
+    @Benchmark
+    public int soapRequestTransformer(RequestState requestState, OutputState outputState)
+            throws SOAPToRESTException {
+
+        int size = 0;
+        for (int i = 0; i < requestState.transformers.size(); i++) {
+            outputState.outputStream.reset();
+            requestState.transformers.get(i).transform(toInputStream(requestState.payloads.get(i)),
+                    requestState.uriVariables.get(i), outputState.outputStream);
+            size += outputState.outputStream.size();
+        }
+        return size;
+    }
+
+    private static ByteArrayInputStream toInputStream(byte[] payload) {
+
+        return payload != null ? new ByteArrayInputStream(payload) : null;
+    }
+}
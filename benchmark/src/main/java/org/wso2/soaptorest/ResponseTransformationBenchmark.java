@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Schema;
+import org.json.XML;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+import org.wso2.soaptorest.runtime.SOAPResponseTransformer;
+import org.wso2.soaptorest.runtime.SampleResponseGenerator;
+import org.wso2.soaptorest.utils.SOAPToRESTConstants;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the runtime transformation of SOAP responses into JSON responses with a {@link SOAPResponseTransformer}
+ * against reading the whole response and converting it with {@code org.json.XML}, which builds the JSON tree in memory
+ * and guesses the types from the values. Every invocation transforms one response for each operation of the WSDL, with
+ * {@code arraySize} items in every array. The {@code wsdl} parameter is read like in
+ * {@link ConversionStageBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ResponseTransformationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ResponseState {
+
+        @Param({"complex/nested.wsdl", "generated:100:200:2"})
+        public String wsdl;
+
+        @Param({"2", "50"})
+        public int arraySize;
+
+        List<SOAPResponseTransformer> transformers = new ArrayList<>();
+        List<byte[]> responses = new ArrayList<>();
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException, SOAPToRESTException, XMLStreamException {
+
+            SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(
+                    ConversionStageBenchmark.resolveWSDLPath(wsdl), "Benchmark API", "1.0.0");
+            Map<String, Schema> components = conversionData.getOpenAPI().getComponents().getSchemas();
+            Map<String, SOAPResponseTransformer> compiledTransformers =
+                    SOAPResponseTransformer.compile(conversionData);
+            SampleResponseGenerator generator = new SampleResponseGenerator(arraySize);
+            for (PathItem pathItem : conversionData.getOpenAPI().getPaths().values()) {
+                for (Operation operation : pathItem.readOperations()) {
+                    Schema<?> schema = operation.getResponses().getDefault().getContent()
+                            .get(SOAPToRESTConstants.DEFAULT_CONTENT_TYPE).getSchema();
+                    transformers.add(compiledTransformers.get(operation.getOperationId()));
+                    responses.add(SampleResponseGenerator.toSOAPMessage(generator.generate(schema, components),
+                            null).getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+    }
+
+    /**
+     * Output buffer of a benchmark thread, reused for every response.
+     */
+    @State(Scope.Thread)
+    public static class OutputState {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(64 * 1024);
+    }
+
+    @Benchmark
+    public int orgJsonXML(ResponseState responseState, OutputState outputState) throws IOException {
+
+        int size = 0;
+        for (byte[] response : responseState.responses) {
+            outputState.outputStream.reset();
+            String soapResponse = readFully(new ByteArrayInputStream(response));
+            Writer writer = new OutputStreamWriter(outputState.outputStream, StandardCharsets.UTF_8);
+            XML.toJSONObject(soapResponse).write(writer);
+            writer.flush();
+            size += outputState.outputStream.size();
+        }
+        return size;
+    }
+
+    @Benchmark
+    public int soapResponseTransformer(ResponseState responseState, OutputState outputState)
+            throws SOAPToRESTException {
+
+        int size = 0;
+        for (int i = 0; i < responseState.transformers.size(); i++) {
+            outputState.outputStream.reset();
+            responseState.transformers.get(i).transform(new ByteArrayInputStream(responseState.responses.get(i)),
+                    outputState.outputStream);
+            size += outputState.outputStream.size();
+        }
+        return size;
+    }
+
+    private static String readFully(InputStream inputStream) throws IOException {
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = inputStream.read(chunk)) != -1) {
+            buffer.write(chunk, 0, read);
+        }
+        return buffer.toString(StandardCharsets.UTF_8.name());
+    }
+}
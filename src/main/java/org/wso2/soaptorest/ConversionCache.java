@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import org.apache.ws.commons.schema.XmlSchema;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+import org.wso2.soaptorest.models.XSModel;
+import org.wso2.soaptorest.utils.ConversionDataCopier;
+import org.wso2.soaptorest.utils.WSDLContentDigest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content addressed cache of WSDL conversions, which is set in the {@link ConversionOptions} of the conversions that
+ * share it.
+ * <p>
+ * Conversions are keyed by the {@link WSDLContentDigest} of the WSDL and all the XSD documents it refers to, together
+ * with the title and version of the API, so a WSDL is converted again as soon as any of its documents changes. The
+ * cache keeps two levels, each with its own least recently used eviction and hit and miss counters:
+ * <ul>
+ * <li>the {@link SOAPtoRESTConversionData} of a conversion, a copy of which is returned for identical inputs</li>
+ * <li>the {@link XmlSchema} and the {@link XSModel} of every schema, keyed by the hash of the XSD document it is read
+ * from, so that WSDLs that share XSD documents read each of them once</li>
+ * </ul>
+ * The cache keeps a private copy of every conversion it is given and returns a new copy on every hit, made by a
+ * {@link ConversionDataCopier}, so callers can change the results they get. The schemas and their models are only read
+ * by the conversions, and are shared by all the conversions that hit them. A cache can be used by any number of threads
+ * at the same time.
+ */
+public class ConversionCache {
+
+    public static final int DEFAULT_MAX_CONVERSIONS = 64;
+    public static final int DEFAULT_MAX_SCHEMAS = 1024;
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final LRUStore<SOAPtoRESTConversionData> conversions;
+    private final LRUStore<SchemaEntry> schemas;
+
+    public ConversionCache() {
+
+        this(DEFAULT_MAX_CONVERSIONS, DEFAULT_MAX_SCHEMAS);
+    }
+
+    /**
+     * @param maxConversions maximum number of conversion results kept in the cache
+     * @param maxSchemas     maximum number of schemas kept in the cache
+     */
+    public ConversionCache(int maxConversions, int maxSchemas) {
+
+        if (maxConversions < 1 || maxSchemas < 1) {
+            throw new IllegalArgumentException("The cache must be able to keep at least one conversion and schema");
+        }
+        this.conversions = new LRUStore<>(maxConversions);
+        this.schemas = new LRUStore<>(maxSchemas);
+    }
+
+    /**
+     * @return number of conversions that were returned from the cache
+     */
+    public long getConversionHitCount() {
+
+        return conversions.hitCount.get();
+    }
+
+    /**
+     * @return number of conversions that were not found in the cache
+     */
+    public long getConversionMissCount() {
+
+        return conversions.missCount.get();
+    }
+
+    /**
+     * @return number of schemas, with their XSD model, that were taken from the cache
+     */
+    public long getSchemaHitCount() {
+
+        return schemas.hitCount.get();
+    }
+
+    /**
+     * @return number of schemas that were not found in the cache
+     */
+    public long getSchemaMissCount() {
+
+        return schemas.missCount.get();
+    }
+
+    /**
+     * @return number of conversion results in the cache
+     */
+    public int getConversionCount() {
+
+        return conversions.size();
+    }
+
+    /**
+     * @return number of schemas in the cache
+     */
+    public int getSchemaCount() {
+
+        return schemas.size();
+    }
+
+    /**
+     * Removes all the cached conversions and schemas. The counters are kept.
+     */
+    public void clear() {
+
+        conversions.clear();
+        schemas.clear();
+    }
+
+    static String getConversionKey(WSDLContentDigest contentDigest, String apiTitle, String apiVersion,
+                                   boolean reachableTypesOnly, boolean sharedInlineTypes, boolean componentDigests) {
+
+        return contentDigest.getDigest() + KEY_SEPARATOR + apiTitle + KEY_SEPARATOR + apiVersion + KEY_SEPARATOR +
+                reachableTypesOnly + KEY_SEPARATOR + sharedInlineTypes + KEY_SEPARATOR + componentDigests;
+    }
+
+    SOAPtoRESTConversionData getConversion(String conversionKey) {
+
+        SOAPtoRESTConversionData conversionData = conversions.get(conversionKey);
+        return conversionData != null ? ConversionDataCopier.copy(conversionData) : null;
+    }
+
+    void putConversion(String conversionKey, SOAPtoRESTConversionData conversionData) {
+
+        conversions.put(conversionKey, ConversionDataCopier.copy(conversionData));
+    }
+
+    SchemaEntry getSchema(String schemaKey) {
+
+        return schemas.get(schemaKey);
+    }
+
+    void putSchema(String schemaKey, SchemaEntry schemaEntry) {
+
+        schemas.put(schemaKey, schemaEntry);
+    }
+
+    /**
+     * A schema read from a WSDL or XSD document together with the XSD model built from it. A conversion that models
+     * only the definitions its operations use leaves the model out, and the next conversion that needs it adds it.
+     */
+    static final class SchemaEntry {
+
+        final XmlSchema xmlSchema;
+        final XSModel xsModel;
+
+        SchemaEntry(XmlSchema xmlSchema, XSModel xsModel) {
+
+            this.xmlSchema = xmlSchema;
+            this.xsModel = xsModel;
+        }
+    }
+
+    /**
+     * Size bounded map in access order, which evicts the least recently used entry when it is full.
+     */
+    private static final class LRUStore<V> {
+
+        private final Map<String, V> entries;
+        private final AtomicLong hitCount = new AtomicLong();
+        private final AtomicLong missCount = new AtomicLong();
+
+        LRUStore(final int maxEntries) {
+
+            this.entries = new LinkedHashMap<String, V>(16, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        V get(String key) {
+
+            V value;
+            synchronized (entries) {
+                value = entries.get(key);
+            }
+            if (value != null) {
+                hitCount.incrementAndGet();
+            } else {
+                missCount.incrementAndGet();
+            }
+            return value;
+        }
+
+        void put(String key, V value) {
+
+            synchronized (entries) {
+                entries.put(key, value);
+            }
+        }
+
+        int size() {
+
+            synchronized (entries) {
+                return entries.size();
+            }
+        }
+
+        void clear() {
+
+            synchronized (entries) {
+                entries.clear();
+            }
+        }
+    }
+}
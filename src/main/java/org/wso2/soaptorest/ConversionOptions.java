@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import org.wso2.soaptorest.utils.ImportResolver;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Options of a conversion of {@link SOAPToRESTConverter}, which are created with a {@link Builder}. The options that
+ * are not set convert the WSDL like {@link SOAPToRESTConverter#getSOAPtoRESTConversionData(String, String, String)}.
+ * Options are immutable and can be shared by any number of conversions at the same time.
+ */
+public final class ConversionOptions {
+
+    private static final ConversionOptions DEFAULT_OPTIONS = builder().build();
+
+    private final ExecutorService executorService;
+    private final ConversionCache conversionCache;
+    private final boolean reachableTypesOnly;
+    private final boolean streaming;
+    private final ImportResolver importResolver;
+    private final boolean sharedInlineTypes;
+    private final boolean componentDigests;
+
+    private ConversionOptions(Builder builder) {
+
+        this.executorService = builder.executorService;
+        this.conversionCache = builder.conversionCache;
+        this.reachableTypesOnly = builder.reachableTypesOnly;
+        this.streaming = builder.streaming;
+        this.importResolver = builder.importResolver;
+        this.sharedInlineTypes = builder.sharedInlineTypes;
+        this.componentDigests = builder.componentDigests;
+    }
+
+    /**
+     * @return a builder of options with all the options unset
+     */
+    public static Builder builder() {
+
+        return new Builder();
+    }
+
+    /**
+     * @return the options with all the options unset
+     */
+    public static ConversionOptions defaults() {
+
+        return DEFAULT_OPTIONS;
+    }
+
+    /**
+     * @return the executor that generates the SOAP payloads, or null to generate them in the calling thread
+     */
+    public ExecutorService getExecutorService() {
+
+        return executorService;
+    }
+
+    /**
+     * @return the cache of the conversions, or null to convert the WSDL without a cache
+     */
+    public ConversionCache getConversionCache() {
+
+        return conversionCache;
+    }
+
+    /**
+     * @return true to leave out the elements, types and groups that the input and output messages of the operations do
+     * not reach
+     */
+    public boolean isReachableTypesOnly() {
+
+        return reachableTypesOnly;
+    }
+
+    /**
+     * @return true to read the WSDL with the streaming loader when it supports the WSDL
+     */
+    public boolean isStreaming() {
+
+        return streaming;
+    }
+
+    /**
+     * @return the resolver that fetches the documents of the WSDL, or null to fetch them one after another while the
+     * WSDL is read
+     */
+    public ImportResolver getImportResolver() {
+
+        return importResolver;
+    }
+
+    /**
+     * @return true to generate a shared component for the inline types with the same structure
+     */
+    public boolean isSharedInlineTypes() {
+
+        return sharedInlineTypes;
+    }
+
+    /**
+     * @return true to keep the digests of the XSD definitions of the components with the result of the conversion
+     */
+    public boolean isComponentDigests() {
+
+        return componentDigests;
+    }
+
+    /**
+     * Builder of {@link ConversionOptions}. A builder is not thread safe.
+     */
+    public static final class Builder {
+
+        private ExecutorService executorService;
+        private ConversionCache conversionCache;
+        private boolean reachableTypesOnly;
+        private boolean streaming;
+        private ImportResolver importResolver;
+        private boolean sharedInlineTypes;
+        private boolean componentDigests;
+
+        private Builder() {
+
+        }
+
+        /**
+         * Generates the SOAP payloads of the operations in parallel on the given executor. When the executor is a
+         * {@link java.util.concurrent.ForkJoinPool}, the schemas of the components of the OpenAPI are generated on it
+         * in parallel as well.
+         *
+         * @param executorService executor that generates the SOAP payloads, or null to generate them in the calling
+         *                        thread
+         */
+        public Builder executorService(ExecutorService executorService) {
+
+            this.executorService = executorService;
+            return this;
+        }
+
+        /**
+         * Reuses the result of an earlier conversion of the same content from the given cache. The WSDL and the XSD
+         * documents it refers to are read on every conversion to compute their content hash.
+         *
+         * @param conversionCache cache of the conversions, or null to convert the WSDL without a cache
+         */
+        public Builder conversionCache(ConversionCache conversionCache) {
+
+            this.conversionCache = conversionCache;
+            return this;
+        }
+
+        /**
+         * Models and generates schemas for only the XSD definitions that the operations use.
+         *
+         * @param reachableTypesOnly true to leave out the elements, types and groups that the input and output messages
+         *                           of the operations do not reach
+         */
+        public Builder reachableTypesOnly(boolean reachableTypesOnly) {
+
+            this.reachableTypesOnly = reachableTypesOnly;
+            return this;
+        }
+
+        /**
+         * Reads the WSDL and its XSD documents with the streaming loader. The streaming loader builds the operations
+         * and the data models of the schemas without keeping DOM trees of the documents in memory. A WSDL it does not
+         * support, such as one that imports other WSDL documents, is read with the DOM based processor instead, and
+         * the schemas are not taken from or added to the schema cache of the conversion cache. A WSDL it supports but
+         * cannot convert fails the conversion.
+         *
+         * @param streaming true to read the WSDL with the streaming loader when it supports the WSDL
+         */
+        public Builder streaming(boolean streaming) {
+
+            this.streaming = streaming;
+            return this;
+        }
+
+        /**
+         * Fetches the XSD documents the WSDL refers to with the given import resolver. The resolver fetches the
+         * documents of the import graph in parallel before the WSDL is read, with a timeout for every fetch and a
+         * deadline for the conversion. A resolver that resolves WSDL imports also fetches the WSDL documents the WSDL
+         * imports, and their bindings, messages and schemas are converted with the WSDL.
+         *
+         * @param importResolver resolver that fetches the documents of the WSDL, or null to fetch them one after
+         *                       another while the WSDL is read, without timeouts
+         */
+        public Builder importResolver(ImportResolver importResolver) {
+
+            this.importResolver = importResolver;
+            return this;
+        }
+
+        /**
+         * Shares the anonymous complex types of local elements that have the same structure. Each structure that
+         * occurs more than once becomes a single component, named after the first element that has it with the
+         * suffix {@code _inlineType}, and the elements refer to that component instead of repeating the schema. The
+         * SOAP payloads are the same as without sharing.
+         *
+         * @param sharedInlineTypes true to generate a shared component for the inline types with the same structure
+         */
+        public Builder sharedInlineTypes(boolean sharedInlineTypes) {
+
+            this.sharedInlineTypes = sharedInlineTypes;
+            return this;
+        }
+
+        /**
+         * Computes the digests of the XSD definitions of the components while their schemas are generated, and keeps
+         * them with the result, so that the result can be the previous conversion data of
+         * {@link SOAPToRESTConverter#getUpdatedSOAPtoRESTConversionData}. Only the digests are kept with the result,
+         * not the models they are computed from. An incremental conversion always computes the digests of its result.
+         *
+         * @param componentDigests true to keep the digests of the XSD definitions of the components with the result
+         *                         of the conversion
+         */
+        public Builder componentDigests(boolean componentDigests) {
+
+            this.componentDigests = componentDigests;
+            return this;
+        }
+
+        public ConversionOptions build() {
+
+            return new ConversionOptions(this);
+        }
+    }
+}
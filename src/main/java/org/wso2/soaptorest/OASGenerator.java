@@ -27,18 +27,30 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.soaptorest.models.*;
+import org.wso2.soaptorest.utils.ConversionDataCopier;
 import org.wso2.soaptorest.utils.SOAPToRESTConstants;
 
 import javax.xml.namespace.QName;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class OASGenerator {
 
     static Logger log = LoggerFactory.getLogger(OASGenerator.class);
+    // Number of component schemas below which a parallel generation generates the schemas in a single task
+    private static final int COMPONENT_SCHEMAS_PER_TASK = 64;
+    private static final String DIGEST_ALGORITHM = "SHA-256";
 
     /**
      * Generate the swagger from the WSDL info
@@ -49,6 +61,67 @@ public class OASGenerator {
     public static OpenAPI generateOpenAPIFromWSDL(WSDLInfo wsdlInfo, List<XSModel> xsModel, String APITitle,
                                                   String APIVersion) {
 
+        return generateOpenAPIFromWSDL(wsdlInfo, xsModel, new XSTypeRegistry(xsModel), APITitle, APIVersion);
+    }
+
+    /**
+     * Generate the swagger from the WSDL info, resolving the references between the XSD definitions through the given
+     * registry of the XSD models
+     *
+     * @param wsdlInfo     WSDLInfo object which has parsed WSDL data
+     * @param xsModel      XSD models of the schemas of the WSDL
+     * @param typeRegistry registry of the definitions in the XSD models
+     * @return Generated the swagger from the WSDL info
+     */
+    public static OpenAPI generateOpenAPIFromWSDL(WSDLInfo wsdlInfo, List<XSModel> xsModel,
+                                                  XSTypeRegistry typeRegistry, String APITitle, String APIVersion) {
+
+        return generateOpenAPIFromWSDL(wsdlInfo, xsModel, typeRegistry, APITitle, APIVersion, null);
+    }
+
+    /**
+     * Generate the swagger from the WSDL info like
+     * {@link #generateOpenAPIFromWSDL(WSDLInfo, List, XSTypeRegistry, String, String)}, generating the schemas of the
+     * components on the given pool. The schema of every data type, group and global element only reads the immutable
+     * XSD models and the registry, so the schemas are generated in parallel and added to the components in the order
+     * of a sequential generation, which gives the same OpenAPI.
+     *
+     * @param wsdlInfo     WSDLInfo object which has parsed WSDL data
+     * @param xsModel      XSD models of the schemas of the WSDL
+     * @param typeRegistry registry of the definitions in the XSD models
+     * @param forkJoinPool pool that generates the schemas of the components, or null to generate them in the calling
+     *                     thread
+     * @return Generated the swagger from the WSDL info
+     */
+    public static OpenAPI generateOpenAPIFromWSDL(WSDLInfo wsdlInfo, List<XSModel> xsModel,
+                                                  XSTypeRegistry typeRegistry, String APITitle, String APIVersion,
+                                                  ForkJoinPool forkJoinPool) {
+
+        return generateOpenAPIFromWSDL(wsdlInfo, xsModel, typeRegistry, APITitle, APIVersion, forkJoinPool, null,
+                null);
+    }
+
+    /**
+     * Generate the swagger from the WSDL info like
+     * {@link #generateOpenAPIFromWSDL(WSDLInfo, List, XSTypeRegistry, String, String, ForkJoinPool)}, computing the
+     * digest of the definition of every component. A definition whose digest is the digest of the component of the
+     * same name in the previous conversion is not generated again, its schema is copied from the previous OpenAPI.
+     *
+     * @param wsdlInfo               WSDLInfo object which has parsed WSDL data
+     * @param xsModel                XSD models of the schemas of the WSDL
+     * @param typeRegistry           registry of the definitions in the XSD models
+     * @param forkJoinPool           pool that generates the schemas of the components, or null to generate them in
+     *                               the calling thread
+     * @param componentDigests       map the digests of the definitions are put to by the names of their components,
+     *                               or null to generate all the schemas without computing digests
+     * @param previousConversionData earlier conversion whose schemas are reused, or null to generate all the schemas
+     * @return Generated the swagger from the WSDL info
+     */
+    static OpenAPI generateOpenAPIFromWSDL(WSDLInfo wsdlInfo, List<XSModel> xsModel, XSTypeRegistry typeRegistry,
+                                           String APITitle, String APIVersion, ForkJoinPool forkJoinPool,
+                                           Map<String, String> componentDigests,
+                                           SOAPtoRESTConversionData previousConversionData) {
+
         Set<WSDLSOAPOperation> operations;
         operations = wsdlInfo.getSoapBindingOperations();
         populateSoapOperationParameters(operations);
@@ -62,13 +135,12 @@ public class OASGenerator {
             if (operation.getInputParameterModel() != null) {
                 for (WSDLParameter inputQName : operation.getInputParameterModel()) {
                     if (inputQName.getMessageType() == WSDLParameter.MessageType.TYPE) {
-                        Schema<?> inputProp = getDataTypesSchema(inputQName.getQName());
+                        Schema<?> inputProp = getDataTypesSchema(inputQName.getQName(), typeRegistry);
                         inputModelSchema.addProperties("parameter", inputProp);
                     } else {
                         Schema<?> inputRefProp = new Schema<>();
                         inputRefProp.setName(inputQName.getQName().getLocalPart().replaceAll("\\s+", ""));
-                        inputRefProp.set$ref(SOAPToRESTConstants.OAS_DEFINITIONS_ROOT_ELEMENT_PATH + inputQName.
-                                getQName().getLocalPart());
+                        inputRefProp.set$ref(getRootElementReference(inputQName.getQName(), typeRegistry));
                         inputModelSchema.addProperties(inputQName.getQName().getLocalPart(), inputRefProp);
                     }
                 }
@@ -92,13 +164,12 @@ public class OASGenerator {
             if (operation.getOutputParameterModel() != null) {
                 for (WSDLParameter outputParamQName : operation.getOutputParameterModel()) {
                     if (outputParamQName.getMessageType() == WSDLParameter.MessageType.TYPE) {
-                        Schema<?> outputProp = getDataTypesSchema(outputParamQName.getQName());
+                        Schema<?> outputProp = getDataTypesSchema(outputParamQName.getQName(), typeRegistry);
                         outputModelSchema.addProperties("parameter", outputProp);
                     } else {
                         Schema<?> outputRefProp = new Schema<>();
                         outputRefProp.setName(SOAPToRESTConstants.OAS_DEFINITIONS_ROOT_ELEMENT_PATH + outputParamQName.getQName().getLocalPart().replaceAll("\\s+", ""));
-                        outputRefProp.set$ref(
-                                SOAPToRESTConstants.OAS_DEFINITIONS_ROOT_ELEMENT_PATH + outputParamQName.getQName().getLocalPart());
+                        outputRefProp.set$ref(getRootElementReference(outputParamQName.getQName(), typeRegistry));
                         outputModelSchema.addProperties(outputParamQName.getQName().getLocalPart(), outputRefProp);
                     }
                 }
@@ -144,7 +215,8 @@ public class OASGenerator {
         info.setTitle(APITitle != null ? APITitle : SOAPToRESTConstants.EMPTY_STRING);
         info.setVersion(APIVersion != null ? APIVersion : SOAPToRESTConstants.EMPTY_STRING);
         openAPI.info(info);
-        openAPI.setComponents(generateOASSchemas(xsModel));
+        openAPI.setComponents(generateOASSchemas(xsModel, typeRegistry, forkJoinPool, componentDigests,
+                previousConversionData));
 
         return openAPI;
 
@@ -175,43 +247,77 @@ public class OASGenerator {
         }
     }
 
-    private static Components generateOASSchemas(List<XSModel> xsModelList) {
-
+    private static Components generateOASSchemas(List<XSModel> xsModelList, XSTypeRegistry typeRegistry,
+                                                 ForkJoinPool forkJoinPool, Map<String, String> componentDigests,
+                                                 SOAPtoRESTConversionData previousConversionData) {
+
+        List<ComponentDefinition> definitions = getComponentDefinitions(xsModelList, typeRegistry);
+        Schema<?>[] schemas = new Schema<?>[definitions.size()];
+        String[] digests = componentDigests != null ? new String[definitions.size()] : null;
+        ComponentSchemaGeneration generation = new ComponentSchemaGeneration(definitions, typeRegistry, schemas,
+                digests, new PreviousComponents(previousConversionData), 0, schemas.length);
+        if (forkJoinPool != null && schemas.length > COMPONENT_SCHEMAS_PER_TASK) {
+            forkJoinPool.invoke(generation);
+        } else {
+            generation.generateSchemas();
+        }
         Components components = new Components();
+        for (int i = 0; i < schemas.length; i++) {
+            components.addSchemas(schemas[i].getName(), schemas[i]);
+            if (digests != null) {
+                // A later definition of the same name replaces the schema of the component, and its digest as well
+                componentDigests.put(schemas[i].getName(), digests[i]);
+            }
+        }
+        return components;
+    }
+
+    /**
+     * Returns the data types, groups and root elements of every model, followed by the shared inline types, in the
+     * order their schemas are added to the components.
+     */
+    private static List<ComponentDefinition> getComponentDefinitions(List<XSModel> xsModelList,
+                                                                     XSTypeRegistry typeRegistry) {
 
+        List<ComponentDefinition> definitions = new ArrayList<>();
         for (XSModel xsModel : xsModelList) {
-            List<XSDataType> xsDataTypeList = xsModel.getXsDataTypes();
-            for (XSDataType xsDataType : xsDataTypeList) {
-                Schema<?> schema = getSchemaForXSDataType(xsDataType, null, xsModel.isElementFormDefaultQualified());
-                components.addSchemas(schema.getName(), schema);
+            for (XSDataType xsDataType : xsModel.getXsDataTypes()) {
+                definitions.add(new DataTypeDefinition(xsDataType, xsModel));
             }
-            List<XSGroup> xsDataGroupList = xsModel.getGroups();
-            for (XSGroup xsGroup : xsDataGroupList) {
-                Schema<?> schema = new ObjectSchema();
-                schema.setName(xsGroup.getName().getLocalPart());
-                processXSGroup(xsGroup, schema, xsModel.isElementFormDefaultQualified());
-                components.addSchemas(schema.getName(), schema);
+            for (XSGroup xsGroup : xsModel.getGroups()) {
+                definitions.add(new GroupDefinition(xsGroup, xsModel));
             }
+            for (XSElement xsElement : xsModel.getElements()) {
+                definitions.add(new ElementDefinition(xsElement, xsModel));
+            }
+        }
+        for (XSDataType sharedInlineType : typeRegistry.getSharedInlineTypes()) {
+            definitions.add(new DataTypeDefinition(sharedInlineType,
+                    typeRegistry.getSharedInlineTypeModel(sharedInlineType)));
+        }
+        return definitions;
+    }
 
-            if (xsModel.getElements().size() > 0) {
-                //Process the elements defined in the root XSD and add 'rootElement_' prefix to identify uniquely
-                for (XSElement xsElement : xsModel.getElements()) {
-                    Schema<?> schema = getSchemaForXSElement(xsElement, xsModel.isElementFormDefaultQualified());
-                    schema.setName("rootElement_" + xsElement.getName().getLocalPart().replaceAll("\\s+", ""));
-                    schema.setType("object");
-                    components.addSchemas(schema.getName(), schema);
-
-                }
+    private static MessageDigest createMessageDigest() {
 
-            }
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(DIGEST_ALGORITHM + " is not supported", e);
         }
-        return components;
     }
 
-    private static Schema<?> getSchemaForXSDataType(XSDataType xsDataType, String parentName, boolean isElementFormDefaultQualified) {
+    private static Schema<?> getSchemaForXSDataType(XSDataType xsDataType, String parentName,
+                                                    boolean isElementFormDefaultQualified,
+                                                    XSTypeRegistry typeRegistry) {
         String schemaName;
         Schema<?> schema;
-        if (xsDataType.getName() != null) {
+        String componentName = xsDataType.getName() != null ?
+                typeRegistry.getTypeComponentName(xsDataType.getName()) : null;
+        if (componentName != null) {
+            schemaName = componentName;
+        } else if (xsDataType.getName() != null) {
             schemaName = xsDataType.getName().getLocalPart().replaceAll("\\s+", "");
         } else if (parentName != null) {
             schemaName = parentName;
@@ -226,7 +332,8 @@ public class OASGenerator {
             schema = new ObjectSchema();
             schema.setName(schemaName);
             if (xsDataType.getExtensionBase() != null) {
-                schema.addProperties(SOAPToRESTConstants.EXTENSION_NAME, getDataTypesSchema(xsDataType.getExtensionBase()));
+                schema.addProperties(SOAPToRESTConstants.EXTENSION_NAME, getDataTypesSchema(xsDataType.getExtensionBase(),
+                        typeRegistry));
                 Map<String, Object> extensionStringObjectMap = new HashMap<>();
                 XML xml = new XML();
                 if (xsDataType.getName() != null && StringUtils.isNotBlank(xsDataType.getName().getNamespaceURI())) {
@@ -238,7 +345,7 @@ public class OASGenerator {
                 schema.setExtensions(extensionStringObjectMap);
             }
             if (xsDataType.getSequence() != null) {
-                processXSSequence(xsDataType.getSequence(), schema, isElementFormDefaultQualified);
+                processXSSequence(xsDataType.getSequence(), schema, isElementFormDefaultQualified, typeRegistry);
                 Map<String, Object> extensionStringObjectMap = new HashMap<>();
                 XML xml = new XML();
                 if (xsDataType.getName() != null && StringUtils.isNotBlank(xsDataType.getName().getNamespaceURI())) {
@@ -250,21 +357,22 @@ public class OASGenerator {
                 schema.setExtensions(extensionStringObjectMap);
             }
             if (xsDataType.getChoice() != null) {
-                processXSChoice(xsDataType.getChoice(), schema, isElementFormDefaultQualified);
+                processXSChoice(xsDataType.getChoice(), schema, isElementFormDefaultQualified, typeRegistry);
             }
             if (xsDataType.getGroup() != null) {
-                processXSGroup(xsDataType.getGroup(), schema, isElementFormDefaultQualified);
+                processXSGroup(xsDataType.getGroup(), schema, isElementFormDefaultQualified, typeRegistry);
             }
         }
         return schema;
     }
 
-    private static void processXSSequence(XSSequence xsSequence, Schema<?> parentSchema, boolean isElementFormDefaultQualified) {
+    private static void processXSSequence(XSSequence xsSequence, Schema<?> parentSchema, boolean isElementFormDefaultQualified,
+                                          XSTypeRegistry typeRegistry) {
 
         if (xsSequence.getElementList() != null) {
             List<XSElement> xsElementList = xsSequence.getElementList();
             for (XSElement xsElement : xsElementList) {
-                Schema<?> innerSchema = getSchemaForXSElement(xsElement, isElementFormDefaultQualified);
+                Schema<?> innerSchema = getSchemaForXSElement(xsElement, isElementFormDefaultQualified, typeRegistry);
                 if (innerSchema != null) {
                     parentSchema.addProperties(innerSchema.getName(), innerSchema);
                     // if element is not optional, add it to the required list of parent schema
@@ -280,69 +388,74 @@ public class OASGenerator {
         }
         if (xsSequence.getSequenceList() != null) {
             for (XSSequence innerXSequence : xsSequence.getSequenceList()) {
-                processXSSequence(innerXSequence, parentSchema, isElementFormDefaultQualified);
+                processXSSequence(innerXSequence, parentSchema, isElementFormDefaultQualified, typeRegistry);
             }
         }
         if (xsSequence.getChoiceList() != null) {
             List<XSChoice> xsChoiceList = xsSequence.getChoiceList();
             for (XSChoice xsChoice : xsChoiceList) {
-                processXSChoice(xsChoice, parentSchema, isElementFormDefaultQualified);
+                processXSChoice(xsChoice, parentSchema, isElementFormDefaultQualified, typeRegistry);
             }
         }
     }
 
-    private static void processXSChoice(XSChoice xsChoice, Schema<?> parentSchema, boolean isElementFormDefaultQualified) {
+    private static void processXSChoice(XSChoice xsChoice, Schema<?> parentSchema, boolean isElementFormDefaultQualified,
+                                        XSTypeRegistry typeRegistry) {
 
         if (xsChoice.getSequenceList() != null) {
             for (XSSequence xsSequence : xsChoice.getSequenceList()) {
-                processXSSequence(xsSequence, parentSchema, isElementFormDefaultQualified);
+                processXSSequence(xsSequence, parentSchema, isElementFormDefaultQualified, typeRegistry);
             }
         }
         if (xsChoice.getChoiceList() != null) {
             for (XSChoice innerXsChoice : xsChoice.getChoiceList()) {
-                processXSChoice(innerXsChoice, parentSchema, isElementFormDefaultQualified);
+                processXSChoice(innerXsChoice, parentSchema, isElementFormDefaultQualified, typeRegistry);
             }
         }
         if (xsChoice.getGroupsList() != null) {
             for (XSGroup xsGroup : xsChoice.getGroupsList()) {
-                processXSGroup(xsGroup, parentSchema, isElementFormDefaultQualified);
+                processXSGroup(xsGroup, parentSchema, isElementFormDefaultQualified, typeRegistry);
             }
         }
         if (xsChoice.getElementList() != null) {
             for (XSElement xsElement : xsChoice.getElementList()) {
-                Schema<?> innerSchema = getSchemaForXSElement(xsElement, isElementFormDefaultQualified);
+                Schema<?> innerSchema = getSchemaForXSElement(xsElement, isElementFormDefaultQualified, typeRegistry);
                 parentSchema.addProperties(innerSchema.getName(), innerSchema);
             }
         }
     }
 
-    private static void processXSGroup(XSGroup xsGroup, Schema<?> parentSchema, boolean isElementFormDefaultQualified) {
+    private static void processXSGroup(XSGroup xsGroup, Schema<?> parentSchema, boolean isElementFormDefaultQualified,
+                                       XSTypeRegistry typeRegistry) {
 
         if (xsGroup.getChoiceList() != null) {
             for (XSChoice xsChoice : xsGroup.getChoiceList()) {
-                processXSChoice(xsChoice, parentSchema, isElementFormDefaultQualified);
+                processXSChoice(xsChoice, parentSchema, isElementFormDefaultQualified, typeRegistry);
             }
         }
         if (xsGroup.getSequenceList() != null) {
             for (XSSequence xsSequence : xsGroup.getSequenceList()) {
-                processXSSequence(xsSequence, parentSchema, isElementFormDefaultQualified);
+                processXSSequence(xsSequence, parentSchema, isElementFormDefaultQualified, typeRegistry);
             }
         }
         if (xsGroup.getRefKey() != null) {
-            parentSchema.set$ref(SOAPToRESTConstants.OAS_DEFINITIONS_PREFIX + xsGroup.getRefKey().getLocalPart());
+            String componentName = typeRegistry.getGroupComponentName(xsGroup.getRefKey());
+            parentSchema.set$ref(SOAPToRESTConstants.OAS_DEFINITIONS_PREFIX + (componentName != null ? componentName :
+                    xsGroup.getRefKey().getLocalPart()));
         }
     }
 
-    private static Schema<?> getSchemaForXSElement(XSElement xsElement, boolean isElementFormDefaultQualified) {
+    private static Schema<?> getSchemaForXSElement(XSElement xsElement, boolean isElementFormDefaultQualified,
+                                                   XSTypeRegistry typeRegistry) {
 
         Schema<?> schema = null;
         if (xsElement.getType() != null) {
             if (xsElement.isArray()) {
                 ArraySchema arraySchema = new ArraySchema();
-                arraySchema.setItems(getDataTypesSchema(xsElement.getType()));
+                arraySchema.setItems(getDataTypesSchema(xsElement.getType(), typeRegistry));
                 schema = arraySchema;
             } else {
-                schema = getDataTypesSchema(xsElement.getType());
+                schema = getDataTypesSchema(xsElement.getType(), typeRegistry);
             }
             if (xsElement.getName() != null) {
                 schema.setName(xsElement.getName().getLocalPart().replaceAll("\\s+", ""));
@@ -350,14 +463,52 @@ public class OASGenerator {
         } else if (xsElement.getRefKey() != null) {
             schema = new Schema<>();
             schema.setName(xsElement.getRefKey().getLocalPart().replaceAll("\\s+", ""));
-            schema.$ref(SOAPToRESTConstants.OAS_DEFINITIONS_PREFIX + xsElement.getRefKey().getLocalPart());
+            String elementName = typeRegistry.getElementName(xsElement.getRefKey());
+            schema.$ref(SOAPToRESTConstants.OAS_DEFINITIONS_PREFIX + (elementName != null ? elementName :
+                    xsElement.getRefKey().getLocalPart()));
+        } else if (xsElement.getInlineComplexType() != null &&
+                typeRegistry.getInlineTypeComponentName(xsElement.getInlineComplexType()) != null) {
+            // The structure of the inline type is shared with other elements by a component
+            schema = new Schema<>();
+            schema.setName(xsElement.getName().getLocalPart().replaceAll("\\s+", ""));
+            schema.$ref(SOAPToRESTConstants.OAS_DEFINITIONS_PREFIX +
+                    typeRegistry.getInlineTypeComponentName(xsElement.getInlineComplexType()));
         } else if (xsElement.getInlineComplexType() != null) {
             schema = getSchemaForXSDataType(xsElement.getInlineComplexType(),
-                    xsElement.getName().getLocalPart().replaceAll("\\s+", ""), isElementFormDefaultQualified);
+                    xsElement.getName().getLocalPart().replaceAll("\\s+", ""), isElementFormDefaultQualified,
+                    typeRegistry);
         }
         return schema;
     }
 
+    /**
+     * Returns a reference to the component of a global element, which is the component of the element in the registry
+     * or the one named by the local name of the element
+     */
+    private static String getRootElementReference(QName element, XSTypeRegistry typeRegistry) {
+
+        String componentName = typeRegistry.getElementComponentName(element);
+        if (componentName != null) {
+            return SOAPToRESTConstants.OAS_DEFINITIONS_PREFIX + componentName;
+        }
+        return SOAPToRESTConstants.OAS_DEFINITIONS_ROOT_ELEMENT_PATH + element.getLocalPart();
+    }
+
+    /**
+     * Returns the schema of a data type, which is a reference to the component of the type when the registry has a
+     * global data type of that name, and the schema of the XSD built-in type of the local name otherwise
+     */
+    private static Schema<?> getDataTypesSchema(QName type, XSTypeRegistry typeRegistry) {
+
+        String componentName = typeRegistry.getTypeComponentName(type);
+        if (componentName != null) {
+            Schema<?> outputSchema = new Schema<>();
+            outputSchema.$ref(SOAPToRESTConstants.OAS_DEFINITIONS_PREFIX + componentName);
+            return outputSchema;
+        }
+        return getDataTypesSchema(type);
+    }
+
     public static Schema<?> getDataTypesSchema(QName type) {
 
         Schema<?> outputSchema;
@@ -441,4 +592,247 @@ public class OASGenerator {
         return outputSchema;
     }
 
+    /**
+     * Schemas of the components of a previous conversion with the digests of their definitions, which are only read
+     * while the schemas are generated.
+     */
+    private static class PreviousComponents {
+
+        private final Map<String, Schema> schemas;
+        private final Map<String, String> digests;
+
+        PreviousComponents(SOAPtoRESTConversionData previousConversionData) {
+
+            Components components = previousConversionData != null ?
+                    previousConversionData.getOpenAPI().getComponents() : null;
+            schemas = components != null && components.getSchemas() != null ? components.getSchemas() :
+                    Collections.emptyMap();
+            digests = previousConversionData != null ? previousConversionData.getComponentDigests() :
+                    Collections.emptyMap();
+        }
+
+        /**
+         * @return a copy of the previous schema of the component, or null if the component did not have the given
+         * digest
+         */
+        Schema<?> getSchema(String componentName, String digest) {
+
+            if (!digest.equals(digests.get(componentName))) {
+                return null;
+            }
+            return ConversionDataCopier.copyModel(schemas.get(componentName));
+        }
+    }
+
+    /**
+     * Generates the schemas of a range of the component definitions into their slots of the shared array, splitting
+     * the range in halves on the pool until the ranges are small enough for a single task. When the digests are
+     * computed, the schema of a definition whose digest did not change is taken from the previous components.
+     */
+    private static class ComponentSchemaGeneration extends RecursiveAction {
+
+        private final List<ComponentDefinition> definitions;
+        private final XSTypeRegistry typeRegistry;
+        private final Schema<?>[] schemas;
+        private final String[] digests;
+        private final PreviousComponents previousComponents;
+        private final int from;
+        private final int to;
+
+        ComponentSchemaGeneration(List<ComponentDefinition> definitions, XSTypeRegistry typeRegistry,
+                                  Schema<?>[] schemas, String[] digests, PreviousComponents previousComponents,
+                                  int from, int to) {
+
+            this.definitions = definitions;
+            this.typeRegistry = typeRegistry;
+            this.schemas = schemas;
+            this.digests = digests;
+            this.previousComponents = previousComponents;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+
+            if (to - from <= COMPONENT_SCHEMAS_PER_TASK) {
+                generateSchemas();
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ComponentSchemaGeneration(definitions, typeRegistry, schemas, digests, previousComponents,
+                    from, middle), new ComponentSchemaGeneration(definitions, typeRegistry, schemas, digests,
+                    previousComponents, middle, to));
+        }
+
+        void generateSchemas() {
+
+            MessageDigest messageDigest = digests != null ? createMessageDigest() : null;
+            for (int i = from; i < to; i++) {
+                ComponentDefinition definition = definitions.get(i);
+                Schema<?> schema = null;
+                if (digests != null) {
+                    String componentName = definition.getComponentName(typeRegistry);
+                    digests[i] = definition.getDigest(componentName, typeRegistry, messageDigest);
+                    schema = previousComponents.getSchema(componentName, digests[i]);
+                }
+                schemas[i] = schema != null ? schema : definition.getSchema(typeRegistry);
+            }
+        }
+    }
+
+    /**
+     * A global data type, group or element, or a shared inline type, that is generated as a component, together with
+     * the XSD model it is defined in.
+     */
+    private abstract static class ComponentDefinition {
+
+        final XSModel xsModel;
+
+        ComponentDefinition(XSModel xsModel) {
+
+            this.xsModel = xsModel;
+        }
+
+        /**
+         * @return the name of the component, which is the name of the schema {@link #getSchema(XSTypeRegistry)}
+         * generates
+         */
+        abstract String getComponentName(XSTypeRegistry typeRegistry);
+
+        abstract Schema<?> getSchema(XSTypeRegistry typeRegistry);
+
+        /**
+         * @return the description of the definition by {@link XSTypeRegistry}
+         */
+        abstract String describe(XSTypeRegistry typeRegistry);
+
+        /**
+         * Returns the digest of everything the schema of the component is generated from, which is the definition
+         * with its nested definitions, the element form default of its schema, the name of the component and the
+         * names the registry gives to the definitions it refers to. Definitions with the same digest give equal
+         * schemas.
+         */
+        String getDigest(String componentName, XSTypeRegistry typeRegistry, MessageDigest messageDigest) {
+
+            String description = componentName.length() + ":" + componentName +
+                    (xsModel.isElementFormDefaultQualified() ? 'q' : 'u') + describe(typeRegistry);
+            messageDigest.reset();
+            byte[] digest = messageDigest.digest(description.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        }
+    }
+
+    private static class DataTypeDefinition extends ComponentDefinition {
+
+        private final XSDataType xsDataType;
+
+        DataTypeDefinition(XSDataType xsDataType, XSModel xsModel) {
+
+            super(xsModel);
+            this.xsDataType = xsDataType;
+        }
+
+        @Override
+        String getComponentName(XSTypeRegistry typeRegistry) {
+
+            QName name = xsDataType.getName();
+            String componentName = name != null ? typeRegistry.getTypeComponentName(name) : null;
+            if (componentName != null) {
+                return componentName;
+            }
+            if (name == null) {
+                componentName = typeRegistry.getInlineTypeComponentName(xsDataType);
+                return componentName != null ? componentName : "Default_Object";
+            }
+            return name.getLocalPart().replaceAll("\\s+", "");
+        }
+
+        @Override
+        Schema<?> getSchema(XSTypeRegistry typeRegistry) {
+
+            // A shared inline type is named by its component
+            String parentName = xsDataType.getName() == null ? typeRegistry.getInlineTypeComponentName(xsDataType) :
+                    null;
+            return getSchemaForXSDataType(xsDataType, parentName, xsModel.isElementFormDefaultQualified(),
+                    typeRegistry);
+        }
+
+        @Override
+        String describe(XSTypeRegistry typeRegistry) {
+
+            return typeRegistry.describe(xsDataType);
+        }
+    }
+
+    private static class GroupDefinition extends ComponentDefinition {
+
+        private final XSGroup xsGroup;
+
+        GroupDefinition(XSGroup xsGroup, XSModel xsModel) {
+
+            super(xsModel);
+            this.xsGroup = xsGroup;
+        }
+
+        @Override
+        String getComponentName(XSTypeRegistry typeRegistry) {
+
+            QName name = xsGroup.getName();
+            String componentName = typeRegistry.getGroupComponentName(name);
+            return componentName != null ? componentName : name.getLocalPart();
+        }
+
+        @Override
+        Schema<?> getSchema(XSTypeRegistry typeRegistry) {
+
+            Schema<?> schema = new ObjectSchema();
+            schema.setName(getComponentName(typeRegistry));
+            processXSGroup(xsGroup, schema, xsModel.isElementFormDefaultQualified(), typeRegistry);
+            return schema;
+        }
+
+        @Override
+        String describe(XSTypeRegistry typeRegistry) {
+
+            return typeRegistry.describe(xsGroup);
+        }
+    }
+
+    private static class ElementDefinition extends ComponentDefinition {
+
+        private final XSElement xsElement;
+
+        ElementDefinition(XSElement xsElement, XSModel xsModel) {
+
+            super(xsModel);
+            this.xsElement = xsElement;
+        }
+
+        @Override
+        String getComponentName(XSTypeRegistry typeRegistry) {
+
+            QName name = xsElement.getName();
+            String componentName = typeRegistry.getElementComponentName(name);
+            return componentName != null ? componentName :
+                    "rootElement_" + name.getLocalPart().replaceAll("\\s+", "");
+        }
+
+        @Override
+        Schema<?> getSchema(XSTypeRegistry typeRegistry) {
+
+            //Process the elements defined in the root XSD and add 'rootElement_' prefix to identify uniquely
+            Schema<?> schema = getSchemaForXSElement(xsElement, xsModel.isElementFormDefaultQualified(),
+                    typeRegistry);
+            schema.setName(getComponentName(typeRegistry));
+            schema.setType("object");
+            return schema;
+        }
+
+        @Override
+        String describe(XSTypeRegistry typeRegistry) {
+
+            return typeRegistry.describe(xsElement);
+        }
+    }
 }
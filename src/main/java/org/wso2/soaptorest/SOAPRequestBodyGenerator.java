@@ -18,8 +18,6 @@
 package org.wso2.soaptorest;
 
 import com.fasterxml.jackson.databind.module.SimpleModule;
-import io.swagger.oas.inflector.examples.ExampleBuilder;
-import io.swagger.oas.inflector.examples.models.Example;
 import io.swagger.oas.inflector.processors.JsonNodeExampleSerializer;
 import io.swagger.util.Json;
 import io.swagger.v3.core.util.Yaml;
@@ -27,6 +25,9 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.PathItem;
 import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.MediaType;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.parameters.QueryParameter;
@@ -40,17 +41,23 @@ import org.w3c.dom.NodeList;
 import org.wso2.soaptorest.exceptions.SOAPToRESTException;
 import org.wso2.soaptorest.models.SOAPRequestElement;
 import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+import org.wso2.soaptorest.utils.ConversionDataCopier;
 import org.wso2.soaptorest.utils.ListJSONPaths;
 import org.wso2.soaptorest.utils.SOAPToRESTConstants;
+import org.wso2.soaptorest.utils.WSDLProcessingUtil;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import static org.wso2.soaptorest.utils.SOAPToRESTConstants.ATTRIBUTE_PLACEHOLDER;
 import static org.wso2.soaptorest.utils.SOAPToRESTConstants.IF_PLACEHOLDER;
@@ -64,8 +71,13 @@ import static org.wso2.soaptorest.utils.SOAPToRESTConstants.VALUE_ATTRIBUTE;
 public class SOAPRequestBodyGenerator {
 
     private static final Logger log = LoggerFactory.getLogger(SOAPRequestBodyGenerator.class);
-    private static String soapMessageType = SOAPToRESTConstants.EMPTY_STRING;
-    private static String soapStyle = SOAPToRESTConstants.EMPTY_STRING;
+
+    static {
+        // Configure serializers once, since the mappers are shared by all conversions
+        SimpleModule simpleModule = new SimpleModule().addSerializer(new JsonNodeExampleSerializer());
+        Json.mapper().registerModule(simpleModule);
+        Yaml.mapper().registerModule(simpleModule);
+    }
 
     /**
      * Generates {@link SOAPtoRESTConversionData} with a map of SOAP payloads with JSON paths of REST payloads for
@@ -82,80 +94,366 @@ public class SOAPRequestBodyGenerator {
                                                                                      String soapPort) throws
             SOAPToRESTException {
 
+        return generateSOAPtoRESTConversionObjectFromOAS(openAPI, soapService, soapPort, null);
+    }
+
+    /**
+     * Generates {@link SOAPtoRESTConversionData} like {@link #generateSOAPtoRESTConversionObjectFromOAS(OpenAPI,
+     * String, String)}, generating the SOAP payloads of the operations in parallel on the given executor. The
+     * payloads do not depend on each other, and they are added to the result in the order of the operations, so the
+     * result is the same as the one of a sequential generation.
+     *
+     * @param openAPI         open api definition of api
+     * @param soapService     name of the SOAP service
+     * @param soapPort        name of the SOAP port
+     * @param executorService executor that generates the payloads, or null to generate them in the calling thread
+     * @return SOAPtoRESTConversionData Object that represent the OpenAPI with SOAP payloads which are needed
+     * for SOAP backend calls
+     * @throws SOAPToRESTException throws {@link SOAPToRESTException} if exception occur while generating SOAP
+     *                             payloads
+     */
+    public static SOAPtoRESTConversionData generateSOAPtoRESTConversionObjectFromOAS(OpenAPI openAPI,
+                                                                                     String soapService,
+                                                                                     String soapPort,
+                                                                                     ExecutorService executorService)
+            throws SOAPToRESTException {
+
+        return generateSOAPtoRESTConversionObjectFromOAS(openAPI, soapService, soapPort, executorService,
+                ListJSONPaths.DEFAULT_MAX_DEPTH, ListJSONPaths.DEFAULT_MAX_PATHS);
+    }
+
+    /**
+     * Generates {@link SOAPtoRESTConversionData} like {@link #generateSOAPtoRESTConversionObjectFromOAS(OpenAPI,
+     * String, String, ExecutorService)}, with the given cutoffs of the JSON paths of the payloads. The JSON paths of
+     * recursive schemas end at the first recursive reference. A reference nested in more than the given number of
+     * references, or reached when a payload already has the given number of JSON paths, ends the path as well, so
+     * that schemas whose number of paths grows exponentially with their depth are generated in bounded time and
+     * memory.
+     *
+     * @param openAPI          open api definition of api
+     * @param soapService      name of the SOAP service
+     * @param soapPort         name of the SOAP port
+     * @param executorService  executor that generates the payloads, or null to generate them in the calling thread
+     * @param maxPayloadDepth  number of nested references after which a reference ends the JSON path, see
+     *                         {@link ListJSONPaths#DEFAULT_MAX_DEPTH}
+     * @param maxPayloadPaths  number of JSON paths of a payload after which a reference ends the JSON path, see
+     *                         {@link ListJSONPaths#DEFAULT_MAX_PATHS}
+     * @return SOAPtoRESTConversionData Object that represent the OpenAPI with SOAP payloads which are needed
+     * for SOAP backend calls
+     * @throws SOAPToRESTException throws {@link SOAPToRESTException} if exception occur while generating SOAP
+     *                             payloads
+     */
+    public static SOAPtoRESTConversionData generateSOAPtoRESTConversionObjectFromOAS(OpenAPI openAPI,
+                                                                                     String soapService,
+                                                                                     String soapPort,
+                                                                                     ExecutorService executorService,
+                                                                                     int maxPayloadDepth,
+                                                                                     int maxPayloadPaths)
+            throws SOAPToRESTException {
+
+        return generateSOAPtoRESTConversionObjectFromOAS(openAPI, soapService, soapPort, executorService,
+                maxPayloadDepth, maxPayloadPaths, null, null);
+    }
+
+    /**
+     * Generates {@link SOAPtoRESTConversionData} like {@link #generateSOAPtoRESTConversionObjectFromOAS(OpenAPI,
+     * String, String, ExecutorService)}, reusing the SOAP payloads of a previous conversion. The payload of an
+     * operation is only read from the operation and the components its request reaches, so the previous payload is
+     * reused when the operation is equal to the previous one and none of the components it reaches changed their
+     * digests. A reused payload is a copy of the previous one, with its own document.
+     *
+     * @param openAPI                open api definition of api
+     * @param soapService            name of the SOAP service
+     * @param soapPort               name of the SOAP port
+     * @param executorService        executor that generates the payloads, or null to generate them in the calling
+     *                               thread
+     * @param maxPayloadDepth        number of nested references after which a reference ends the JSON path
+     * @param maxPayloadPaths        number of JSON paths of a payload after which a reference ends the JSON path
+     * @param componentDigests       digests of the definitions of the components of the OpenAPI, or null if they are
+     *                               not known, which generates all the payloads
+     * @param previousConversionData earlier conversion whose payloads are reused, or null to generate all of them
+     * @return SOAPtoRESTConversionData Object that represent the OpenAPI with SOAP payloads which are needed
+     * for SOAP backend calls
+     * @throws SOAPToRESTException throws {@link SOAPToRESTException} if exception occur while generating SOAP
+     *                             payloads
+     */
+    static SOAPtoRESTConversionData generateSOAPtoRESTConversionObjectFromOAS(OpenAPI openAPI, String soapService,
+                                                                              String soapPort,
+                                                                              ExecutorService executorService,
+                                                                              int maxPayloadDepth, int maxPayloadPaths,
+                                                                              Map<String, String> componentDigests,
+                                                                              SOAPtoRESTConversionData
+                                                                                      previousConversionData)
+            throws SOAPToRESTException {
+
+        List<Operation> operations = getOperations(openAPI);
         Map<String, SOAPRequestElement> requestBodies = new HashMap<>();
-        Paths paths = openAPI.getPaths();
+        if (componentDigests != null && previousConversionData != null) {
+            operations = reuseSOAPRequestElements(operations, openAPI, componentDigests, previousConversionData,
+                    requestBodies);
+        }
+        if (executorService == null) {
+            for (Operation operation : operations) {
+                requestBodies.put(operation.getOperationId(), generateSOAPRequestElement(operation, openAPI,
+                        maxPayloadDepth, maxPayloadPaths));
+            }
+        } else {
+            List<Future<SOAPRequestElement>> futures = new ArrayList<>();
+            try {
+                for (Operation operation : operations) {
+                    futures.add(executorService.submit(() -> generateSOAPRequestElement(operation, openAPI,
+                            maxPayloadDepth, maxPayloadPaths)));
+                }
+                for (int i = 0; i < operations.size(); i++) {
+                    requestBodies.put(operations.get(i).getOperationId(), getSOAPRequestElement(futures.get(i)));
+                }
+            } finally {
+                for (Future<SOAPRequestElement> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        }
+        return new SOAPtoRESTConversionData(openAPI, requestBodies, soapService, soapPort, componentDigests);
+    }
 
-        // Configure serializers
-        SimpleModule simpleModule = new SimpleModule().addSerializer(new JsonNodeExampleSerializer());
-        Json.mapper().registerModule(simpleModule);
-        Yaml.mapper().registerModule(simpleModule);
-        Map<String,String> jsonPathAndSchemaMap = new HashMap<>();
+    private static List<Operation> getOperations(OpenAPI openAPI) {
 
+        List<Operation> operations = new ArrayList<>();
+        Paths paths = openAPI.getPaths();
         for (String pathName : paths.keySet()) {
             PathItem path = paths.get(pathName);
-            List<Operation> operationMap = path.readOperations();
-            for (Operation operation : operationMap) {
-                ArrayList<String> parameterJsonPathMapping = new ArrayList<>();
-                Map<String, String> queryParameters = new HashMap<>();
-                String operationId = operation.getOperationId();
-
-                //get vendor extensions
-                Map<String, Object> vendorExtensions = operation.getExtensions();
-                Object vendorExtensionObj = vendorExtensions.get(SOAPToRESTConstants.WSO2_SOAP);
-
-                String soapAction = SOAPToRESTConstants.EMPTY_STRING;
-                String namespace = SOAPToRESTConstants.EMPTY_STRING;
-                String soapVersion = SOAPToRESTConstants.EMPTY_STRING;
-                if (vendorExtensionObj != null) {
-                    soapAction =
-                            (String) ((HashMap<?, ?>) vendorExtensionObj).get(SOAPToRESTConstants.SOAP_ACTION);
-                    namespace =
-                            (String) ((HashMap<?, ?>) vendorExtensionObj).get(SOAPToRESTConstants.NAMESPACE);
-                    soapVersion =
-                            (String) ((HashMap<?, ?>) vendorExtensionObj).get(SOAPToRESTConstants.SOAP_VERSION);
-                    soapMessageType =
-                            (String) ((HashMap<?, ?>) vendorExtensionObj).get(SOAPToRESTConstants.SOAP_MESSAGE_TYPE);
-                    soapStyle =
-                            (String) ((HashMap<?, ?>) vendorExtensionObj).get(SOAPToRESTConstants.SOAP_STYLE);
-                }
-                String soapNamespace = SOAPToRESTConstants.SOAP12_NAMESPACE;
-                if (StringUtils.isNotBlank(soapVersion) && SOAPToRESTConstants.SOAP_VERSION_11.equals(soapVersion)) {
-                    soapNamespace = SOAPToRESTConstants.SOAP11_NAMESPACE;
+            operations.addAll(path.readOperations());
+        }
+        return operations;
+    }
+
+    /**
+     * Puts the payloads of the previous conversion that can be reused to the request bodies.
+     *
+     * @return the operations whose payloads must be generated again
+     */
+    private static List<Operation> reuseSOAPRequestElements(List<Operation> operations, OpenAPI openAPI,
+                                                            Map<String, String> componentDigests,
+                                                            SOAPtoRESTConversionData previousConversionData,
+                                                            Map<String, SOAPRequestElement> requestBodies) {
+
+        Map<String, Operation> previousOperations = new HashMap<>();
+        for (Operation previousOperation : getOperations(previousConversionData.getOpenAPI())) {
+            previousOperations.put(previousOperation.getOperationId(), previousOperation);
+        }
+        Map<String, Schema> schemas = getComponentSchemas(openAPI);
+        Map<String, Schema> previousSchemas = getComponentSchemas(previousConversionData.getOpenAPI());
+        Map<String, String> previousDigests = previousConversionData.getComponentDigests();
+
+        List<Operation> changedOperations = new ArrayList<>();
+        for (Operation operation : operations) {
+            String operationId = operation.getOperationId();
+            SOAPRequestElement previousRequestBody = previousConversionData.getSOAPRequestBody(operationId);
+            boolean reusable = previousRequestBody != null && operation.equals(previousOperations.get(operationId));
+            if (reusable) {
+                for (String componentName : getReadComponentNames(operation, schemas)) {
+                    String digest = componentDigests.get(componentName);
+                    // A component without a digest must be missing from both conversions
+                    if (!Objects.equals(digest, previousDigests.get(componentName)) ||
+                            digest == null && (schemas.containsKey(componentName) ||
+                                    previousSchemas.containsKey(componentName))) {
+                        reusable = false;
+                        break;
+                    }
                 }
+            }
+            if (reusable) {
+                requestBodies.put(operationId, ConversionDataCopier.copy(previousRequestBody));
+            } else {
+                changedOperations.add(operation);
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Reused the SOAP payloads of " + requestBodies.size() + " of " + operations.size() +
+                    " operations");
+        }
+        return changedOperations;
+    }
 
-                List<Parameter> parameters = operation.getParameters();
+    private static Map<String, Schema> getComponentSchemas(OpenAPI openAPI) {
 
-                if (parameters != null) {
-                    for (Parameter parameter : parameters) {
-                        String name = parameter.getName();
+        if (openAPI.getComponents() == null || openAPI.getComponents().getSchemas() == null) {
+            return Collections.emptyMap();
+        }
+        return openAPI.getComponents().getSchemas();
+    }
 
-                        if (parameter instanceof QueryParameter) {
-                            String type = parameter.getSchema().getType();
-                            queryParameters.put(name, type);
-                        }
-                    }
-                } else {
-                    try {
-                        Schema<?> model =
-                                operation.getRequestBody().getContent().get(SOAPToRESTConstants.
-                                        DEFAULT_CONTENT_TYPE).getSchema();
-                        Example example = ExampleBuilder.fromSchema(model, openAPI.getComponents().getSchemas());
-                        parameterJsonPathMapping = ListJSONPaths.getJsonPathsFromExample(example, jsonPathAndSchemaMap);
-                    } catch (Exception e) {
-                        throw new SOAPToRESTException("Cannot generate JSON body from the OpenAPI", e);
-                    }
+    /**
+     * Returns the names of all the components that generating the payload of the operation may read. These are the
+     * components the request refers to, directly or through other components, and the components that are looked up
+     * by the names of the properties and the XML names of the schemas it walks, each with and without the root
+     * element prefix.
+     */
+    private static Set<String> getReadComponentNames(Operation operation, Map<String, Schema> schemas) {
 
+        Set<String> componentNames = new HashSet<>();
+        if (operation.getRequestBody() != null && operation.getRequestBody().getContent() != null) {
+            Set<String> walkedReferences = new HashSet<>();
+            for (MediaType mediaType : operation.getRequestBody().getContent().values()) {
+                addReadComponentNames(mediaType.getSchema(), schemas, componentNames, walkedReferences);
+            }
+        }
+        return componentNames;
+    }
+
+    private static void addReadComponentNames(Schema<?> schema, Map<String, Schema> schemas,
+                                              Set<String> componentNames, Set<String> walkedReferences) {
+
+        if (schema == null) {
+            return;
+        }
+        addReadComponentName(schema.getName(), componentNames);
+        if (schema.getXml() != null) {
+            addReadComponentName(schema.getXml().getName(), componentNames);
+        }
+        if (schema.get$ref() != null) {
+            String ref = schema.get$ref().substring(schema.get$ref().lastIndexOf('/') + 1);
+            addReadComponentName(ref, componentNames);
+            for (String componentName : new String[]{ref, SOAPToRESTConstants.ROOT_ELEMENT_PREFIX + ref}) {
+                if (walkedReferences.add(componentName)) {
+                    addReadComponentNames(schemas.get(componentName), schemas, componentNames, walkedReferences);
                 }
+            }
+        }
+        if (schema.getProperties() != null) {
+            for (Map.Entry<String, Schema> property : schema.getProperties().entrySet()) {
+                addReadComponentName(property.getKey(), componentNames);
+                addReadComponentNames(property.getValue(), schemas, componentNames, walkedReferences);
+            }
+        }
+        if (schema.getAdditionalProperties() instanceof Schema) {
+            addReadComponentNames((Schema<?>) schema.getAdditionalProperties(), schemas, componentNames,
+                    walkedReferences);
+        }
+        if (schema instanceof ArraySchema) {
+            addReadComponentNames(((ArraySchema) schema).getItems(), schemas, componentNames, walkedReferences);
+        }
+        if (schema instanceof ComposedSchema) {
+            ComposedSchema composedSchema = (ComposedSchema) schema;
+            for (List<Schema> composedSchemas : Arrays.asList(composedSchema.getAllOf(), composedSchema.getAnyOf(),
+                    composedSchema.getOneOf())) {
+                if (composedSchemas != null) {
+                    for (Schema<?> composed : composedSchemas) {
+                        addReadComponentNames(composed, schemas, componentNames, walkedReferences);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void addReadComponentName(String name, Set<String> componentNames) {
+
+        if (name != null) {
+            componentNames.add(name);
+            componentNames.add(SOAPToRESTConstants.ROOT_ELEMENT_PREFIX + name);
+        }
+    }
 
-                Document soapRequestBody = createSOAPRequestXMLForOperation(parameterJsonPathMapping, queryParameters,
-                        namespace, operationId, openAPI, jsonPathAndSchemaMap );
+    private static SOAPRequestElement getSOAPRequestElement(Future<SOAPRequestElement> future)
+            throws SOAPToRESTException {
 
-                iterateChildNodes(soapRequestBody.getDocumentElement(), soapRequestBody);
-                requestBodies.put(operationId, new SOAPRequestElement(soapRequestBody, soapAction, namespace,
-                        soapNamespace));
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SOAPToRESTException("Interrupted while generating SOAP payloads", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SOAPToRESTException) {
+                throw (SOAPToRESTException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
             }
+            throw new SOAPToRESTException("Error occurred while generating SOAP payloads", cause);
         }
-        return new SOAPtoRESTConversionData(openAPI, requestBodies, soapService, soapPort);
+    }
+
+    /**
+     * Generates the SOAP payload of a single operation. It only reads the OpenAPI, so the payloads of several
+     * operations can be generated at the same time.
+     *
+     * @param operation       operation of the OpenAPI
+     * @param openAPI         open api definition of api
+     * @param maxPayloadDepth number of nested references after which a reference ends the JSON path
+     * @param maxPayloadPaths number of JSON paths after which a reference ends the JSON path
+     * @return the SOAP payload of the operation
+     * @throws SOAPToRESTException throws {@link SOAPToRESTException} if exception occur while generating the SOAP
+     *                             payload
+     */
+    private static SOAPRequestElement generateSOAPRequestElement(Operation operation, OpenAPI openAPI,
+                                                                 int maxPayloadDepth, int maxPayloadPaths)
+            throws SOAPToRESTException {
+
+        ArrayList<String> parameterJsonPathMapping = new ArrayList<>();
+        Map<String, String> queryParameters = new HashMap<>();
+        Map<String, String> jsonPathAndSchemaMap = new HashMap<>();
+        String operationId = operation.getOperationId();
+
+        //get vendor extensions
+        Map<String, Object> vendorExtensions = operation.getExtensions();
+        Object vendorExtensionObj = vendorExtensions.get(SOAPToRESTConstants.WSO2_SOAP);
+
+        String soapAction = SOAPToRESTConstants.EMPTY_STRING;
+        String namespace = SOAPToRESTConstants.EMPTY_STRING;
+        String soapVersion = SOAPToRESTConstants.EMPTY_STRING;
+        String soapMessageType = SOAPToRESTConstants.EMPTY_STRING;
+        String soapStyle = SOAPToRESTConstants.EMPTY_STRING;
+        if (vendorExtensionObj != null) {
+            soapAction =
+                    (String) ((HashMap<?, ?>) vendorExtensionObj).get(SOAPToRESTConstants.SOAP_ACTION);
+            namespace =
+                    (String) ((HashMap<?, ?>) vendorExtensionObj).get(SOAPToRESTConstants.NAMESPACE);
+            soapVersion =
+                    (String) ((HashMap<?, ?>) vendorExtensionObj).get(SOAPToRESTConstants.SOAP_VERSION);
+            soapMessageType =
+                    (String) ((HashMap<?, ?>) vendorExtensionObj).get(SOAPToRESTConstants.SOAP_MESSAGE_TYPE);
+            soapStyle =
+                    (String) ((HashMap<?, ?>) vendorExtensionObj).get(SOAPToRESTConstants.SOAP_STYLE);
+        }
+        String soapNamespace = SOAPToRESTConstants.SOAP12_NAMESPACE;
+        if (StringUtils.isNotBlank(soapVersion) && SOAPToRESTConstants.SOAP_VERSION_11.equals(soapVersion)) {
+            soapNamespace = SOAPToRESTConstants.SOAP11_NAMESPACE;
+        }
+
+        List<Parameter> parameters = operation.getParameters();
+
+        if (parameters != null) {
+            for (Parameter parameter : parameters) {
+                String name = parameter.getName();
+
+                if (parameter instanceof QueryParameter) {
+                    String type = parameter.getSchema().getType();
+                    queryParameters.put(name, type);
+                }
+            }
+        } else {
+            try {
+                Schema<?> model =
+                        operation.getRequestBody().getContent().get(SOAPToRESTConstants.
+                                DEFAULT_CONTENT_TYPE).getSchema();
+                parameterJsonPathMapping = ListJSONPaths.getJsonPathsFromSchema(model,
+                        openAPI.getComponents().getSchemas(), jsonPathAndSchemaMap, maxPayloadDepth,
+                        maxPayloadPaths);
+            } catch (Exception e) {
+                throw new SOAPToRESTException("Cannot generate JSON body from the OpenAPI", e);
+            }
+
+        }
+
+        boolean isRPCStyle = SOAPToRESTConstants.SOAP_RPC_MESSAGE_TYPE.equalsIgnoreCase(soapMessageType) ||
+                SOAPToRESTConstants.SOAP_RPC_MESSAGE_TYPE.equalsIgnoreCase(soapStyle);
+        Document soapRequestBody = createSOAPRequestXMLForOperation(parameterJsonPathMapping, queryParameters,
+                namespace, operationId, openAPI, jsonPathAndSchemaMap, isRPCStyle);
+
+        iterateChildNodes(soapRequestBody.getDocumentElement(), soapRequestBody);
+        return new SOAPRequestElement(soapRequestBody, soapAction, namespace, soapNamespace);
     }
 
     /**
@@ -209,203 +507,177 @@ public class SOAPRequestBodyGenerator {
     }
     private static Document createSOAPRequestXMLForOperation(ArrayList<String> parameterJsonPathMapping, Map<String,
             String> queryPathParamMapping, String namespace, String operationId, OpenAPI openAPI,
-            Map<String,String> jsonPathAndSchemaMap) throws SOAPToRESTException {
+            Map<String,String> jsonPathAndSchemaMap, boolean isRPCStyle) throws SOAPToRESTException {
 
-        DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder docBuilder;
-        StringWriter stringWriter = new StringWriter();
         boolean isNamespaceQualified = false;
         boolean isRootComplexType = false;
         Document doc;
-        try {
-            docBuilder = docFactory.newDocumentBuilder();
-            doc = docBuilder.newDocument();
-            Element rootElement = null;
-            if (SOAPToRESTConstants.SOAP_RPC_MESSAGE_TYPE.equalsIgnoreCase(soapMessageType) ||
-                    SOAPToRESTConstants.SOAP_RPC_MESSAGE_TYPE.equalsIgnoreCase(soapStyle) ||
-                    parameterJsonPathMapping.isEmpty()) {
-                rootElement = doc.createElementNS(namespace,
-                        SOAPToRESTConstants.NAMESPACE_PREFIX +
-                                SOAPToRESTConstants.NAMESPACE_SEPARATOR + operationId);
-                doc.appendChild(rootElement);
+        doc = WSDLProcessingUtil.newDocument();
+        Element rootElement = null;
+        if (isRPCStyle || parameterJsonPathMapping.isEmpty()) {
+            rootElement = doc.createElementNS(namespace,
+                    SOAPToRESTConstants.NAMESPACE_PREFIX +
+                            SOAPToRESTConstants.NAMESPACE_SEPARATOR + operationId);
+            doc.appendChild(rootElement);
+        }
+        SOAPRequestPathTrie pathTrie = new SOAPRequestPathTrie(operationId);
+        if (rootElement != null) {
+            pathTrie.addElement(rootElement, null);
+        }
+        for (String parameter : parameterJsonPathMapping) {
+            String[] parameterTreeNodes = parameter.split("\\.");
+
+            Element prevElement = rootElement;
+            SOAPRequestPathTrie.PathNode pathNode = pathTrie.getRoot();
+            int elemPos = 0;
+            int length = parameterTreeNodes.length;
+            if (length > 0 && !isRootComplexType) {
+                isRootComplexType = true;
             }
-            for (String parameter : parameterJsonPathMapping) {
-                String[] parameterTreeNodes = parameter.split("\\.");
-
-                Element prevElement = rootElement;
-                int elemPos = 0;
-                int length = parameterTreeNodes.length;
-                if (length > 0 && !isRootComplexType) {
-                    isRootComplexType = true;
+            for (int i = 0; i < length; i++) {
+                pathNode = pathNode.getChild(parameterTreeNodes[i]);
+                String parameterTreeNode = pathNode.getElementName();
+                Schema<?> schema = openAPI.getComponents().getSchemas().get(parameterTreeNode);
+                // Since we add the elements defined in the root XSD with the 'rootElement_' prefix, we need to
+                // check for the schema with the prefix if the schema is not found.
+                if (schema == null) {
+                    schema = openAPI.getComponents().getSchemas()
+                            .get(SOAPToRESTConstants.ROOT_ELEMENT_PREFIX + parameterTreeNode);
                 }
-                String currentJSONPath = "payload";
-                String notEscapedJSONPath = "payload";
-                for (int i = 0; i < length; i++) {
-                    String parameterTreeNode = parameterTreeNodes[i];
-                    boolean isArray = false;
-                    currentJSONPath = currentJSONPath.isEmpty() ? escapeFreeMarkerTemplate(parameterTreeNode) :
-                            currentJSONPath + "." + escapeFreeMarkerTemplate(parameterTreeNode);
-                    notEscapedJSONPath = notEscapedJSONPath.isEmpty() ? parameterTreeNode :
-                            notEscapedJSONPath + "." + parameterTreeNode;
-                    if (parameterTreeNode.endsWith("[0]")) {
-                        isArray = true;
-                        parameterTreeNode = parameterTreeNode.replace("[0]", "");
+                if (schema != null) {
+                    Map<String, Object> vendorExtensions = schema.getExtensions();
+                    if (vendorExtensions != null && vendorExtensions.get(SOAPToRESTConstants.X_NAMESPACE_QUALIFIED) != null
+                            && Boolean.parseBoolean(vendorExtensions.get(SOAPToRESTConstants.X_NAMESPACE_QUALIFIED).
+                            toString())) {
+                        isNamespaceQualified = true;
                     }
-                    Schema<?> schema = openAPI.getComponents().getSchemas().get(parameterTreeNode);
-                    // Since we add the elements defined in the root XSD with the 'rootElement_' prefix, we need to
-                    // check for the schema with the prefix if the schema is not found.
-                    if (schema == null) {
-                        schema = openAPI.getComponents().getSchemas()
-                                .get(SOAPToRESTConstants.ROOT_ELEMENT_PREFIX + parameterTreeNode);
+                }
+                boolean needIsEmptyCheck = false;
+                // Check parent schema for required fields and wrap with isEmpty check if required
+                // The first element of the payload is not checked, since it has no parent JSON path. It only
+                // has a parent element when it is wrapped by the rpc operation element
+                if (prevElement != null && pathNode.getParent() != pathTrie.getRoot()) {
+                    needIsEmptyCheck = isEmptyCheckRequired(pathNode, prevElement, openAPI, jsonPathAndSchemaMap);
+                }
+
+                String payloadPrefix = "${";
+                if (StringUtils.isNotBlank(parameterTreeNode)) {
+                    if (SOAPToRESTConstants.ATTR_CONTENT_KEYWORD.equalsIgnoreCase(parameterTreeNode)) {
+                        String attName = parameterTreeNodes[++i];
+                        prevElement.setAttribute(attName, payloadPrefix + pathNode.getJSONPath() + "}");
+                        break;
                     }
-                    if (schema != null) {
-                        Map<String, Object> vendorExtensions = schema.getExtensions();
-                        if (vendorExtensions != null && vendorExtensions.get(SOAPToRESTConstants.X_NAMESPACE_QUALIFIED) != null
-                                && Boolean.parseBoolean(vendorExtensions.get(SOAPToRESTConstants.X_NAMESPACE_QUALIFIED).
-                                toString())) {
-                            isNamespaceQualified = true;
-                        }
+                    if (SOAPToRESTConstants.BASE_CONTENT_KEYWORD.equalsIgnoreCase(parameterTreeNode)) {
+                        prevElement.setTextContent(payloadPrefix + pathNode.getJSONPath() + "}");
+                        break;
                     }
-                    Schema<?> parentSchema = null;
-                    boolean needIsEmptyCheck = false;
-                    // Check parent schema for required fields and wrap with isEmpty check if required
-                    if (prevElement != null) {
-                        String mapKey = parameterTreeNode;
-                        // payload. is 8 characters long
-                        if (notEscapedJSONPath.length() > 8 + parameterTreeNode.length()) {
-                            mapKey = notEscapedJSONPath.substring(8, notEscapedJSONPath.length()
-                                    - parameterTreeNode.length() - 1);
-                        }
-                        parentSchema = openAPI.getComponents().getSchemas().get(jsonPathAndSchemaMap.get(mapKey));
-                        if (parentSchema == null) {
-                            // check for the schema inside parent object's schema
-                            String parentKey = mapKey.substring(0, mapKey.lastIndexOf('.'));
-                            if (!StringUtils.isEmpty(parentKey)) {
-                                Schema<?> enclosingSchema = openAPI.getComponents().getSchemas()
-                                        .get(jsonPathAndSchemaMap.get(parentKey));
-                                if (enclosingSchema != null && enclosingSchema.getProperties() != null &&
-                                        enclosingSchema.getProperties().containsKey(prevElement.getLocalName())) {
-                                    parentSchema = enclosingSchema.getProperties().get(prevElement.getLocalName());
-                                }
-                            }
-                        }
-                        if (parentSchema != null && (parentSchema.getRequired() == null ||
-                                !parentSchema.getRequired().contains(parameterTreeNode))) {
-                            needIsEmptyCheck = true;
-                        }
+                    boolean hasNamespace = isNamespaceQualified || isRootComplexType;
+                    if (!isNamespaceQualified && isRootComplexType) {
+                        isRootComplexType = false;
+                    }
+                    String tagName = parameterTreeNode;
+                    if (hasNamespace) {
+                        tagName = SOAPToRESTConstants.NAMESPACE_PREFIX + SOAPToRESTConstants.NAMESPACE_SEPARATOR +
+                                parameterTreeNode;
                     }
 
-                    String payloadPrefix = "${";
-                    if (StringUtils.isNotBlank(parameterTreeNode)) {
-                        if (SOAPToRESTConstants.ATTR_CONTENT_KEYWORD.equalsIgnoreCase(parameterTreeNode)) {
-                            String attName = parameterTreeNodes[++i];
-                            prevElement.setAttribute(attName, payloadPrefix + currentJSONPath + "}");
-                            break;
-                        }
-                        if (SOAPToRESTConstants.BASE_CONTENT_KEYWORD.equalsIgnoreCase(parameterTreeNode)) {
-                            prevElement.setTextContent(payloadPrefix + currentJSONPath + "}");
-                            break;
-                        }
+                    // Reuse the first element with the same tag name if the current path passes through it
+                    Element existingElement = pathTrie.getElementByTagName(tagName);
+                    if (existingElement != null && parameter.contains(pathTrie.getXPath(existingElement)) &&
+                            rootElement != existingElement) {
+                        prevElement = existingElement;
+                    } else {
                         Element element;
-
-                        if (isNamespaceQualified) {
-                            element = doc.createElementNS(namespace,
-                                    SOAPToRESTConstants.NAMESPACE_PREFIX +
-                                            SOAPToRESTConstants.NAMESPACE_SEPARATOR + parameterTreeNode);
-                        } else if (isRootComplexType) {
-                            element = doc.createElementNS(namespace,
-                                    SOAPToRESTConstants.NAMESPACE_PREFIX +
-                                            SOAPToRESTConstants.NAMESPACE_SEPARATOR + parameterTreeNode);
-                            isRootComplexType = false;
+                        if (hasNamespace) {
+                            element = doc.createElementNS(namespace, tagName);
                         } else {
-                            element = doc.createElement( parameterTreeNode);
+                            element = doc.createElement(tagName);
                         }
-                        if (isArray) {
+                        if (pathNode.isArray()) {
                             element.setAttribute(SOAPToRESTConstants.ARRAY_PLACEHOLDER,
-                                    currentJSONPath.replace("[0]", ""));
-                            currentJSONPath = escapeFreeMarkerTemplate(parameterTreeNode);
+                                    pathNode.getJSONPath().replace("[0]", ""));
                         }
-
-                        String xPathOfNode = StringUtils.EMPTY;
-                        if (doc.getElementsByTagName(element.getTagName()).getLength() > 0) {
-                            xPathOfNode = getXpath(doc.getElementsByTagName(element.getTagName()).item(0));
-                            xPathOfNode = xPathOfNode.replaceAll("/+", ".");
-                            if (xPathOfNode.startsWith(".")) {
-                                xPathOfNode = xPathOfNode.substring(1);
-                            }
-                            if (xPathOfNode.contains(operationId + ".")) {
-                                xPathOfNode = xPathOfNode.replace(operationId + ".", "");
-                            }
+                        if (elemPos == length - 1) {
+                            element.setTextContent(payloadPrefix + pathNode.getChildJSONPath() + "}");
                         }
-
-                        if (doc.getElementsByTagName(element.getTagName()).getLength() > 0 &&
-                                parameter.contains(xPathOfNode) &&
-                                rootElement != doc.getElementsByTagName(element.getTagName()).item(0)) {
-                            prevElement = (Element) doc.getElementsByTagName(element.getTagName()).item(0);
+                        if (needIsEmptyCheck) {
+                            String path = pathNode.getParent().getEscapedPrefix();
+                            element.setAttribute(IS_EMPTY_ATTRIBUTE, "true");
+                            element.setAttribute(VALUE_ATTRIBUTE, path.substring(0, path.length() - 1));
+                        }
+                        if (prevElement != null) {
+                            prevElement.appendChild(element);
+                            pathTrie.addElement(element, prevElement);
                         } else {
-                            if (elemPos == length - 1) {
-                                element.setTextContent(payloadPrefix + currentJSONPath + "}");
-                            }
-                            if (needIsEmptyCheck) {
-                                String path = "";
-                                for (int j = 0; j < i; j++) {
-                                    path = path.concat(escapeFreeMarkerTemplate(parameterTreeNodes[j])).concat(".");
-                                }
-                                element.setAttribute(IS_EMPTY_ATTRIBUTE, "true");
-                                element.setAttribute(VALUE_ATTRIBUTE, path.substring(0, path.length() - 1));
+                            if (element.getLocalName() != null && !StringUtils.contains(element.getLocalName(), "null")) {
+                                doc.appendChild(element);
+                                pathTrie.addElement(element, null);
                             }
-                            if (prevElement != null) {
-                                prevElement.appendChild(element);
-                            } else {
-                                if (element.getLocalName() != null && !StringUtils.contains(element.getLocalName(), "null")) {
-                                    doc.appendChild(element);
-                                }
-                            }
-                            prevElement = element;
                         }
-                        elemPos++;
+                        prevElement = element;
                     }
+                    elemPos++;
                 }
             }
-            if (parameterJsonPathMapping.isEmpty()) {
-                for (String queryParam : queryPathParamMapping.keySet()) {
-                    Element element = doc.createElementNS(namespace,
-                            SOAPToRESTConstants.NAMESPACE_PREFIX +
-                                    SOAPToRESTConstants.NAMESPACE_SEPARATOR + queryParam);
-                    element.setTextContent("${uri.var." + queryParam + "}");
-                    if (rootElement != null) {
-                        rootElement.appendChild(element);
-                    } else {
-                        doc.appendChild(element);
-                    }
+        }
+        if (parameterJsonPathMapping.isEmpty()) {
+            for (String queryParam : queryPathParamMapping.keySet()) {
+                Element element = doc.createElementNS(namespace,
+                        SOAPToRESTConstants.NAMESPACE_PREFIX +
+                                SOAPToRESTConstants.NAMESPACE_SEPARATOR + queryParam);
+                element.setTextContent("${uri.var." + queryParam + "}");
+                if (rootElement != null) {
+                    rootElement.appendChild(element);
+                } else {
+                    doc.appendChild(element);
                 }
-            } else if (queryPathParamMapping.size() > 0) {
-                log.warn("Query parameters along with the body parameter is not allowed");
             }
-        } catch (ParserConfigurationException e) {
-            throw new SOAPToRESTException("Error occurred when building in sequence xml", e);
+        } else if (queryPathParamMapping.size() > 0) {
+            log.warn("Query parameters along with the body parameter is not allowed");
         }
-        if (log.isDebugEnabled()) {
-            log.debug("parameter mapping for used in payload factory for soap operation:" + operationId + " is " +
-                    stringWriter);
-        }
-
         return doc;
     }
 
-    private static String getXpath(Node node) {
+    /**
+     * Checks whether the element of the given JSON path prefix is optional in the schema of its parent, in which case
+     * it is wrapped with an isEmpty check. The result only depends on the prefix, so it is kept in the path trie.
+     *
+     * @param pathNode             JSON path prefix of the element
+     * @param prevElement          parent element
+     * @param openAPI              open api definition of api
+     * @param jsonPathAndSchemaMap schema names of the JSON paths
+     * @return true if the element needs an isEmpty check
+     */
+    private static boolean isEmptyCheckRequired(SOAPRequestPathTrie.PathNode pathNode, Element prevElement,
+                                                OpenAPI openAPI, Map<String, String> jsonPathAndSchemaMap) {
 
-        if (node != null) {
-            Node parent = node.getParentNode();
-            if (parent == null && node.getLocalName() != null) {
-                return node.getLocalName();
-            } else if (node.getLocalName() != null) {
-                return getXpath(parent) + SOAPToRESTConstants.PATH_SEPARATOR + node.getLocalName();
-            } else {
-                return getXpath(parent);
+        if (pathNode.getEmptyCheckRequired() != null) {
+            return pathNode.getEmptyCheckRequired();
+        }
+        String parameterTreeNode = pathNode.getElementName();
+        String notEscapedJSONPath = pathNode.getUnescapedJSONPath();
+        String mapKey = parameterTreeNode;
+        // payload. is 8 characters long
+        if (notEscapedJSONPath.length() > 8 + parameterTreeNode.length()) {
+            mapKey = notEscapedJSONPath.substring(8, notEscapedJSONPath.length() - parameterTreeNode.length() - 1);
+        }
+        Schema<?> parentSchema = openAPI.getComponents().getSchemas().get(jsonPathAndSchemaMap.get(mapKey));
+        if (parentSchema == null) {
+            // check for the schema inside parent object's schema
+            String parentKey = mapKey.substring(0, mapKey.lastIndexOf('.'));
+            if (!StringUtils.isEmpty(parentKey)) {
+                Schema<?> enclosingSchema = openAPI.getComponents().getSchemas()
+                        .get(jsonPathAndSchemaMap.get(parentKey));
+                if (enclosingSchema != null && enclosingSchema.getProperties() != null &&
+                        enclosingSchema.getProperties().containsKey(prevElement.getLocalName())) {
+                    parentSchema = enclosingSchema.getProperties().get(prevElement.getLocalName());
+                }
             }
         }
-        return SOAPToRESTConstants.EMPTY_STRING;
+        boolean needIsEmptyCheck = parentSchema != null && (parentSchema.getRequired() == null ||
+                !parentSchema.getRequired().contains(parameterTreeNode));
+        pathNode.setEmptyCheckRequired(needIsEmptyCheck);
+        return needIsEmptyCheck;
     }
 
     /**
@@ -415,7 +687,7 @@ public class SOAPRequestBodyGenerator {
      * @param template free marker template
      * @return escaped template
      */
-    private static String escapeFreeMarkerTemplate(String template) {
+    static String escapeFreeMarkerTemplate(String template) {
 
         return template.replace("-", "\\-").replace(".", "\\.")
                 .replace(":", "\\:");
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.wso2.soaptorest.utils.SOAPToRESTConstants;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Prefix trie of the JSON paths of a single operation, used while building its SOAP request template.
+ * <p>
+ * Every node represents a JSON path prefix and keeps the FreeMarker paths derived from it, so that they are built once
+ * per prefix instead of once per path. Alongside the trie, the elements added to the template are indexed by tag name
+ * and by their path of namespace qualified ancestors. This answers the lookups that used to be done with
+ * {@code Document.getElementsByTagName} and a walk to the document root in constant time, with the same results.
+ */
+class SOAPRequestPathTrie {
+
+    private static final String PAYLOAD = "payload";
+    private static final String ARRAY_SUFFIX = "[0]";
+
+    private final PathNode root = new PathNode();
+    private final String operationId;
+    private final Map<String, Element> firstElementByTagName = new HashMap<>();
+    private final Map<Element, String> xPathByElement = new IdentityHashMap<>();
+
+    SOAPRequestPathTrie(String operationId) {
+
+        this.operationId = operationId;
+    }
+
+    PathNode getRoot() {
+
+        return root;
+    }
+
+    /**
+     * Registers an element that was appended to the template. Elements that are not connected to the document are
+     * ignored, since a tag name lookup on the document cannot find them either.
+     *
+     * @param element element that was appended
+     * @param parent  element the new element was appended to, or null if it was appended to the document itself
+     */
+    void addElement(Element element, Element parent) {
+
+        String parentXPath;
+        if (parent == null) {
+            parentXPath = SOAPToRESTConstants.EMPTY_STRING;
+        } else {
+            parentXPath = xPathByElement.get(parent);
+            if (parentXPath == null) {
+                return;
+            }
+        }
+        // Elements created without a namespace have no local name and do not appear in the path
+        String xPath = parentXPath;
+        if (element.getLocalName() != null) {
+            xPath = parentXPath.isEmpty() ? element.getLocalName() : parentXPath + "." + element.getLocalName();
+        }
+        xPathByElement.put(element, xPath);
+
+        Element firstElement = firstElementByTagName.get(element.getTagName());
+        if (firstElement == null ||
+                (firstElement.compareDocumentPosition(element) & Node.DOCUMENT_POSITION_PRECEDING) != 0) {
+            firstElementByTagName.put(element.getTagName(), element);
+        }
+    }
+
+    /**
+     * Returns the first element in document order with the given tag name.
+     *
+     * @param tagName qualified tag name
+     * @return the first element with the tag name or null if there is none
+     */
+    Element getElementByTagName(String tagName) {
+
+        return firstElementByTagName.get(tagName);
+    }
+
+    /**
+     * Returns the dot separated local names of the namespace qualified elements from the document root to the given
+     * element, without the operation wrapper element.
+     *
+     * @param element element registered with {@link #addElement(Element, Element)}
+     * @return path of the element
+     */
+    String getXPath(Element element) {
+
+        String xPath = xPathByElement.get(element);
+        if (xPath.contains(operationId + ".")) {
+            xPath = xPath.replace(operationId + ".", "");
+        }
+        return xPath;
+    }
+
+    /**
+     * A JSON path prefix. The paths of the root node are those of the payload itself.
+     */
+    static class PathNode {
+
+        private final PathNode parent;
+        private final String segment;
+        private final String elementName;
+        private final boolean isArray;
+        private final String jsonPath;
+        private final String childJSONPath;
+        private final String unescapedJSONPath;
+        private final String escapedPrefix;
+        private final Map<String, PathNode> children = new HashMap<>();
+        private Boolean isEmptyCheckRequired;
+
+        private PathNode() {
+
+            parent = null;
+            segment = SOAPToRESTConstants.EMPTY_STRING;
+            elementName = SOAPToRESTConstants.EMPTY_STRING;
+            isArray = false;
+            jsonPath = PAYLOAD;
+            childJSONPath = PAYLOAD;
+            unescapedJSONPath = PAYLOAD;
+            escapedPrefix = SOAPToRESTConstants.EMPTY_STRING;
+        }
+
+        private PathNode(PathNode parent, String segment) {
+
+            this.parent = parent;
+            this.segment = segment;
+            String escapedSegment = SOAPRequestBodyGenerator.escapeFreeMarkerTemplate(segment);
+            isArray = segment.endsWith(ARRAY_SUFFIX);
+            elementName = isArray ? segment.replace(ARRAY_SUFFIX, SOAPToRESTConstants.EMPTY_STRING) : segment;
+            jsonPath = parent.childJSONPath.isEmpty() ? escapedSegment : parent.childJSONPath + "." + escapedSegment;
+            // Paths inside an array are relative to the array item
+            if (isArray && !elementName.trim().isEmpty()) {
+                childJSONPath = SOAPRequestBodyGenerator.escapeFreeMarkerTemplate(elementName);
+            } else {
+                childJSONPath = jsonPath;
+            }
+            unescapedJSONPath = parent.unescapedJSONPath + "." + segment;
+            escapedPrefix = parent.escapedPrefix + escapedSegment + ".";
+        }
+
+        /**
+         * Returns the child node for the next segment of a JSON path, creating it on first use.
+         *
+         * @param segment next JSON path segment
+         * @return the child node
+         */
+        PathNode getChild(String segment) {
+
+            PathNode child = children.get(segment);
+            if (child == null) {
+                child = new PathNode(this, segment);
+                children.put(segment, child);
+            }
+            return child;
+        }
+
+        PathNode getParent() {
+
+            return parent;
+        }
+
+        String getSegment() {
+
+            return segment;
+        }
+
+        /**
+         * @return the segment without the array index
+         */
+        String getElementName() {
+
+            return elementName;
+        }
+
+        boolean isArray() {
+
+            return isArray;
+        }
+
+        /**
+         * @return the escaped FreeMarker path of this prefix
+         */
+        String getJSONPath() {
+
+            return jsonPath;
+        }
+
+        /**
+         * @return the escaped FreeMarker path used for the value of this prefix and as base of its children
+         */
+        String getChildJSONPath() {
+
+            return childJSONPath;
+        }
+
+        /**
+         * @return the JSON path of this prefix, starting with {@code payload}
+         */
+        String getUnescapedJSONPath() {
+
+            return unescapedJSONPath;
+        }
+
+        /**
+         * @return the escaped segments of this prefix, each followed by a dot
+         */
+        String getEscapedPrefix() {
+
+            return escapedPrefix;
+        }
+
+        Boolean getEmptyCheckRequired() {
+
+            return isEmptyCheckRequired;
+        }
+
+        void setEmptyCheckRequired(boolean isEmptyCheckRequired) {
+
+            this.isEmptyCheckRequired = isEmptyCheckRequired;
+        }
+    }
+}
@@ -21,34 +21,349 @@ import io.swagger.v3.oas.models.OpenAPI;
 import org.wso2.soaptorest.exceptions.SOAPToRESTException;
 import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
 import org.wso2.soaptorest.models.WSDLInfo;
+import org.wso2.soaptorest.models.XSModel;
+import org.wso2.soaptorest.models.XSTypeRegistry;
+import org.wso2.soaptorest.utils.ImportResolver;
+import org.wso2.soaptorest.utils.ListJSONPaths;
+import org.wso2.soaptorest.utils.ResolvedDocuments;
 import org.wso2.soaptorest.utils.SOAPOperationExtractingUtil;
+import org.wso2.soaptorest.utils.WSDLArchive;
+import org.wso2.soaptorest.utils.WSDLContentDigest;
 
+import java.io.File;
+import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 public class SOAPToRESTConverter {
+
+    // Reads the documents of the archives that are not given a resolver of their own, without the timeouts of a
+    // resolver, like the documents of a conversion without a resolver are read
+    private static final ImportResolver ARCHIVE_IMPORT_RESOLVER = ImportResolver.builder()
+            .fetchTimeoutMillis(ImportResolver.NO_FETCH_TIMEOUT).deadlineMillis(ImportResolver.NO_DEADLINE).build();
+
     public static SOAPtoRESTConversionData getSOAPtoRESTConversionData(URL url, String apiTitle, String apiVersion) throws
             SOAPToRESTException {
 
-        WSDLProcessor wsdlProcessor = new WSDLProcessor();
-        wsdlProcessor.init(url);
-        SOAPOperationExtractingUtil soapOperationExtractingUtil = new SOAPOperationExtractingUtil();
-        WSDLInfo wsdlInfo = soapOperationExtractingUtil.getWsdlInfo(wsdlProcessor.getWsdlDefinition());
-        OpenAPI openAPI = OASGenerator.generateOpenAPIFromWSDL(wsdlInfo, wsdlProcessor.xsdDataModels, apiTitle,
-                apiVersion);
-        return SOAPRequestBodyGenerator.generateSOAPtoRESTConversionObjectFromOAS(openAPI, wsdlInfo.getSoapService(),
-                wsdlInfo.getSoapPort());
+        return getSOAPtoRESTConversionData(url, apiTitle, apiVersion, null);
+    }
+
+    /**
+     * Converts the WSDL of the given URL with the given options.
+     *
+     * @param url        URL of the WSDL file
+     * @param apiTitle   title of the generated API
+     * @param apiVersion version of the generated API
+     * @param options    options of the conversion, or null for the default options
+     * @return the conversion data of the WSDL
+     * @throws SOAPToRESTException if the WSDL cannot be converted
+     */
+    public static SOAPtoRESTConversionData getSOAPtoRESTConversionData(URL url, String apiTitle, String apiVersion,
+                                                                       ConversionOptions options)
+            throws SOAPToRESTException {
+
+        options = options != null ? options : ConversionOptions.defaults();
+        return convert(url, null, apiTitle, apiVersion, options, options.getImportResolver(), null);
     }
 
     public static SOAPtoRESTConversionData getSOAPtoRESTConversionData(String filePath, String apiTitle,
                                                                        String apiVersion) throws SOAPToRESTException {
 
-        WSDLProcessor wsdlProcessor = new WSDLProcessor();
-        wsdlProcessor.init(filePath);
+        return getSOAPtoRESTConversionData(filePath, apiTitle, apiVersion, null);
+    }
+
+    /**
+     * Converts the WSDL file with the given options.
+     *
+     * @param filePath   path of the WSDL file
+     * @param apiTitle   title of the generated API
+     * @param apiVersion version of the generated API
+     * @param options    options of the conversion, or null for the default options
+     * @return the conversion data of the WSDL
+     * @throws SOAPToRESTException if the WSDL cannot be converted
+     */
+    public static SOAPtoRESTConversionData getSOAPtoRESTConversionData(String filePath, String apiTitle,
+                                                                       String apiVersion, ConversionOptions options)
+            throws SOAPToRESTException {
+
+        options = options != null ? options : ConversionOptions.defaults();
+        return convert(getFileURL(filePath), filePath, apiTitle, apiVersion, options, options.getImportResolver(),
+                null);
+    }
+
+    /**
+     * Converts a WSDL in a zip or jar archive file, which is read in place without extracting it.
+     *
+     * @param archivePath path of the zip or jar file
+     * @param wsdlEntry   name of the WSDL file in the archive, or null if the archive has a single WSDL file
+     * @param apiTitle    title of the generated API
+     * @param apiVersion  version of the generated API
+     * @param options     options of the conversion, or null for the default options
+     * @return the conversion data of the WSDL
+     * @throws SOAPToRESTException if the archive or the WSDL cannot be read, or the WSDL cannot be converted
+     */
+    public static SOAPtoRESTConversionData getSOAPtoRESTConversionDataFromArchive(String archivePath,
+                                                                                  String wsdlEntry, String apiTitle,
+                                                                                  String apiVersion,
+                                                                                  ConversionOptions options)
+            throws SOAPToRESTException {
+
+        try (WSDLArchive archive = WSDLArchive.open(archivePath)) {
+            return getSOAPtoRESTConversionDataFromArchive(archive, wsdlEntry, apiTitle, apiVersion, options);
+        }
+    }
+
+    /**
+     * Converts a WSDL in a zip or jar archive in a buffer, from its position to its limit, which is read in place
+     * without copying or extracting it.
+     *
+     * @param archive    content of the zip or jar archive
+     * @param wsdlEntry  name of the WSDL file in the archive, or null if the archive has a single WSDL file
+     * @param apiTitle   title of the generated API
+     * @param apiVersion version of the generated API
+     * @param options    options of the conversion, or null for the default options
+     * @return the conversion data of the WSDL
+     * @throws SOAPToRESTException if the archive or the WSDL cannot be read, or the WSDL cannot be converted
+     */
+    public static SOAPtoRESTConversionData getSOAPtoRESTConversionDataFromArchive(ByteBuffer archive,
+                                                                                  String wsdlEntry, String apiTitle,
+                                                                                  String apiVersion,
+                                                                                  ConversionOptions options)
+            throws SOAPToRESTException {
+
+        try (WSDLArchive wsdlArchive = WSDLArchive.open(archive)) {
+            return getSOAPtoRESTConversionDataFromArchive(wsdlArchive, wsdlEntry, apiTitle, apiVersion, options);
+        }
+    }
+
+    /**
+     * Converts a WSDL in an open archive with the given options. The WSDL and the documents it refers to by relative
+     * locations are read from the entries of the archive, and the documents it refers to by absolute locations are
+     * fetched by the import resolver of the options. The documents of an archive are always read by a resolver, so
+     * options without a resolver read them with a resolver without timeouts.
+     *
+     * @param archive    archive of the WSDL
+     * @param wsdlEntry  name of the WSDL file in the archive, or null if the archive has a single WSDL file
+     * @param apiTitle   title of the generated API
+     * @param apiVersion version of the generated API
+     * @param options    options of the conversion, or null for the default options
+     * @return the conversion data of the WSDL
+     * @throws SOAPToRESTException if the WSDL cannot be read or converted, or is not converted before the deadline
+     */
+    public static SOAPtoRESTConversionData getSOAPtoRESTConversionDataFromArchive(WSDLArchive archive,
+                                                                                  String wsdlEntry, String apiTitle,
+                                                                                  String apiVersion,
+                                                                                  ConversionOptions options)
+            throws SOAPToRESTException {
+
+        options = options != null ? options : ConversionOptions.defaults();
+        ImportResolver importResolver = options.getImportResolver();
+        return convert(archive.getWSDLURL(wsdlEntry), null, apiTitle, apiVersion, options,
+                importResolver != null ? importResolver : ARCHIVE_IMPORT_RESOLVER, null);
+    }
+
+    /**
+     * Converts the changed WSDL of the given URL with the given options, reusing the unchanged parts of the previous
+     * conversion of the WSDL. The WSDL is read and modelled again, and the digest of every XSD definition of a
+     * component is compared with the digest of the component of the same name in the previous conversion. Only the
+     * schemas of the definitions whose digests changed are generated, and only the SOAP payloads of the operations
+     * that changed or whose requests reach a changed component. The reused schemas and payloads are copied from
+     * the previous conversion data, so the result and the previous conversion data can be changed independently. The
+     * digests of the components are kept with the result, so that it can be the previous conversion data of the next
+     * change.
+     *
+     * @param previousConversionData earlier conversion of the WSDL, which is converted from scratch if it has no
+     *                               digests of its components, such as a conversion without the
+     *                               {@link ConversionOptions.Builder#componentDigests(boolean)} option
+     * @param url                    URL of the changed WSDL file
+     * @param apiTitle               title of the generated API
+     * @param apiVersion             version of the generated API
+     * @param options                options of the conversion, or null for the default options
+     * @return the conversion data of the changed WSDL
+     * @throws SOAPToRESTException if the WSDL cannot be converted, or is not converted before the deadline of the
+     *                             import resolver
+     */
+    public static SOAPtoRESTConversionData getUpdatedSOAPtoRESTConversionData(
+            SOAPtoRESTConversionData previousConversionData, URL url, String apiTitle, String apiVersion,
+            ConversionOptions options) throws SOAPToRESTException {
+
+        options = options != null ? options : ConversionOptions.defaults();
+        return convert(url, null, apiTitle, apiVersion, options, options.getImportResolver(), previousConversionData);
+    }
+
+    /**
+     * Converts the changed WSDL file like
+     * {@link #getUpdatedSOAPtoRESTConversionData(SOAPtoRESTConversionData, URL, String, String, ConversionOptions)}.
+     *
+     * @param previousConversionData earlier conversion of the WSDL
+     * @param filePath               path of the changed WSDL file
+     * @param apiTitle               title of the generated API
+     * @param apiVersion             version of the generated API
+     * @param options                options of the conversion, or null for the default options
+     * @return the conversion data of the changed WSDL
+     * @throws SOAPToRESTException if the WSDL cannot be converted, or is not converted before the deadline of the
+     *                             import resolver
+     */
+    public static SOAPtoRESTConversionData getUpdatedSOAPtoRESTConversionData(
+            SOAPtoRESTConversionData previousConversionData, String filePath, String apiTitle, String apiVersion,
+            ConversionOptions options) throws SOAPToRESTException {
+
+        options = options != null ? options : ConversionOptions.defaults();
+        return convert(getFileURL(filePath), filePath, apiTitle, apiVersion, options, options.getImportResolver(),
+                previousConversionData);
+    }
+
+    /**
+     * Converts the WSDL of the given URL, or of the given file when the path of the file is known.
+     *
+     * @param previousConversionData earlier conversion whose schemas and SOAP payloads are reused, or null
+     */
+    private static SOAPtoRESTConversionData convert(URL url, String filePath, String apiTitle, String apiVersion,
+                                                    ConversionOptions options, ImportResolver importResolver,
+                                                    SOAPtoRESTConversionData previousConversionData)
+            throws SOAPToRESTException {
+
+        ConversionCache conversionCache = options.getConversionCache();
+        // An incremental conversion keeps the digests, so that its result can be the previous one of the next change
+        boolean componentDigests = options.isComponentDigests() || previousConversionData != null;
+        ResolvedDocuments resolvedDocuments = importResolver != null ? importResolver.resolve(url) : null;
+        WSDLContentDigest contentDigest = getContentDigest(url, resolvedDocuments, conversionCache);
+        String conversionKey = null;
+        if (contentDigest != null) {
+            conversionKey = ConversionCache.getConversionKey(contentDigest, apiTitle, apiVersion,
+                    options.isReachableTypesOnly(), options.isSharedInlineTypes(), componentDigests);
+            SOAPtoRESTConversionData conversionData = conversionCache.getConversion(conversionKey);
+            if (conversionData != null) {
+                return conversionData;
+            }
+        }
+        SOAPtoRESTConversionData conversionData = null;
+        if (options.isStreaming()) {
+            conversionData = convert(StreamingWSDLLoader.load(url, getWSDLContent(contentDigest,
+                    resolvedDocuments), resolvedDocuments), options.isReachableTypesOnly(), resolvedDocuments,
+                    apiTitle, apiVersion, options.getExecutorService(), options.isSharedInlineTypes(),
+                    componentDigests, previousConversionData);
+        }
+        if (conversionData == null) {
+            WSDLProcessor wsdlProcessor = new WSDLProcessor();
+            wsdlProcessor.reachableTypesOnly = options.isReachableTypesOnly();
+            wsdlProcessor.resolvedDocuments = resolvedDocuments;
+            if (filePath != null) {
+                wsdlProcessor.init(filePath, contentDigest, conversionCache);
+            } else {
+                wsdlProcessor.init(url, contentDigest, conversionCache);
+            }
+            conversionData = convert(wsdlProcessor, apiTitle, apiVersion, options.getExecutorService(),
+                    options.isSharedInlineTypes(), componentDigests, previousConversionData);
+        }
+        if (conversionKey != null) {
+            conversionCache.putConversion(conversionKey, conversionData);
+        }
+        return conversionData;
+    }
+
+    /**
+     * Returns the content hash of the WSDL for the conversion cache, computed from the fetched documents when the
+     * documents were fetched in advance.
+     */
+    private static WSDLContentDigest getContentDigest(URL url, ResolvedDocuments resolvedDocuments,
+                                                      ConversionCache conversionCache) throws SOAPToRESTException {
+
+        if (conversionCache == null) {
+            return null;
+        }
+        return resolvedDocuments != null ? WSDLContentDigest.fromResolvedDocuments(resolvedDocuments) :
+                WSDLContentDigest.fromURL(url);
+    }
+
+    private static byte[] getWSDLContent(WSDLContentDigest contentDigest, ResolvedDocuments resolvedDocuments) {
+
+        if (contentDigest != null) {
+            return contentDigest.getWSDLContent();
+        }
+        return resolvedDocuments != null ? resolvedDocuments.getWSDLContent() : null;
+    }
+
+    private static SOAPtoRESTConversionData convert(WSDLProcessor wsdlProcessor, String apiTitle, String apiVersion,
+                                                    ExecutorService executorService, boolean sharedInlineTypes,
+                                                    boolean componentDigests,
+                                                    SOAPtoRESTConversionData previousConversionData)
+            throws SOAPToRESTException {
+
         SOAPOperationExtractingUtil soapOperationExtractingUtil = new SOAPOperationExtractingUtil();
         WSDLInfo wsdlInfo = soapOperationExtractingUtil.getWsdlInfo(wsdlProcessor.getWsdlDefinition());
-        OpenAPI openAPI = OASGenerator.generateOpenAPIFromWSDL(wsdlInfo, wsdlProcessor.xsdDataModels, apiTitle,
-                apiVersion);
+        if (wsdlProcessor.reachableTypesOnly) {
+            wsdlProcessor.initializeReachableModels(wsdlInfo.getSoapBindingOperations());
+        }
+        if (wsdlProcessor.resolvedDocuments != null) {
+            wsdlProcessor.resolvedDocuments.checkDeadline();
+        }
+        return convert(wsdlInfo, wsdlProcessor.xsdDataModels, wsdlProcessor.typeRegistry, apiTitle, apiVersion,
+                executorService, sharedInlineTypes, componentDigests, previousConversionData);
+    }
+
+    /**
+     * Converts a WSDL read by the streaming loader.
+     *
+     * @return the conversion data of the WSDL, or null if the streaming loader did not read the WSDL
+     */
+    private static SOAPtoRESTConversionData convert(StreamingWSDLLoader streamingWSDLLoader,
+                                                    boolean reachableTypesOnly, ResolvedDocuments resolvedDocuments,
+                                                    String apiTitle, String apiVersion,
+                                                    ExecutorService executorService, boolean sharedInlineTypes,
+                                                    boolean componentDigests,
+                                                    SOAPtoRESTConversionData previousConversionData)
+            throws SOAPToRESTException {
+
+        if (resolvedDocuments != null) {
+            resolvedDocuments.checkDeadline();
+        }
+        if (streamingWSDLLoader == null) {
+            return null;
+        }
+        WSDLInfo wsdlInfo = streamingWSDLLoader.wsdlInfo;
+        if (reachableTypesOnly) {
+            streamingWSDLLoader.initializeReachableModels(wsdlInfo.getSoapBindingOperations());
+        }
+        return convert(wsdlInfo, streamingWSDLLoader.xsdDataModels, streamingWSDLLoader.typeRegistry, apiTitle,
+                apiVersion, executorService, sharedInlineTypes, componentDigests, previousConversionData);
+    }
+
+    /**
+     * Generates the OpenAPI and the SOAP payloads of the modelled WSDL. When the digests of the definitions of the
+     * components are asked for, they are computed while the schemas are generated and kept with the result, so that a
+     * later incremental conversion can compare them. The result keeps no references to the models.
+     */
+    private static SOAPtoRESTConversionData convert(WSDLInfo wsdlInfo, List<XSModel> xsdDataModels,
+                                                    XSTypeRegistry typeRegistry, String apiTitle, String apiVersion,
+                                                    ExecutorService executorService, boolean sharedInlineTypes,
+                                                    boolean componentDigests,
+                                                    SOAPtoRESTConversionData previousConversionData)
+            throws SOAPToRESTException {
+
+        // The registry of the loader does not look for inline types to share, so it is built again
+        XSTypeRegistry registry = sharedInlineTypes ? new XSTypeRegistry(xsdDataModels, true) : typeRegistry;
+        // A fork join pool generates the schemas of the components as well
+        ForkJoinPool forkJoinPool = executorService instanceof ForkJoinPool ? (ForkJoinPool) executorService : null;
+        Map<String, String> digests = componentDigests ? new HashMap<>() : null;
+        OpenAPI openAPI = OASGenerator.generateOpenAPIFromWSDL(wsdlInfo, xsdDataModels, registry, apiTitle,
+                apiVersion, forkJoinPool, digests, previousConversionData);
         return SOAPRequestBodyGenerator.generateSOAPtoRESTConversionObjectFromOAS(openAPI, wsdlInfo.getSoapService(),
-                wsdlInfo.getSoapPort());
+                wsdlInfo.getSoapPort(), executorService, ListJSONPaths.DEFAULT_MAX_DEPTH,
+                ListJSONPaths.DEFAULT_MAX_PATHS, digests, previousConversionData);
+    }
+
+    private static URL getFileURL(String filePath) throws SOAPToRESTException {
+
+        try {
+            return new File(filePath).getAbsoluteFile().toURI().toURL();
+        } catch (MalformedURLException e) {
+            throw new SOAPToRESTException("Cannot process the provide WSDL file", e);
+        }
     }
 }
@@ -0,0 +1,1102 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+import org.wso2.soaptorest.models.WSDLInfo;
+import org.wso2.soaptorest.models.WSDLParameter;
+import org.wso2.soaptorest.models.WSDLSOAPOperation;
+import org.wso2.soaptorest.models.XSAttribute;
+import org.wso2.soaptorest.models.XSChoice;
+import org.wso2.soaptorest.models.XSDataType;
+import org.wso2.soaptorest.models.XSElement;
+import org.wso2.soaptorest.models.XSGroup;
+import org.wso2.soaptorest.models.XSModel;
+import org.wso2.soaptorest.models.XSModelBuilder;
+import org.wso2.soaptorest.models.XSSequence;
+import org.wso2.soaptorest.models.XSTypeRegistry;
+import org.wso2.soaptorest.utils.ResolvedDocuments;
+import org.wso2.soaptorest.utils.SOAPToRESTConstants;
+import org.wso2.soaptorest.utils.WSDLProcessingUtil;
+
+import javax.wsdl.OperationType;
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads a WSDL 1.1 document and the XSD documents its schemas import or include with a streaming XML parser, and
+ * builds the {@link WSDLInfo} of the WSDL and the data models of its schemas directly, without the DOM trees, the
+ * wsdl4j definition and the XmlSchema objects that {@link WSDLProcessor} keeps in memory while it reads a WSDL.
+ * <p>
+ * The loader gives the same WSDL info and data models as {@link WSDLProcessor} and
+ * {@link org.wso2.soaptorest.utils.SOAPOperationExtractingUtil}: the schemas come in the same order, the definitions
+ * of each schema in the order of the hash tables of XmlSchema, and the parameters of each operation in the order of
+ * the hash table of the parts of its message. It supports a WSDL that is a single definitions document with XML Schema
+ * 1.0 (2001) schemas. A WSDL that imports other WSDL documents, redefines a schema, refers to definitions it does not
+ * have or cannot be read as a stream is not loaded, and is left to {@link WSDLProcessor}.
+ */
+public class StreamingWSDLLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingWSDLLoader.class);
+
+    private static final String WSDL_NAMESPACE = "http://schemas.xmlsoap.org/wsdl/";
+    private static final String SOAP_BINDING_NAMESPACE = "http://schemas.xmlsoap.org/wsdl/soap/";
+    private static final String SOAP12_BINDING_NAMESPACE = "http://schemas.xmlsoap.org/wsdl/soap12/";
+    private static final List<String> UNSUPPORTED_SCHEMA_NAMESPACES = Arrays.asList(
+            "http://www.w3.org/1999/XMLSchema", "http://www.w3.org/2000/10/XMLSchema");
+
+    private static final String DEFINITIONS = "definitions";
+    private static final String TYPES = "types";
+    private static final String MESSAGE = "message";
+    private static final String PART = "part";
+    private static final String PORT_TYPE = "portType";
+    private static final String OPERATION = "operation";
+    private static final String INPUT = "input";
+    private static final String OUTPUT = "output";
+    private static final String BINDING = "binding";
+    private static final String SERVICE = "service";
+    private static final String PORT = "port";
+    private static final String IMPORT = "import";
+    private static final String INCLUDE = "include";
+    private static final String REDEFINE = "redefine";
+    private static final String SCHEMA = "schema";
+    private static final String ELEMENT = "element";
+    private static final String ATTRIBUTE = "attribute";
+    private static final String GROUP = "group";
+    private static final String COMPLEX_TYPE = "complexType";
+    private static final String SIMPLE_TYPE = "simpleType";
+    private static final String SEQUENCE = "sequence";
+    private static final String ALL = "all";
+    private static final String CHOICE = "choice";
+    private static final String SIMPLE_CONTENT = "simpleContent";
+    private static final String COMPLEX_CONTENT = "complexContent";
+    private static final String EXTENSION = "extension";
+    private static final String RESTRICTION = "restriction";
+
+    private static final String NAME = "name";
+    private static final String TARGET_NAMESPACE = "targetNamespace";
+    private static final String TYPE = "type";
+    private static final String REF = "ref";
+    private static final String BASE = "base";
+    private static final String FORM = "form";
+    private static final String UNQUALIFIED = "unqualified";
+    private static final String ELEMENT_FORM_DEFAULT = "elementFormDefault";
+    private static final String MIN_OCCURS = "minOccurs";
+    private static final String MAX_OCCURS = "maxOccurs";
+    private static final String UNBOUNDED = "unbounded";
+    private static final String NAMESPACE = "namespace";
+    private static final String SCHEMA_LOCATION = "schemaLocation";
+    private static final String SOAP_ACTION = "soapAction";
+    private static final String STYLE = "style";
+    private static final String DOCUMENT_MESSAGE_TYPE = "document";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXMLInputFactory();
+
+    WSDLInfo wsdlInfo;
+    List<XSModel> xsdDataModels = new ArrayList<>();
+    XSTypeRegistry typeRegistry;
+    // Interns the names of the data models of the conversion
+    final XSModelBuilder modelBuilder = new XSModelBuilder();
+
+    private final URL wsdlURL;
+    private final ResolvedDocuments resolvedDocuments;
+    private String targetNamespace;
+    private final List<SchemaDocument> inlineSchemas = new ArrayList<>();
+    // Hash maps like the ones of wsdl4j, so that the parts and the first service and port come in the same order
+    private final Map<QName, Map<String, MessagePart>> messages = new HashMap<>();
+    private final Map<QName, Map<String, PortTypeOperation>> portTypes = new HashMap<>();
+    private final Map<QName, BindingDefinition> bindings = new HashMap<>();
+    private final Map<QName, Set<String>> services = new HashMap<>();
+    private final Set<String> visitedDocuments = new HashSet<>();
+
+    private StreamingWSDLLoader(URL wsdlURL, ResolvedDocuments resolvedDocuments) {
+
+        this.wsdlURL = wsdlURL;
+        this.resolvedDocuments = resolvedDocuments;
+    }
+
+    /**
+     * Loads the WSDL of the given URL together with the XSD documents its schemas refer to.
+     *
+     * @param wsdlURL     URL of the WSDL, which the locations of the XSD documents are resolved against
+     * @param wsdlContent bytes of the WSDL document, or null to read the WSDL from its URL
+     * @return the loaded WSDL, or null if the WSDL is not supported by the loader or cannot be read
+     * @throws SOAPToRESTException if the WSDL is supported but cannot be converted
+     */
+    static StreamingWSDLLoader load(URL wsdlURL, byte[] wsdlContent) throws SOAPToRESTException {
+
+        return load(wsdlURL, wsdlContent, null);
+    }
+
+    /**
+     * Loads the WSDL of the given URL together with the XSD documents its schemas refer to, taking the documents from
+     * the ones an import resolver fetched in advance. A WSDL with a construct the loader does not support, or with a
+     * document that cannot be read as a stream, is left to the DOM based processor. So is a WSDL with a document that
+     * cannot be fetched, since the processor reads the documents again and reports the failure itself. Any other
+     * failure is a failure of the conversion.
+     *
+     * @param wsdlURL           URL of the WSDL, which the locations of the XSD documents are resolved against
+     * @param wsdlContent       bytes of the WSDL document, or null to read the WSDL from its URL
+     * @param resolvedDocuments documents fetched in advance, or null to read the XSD documents from their URLs
+     * @return the loaded WSDL, or null if the WSDL is not supported by the loader or cannot be read
+     * @throws SOAPToRESTException if the WSDL is supported but cannot be converted
+     */
+    static StreamingWSDLLoader load(URL wsdlURL, byte[] wsdlContent, ResolvedDocuments resolvedDocuments)
+            throws SOAPToRESTException {
+
+        StreamingWSDLLoader loader = new StreamingWSDLLoader(wsdlURL, resolvedDocuments);
+        try {
+            loader.readWSDL(wsdlContent);
+            loader.initializeModels();
+            loader.wsdlInfo = loader.createWSDLInfo();
+        } catch (UnsupportedWSDLException | XMLStreamException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Cannot stream the WSDL " + wsdlURL + ", it is left to the DOM based WSDL processor", e);
+            }
+            return null;
+        } catch (IOException e) {
+            log.warn("Cannot read a document of the WSDL " + wsdlURL + " while streaming it, it is left to the DOM " +
+                    "based WSDL processor", e);
+            return null;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Successfully streamed the WSDL " + wsdlURL);
+        }
+        return loader;
+    }
+
+    /**
+     * @return the SOAP operations, service and port of the WSDL
+     */
+    public WSDLInfo getWsdlInfo() {
+
+        return wsdlInfo;
+    }
+
+    /**
+     * @return the registry of the definitions in the data models of all the schemas of the WSDL
+     */
+    public XSTypeRegistry getTypeRegistry() {
+
+        return typeRegistry;
+    }
+
+    /**
+     * Replaces the data models of the schemas with models of only the definitions that the input and output
+     * parameters of the given operations use, like {@link WSDLProcessor#initializeReachableModels(Set)}. The
+     * definitions are looked up in the registry of all the definitions, which the loader has modelled while it read
+     * the schemas.
+     *
+     * @param operations operations of the WSDL with their parameters
+     */
+    void initializeReachableModels(Set<WSDLSOAPOperation> operations) {
+
+        ReachableDefinitions reachableDefinitions = new ReachableDefinitions();
+        if (operations != null) {
+            for (WSDLSOAPOperation operation : operations) {
+                reachableDefinitions.addParameters(operation.getInputParameterModel());
+                reachableDefinitions.addParameters(operation.getOutputParameterModel());
+            }
+        }
+        reachableDefinitions.followReferences();
+
+        List<XSModel> reachableModels = new ArrayList<>();
+        for (XSModel xsModel : xsdDataModels) {
+            List<XSElement> elements = new ArrayList<>();
+            for (XSElement xsElement : xsModel.getElements()) {
+                if (reachableDefinitions.reachedDefinitions.contains(xsElement)) {
+                    elements.add(xsElement);
+                }
+            }
+            List<XSGroup> groups = new ArrayList<>();
+            for (XSGroup xsGroup : xsModel.getGroups()) {
+                if (reachableDefinitions.reachedDefinitions.contains(xsGroup)) {
+                    groups.add(xsGroup);
+                }
+            }
+            List<XSDataType> dataTypes = new ArrayList<>();
+            for (XSDataType xsDataType : xsModel.getXsDataTypes()) {
+                if (reachableDefinitions.reachedDefinitions.contains(xsDataType)) {
+                    dataTypes.add(xsDataType);
+                }
+            }
+            reachableModels.add(modelBuilder.model(xsModel.getTargetNamespace(),
+                    xsModel.isElementFormDefaultQualified(), elements, null, groups, dataTypes));
+        }
+        xsdDataModels = reachableModels;
+        typeRegistry = new XSTypeRegistry(xsdDataModels);
+    }
+
+    private void readWSDL(byte[] wsdlContent) throws SOAPToRESTException, XMLStreamException, IOException {
+
+        try (InputStream inputStream = wsdlContent != null ? new ByteArrayInputStream(wsdlContent) :
+                wsdlURL.openStream()) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(wsdlURL.toString(), inputStream);
+            try {
+                moveToRootElement(reader);
+                if (!WSDL_NAMESPACE.equals(reader.getNamespaceURI()) || !DEFINITIONS.equals(reader.getLocalName())) {
+                    throw unsupported("a document that is not a WSDL 1.1 definitions document");
+                }
+                readDefinitions(reader);
+            } finally {
+                reader.close();
+            }
+        }
+    }
+
+    private void readDefinitions(XMLStreamReader reader) throws SOAPToRESTException, XMLStreamException {
+
+        targetNamespace = reader.getAttributeValue(null, TARGET_NAMESPACE);
+        while (nextChildElement(reader)) {
+            if (!WSDL_NAMESPACE.equals(reader.getNamespaceURI())) {
+                skipElement(reader);
+                continue;
+            }
+            switch (reader.getLocalName()) {
+                case TYPES:
+                    readTypes(reader);
+                    break;
+                case MESSAGE:
+                    readMessage(reader);
+                    break;
+                case PORT_TYPE:
+                    readPortType(reader);
+                    break;
+                case BINDING:
+                    readBinding(reader);
+                    break;
+                case SERVICE:
+                    readService(reader);
+                    break;
+                case IMPORT:
+                    throw unsupported("wsdl:import");
+                default:
+                    skipElement(reader);
+            }
+        }
+    }
+
+    private void readTypes(XMLStreamReader reader) throws SOAPToRESTException, XMLStreamException {
+
+        while (nextChildElement(reader)) {
+            if (isSchemaElement(reader, SCHEMA)) {
+                inlineSchemas.add(new SchemaDocument(reader, modelBuilder));
+            } else if (UNSUPPORTED_SCHEMA_NAMESPACES.contains(reader.getNamespaceURI())) {
+                throw unsupported("schemas of " + reader.getNamespaceURI());
+            } else {
+                skipElement(reader);
+            }
+        }
+    }
+
+    private void readMessage(XMLStreamReader reader) throws SOAPToRESTException, XMLStreamException {
+
+        QName messageName = getDefinitionName(reader, messages.keySet());
+        Map<String, MessagePart> parts = new HashMap<>();
+        while (nextChildElement(reader)) {
+            if (isWSDLElement(reader, PART)) {
+                parts.put(reader.getAttributeValue(null, NAME), new MessagePart(getWSDLQName(reader, ELEMENT),
+                        getWSDLQName(reader, TYPE)));
+            }
+            skipElement(reader);
+        }
+        messages.put(messageName, parts);
+    }
+
+    private void readPortType(XMLStreamReader reader) throws SOAPToRESTException, XMLStreamException {
+
+        QName portTypeName = getDefinitionName(reader, portTypes.keySet());
+        Map<String, PortTypeOperation> operations = new HashMap<>();
+        while (nextChildElement(reader)) {
+            if (isWSDLElement(reader, OPERATION)) {
+                String operationName = reader.getAttributeValue(null, NAME);
+                if (operations.containsKey(operationName)) {
+                    throw unsupported("overloaded operation " + operationName);
+                }
+                operations.put(operationName, readPortTypeOperation(reader));
+            } else {
+                skipElement(reader);
+            }
+        }
+        portTypes.put(portTypeName, operations);
+    }
+
+    private PortTypeOperation readPortTypeOperation(XMLStreamReader reader)
+            throws SOAPToRESTException, XMLStreamException {
+
+        PortTypeOperation operation = new PortTypeOperation();
+        boolean inputFirst = false;
+        while (nextChildElement(reader)) {
+            if (isWSDLElement(reader, INPUT)) {
+                inputFirst = operation.outputMessage == null;
+                operation.inputMessage = getRequiredWSDLQName(reader, MESSAGE);
+            } else if (isWSDLElement(reader, OUTPUT)) {
+                operation.outputMessage = getRequiredWSDLQName(reader, MESSAGE);
+            }
+            skipElement(reader);
+        }
+        // The operation type of wsdl4j, which is the style of an operation that has no SOAP operation element
+        if (operation.inputMessage != null && operation.outputMessage != null) {
+            operation.style = inputFirst ? OperationType.REQUEST_RESPONSE : OperationType.SOLICIT_RESPONSE;
+        } else if (operation.inputMessage != null) {
+            operation.style = OperationType.ONE_WAY;
+        } else if (operation.outputMessage != null) {
+            operation.style = OperationType.NOTIFICATION;
+        }
+        return operation;
+    }
+
+    private void readBinding(XMLStreamReader reader) throws SOAPToRESTException, XMLStreamException {
+
+        BindingDefinition binding = new BindingDefinition();
+        QName bindingName = getDefinitionName(reader, bindings.keySet());
+        binding.portType = getRequiredWSDLQName(reader, TYPE);
+        while (nextChildElement(reader)) {
+            if (isWSDLElement(reader, OPERATION)) {
+                binding.operations.add(readBindingOperation(reader));
+                continue;
+            }
+            if (!WSDL_NAMESPACE.equals(reader.getNamespaceURI())) {
+                // An extensibility element of the binding
+                binding.extensibilityElementCount++;
+                if (BINDING.equals(reader.getLocalName())) {
+                    if (SOAP_BINDING_NAMESPACE.equals(reader.getNamespaceURI())) {
+                        binding.soapBindingCount++;
+                        binding.hasSoapBinding = true;
+                    } else if (SOAP12_BINDING_NAMESPACE.equals(reader.getNamespaceURI())) {
+                        binding.soapBindingCount++;
+                        binding.hasSoap12Binding = true;
+                    }
+                }
+            }
+            skipElement(reader);
+        }
+        bindings.put(bindingName, binding);
+    }
+
+    private BindingOperation readBindingOperation(XMLStreamReader reader)
+            throws SOAPToRESTException, XMLStreamException {
+
+        BindingOperation bindingOperation = new BindingOperation();
+        bindingOperation.name = reader.getAttributeValue(null, NAME);
+        while (nextChildElement(reader)) {
+            String namespace = reader.getNamespaceURI();
+            if (WSDL_NAMESPACE.equals(namespace)) {
+                if ((INPUT.equals(reader.getLocalName()) || OUTPUT.equals(reader.getLocalName())) &&
+                        reader.getAttributeValue(null, NAME) != null) {
+                    // wsdl4j matches named inputs and outputs with the ones of the port type operations
+                    throw unsupported("named input or output of binding operation " + bindingOperation.name);
+                }
+            } else if (OPERATION.equals(reader.getLocalName()) && (SOAP_BINDING_NAMESPACE.equals(namespace) ||
+                    SOAP12_BINDING_NAMESPACE.equals(namespace))) {
+                bindingOperation.extensibilityElements.add(new String[]{reader.getAttributeValue(null, SOAP_ACTION),
+                        reader.getAttributeValue(null, STYLE)});
+            } else {
+                // Any other extensibility element of the operation, which makes the operation take its style from
+                // a SOAP operation element
+                bindingOperation.extensibilityElements.add(null);
+            }
+            skipElement(reader);
+        }
+        return bindingOperation;
+    }
+
+    private void readService(XMLStreamReader reader) throws SOAPToRESTException, XMLStreamException {
+
+        QName serviceName = getDefinitionName(reader, services.keySet());
+        Set<String> ports = new HashSet<>();
+        while (nextChildElement(reader)) {
+            if (isWSDLElement(reader, PORT)) {
+                ports.add(reader.getAttributeValue(null, NAME));
+            }
+            skipElement(reader);
+        }
+        services.put(serviceName, ports);
+    }
+
+    /**
+     * Adds the data models of the schemas of the WSDL in the order {@link WSDLProcessingUtil#getXMLSchemasFromWSDL}
+     * reads them: every schema in the types of the WSDL is preceded by the XSD documents it refers to, each document
+     * preceded by the documents it refers to in turn, and a document that was added before is skipped.
+     */
+    private void initializeModels() throws SOAPToRESTException, XMLStreamException, IOException {
+
+        for (SchemaDocument inlineSchema : inlineSchemas) {
+            addReferencedDocuments(inlineSchema, wsdlURL);
+            xsdDataModels.add(inlineSchema.xsModel);
+        }
+        typeRegistry = new XSTypeRegistry(xsdDataModels);
+    }
+
+    private void addReferencedDocuments(SchemaDocument schemaDocument, URL baseURL)
+            throws SOAPToRESTException, XMLStreamException, IOException {
+
+        for (Map.Entry<String, List<String>> importEntry : schemaDocument.importLocations.entrySet()) {
+            for (String schemaLocation : importEntry.getValue()) {
+                if (schemaLocation != null) {
+                    addReferencedDocument(new URL(baseURL, schemaLocation));
+                } else {
+                    log.warn("Cannot access referenced schema for the schema defined at: " + importEntry.getKey());
+                }
+            }
+        }
+        for (String schemaLocation : schemaDocument.includeLocations) {
+            addReferencedDocument(new URL(baseURL, schemaLocation));
+        }
+    }
+
+    private void addReferencedDocument(URL documentURL) throws SOAPToRESTException, XMLStreamException, IOException {
+
+        if (!visitedDocuments.add(WSDLProcessingUtil.getCanonicalURI(documentURL.toString()))) {
+            return;
+        }
+        SchemaDocument schemaDocument;
+        try (InputStream inputStream = resolvedDocuments != null ? resolvedDocuments.openStream(documentURL) :
+                documentURL.openStream()) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(documentURL.toString(), inputStream);
+            try {
+                moveToRootElement(reader);
+                if (!isSchemaElement(reader, SCHEMA)) {
+                    throw unsupported("referenced document " + documentURL + " that is not an XSD document");
+                }
+                schemaDocument = new SchemaDocument(reader, modelBuilder);
+            } finally {
+                reader.close();
+            }
+        }
+        addReferencedDocuments(schemaDocument, documentURL);
+        xsdDataModels.add(schemaDocument.xsModel);
+    }
+
+    private WSDLInfo createWSDLInfo() throws SOAPToRESTException {
+
+        WSDLInfo wsdlInfo = new WSDLInfo();
+        wsdlInfo.setVersion(SOAPToRESTConstants.WSDL_VERSION_11);
+        Set<WSDLSOAPOperation> soapOperations = new HashSet<>();
+        boolean hasSoapBinding = false;
+        boolean hasSoap12Binding = false;
+        for (BindingDefinition binding : bindings.values()) {
+            if (binding.extensibilityElementCount == 0) {
+                throw new SOAPToRESTException("Cannot further process to get soap binding operations");
+            }
+            // Every SOAP binding element of the binding adds all the operations of the binding
+            for (int i = 0; i < binding.soapBindingCount; i++) {
+                for (BindingOperation bindingOperation : binding.operations) {
+                    WSDLSOAPOperation soapOperation = createSOAPOperation(bindingOperation,
+                            getPortTypeOperation(binding, bindingOperation));
+                    if (soapOperation != null) {
+                        soapOperations.add(soapOperation);
+                    } else {
+                        log.warn("Unable to get soap operation details: " + bindingOperation.name);
+                    }
+                }
+            }
+            hasSoapBinding |= binding.hasSoapBinding;
+            hasSoap12Binding |= binding.hasSoap12Binding;
+        }
+        if (!soapOperations.isEmpty()) {
+            wsdlInfo.setSoapBindingOperations(soapOperations);
+        }
+        wsdlInfo.setHasSoapBindingOperations(hasSoapBinding);
+        wsdlInfo.setHasSoap12BindingOperations(hasSoap12Binding);
+
+        //only support for single service and a port per WSDL file, hence getting the first one
+        if (services.isEmpty()) {
+            throw unsupported("a WSDL without services");
+        }
+        Map.Entry<QName, Set<String>> service = services.entrySet().iterator().next();
+        if (service.getValue().isEmpty()) {
+            throw unsupported("a service without ports");
+        }
+        wsdlInfo.setSoapService(service.getKey().getLocalPart());
+        wsdlInfo.setSoapPort(service.getValue().iterator().next());
+        return wsdlInfo;
+    }
+
+    private PortTypeOperation getPortTypeOperation(BindingDefinition binding, BindingOperation bindingOperation)
+            throws SOAPToRESTException {
+
+        Map<String, PortTypeOperation> operations = portTypes.get(binding.portType);
+        PortTypeOperation operation = operations != null ? operations.get(bindingOperation.name) : null;
+        if (operation == null) {
+            throw unsupported("binding operation " + bindingOperation.name + " without a port type operation");
+        }
+        return operation;
+    }
+
+    private WSDLSOAPOperation createSOAPOperation(BindingOperation bindingOperation, PortTypeOperation operation)
+            throws SOAPToRESTException {
+
+        WSDLSOAPOperation wsdlOperation = null;
+        if (bindingOperation.extensibilityElements.isEmpty()) {
+            wsdlOperation = createSOAPOperation(bindingOperation.name, operation);
+            wsdlOperation.setStyle(String.valueOf(operation.style));
+        } else {
+            for (String[] soapOperation : bindingOperation.extensibilityElements) {
+                if (soapOperation != null) {
+                    wsdlOperation = createSOAPOperation(bindingOperation.name, operation);
+                    wsdlOperation.setSoapAction(soapOperation[0]);
+                    wsdlOperation.setStyle(soapOperation[1]);
+                }
+            }
+        }
+        return wsdlOperation;
+    }
+
+    private WSDLSOAPOperation createSOAPOperation(String name, PortTypeOperation operation)
+            throws SOAPToRESTException {
+
+        Map<String, MessagePart> inputParts = getMessageParts(operation.inputMessage);
+        WSDLSOAPOperation wsdlOperation = new WSDLSOAPOperation();
+        wsdlOperation.setName(name);
+        // The namespace of the first element part of the input, as the parts come from the hash map
+        String elementNamespace = null;
+        String messageType = "";
+        boolean hasRPCMessages = false;
+        for (MessagePart part : inputParts.values()) {
+            if (part.elementName != null) {
+                if (elementNamespace == null) {
+                    elementNamespace = part.elementName.getNamespaceURI();
+                }
+                messageType = DOCUMENT_MESSAGE_TYPE;
+            } else if (part.typeName != null) {
+                messageType = SOAPToRESTConstants.SOAP_RPC_MESSAGE_TYPE;
+                hasRPCMessages = true;
+            }
+        }
+        wsdlOperation.setTargetNamespace(elementNamespace != null ? elementNamespace : targetNamespace);
+        wsdlOperation.setInputParameterModel(getParameters(inputParts));
+        wsdlOperation.setOutputParameterModel(getParameters(getMessageParts(operation.outputMessage)));
+        wsdlOperation.setMessageType(hasRPCMessages ? SOAPToRESTConstants.SOAP_RPC_MESSAGE_TYPE : messageType);
+        return wsdlOperation;
+    }
+
+    private Map<String, MessagePart> getMessageParts(QName messageName) throws SOAPToRESTException {
+
+        if (messageName == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, MessagePart> parts = messages.get(messageName);
+        if (parts == null) {
+            throw unsupported("undefined message " + messageName);
+        }
+        return parts;
+    }
+
+    private static List<WSDLParameter> getParameters(Map<String, MessagePart> parts) {
+
+        List<WSDLParameter> parameters = new ArrayList<>();
+        for (MessagePart part : parts.values()) {
+            if (part.elementName != null) {
+                parameters.add(new WSDLParameter(part.elementName, WSDLParameter.MessageType.ELEMENT));
+            } else if (part.typeName != null) {
+                parameters.add(new WSDLParameter(part.typeName, WSDLParameter.MessageType.TYPE));
+            }
+        }
+        return parameters;
+    }
+
+    private QName getDefinitionName(XMLStreamReader reader, Set<QName> definedNames)
+            throws SOAPToRESTException {
+
+        String name = reader.getAttributeValue(null, NAME);
+        if (name == null) {
+            throw unsupported("a " + reader.getLocalName() + " without a name");
+        }
+        QName definitionName = new QName(targetNamespace, name);
+        if (definedNames.contains(definitionName)) {
+            throw unsupported("more than one " + reader.getLocalName() + " named " + name);
+        }
+        return definitionName;
+    }
+
+    /**
+     * Resolves a qualified name in an attribute of a WSDL element like wsdl4j, which leaves out the prefix.
+     */
+    private static QName getWSDLQName(XMLStreamReader reader, String attributeName) throws SOAPToRESTException {
+
+        String value = reader.getAttributeValue(null, attributeName);
+        if (value == null) {
+            return null;
+        }
+        int separator = value.indexOf(':');
+        String prefix = separator < 0 ? XMLConstants.DEFAULT_NS_PREFIX : value.substring(0, separator);
+        String namespaceURI = reader.getNamespaceURI(prefix);
+        if (namespaceURI == null || namespaceURI.isEmpty()) {
+            throw unsupported("reference " + value + " without a namespace");
+        }
+        return new QName(namespaceURI, value.substring(separator + 1));
+    }
+
+    private static QName getRequiredWSDLQName(XMLStreamReader reader, String attributeName)
+            throws SOAPToRESTException {
+
+        QName name = getWSDLQName(reader, attributeName);
+        if (name == null) {
+            throw unsupported("a " + reader.getLocalName() + " without the " + attributeName + " attribute");
+        }
+        return name;
+    }
+
+    /**
+     * Resolves a qualified name in an attribute of an XSD element like XmlSchema, which keeps the prefix and takes an
+     * unprefixed name without a default namespace to be in no namespace.
+     */
+    private static QName getSchemaQName(XMLStreamReader reader, String attributeName) throws SOAPToRESTException {
+
+        String value = reader.getAttributeValue(null, attributeName);
+        if (value == null) {
+            return null;
+        }
+        int separator = value.indexOf(':');
+        String prefix = separator < 0 ? XMLConstants.DEFAULT_NS_PREFIX : value.substring(0, separator);
+        String namespaceURI = reader.getNamespaceURI(prefix);
+        if (namespaceURI == null) {
+            if (separator >= 0) {
+                throw unsupported("reference " + value + " with an undeclared prefix");
+            }
+            namespaceURI = XMLConstants.NULL_NS_URI;
+        }
+        return new QName(namespaceURI, value.substring(separator + 1), prefix);
+    }
+
+    private static boolean isWSDLElement(XMLStreamReader reader, String localName) {
+
+        return WSDL_NAMESPACE.equals(reader.getNamespaceURI()) && localName.equals(reader.getLocalName());
+    }
+
+    private static boolean isSchemaElement(XMLStreamReader reader, String localName) {
+
+        return XMLConstants.W3C_XML_SCHEMA_NS_URI.equals(reader.getNamespaceURI()) &&
+                localName.equals(reader.getLocalName());
+    }
+
+    private static void moveToRootElement(XMLStreamReader reader) throws XMLStreamException {
+
+        while (reader.next() != XMLStreamConstants.START_ELEMENT) {
+            // Skips the prolog of the document
+        }
+    }
+
+    /**
+     * Moves from the start tag of an element, or from the end tag of one of its children, to the start tag of its
+     * next child element.
+     *
+     * @return true if the reader is at the start tag of the next child, false if it is at the end tag of the element
+     */
+    private static boolean nextChildElement(XMLStreamReader reader) throws XMLStreamException {
+
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Moves from the start tag of an element to its end tag.
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static UnsupportedWSDLException unsupported(String construct) {
+
+        return new UnsupportedWSDLException("The streaming WSDL loader does not support " + construct);
+    }
+
+    private static XMLInputFactory createXMLInputFactory() {
+
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        // Document type declarations and external entities are not read, a document that needs them is left to the
+        // secured DOM parser of the WSDL processor
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * Data model of a schema read from the stream, with the locations of the documents the schema imports and
+     * includes. The global definitions are kept in hash maps keyed by their qualified names, the way the tables of
+     * XmlSchema keep them, so that the models list them in the same order as the models of {@link WSDLProcessor}.
+     */
+    private static class SchemaDocument {
+
+        final XSModel xsModel;
+        // Keyed by the imported namespace like the imports of a wsdl4j schema
+        final Map<String, List<String>> importLocations = new HashMap<>();
+        final List<String> includeLocations = new ArrayList<>();
+        private final String targetNamespace;
+        private final boolean elementFormDefaultQualified;
+        private final XSModelBuilder modelBuilder;
+
+        /**
+         * Reads the schema element the reader is at, leaving the reader at its end tag.
+         */
+        SchemaDocument(XMLStreamReader reader, XSModelBuilder modelBuilder)
+                throws SOAPToRESTException, XMLStreamException {
+
+            this.modelBuilder = modelBuilder;
+            targetNamespace = reader.getAttributeValue(null, TARGET_NAMESPACE);
+            elementFormDefaultQualified = SOAPToRESTConstants.QUALIFIED.equals(
+                    reader.getAttributeValue(null, ELEMENT_FORM_DEFAULT));
+            Map<QName, XSElement> elements = new HashMap<>();
+            Map<QName, XSAttribute> attributes = new HashMap<>();
+            Map<QName, XSGroup> groups = new HashMap<>();
+            Map<QName, XSDataType> dataTypes = new HashMap<>();
+            while (nextChildElement(reader)) {
+                if (!XMLConstants.W3C_XML_SCHEMA_NS_URI.equals(reader.getNamespaceURI())) {
+                    skipElement(reader);
+                    continue;
+                }
+                switch (reader.getLocalName()) {
+                    case ELEMENT:
+                        elements.put(getGlobalName(reader), readElement(reader, true));
+                        break;
+                    case ATTRIBUTE:
+                        attributes.put(getGlobalName(reader), readAttribute(reader));
+                        break;
+                    case GROUP:
+                        groups.put(getGlobalName(reader), readGroup(reader));
+                        break;
+                    case COMPLEX_TYPE:
+                    case SIMPLE_TYPE:
+                        dataTypes.put(getGlobalName(reader), readDataType(reader));
+                        break;
+                    case IMPORT:
+                        importLocations.computeIfAbsent(reader.getAttributeValue(null, NAMESPACE),
+                                namespace -> new ArrayList<>()).add(reader.getAttributeValue(null, SCHEMA_LOCATION));
+                        skipElement(reader);
+                        break;
+                    case INCLUDE:
+                        String schemaLocation = reader.getAttributeValue(null, SCHEMA_LOCATION);
+                        if (schemaLocation != null) {
+                            includeLocations.add(schemaLocation);
+                        }
+                        skipElement(reader);
+                        break;
+                    case REDEFINE:
+                        throw unsupported("xsd:redefine");
+                    default:
+                        skipElement(reader);
+                }
+            }
+            xsModel = modelBuilder.model(targetNamespace, elementFormDefaultQualified, elements.values(),
+                    attributes.values(), groups.values(), dataTypes.values());
+        }
+
+        private QName getGlobalName(XMLStreamReader reader) throws SOAPToRESTException {
+
+            String name = reader.getAttributeValue(null, NAME);
+            if (name == null) {
+                throw unsupported("a global " + reader.getLocalName() + " without a name");
+            }
+            return new QName(targetNamespace, name);
+        }
+
+        private XSElement readElement(XMLStreamReader reader, boolean global)
+                throws SOAPToRESTException, XMLStreamException {
+
+            String name = reader.getAttributeValue(null, NAME);
+            QName typeName = getSchemaQName(reader, TYPE);
+            QName refName = getSchemaQName(reader, REF);
+            QName elementName = null;
+            if (global) {
+                elementName = new QName(targetNamespace, name);
+            } else if (name != null && refName == null) {
+                elementName = new QName(getLocalElementNamespace(reader), name);
+            }
+            boolean array = getOccurs(reader, MAX_OCCURS) > 1;
+            boolean optional = getOccurs(reader, MIN_OCCURS) == 0;
+            XSDataType inlineType = null;
+            while (nextChildElement(reader)) {
+                if (isSchemaElement(reader, COMPLEX_TYPE) || isSchemaElement(reader, SIMPLE_TYPE)) {
+                    inlineType = readDataType(reader);
+                } else {
+                    skipElement(reader);
+                }
+            }
+            // The type of the element is taken from its type attribute, its inline type or its reference, in turn
+            if (typeName != null) {
+                inlineType = null;
+                refName = null;
+            } else if (inlineType != null) {
+                refName = null;
+            } else if (refName == null) {
+                log.warn("Data type for the child element " + name + "did " + "not processed");
+            }
+            return modelBuilder.element(elementName, typeName, refName, inlineType, optional, array);
+        }
+
+        private String getLocalElementNamespace(XMLStreamReader reader) {
+
+            String form = reader.getAttributeValue(null, FORM);
+            if (SOAPToRESTConstants.QUALIFIED.equals(form) ||
+                    (elementFormDefaultQualified && !UNQUALIFIED.equals(form))) {
+                return targetNamespace;
+            }
+            return XMLConstants.NULL_NS_URI;
+        }
+
+        private XSAttribute readAttribute(XMLStreamReader reader) throws SOAPToRESTException, XMLStreamException {
+
+            QName attributeName = getGlobalName(reader);
+            QName typeName = getSchemaQName(reader, TYPE);
+            QName refName = getSchemaQName(reader, REF);
+            XSDataType inlineType = null;
+            while (nextChildElement(reader)) {
+                if (isSchemaElement(reader, SIMPLE_TYPE)) {
+                    inlineType = readDataType(reader);
+                } else {
+                    skipElement(reader);
+                }
+            }
+            if (typeName != null) {
+                inlineType = null;
+                refName = null;
+            } else if (inlineType != null) {
+                refName = null;
+            } else if (refName == null) {
+                log.warn("Data type for the child element " + attributeName.getLocalPart() + "did " +
+                        "not processed");
+            }
+            return modelBuilder.attribute(attributeName, typeName, refName, inlineType);
+        }
+
+        private XSGroup readGroup(XMLStreamReader reader) throws SOAPToRESTException, XMLStreamException {
+
+            QName groupName = getGlobalName(reader);
+            XSSequence xsSequence = null;
+            while (nextChildElement(reader)) {
+                if (isSchemaElement(reader, SEQUENCE) || isSchemaElement(reader, CHOICE) ||
+                        isSchemaElement(reader, ALL)) {
+                    xsSequence = modelBuilder.sequence(readSequence(reader));
+                } else {
+                    skipElement(reader);
+                }
+            }
+            if (xsSequence == null) {
+                throw unsupported("group " + groupName + " without a model group");
+            }
+            return modelBuilder.group(groupName, xsSequence);
+        }
+
+        private XSDataType readDataType(XMLStreamReader reader) throws SOAPToRESTException, XMLStreamException {
+
+            String name = reader.getAttributeValue(null, NAME);
+            QName typeName = name != null ? new QName(targetNamespace, name) : null;
+            if (COMPLEX_TYPE.equals(reader.getLocalName())) {
+                return readComplexTypeContent(reader, typeName);
+            }
+            return readSimpleTypeContent(reader, typeName);
+        }
+
+        /**
+         * Reads the direct elements of the sequence, all or choice of a complex type, the group it refers to and the
+         * base type of its simple or complex content extension.
+         */
+        private XSDataType readComplexTypeContent(XMLStreamReader reader, QName typeName)
+                throws SOAPToRESTException, XMLStreamException {
+
+            QName extensionBase = null;
+            XSSequence xsSequence = null;
+            XSChoice xsChoice = null;
+            XSGroup xsGroup = null;
+            while (nextChildElement(reader)) {
+                if (!XMLConstants.W3C_XML_SCHEMA_NS_URI.equals(reader.getNamespaceURI())) {
+                    skipElement(reader);
+                    continue;
+                }
+                switch (reader.getLocalName()) {
+                    case SEQUENCE:
+                    case ALL:
+                        xsSequence = modelBuilder.sequence(readSequence(reader));
+                        break;
+                    case CHOICE:
+                        xsChoice = modelBuilder.choice(readSequence(reader));
+                        break;
+                    case GROUP:
+                        xsGroup = modelBuilder.groupReference(getSchemaQName(reader, REF));
+                        skipElement(reader);
+                        break;
+                    case SIMPLE_CONTENT:
+                    case COMPLEX_CONTENT:
+                        while (nextChildElement(reader)) {
+                            if (isSchemaElement(reader, EXTENSION)) {
+                                extensionBase = getSchemaQName(reader, BASE);
+                            }
+                            skipElement(reader);
+                        }
+                        break;
+                    default:
+                        skipElement(reader);
+                }
+            }
+            return modelBuilder.complexType(typeName, extensionBase, xsSequence, xsChoice, xsGroup);
+        }
+
+        private XSDataType readSimpleTypeContent(XMLStreamReader reader, QName typeName)
+                throws SOAPToRESTException, XMLStreamException {
+
+            QName baseType = null;
+            while (nextChildElement(reader)) {
+                if (isSchemaElement(reader, RESTRICTION)) {
+                    baseType = getSchemaQName(reader, BASE);
+                }
+                skipElement(reader);
+            }
+            return modelBuilder.simpleType(typeName, baseType);
+        }
+
+        /**
+         * Reads the direct elements of a sequence, all or choice, leaving out the nested model groups and wildcards.
+         */
+        private List<XSElement> readSequence(XMLStreamReader reader) throws SOAPToRESTException, XMLStreamException {
+
+            List<XSElement> elements = new ArrayList<>();
+            while (nextChildElement(reader)) {
+                if (isSchemaElement(reader, ELEMENT)) {
+                    elements.add(readElement(reader, false));
+                } else {
+                    skipElement(reader);
+                }
+            }
+            return elements;
+        }
+
+        private static long getOccurs(XMLStreamReader reader, String attributeName) throws SOAPToRESTException {
+
+            String value = reader.getAttributeValue(null, attributeName);
+            if (value == null) {
+                return 1;
+            }
+            value = value.trim();
+            if (UNBOUNDED.equals(value)) {
+                return Long.MAX_VALUE;
+            }
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                throw unsupported(attributeName + " " + value);
+            }
+        }
+    }
+
+    /**
+     * Signals a WSDL the loader does not support, which is left to the DOM based processor.
+     */
+    private static final class UnsupportedWSDLException extends SOAPToRESTException {
+
+        UnsupportedWSDLException(String msg) {
+
+            super(msg);
+        }
+    }
+
+    private static class MessagePart {
+
+        final QName elementName;
+        final QName typeName;
+
+        MessagePart(QName elementName, QName typeName) {
+
+            this.elementName = elementName;
+            this.typeName = typeName;
+        }
+    }
+
+    private static class PortTypeOperation {
+
+        QName inputMessage;
+        QName outputMessage;
+        OperationType style;
+    }
+
+    private static class BindingDefinition {
+
+        QName portType;
+        final List<BindingOperation> operations = new ArrayList<>();
+        int extensibilityElementCount;
+        int soapBindingCount;
+        boolean hasSoapBinding;
+        boolean hasSoap12Binding;
+    }
+
+    private static class BindingOperation {
+
+        String name;
+        // The soapAction and style of every SOAP operation element, and null for any other extensibility element
+        final List<String[]> extensibilityElements = new ArrayList<>();
+    }
+
+    /**
+     * Definitions that the parameters of the operations reach, looked up in the registry of all the definitions.
+     */
+    private class ReachableDefinitions extends XSReferenceFollower {
+
+        final Set<Object> reachedDefinitions = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        @Override
+        Object reachDefinition(QName name, DefinitionKind kind) {
+
+            Object xsDefinition;
+            switch (kind) {
+                case ELEMENT:
+                    xsDefinition = typeRegistry.getElement(name);
+                    break;
+                case GROUP:
+                    xsDefinition = typeRegistry.getGroup(name);
+                    break;
+                default:
+                    xsDefinition = typeRegistry.getDataType(name);
+            }
+            return xsDefinition != null && reachedDefinitions.add(xsDefinition) ? xsDefinition : null;
+        }
+    }
+}
@@ -17,16 +17,21 @@
  */
 package org.wso2.soaptorest;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.ws.commons.schema.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
 import org.wso2.soaptorest.exceptions.SOAPToRESTException;
 import org.wso2.soaptorest.models.*;
+import org.wso2.soaptorest.utils.ResolvedDocuments;
 import org.wso2.soaptorest.utils.SOAPToRESTConstants;
+import org.wso2.soaptorest.utils.WSDLContentDigest;
 import org.wso2.soaptorest.utils.WSDLProcessingUtil;
 
 import javax.wsdl.Definition;
 import javax.wsdl.WSDLException;
+import javax.wsdl.extensions.schema.Schema;
 import javax.wsdl.factory.WSDLFactory;
 import javax.wsdl.xml.WSDLReader;
 import javax.xml.namespace.QName;
@@ -34,8 +39,13 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -49,6 +59,13 @@ public class WSDLProcessor {
     Logger log = LoggerFactory.getLogger(WSDLProcessor.class);
     Set<XmlSchema> wsdlSchemaList;
     List<XSModel> xsdDataModels = new ArrayList<>();
+    XSTypeRegistry typeRegistry;
+    // Interns the names of the data models of the conversion
+    final XSModelBuilder modelBuilder = new XSModelBuilder();
+    // Leaves the data models to initializeReachableModels, which models only the definitions the operations use
+    boolean reachableTypesOnly;
+    // Documents fetched in advance by an import resolver, or null to fetch them while the WSDL is read
+    ResolvedDocuments resolvedDocuments;
     private Definition wsdlDefinition;
 
     public static WSDLFactory getWsdlFactoryInstance() throws SOAPToRESTException {
@@ -75,6 +92,21 @@ public class WSDLProcessor {
      */
     void init(String path) throws SOAPToRESTException {
 
+        init(path, null, null);
+    }
+
+    /**
+     * Initialize the processor based on a provided file path which contains WSDL file, taking the schemas from the
+     * given cache when it has them.
+     *
+     * @param path            File path with WSDL file
+     * @param contentDigest   content hash of the WSDL file, or null to read the WSDL file without a cache
+     * @param conversionCache cache of the schemas, or null to read the WSDL file without a cache
+     * @throws SOAPToRESTException Unexpected error while initialization
+     */
+    void init(String path, WSDLContentDigest contentDigest, ConversionCache conversionCache)
+            throws SOAPToRESTException {
+
         WSDLReader wsdlReader = getWsdlFactoryInstance().newWSDLReader();
 
         //Switch off the verbose mode
@@ -86,8 +118,18 @@ public class WSDLProcessor {
             if (systemId == null) {
                 systemId = "";
             }
-            wsdlDefinition = wsdlReader.readWSDL(systemId, WSDLProcessingUtil.getSecuredParsedDocumentFromPath(path, systemId));
-            initializeModels(wsdlDefinition, systemId);
+            Document document;
+            if (contentDigest != null) {
+                document = WSDLProcessingUtil.getSecuredParsedDocumentFromBytes(contentDigest.getWSDLContent(),
+                        systemId);
+            } else if (resolvedDocuments != null) {
+                document = WSDLProcessingUtil.getSecuredParsedDocumentFromBytes(resolvedDocuments.getWSDLContent(),
+                        systemId);
+            } else {
+                document = WSDLProcessingUtil.getSecuredParsedDocumentFromPath(path, systemId);
+            }
+            wsdlDefinition = readWSDL(wsdlReader, systemId, document);
+            initializeModels(wsdlDefinition, systemId, contentDigest, conversionCache);
             if (log.isDebugEnabled()) {
                 log.debug("Successfully initialized the WSDL File from given path");
             }
@@ -106,15 +148,39 @@ public class WSDLProcessor {
      */
     void init(URL url) throws SOAPToRESTException {
 
+        init(url, null, null);
+    }
+
+    /**
+     * Initialize the processor based on a provided URL of the WSDL file, taking the schemas from the given cache when
+     * it has them.
+     *
+     * @param url             URL of the WSDL file
+     * @param contentDigest   content hash of the WSDL file, or null to read the WSDL file without a cache
+     * @param conversionCache cache of the schemas, or null to read the WSDL file without a cache
+     * @throws SOAPToRESTException Unexpected error while initialization
+     */
+    void init(URL url, WSDLContentDigest contentDigest, ConversionCache conversionCache)
+            throws SOAPToRESTException {
+
         WSDLReader wsdlReader = getWsdlFactoryInstance().newWSDLReader();
 
         //Switch off the verbose mode
         wsdlReader.setFeature(JAVAX_WSDL_VERBOSE_MODE, false);
         wsdlReader.setFeature(JAVAX_WSDL_IMPORT_DOCUMENTS, false);
         try {
-            wsdlDefinition = wsdlReader.readWSDL(url.toString(),
-                    WSDLProcessingUtil.getSecuredParsedDocumentFromURL(url));
-            initializeModels(wsdlDefinition, null);
+            Document document;
+            if (contentDigest != null) {
+                document = WSDLProcessingUtil.getSecuredParsedDocumentFromBytes(contentDigest.getWSDLContent(), null);
+            } else if (resolvedDocuments != null) {
+                document = WSDLProcessingUtil.getSecuredParsedDocumentFromBytes(resolvedDocuments.getWSDLContent(),
+                        null);
+            } else {
+                document = WSDLProcessingUtil.getSecuredParsedDocumentFromURL(url);
+            }
+            wsdlDefinition = readWSDL(wsdlReader, url.toString(), document);
+            // The schemas in the types of the WSDL import documents relative to the URL of the WSDL
+            initializeModels(wsdlDefinition, url.toString(), contentDigest, conversionCache);
             if (log.isDebugEnabled()) {
                 log.debug("Successfully initialized the WSDL File from given URL");
             }
@@ -125,6 +191,20 @@ public class WSDLProcessor {
         }
     }
 
+    /**
+     * Reads the WSDL definition of a parsed WSDL document. With documents fetched in advance, the schemas the WSDL
+     * refers to are read from them through a locator instead of being fetched by the WSDL reader. When the WSDL
+     * documents the WSDL imports were fetched as well, they are read into the definitions of the imports from the
+     * documents the secured parser parses.
+     */
+    private Definition readWSDL(WSDLReader wsdlReader, String systemId, Document document) throws WSDLException {
+
+        if (resolvedDocuments == null) {
+            return wsdlReader.readWSDL(systemId, document);
+        }
+        return resolvedDocuments.readWSDL(systemId, document);
+    }
+
     /**
      * This method will extract the XSD Schemas from the WSDL file and generate the data model
      *
@@ -132,98 +212,276 @@ public class WSDLProcessor {
      */
     public void initializeModels(Definition wsdlDefinition, String systemId) {
 
-        wsdlSchemaList = WSDLProcessingUtil.getXMLSchemasFromWSDL(wsdlDefinition, systemId);
-        for (XmlSchema xmlSchema : wsdlSchemaList) {
-            // Process single XSD Schema file from the available schema list
-            XSModel xsModel = new XSModel();
-            xsModel.setTargetNamespace(xmlSchema.getTargetNamespace());
-            xsModel.setElementFormDefaultQualified(
-                    SOAPToRESTConstants.QUALIFIED.equals(xmlSchema.getElementFormDefault().getValue()));
+        wsdlSchemaList = WSDLProcessingUtil.getXMLSchemasFromWSDL(wsdlDefinition, systemId,
+                resolvedDocuments != null ? resolvedDocuments.getSchemaResolver() : null);
+        if (!reachableTypesOnly) {
+            for (XmlSchema xmlSchema : wsdlSchemaList) {
+                // Process single XSD Schema file from the available schema list
+                xsdDataModels.add(createXSModel(xmlSchema));
+            }
+        }
+        typeRegistry = new XSTypeRegistry(xsdDataModels);
+    }
 
-            //Process Elements in the XSD
-            Iterator<?> elementsIterator = xmlSchema.getElements().getValues();
-            while (elementsIterator.hasNext()) {
-                Object xmlSchemaObject = elementsIterator.next();
-                if (xmlSchemaObject instanceof XmlSchemaElement) {
-                    XSElement xsElement = processXmlSchemaElement((XmlSchemaElement) xmlSchemaObject);
-                    xsModel.addElement(xsElement);
+    /**
+     * Extracts the XSD Schemas from the WSDL file and generates the data model like
+     * {@link #initializeModels(Definition, String)}, but takes the schemas and their data models from the given cache
+     * when it has them. A schema read from an XSD document is keyed by the content hash of the document, so that it is
+     * shared by all the WSDL files that refer to the same document. A schema in the types of the WSDL is keyed by the
+     * content hash of the WSDL.
+     *
+     * @param wsdlDefinition  input WSDL definition
+     * @param systemId        base URI of the schemas in the types of the WSDL
+     * @param contentDigest   content hash of the WSDL file, or null to read the schemas without a cache
+     * @param conversionCache cache of the schemas, or null to read the schemas without a cache
+     */
+    void initializeModels(Definition wsdlDefinition, String systemId, WSDLContentDigest contentDigest,
+                          ConversionCache conversionCache) {
+
+        if (contentDigest == null || conversionCache == null) {
+            initializeModels(wsdlDefinition, systemId);
+            return;
+        }
+        wsdlSchemaList = new LinkedHashSet<>();
+        XmlSchemaCollection schemaCollection = new XmlSchemaCollection();
+        if (resolvedDocuments != null) {
+            schemaCollection.setSchemaResolver(resolvedDocuments.getSchemaResolver());
+        }
+        Set<String> visitedDocuments = new HashSet<>();
+        // Copies of the same document at other locations have the same content hash, they are modelled once
+        Set<String> schemaKeys = new HashSet<>();
+        for (Definition definition : WSDLProcessingUtil.getDefinitions(wsdlDefinition)) {
+            // The schemas in the types of an imported WSDL document are keyed by the content hash of the document
+            String definitionSystemId = systemId;
+            String definitionDigest = contentDigest.getDigest();
+            if (definition != wsdlDefinition) {
+                definitionSystemId = definition.getDocumentBaseURI();
+                definitionDigest = contentDigest.getDocumentDigest(definitionSystemId);
+            }
+            int inlineSchemaIndex = 0;
+            for (Schema schema : WSDLProcessingUtil.getInlineSchemas(definition)) {
+                for (Schema referencedSchema : WSDLProcessingUtil.getReferencedSchemas(schema, visitedDocuments)) {
+                    String documentDigest = contentDigest.getDocumentDigest(referencedSchema.getDocumentBaseURI());
+                    addSchema(documentDigest, referencedSchema, false, systemId, schemaCollection,
+                            documentDigest != null ? conversionCache : null, schemaKeys);
                 }
+                String inlineSchemaKey = definitionDigest + '#' + inlineSchemaIndex++;
+                addSchema(inlineSchemaKey, schema, true, definitionSystemId, schemaCollection,
+                        definitionDigest != null ? conversionCache : null, schemaKeys);
             }
+        }
+        typeRegistry = new XSTypeRegistry(xsdDataModels);
+    }
 
-            //Process Attributes in the XSD
-            Iterator<?> attributesIterator = xmlSchema.getAttributes().getValues();
-            while (attributesIterator.hasNext()) {
-                Object xmlSchemaObject = attributesIterator.next();
-                if (xmlSchemaObject instanceof XmlSchemaAttribute) {
-                    XSAttribute xsAttribute = processXmlSchemaAttribute((XmlSchemaAttribute) xmlSchemaObject);
-                    xsModel.addAttribute(xsAttribute);
-                }
+    /**
+     * Adds a schema and its data model, taking them from the cache when it has them. A schema that is not cached is
+     * read into the collection of the WSDL.
+     */
+    private void addSchema(String schemaKey, Schema schema, boolean inlineSchema, String systemId,
+                           XmlSchemaCollection schemaCollection, ConversionCache conversionCache,
+                           Set<String> schemaKeys) {
+
+        if (conversionCache == null) {
+            // A document the content hash does not cover, such as one the WSDL reader resolved differently
+            XmlSchema xmlSchema = readSchema(schema, inlineSchema, systemId, schemaCollection);
+            if (wsdlSchemaList.add(xmlSchema) && !reachableTypesOnly) {
+                xsdDataModels.add(createXSModel(xmlSchema));
+            }
+            return;
+        }
+        if (!schemaKeys.add(schemaKey)) {
+            return;
+        }
+        ConversionCache.SchemaEntry schemaEntry = conversionCache.getSchema(schemaKey);
+        if (schemaEntry == null) {
+            XmlSchema xmlSchema = readSchema(schema, inlineSchema, systemId, schemaCollection);
+            schemaEntry = new ConversionCache.SchemaEntry(xmlSchema,
+                    reachableTypesOnly ? null : createXSModel(xmlSchema));
+            conversionCache.putSchema(schemaKey, schemaEntry);
+        } else if (schemaEntry.xsModel == null && !reachableTypesOnly) {
+            // The schema was cached by a conversion that modelled only the reachable definitions
+            schemaEntry = new ConversionCache.SchemaEntry(schemaEntry.xmlSchema, createXSModel(schemaEntry.xmlSchema));
+            conversionCache.putSchema(schemaKey, schemaEntry);
+        }
+        wsdlSchemaList.add(schemaEntry.xmlSchema);
+        if (!reachableTypesOnly) {
+            xsdDataModels.add(schemaEntry.xsModel);
+        }
+    }
+
+    /**
+     * Replaces the data models of the schemas with models of only the definitions that the input and output
+     * parameters of the given operations use. The elements and data types of the parameters are followed through the
+     * types of their elements, the elements they refer to, the base types they extend and the groups they refer to,
+     * and only the definitions reached on the way are modelled. The models keep the order of the schemas and of the
+     * definitions in each schema, so the models are the ones of all the definitions without the unused ones.
+     *
+     * @param operations operations of the WSDL with their parameters
+     */
+    void initializeReachableModels(Set<WSDLSOAPOperation> operations) {
+
+        ReachableDefinitions reachableDefinitions = new ReachableDefinitions();
+        if (operations != null) {
+            for (WSDLSOAPOperation operation : operations) {
+                reachableDefinitions.addParameters(operation.getInputParameterModel());
+                reachableDefinitions.addParameters(operation.getOutputParameterModel());
             }
+        }
+        reachableDefinitions.followReferences();
 
-            //Process XSD Group data type
+        List<XSModel> reachableModels = new ArrayList<>();
+        for (XmlSchema xmlSchema : wsdlSchemaList) {
+            List<XSElement> elements = new ArrayList<>();
+            Iterator<?> elementsIterator = xmlSchema.getElements().getValues();
+            while (elementsIterator.hasNext()) {
+                Object xsElement = reachableDefinitions.modelledDefinitions.get(elementsIterator.next());
+                if (xsElement != null) {
+                    elements.add((XSElement) xsElement);
+                }
+            }
+            List<XSGroup> groups = new ArrayList<>();
             Iterator<?> groupIterator = xmlSchema.getGroups().getValues();
             while (groupIterator.hasNext()) {
-                XSSequence xsSequence = new XSSequence();
-                XSGroup xsGroup = new XSGroup();
-                Object schemaGroupObject = groupIterator.next();
-                if (schemaGroupObject instanceof XmlSchemaGroup) {
-                    XmlSchemaGroup xmlSchemaGroup = (XmlSchemaGroup) schemaGroupObject;
-                    xsGroup.setName(xmlSchemaGroup.getName());
-                    int numOfGroupElements = xmlSchemaGroup.getParticle().getItems().getCount();
-                    for (int i = 0; i < numOfGroupElements; i++) {
-                        XmlSchemaObject xmlSchemaObject = xmlSchemaGroup.getParticle().getItems().getItem(i);
-                        if (xmlSchemaObject instanceof XmlSchemaElement) {
-                            XSElement xsElement = processXmlSchemaElement((XmlSchemaElement) xmlSchemaObject);
-                            xsSequence.addElement(xsElement);
-                        }
-                    }
-                    xsGroup.addSequence(xsSequence);
+                Object xsGroup = reachableDefinitions.modelledDefinitions.get(groupIterator.next());
+                if (xsGroup != null) {
+                    groups.add((XSGroup) xsGroup);
                 }
-                xsModel.addGroup(xsGroup);
             }
-
-            //Process Data Types defined in the schema
+            List<XSDataType> dataTypes = new ArrayList<>();
             Iterator<?> schemaTypeIterator = xmlSchema.getSchemaTypes().getValues();
             while (schemaTypeIterator.hasNext()) {
-                Object schemaTypeObject = schemaTypeIterator.next();
-                if (schemaTypeObject instanceof XmlSchemaType) {
-                    XSDataType xsDataType = processXSDataType((XmlSchemaType) schemaTypeObject);
-                    xsModel.addXSDataType(xsDataType);
+                Object xsDataType = reachableDefinitions.modelledDefinitions.get(schemaTypeIterator.next());
+                if (xsDataType != null) {
+                    dataTypes.add((XSDataType) xsDataType);
                 }
+            }
+            reachableModels.add(createXSModel(xmlSchema, elements, null, groups, dataTypes));
+        }
+        xsdDataModels = reachableModels;
+        typeRegistry = new XSTypeRegistry(xsdDataModels);
+    }
+
+    private static XmlSchema readSchema(Schema schema, boolean inlineSchema, String systemId,
+                                        XmlSchemaCollection schemaCollection) {
+
+        return inlineSchema ? WSDLProcessingUtil.readInlineSchema(schemaCollection, schema, systemId) :
+                WSDLProcessingUtil.readReferencedSchema(schemaCollection, schema);
+    }
+
+    /**
+     * Generates the data model of a single XSD Schema
+     *
+     * @param xmlSchema input XSD Schema
+     * @return the data model of the schema
+     */
+    private XSModel createXSModel(XmlSchema xmlSchema) {
+
+        //Process Elements in the XSD
+        List<XSElement> elements = new ArrayList<>();
+        Iterator<?> elementsIterator = xmlSchema.getElements().getValues();
+        while (elementsIterator.hasNext()) {
+            Object xmlSchemaObject = elementsIterator.next();
+            if (xmlSchemaObject instanceof XmlSchemaElement) {
+                elements.add(processXmlSchemaElement((XmlSchemaElement) xmlSchemaObject));
+            }
+        }
+
+        //Process Attributes in the XSD
+        List<XSAttribute> attributes = new ArrayList<>();
+        Iterator<?> attributesIterator = xmlSchema.getAttributes().getValues();
+        while (attributesIterator.hasNext()) {
+            Object xmlSchemaObject = attributesIterator.next();
+            if (xmlSchemaObject instanceof XmlSchemaAttribute) {
+                attributes.add(processXmlSchemaAttribute((XmlSchemaAttribute) xmlSchemaObject));
+            }
+        }
+
+        //Process XSD Group data type
+        List<XSGroup> groups = new ArrayList<>();
+        Iterator<?> groupIterator = xmlSchema.getGroups().getValues();
+        while (groupIterator.hasNext()) {
+            Object schemaGroupObject = groupIterator.next();
+            if (schemaGroupObject instanceof XmlSchemaGroup) {
+                groups.add(processXmlSchemaGroup((XmlSchemaGroup) schemaGroupObject));
+            } else {
+                groups.add(modelBuilder.group(null, null));
+            }
+        }
+
+        //Process Data Types defined in the schema
+        List<XSDataType> dataTypes = new ArrayList<>();
+        Iterator<?> schemaTypeIterator = xmlSchema.getSchemaTypes().getValues();
+        while (schemaTypeIterator.hasNext()) {
+            Object schemaTypeObject = schemaTypeIterator.next();
+            if (schemaTypeObject instanceof XmlSchemaType) {
+                dataTypes.add(processXSDataType((XmlSchemaType) schemaTypeObject));
+            }
+
+        }
+        return createXSModel(xmlSchema, elements, attributes, groups, dataTypes);
+    }
+
+    private XSModel createXSModel(XmlSchema xmlSchema, List<XSElement> elements, List<XSAttribute> attributes,
+                                  List<XSGroup> groups, List<XSDataType> dataTypes) {
 
+        return modelBuilder.model(xmlSchema.getTargetNamespace(),
+                SOAPToRESTConstants.QUALIFIED.equals(xmlSchema.getElementFormDefault().getValue()), elements,
+                attributes, groups, dataTypes);
+    }
+
+    private XSGroup processXmlSchemaGroup(XmlSchemaGroup xmlSchemaGroup) {
+
+        List<XSElement> elements = new ArrayList<>();
+        int numOfGroupElements = xmlSchemaGroup.getParticle().getItems().getCount();
+        for (int i = 0; i < numOfGroupElements; i++) {
+            XmlSchemaObject xmlSchemaObject = xmlSchemaGroup.getParticle().getItems().getItem(i);
+            if (xmlSchemaObject instanceof XmlSchemaElement) {
+                elements.add(processXmlSchemaElement((XmlSchemaElement) xmlSchemaObject));
             }
-            xsdDataModels.add(xsModel);
         }
+        return modelBuilder.group(xmlSchemaGroup.getName(), modelBuilder.sequence(elements));
     }
 
     private XSElement processXmlSchemaElement(XmlSchemaElement xmlSchemaElement) {
 
-        XSElement xsElement = new XSElement();
-        xsElement.setName(xmlSchemaElement.getQName());
-        xsElement.setArray(xmlSchemaElement.getMaxOccurs() > 1);
+        QName type = null;
+        QName refKey = null;
+        XSDataType inlineComplexType = null;
         if (xmlSchemaElement.getSchemaTypeName() != null) {
-            xsElement.setType(xmlSchemaElement.getSchemaTypeName());
+            type = xmlSchemaElement.getSchemaTypeName();
         } else if (xmlSchemaElement.getSchemaType() != null) {
             // If the schema type is inline, then the Schema type name will be null
-            XSDataType inlineComplexType = processXSDataType(xmlSchemaElement.getSchemaType());
-            xsElement.setInlineComplexType(inlineComplexType);
+            inlineComplexType = processXSDataType(xmlSchemaElement.getSchemaType());
         } else if (xmlSchemaElement.getRefName() != null) {
-            xsElement.setRefKey(xmlSchemaElement.getRefName());
+            refKey = xmlSchemaElement.getRefName();
         } else {
             log.warn("Data type for the child element " + xmlSchemaElement.getName() + "did " + "not processed");
         }
-        if (xmlSchemaElement.getMinOccurs() == 0) {
-            xsElement.setOptional(true);
-        }
-        return xsElement;
+        return modelBuilder.element(xmlSchemaElement.getQName(), type, refKey, inlineComplexType,
+                xmlSchemaElement.getMinOccurs() == 0, xmlSchemaElement.getMaxOccurs() > 1);
     }
 
     public XSDataType processXSDataType(XmlSchemaType xmlSchemaType) {
 
-        XSDataType xsDataType = new XSDataType();
-        if (xmlSchemaType.getName() != null) {
-            xsDataType.setName(xmlSchemaType.getQName());
+        QName name = xmlSchemaType.getName() != null ? xmlSchemaType.getQName() : null;
+        if (xmlSchemaType instanceof XmlSchemaSimpleType) {
+            XmlSchemaSimpleType xmlSchemaTypeObject = (XmlSchemaSimpleType) xmlSchemaType;
+            QName baseType = null;
+            if (xmlSchemaTypeObject.getBaseSchemaTypeName() != null) {
+                baseType = xmlSchemaTypeObject.getBaseSchemaTypeName();
+            } else if (xmlSchemaTypeObject.getContent() != null) {
+                if (xmlSchemaTypeObject.getContent() instanceof XmlSchemaSimpleTypeRestriction) {
+                    XmlSchemaSimpleTypeRestriction xmlSchemaSimpleTypeRestriction =
+                            (XmlSchemaSimpleTypeRestriction) xmlSchemaTypeObject.getContent();
+                    baseType = xmlSchemaSimpleTypeRestriction.getBaseTypeName();
+                }
+            }
+            return modelBuilder.simpleType(xmlSchemaTypeObject.getQName(), baseType);
         }
+        QName extensionBase = null;
+        XSSequence xsSequence = null;
+        XSChoice xsChoice = null;
+        XSGroup xsGroup = null;
         if (xmlSchemaType instanceof XmlSchemaComplexType) {
             XmlSchemaComplexType complexType = (XmlSchemaComplexType) xmlSchemaType;
 
@@ -234,11 +492,11 @@ public class WSDLProcessor {
                 if (xmlSchemaContent instanceof XmlSchemaSimpleContentExtension) {
                     XmlSchemaSimpleContentExtension simpleContentExtension =
                             (XmlSchemaSimpleContentExtension) xmlSchemaContent;
-                    xsDataType.setExtensionBase(simpleContentExtension.getBaseTypeName());
+                    extensionBase = simpleContentExtension.getBaseTypeName();
                 } else if (xmlSchemaContent instanceof XmlSchemaComplexContentExtension) {
                     XmlSchemaComplexContentExtension complexContentExtension =
                             (XmlSchemaComplexContentExtension) xmlSchemaContent;
-                    xsDataType.setExtensionBase(complexContentExtension.getBaseTypeName());
+                    extensionBase = complexContentExtension.getBaseTypeName();
                 }
             }
 
@@ -246,88 +504,131 @@ public class WSDLProcessor {
             XmlSchemaParticle xmlSchemaParticle = complexType.getParticle();
             // Process XSD All and Sequence as single type since no need to support sequence in openAPI
             if (xmlSchemaParticle instanceof XmlSchemaAll || xmlSchemaParticle instanceof XmlSchemaSequence) {
-                XmlSchemaGroupBase xmlSchemaGroupBase = (XmlSchemaGroupBase) complexType.getParticle();
-                int numElements = xmlSchemaGroupBase.getItems().getCount();
-                XSSequence xsSequence = new XSSequence();
-                for (int i = 0; i < numElements; i++) {
-                    XmlSchemaObject xmlSchemaObject = xmlSchemaGroupBase.getItems().getItem(i);
-                    if (xmlSchemaObject instanceof XmlSchemaElement) {
-                        XSElement xsElement = processXmlSchemaElement((XmlSchemaElement) xmlSchemaObject);
-                        xsSequence.addElement(xsElement);
-                    }
-                }
-                xsDataType.setSequence(xsSequence);
+                xsSequence = modelBuilder.sequence(processXmlSchemaElements((XmlSchemaGroupBase) xmlSchemaParticle));
             }
 
             //Process Choice types
             if (xmlSchemaParticle instanceof XmlSchemaChoice) {
-                XmlSchemaChoice xmlSchemaChoice = (XmlSchemaChoice) xmlSchemaParticle;
-                int numElements = xmlSchemaChoice.getItems().getCount();
-                XSChoice xsChoice = new XSChoice();
-                for (int i = 0; i < numElements; i++) {
-                    XmlSchemaObject xmlSchemaObject = xmlSchemaChoice.getItems().getItem(i);
-                    if (xmlSchemaObject instanceof XmlSchemaElement) {
-                        XSElement xsElement = processXmlSchemaElement((XmlSchemaElement) xmlSchemaObject);
-                        xsChoice.addElement(xsElement);
-                    }
-                }
-                xsDataType.setChoice(xsChoice);
+                xsChoice = modelBuilder.choice(processXmlSchemaElements((XmlSchemaChoice) xmlSchemaParticle));
             }
 
             //Process Group types
             if (xmlSchemaParticle instanceof XmlSchemaGroupRef) {
                 XmlSchemaGroupRef xmlSchemaGroupRef = (XmlSchemaGroupRef) xmlSchemaParticle;
-                XSGroup xsGroup = new XSGroup();
-                xsGroup.setRefKey(xmlSchemaGroupRef.getRefName());
-                xsDataType.setGroup(xsGroup);
+                xsGroup = modelBuilder.groupReference(xmlSchemaGroupRef.getRefName());
             }
         }
+        return modelBuilder.complexType(name, extensionBase, xsSequence, xsChoice, xsGroup);
+    }
 
-        if (xmlSchemaType instanceof XmlSchemaSimpleType) {
-            XmlSchemaSimpleType xmlSchemaTypeObject = (XmlSchemaSimpleType) xmlSchemaType;
-            XSSequence xsSequence = new XSSequence();
-            XSElement xsElement = new XSElement();
-            xsElement.setName(xmlSchemaTypeObject.getQName());
-            if (xmlSchemaTypeObject.getBaseSchemaTypeName() != null) {
-                xsElement.setType(xmlSchemaTypeObject.getBaseSchemaTypeName());
-            } else if (xmlSchemaTypeObject.getContent() != null) {
-                if (xmlSchemaTypeObject.getContent() instanceof XmlSchemaSimpleTypeRestriction) {
-                    XmlSchemaSimpleTypeRestriction xmlSchemaSimpleTypeRestriction =
-                            (XmlSchemaSimpleTypeRestriction) xmlSchemaTypeObject.getContent();
-                    xsElement.setType(xmlSchemaSimpleTypeRestriction.getBaseTypeName());
-                }
-            }
-            if (xsElement.getType() == null) {
-                xsElement.setType(new QName("string"));
+    private List<XSElement> processXmlSchemaElements(XmlSchemaGroupBase xmlSchemaGroupBase) {
 
+        List<XSElement> elements = new ArrayList<>();
+        int numElements = xmlSchemaGroupBase.getItems().getCount();
+        for (int i = 0; i < numElements; i++) {
+            XmlSchemaObject xmlSchemaObject = xmlSchemaGroupBase.getItems().getItem(i);
+            if (xmlSchemaObject instanceof XmlSchemaElement) {
+                elements.add(processXmlSchemaElement((XmlSchemaElement) xmlSchemaObject));
             }
-            xsSequence.addElement(xsElement);
-            xsDataType.setSequence(xsSequence);
-            xsDataType.setSimpleType(true);
         }
-        return xsDataType;
+        return elements;
     }
 
     private XSAttribute processXmlSchemaAttribute(XmlSchemaAttribute xmlSchemaAttribute) {
 
-        XSAttribute xsAttribute = new XSAttribute();
-        xsAttribute.setName(xmlSchemaAttribute.getQName());
+        QName type = null;
+        QName refKey = null;
+        XSDataType inlineComplexType = null;
         if (xmlSchemaAttribute.getSchemaTypeName() != null) {
-            xsAttribute.setType(xmlSchemaAttribute.getSchemaTypeName());
+            type = xmlSchemaAttribute.getSchemaTypeName();
         } else if (xmlSchemaAttribute.getSchemaType() != null) {
             // If the schema type is inline, then the Schema type name will be null
-            XSDataType inlineComplexType = processXSDataType(xmlSchemaAttribute.getSchemaType());
-            xsAttribute.setInlineComplexType(inlineComplexType);
+            inlineComplexType = processXSDataType(xmlSchemaAttribute.getSchemaType());
         } else if (xmlSchemaAttribute.getRefName() != null) {
-            xsAttribute.setRefKey(xmlSchemaAttribute.getRefName());
+            refKey = xmlSchemaAttribute.getRefName();
         } else {
             log.warn("Data type for the child element " + xmlSchemaAttribute.getName() + "did " + "not processed");
         }
-        return xsAttribute;
+        return modelBuilder.attribute(xmlSchemaAttribute.getQName(), type, refKey, inlineComplexType);
     }
 
     public Definition getWsdlDefinition() {
 
         return wsdlDefinition;
     }
+
+    /**
+     * @return the registry of the definitions in the data models of all the schemas of the WSDL
+     */
+    public XSTypeRegistry getTypeRegistry() {
+
+        return typeRegistry;
+    }
+
+    /**
+     * Definitions of the schemas that the parameters of the operations reach, which are modelled as they are reached.
+     * The definitions a model refers to are looked up by their qualified names in the schemas of their namespace.
+     */
+    private class ReachableDefinitions extends XSReferenceFollower {
+
+        // Keyed by the definitions in the tables of the schemas, so that every definition is modelled once
+        final Map<XmlSchemaObject, Object> modelledDefinitions = new IdentityHashMap<>();
+        private final Map<String, List<XmlSchema>> schemasByNamespace = new HashMap<>();
+
+        ReachableDefinitions() {
+
+            for (XmlSchema xmlSchema : wsdlSchemaList) {
+                schemasByNamespace.computeIfAbsent(StringUtils.defaultString(xmlSchema.getTargetNamespace()),
+                        namespace -> new ArrayList<>()).add(xmlSchema);
+            }
+        }
+
+        @Override
+        Object reachDefinition(QName name, DefinitionKind kind) {
+
+            List<XmlSchema> xmlSchemas = schemasByNamespace.get(StringUtils.defaultString(name.getNamespaceURI()));
+            if (xmlSchemas == null) {
+                // A built-in type of XML Schema or a definition of a schema the WSDL does not have
+                return null;
+            }
+            for (XmlSchema xmlSchema : xmlSchemas) {
+                XmlSchemaObject definition = getDefinitionTable(xmlSchema, kind).getItem(name);
+                if (definition != null) {
+                    if (modelledDefinitions.containsKey(definition)) {
+                        return null;
+                    }
+                    Object xsDefinition = createXSDefinition(definition);
+                    if (xsDefinition != null) {
+                        modelledDefinitions.put(definition, xsDefinition);
+                    }
+                    return xsDefinition;
+                }
+            }
+            return null;
+        }
+
+        private XmlSchemaObjectTable getDefinitionTable(XmlSchema xmlSchema, DefinitionKind kind) {
+
+            switch (kind) {
+                case ELEMENT:
+                    return xmlSchema.getElements();
+                case GROUP:
+                    return xmlSchema.getGroups();
+                default:
+                    return xmlSchema.getSchemaTypes();
+            }
+        }
+
+        private Object createXSDefinition(XmlSchemaObject definition) {
+
+            if (definition instanceof XmlSchemaElement) {
+                return processXmlSchemaElement((XmlSchemaElement) definition);
+            } else if (definition instanceof XmlSchemaType) {
+                return processXSDataType((XmlSchemaType) definition);
+            } else if (definition instanceof XmlSchemaGroup) {
+                return processXmlSchemaGroup((XmlSchemaGroup) definition);
+            }
+            return null;
+        }
+    }
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import org.wso2.soaptorest.models.WSDLParameter;
+import org.wso2.soaptorest.models.XSChoice;
+import org.wso2.soaptorest.models.XSDataType;
+import org.wso2.soaptorest.models.XSElement;
+import org.wso2.soaptorest.models.XSGroup;
+import org.wso2.soaptorest.models.XSSequence;
+
+import javax.xml.namespace.QName;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Follows the references between the data models of the XSD definitions, starting from the parameters of the
+ * operations. The types of elements, the elements they refer to, the base types they extend and the groups they refer
+ * to are followed until no new definition is reached. How a referenced definition is looked up, and modelled if it is
+ * not modelled yet, is left to {@link #reachDefinition(QName, DefinitionKind)}.
+ */
+abstract class XSReferenceFollower {
+
+    private final Deque<Object> pendingDefinitions = new ArrayDeque<>();
+
+    /**
+     * Kinds of the global definitions a model can refer to.
+     */
+    enum DefinitionKind {
+        ELEMENT, DATA_TYPE, GROUP
+    }
+
+    /**
+     * Looks up the global definition of the given name.
+     *
+     * @param name qualified name of the definition
+     * @param kind kind of the definition
+     * @return the model of the definition if it is reached for the first time, or null if it was reached before or
+     * is not defined in the schemas of the WSDL
+     */
+    abstract Object reachDefinition(QName name, DefinitionKind kind);
+
+    void addParameters(List<WSDLParameter> parameters) {
+
+        if (parameters == null) {
+            return;
+        }
+        for (WSDLParameter parameter : parameters) {
+            if (parameter.getMessageType() == WSDLParameter.MessageType.TYPE) {
+                addDefinition(parameter.getQName(), DefinitionKind.DATA_TYPE);
+            } else {
+                addDefinition(parameter.getQName(), DefinitionKind.ELEMENT);
+            }
+        }
+    }
+
+    /**
+     * Reaches the definitions the reached definitions refer to, until no new definition is reached.
+     */
+    void followReferences() {
+
+        while (!pendingDefinitions.isEmpty()) {
+            Object xsDefinition = pendingDefinitions.pop();
+            if (xsDefinition instanceof XSElement) {
+                followElement((XSElement) xsDefinition);
+            } else if (xsDefinition instanceof XSDataType) {
+                followDataType((XSDataType) xsDefinition);
+            } else {
+                followGroup((XSGroup) xsDefinition);
+            }
+        }
+    }
+
+    private void addDefinition(QName name, DefinitionKind kind) {
+
+        if (name == null) {
+            return;
+        }
+        Object xsDefinition = reachDefinition(name, kind);
+        if (xsDefinition != null) {
+            pendingDefinitions.push(xsDefinition);
+        }
+    }
+
+    private void followElement(XSElement xsElement) {
+
+        addDefinition(xsElement.getType(), DefinitionKind.DATA_TYPE);
+        addDefinition(xsElement.getRefKey(), DefinitionKind.ELEMENT);
+        if (xsElement.getInlineComplexType() != null) {
+            followDataType(xsElement.getInlineComplexType());
+        }
+    }
+
+    private void followDataType(XSDataType xsDataType) {
+
+        addDefinition(xsDataType.getExtensionBase(), DefinitionKind.DATA_TYPE);
+        if (xsDataType.getSequence() != null) {
+            followSequence(xsDataType.getSequence());
+        }
+        if (xsDataType.getChoice() != null) {
+            followChoice(xsDataType.getChoice());
+        }
+        if (xsDataType.getGroup() != null) {
+            followGroup(xsDataType.getGroup());
+        }
+    }
+
+    private void followSequence(XSSequence xsSequence) {
+
+        if (xsSequence.getElementList() != null) {
+            for (XSElement xsElement : xsSequence.getElementList()) {
+                followElement(xsElement);
+            }
+        }
+        if (xsSequence.getSequenceList() != null) {
+            for (XSSequence innerSequence : xsSequence.getSequenceList()) {
+                followSequence(innerSequence);
+            }
+        }
+        if (xsSequence.getChoiceList() != null) {
+            for (XSChoice xsChoice : xsSequence.getChoiceList()) {
+                followChoice(xsChoice);
+            }
+        }
+    }
+
+    private void followChoice(XSChoice xsChoice) {
+
+        if (xsChoice.getSequenceList() != null) {
+            for (XSSequence xsSequence : xsChoice.getSequenceList()) {
+                followSequence(xsSequence);
+            }
+        }
+        if (xsChoice.getChoiceList() != null) {
+            for (XSChoice innerChoice : xsChoice.getChoiceList()) {
+                followChoice(innerChoice);
+            }
+        }
+        if (xsChoice.getGroupsList() != null) {
+            for (XSGroup xsGroup : xsChoice.getGroupsList()) {
+                followGroup(xsGroup);
+            }
+        }
+        if (xsChoice.getElementList() != null) {
+            for (XSElement xsElement : xsChoice.getElementList()) {
+                followElement(xsElement);
+            }
+        }
+    }
+
+    private void followGroup(XSGroup xsGroup) {
+
+        if (xsGroup.getSequenceList() != null) {
+            for (XSSequence xsSequence : xsGroup.getSequenceList()) {
+                followSequence(xsSequence);
+            }
+        }
+        if (xsGroup.getChoiceList() != null) {
+            for (XSChoice xsChoice : xsGroup.getChoiceList()) {
+                followChoice(xsChoice);
+            }
+        }
+        addDefinition(xsGroup.getRefKey(), DefinitionKind.GROUP);
+    }
+}
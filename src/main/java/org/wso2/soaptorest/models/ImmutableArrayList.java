@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.models;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Unmodifiable list of the children of a model, backed by an array of the exact size of the list.
+ */
+final class ImmutableArrayList<E> extends AbstractList<E> implements RandomAccess {
+
+    private final Object[] items;
+
+    private ImmutableArrayList(Object[] items) {
+
+        this.items = items;
+    }
+
+    /**
+     * Copies the given items into a list of their exact size. The lists without items are all the same empty list.
+     *
+     * @param items items of the list, or null for an empty list
+     * @return the unmodifiable list of the items
+     */
+    static <E> List<E> copyOf(Collection<? extends E> items) {
+
+        if (items == null || items.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return new ImmutableArrayList<>(items.toArray());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+
+        return (E) items[index];
+    }
+
+    @Override
+    public int size() {
+
+        return items.length;
+    }
+}
@@ -17,9 +17,18 @@
  */
 package org.wso2.soaptorest.models;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.swagger.v3.core.util.Json;
 import io.swagger.v3.core.util.Yaml;
 import io.swagger.v3.oas.models.OpenAPI;
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
 
@@ -33,14 +42,45 @@ public class SOAPtoRESTConversionData {
     private final Map<String, SOAPRequestElement> soapRequestBodyMapping;
     private final String soapService;
     private final String soapPort;
+    private final Map<String, String> componentDigests;
+    // Serialized on the first request for each format, a race serializes the same bytes twice
+    private volatile byte[] serializedJSON;
+    private volatile byte[] serializedYAML;
+
+    /**
+     * Formats the OpenAPI can be written in.
+     */
+    public enum OASFormat {
+        JSON, YAML
+    }
 
     public SOAPtoRESTConversionData(OpenAPI openAPI, Map<String, SOAPRequestElement> soapRequestBodyMapping,
                                     String soapService, String soapPort) {
 
+        this(openAPI, soapRequestBodyMapping, soapService, soapPort, null);
+    }
+
+    /**
+     * Creates the conversion data with the digests of the XSD definitions the schemas of the components were
+     * generated from, which an incremental conversion of a changed WSDL compares to find the schemas and SOAP
+     * payloads it can reuse.
+     *
+     * @param openAPI                OpenAPI of the SOAP endpoint
+     * @param soapRequestBodyMapping SOAP payloads of the operations by their operation ids
+     * @param soapService            name of the SOAP service
+     * @param soapPort               name of the SOAP port
+     * @param componentDigests       digests of the definitions by the names of their components, or null if they
+     *                               are not known
+     */
+    public SOAPtoRESTConversionData(OpenAPI openAPI, Map<String, SOAPRequestElement> soapRequestBodyMapping,
+                                    String soapService, String soapPort, Map<String, String> componentDigests) {
+
         this.openAPI = openAPI;
         this.soapRequestBodyMapping = soapRequestBodyMapping;
         this.soapService = soapService;
         this.soapPort = soapPort;
+        this.componentDigests = componentDigests != null ? Collections.unmodifiableMap(componentDigests) :
+                Collections.emptyMap();
     }
 
     public Set<Map.Entry<String, SOAPRequestElement>> getAllSOAPRequestBodies() {
@@ -48,11 +88,126 @@ public class SOAPtoRESTConversionData {
         return soapRequestBodyMapping.entrySet();
     }
 
+    /**
+     * @param operationId operation id of an operation of the OpenAPI
+     * @return the SOAP payload of the operation, or null if the OpenAPI has no such operation
+     */
+    public SOAPRequestElement getSOAPRequestBody(String operationId) {
+
+        return soapRequestBodyMapping.get(operationId);
+    }
+
+    /**
+     * Returns the digests of the XSD definitions the schemas of the components were generated from. Two definitions
+     * with the same digest give the same schema, so a conversion of a changed WSDL reuses the schemas whose digests
+     * did not change.
+     *
+     * @return the digests by the names of the components, which is empty if the digests are not known
+     */
+    public Map<String, String> getComponentDigests() {
+
+        return componentDigests;
+    }
+
     public String getOASString() {
 
         return Yaml.pretty(openAPI);
     }
 
+    /**
+     * Writes the OpenAPI in UTF-8 with a Jackson generator, which serializes the OpenAPI while it writes it instead of
+     * building the whole document first. The output is the same as the one of {@link #getOASString()} for YAML and of
+     * {@code Json.pretty} for JSON. The output stream is not closed.
+     *
+     * @param outputStream stream the OpenAPI is written to
+     * @param format       format of the OpenAPI
+     * @throws SOAPToRESTException if the OpenAPI cannot be written to the stream
+     */
+    public void writeOAS(OutputStream outputStream, OASFormat format) throws SOAPToRESTException {
+
+        try {
+            getOASWriter(format).writeValue(outputStream, openAPI);
+        } catch (IOException e) {
+            throw new SOAPToRESTException("Error while writing the OpenAPI as " + format, e);
+        }
+    }
+
+    /**
+     * Writes the OpenAPI like {@link #writeOAS(OutputStream, OASFormat)} to a character stream, which is not closed.
+     *
+     * @param writer stream the OpenAPI is written to
+     * @param format format of the OpenAPI
+     * @throws SOAPToRESTException if the OpenAPI cannot be written to the stream
+     */
+    public void writeOAS(Writer writer, OASFormat format) throws SOAPToRESTException {
+
+        try {
+            getOASWriter(format).writeValue(writer, openAPI);
+        } catch (IOException e) {
+            throw new SOAPToRESTException("Error while writing the OpenAPI as " + format, e);
+        }
+    }
+
+    /**
+     * Returns the OpenAPI serialized in UTF-8 like {@link #writeOAS(OutputStream, OASFormat)}. The OpenAPI is
+     * serialized on the first call for each format and the same bytes are returned by all the later calls, so a
+     * change of the OpenAPI after the first call is not in the result.
+     *
+     * @param format format of the OpenAPI
+     * @return a read only buffer of the serialized OpenAPI
+     * @throws SOAPToRESTException if the OpenAPI cannot be serialized
+     */
+    public ByteBuffer getSerializedOAS(OASFormat format) throws SOAPToRESTException {
+
+        return ByteBuffer.wrap(getSerializedOASBytes(format)).asReadOnlyBuffer();
+    }
+
+    /**
+     * Writes the OpenAPI serialized by {@link #getSerializedOAS(OASFormat)} to the output stream without copying it.
+     * The output stream is not closed.
+     *
+     * @param outputStream stream the OpenAPI is written to
+     * @param format       format of the OpenAPI
+     * @throws SOAPToRESTException if the OpenAPI cannot be serialized or written to the stream
+     */
+    public void writeSerializedOAS(OutputStream outputStream, OASFormat format) throws SOAPToRESTException {
+
+        byte[] serializedOAS = getSerializedOASBytes(format);
+        try {
+            outputStream.write(serializedOAS);
+        } catch (IOException e) {
+            throw new SOAPToRESTException("Error while writing the OpenAPI as " + format, e);
+        }
+    }
+
+    private byte[] getSerializedOASBytes(OASFormat format) throws SOAPToRESTException {
+
+        byte[] serializedOAS = format == OASFormat.JSON ? serializedJSON : serializedYAML;
+        if (serializedOAS != null) {
+            return serializedOAS;
+        }
+        try {
+            serializedOAS = getOASWriter(format).writeValueAsBytes(openAPI);
+        } catch (IOException e) {
+            throw new SOAPToRESTException("Error while serializing the OpenAPI as " + format, e);
+        }
+        if (format == OASFormat.JSON) {
+            serializedJSON = serializedOAS;
+        } else {
+            serializedYAML = serializedOAS;
+        }
+        return serializedOAS;
+    }
+
+    /**
+     * Returns the pretty printing writer of the mapper of the format, which leaves the target of a generator open.
+     */
+    private static ObjectWriter getOASWriter(OASFormat format) {
+
+        ObjectWriter objectWriter = format == OASFormat.JSON ? Json.pretty() : Yaml.pretty();
+        return objectWriter.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
     public String getSoapService() {
 
         return soapService;
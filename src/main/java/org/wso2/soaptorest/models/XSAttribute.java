@@ -20,23 +20,27 @@ package org.wso2.soaptorest.models;
 import javax.xml.namespace.QName;
 
 /**
- * Model for represent Attribute in the given XSD
+ * Model for represent Attribute in the given XSD. The models are immutable and are created by an
+ * {@link XSModelBuilder}.
  */
-public class XSAttribute {
+public final class XSAttribute {
 
-    QName name;
-    QName type;
-    QName refKey;
-    XSDataType inlineComplexType;
+    private final QName name;
+    private final QName type;
+    private final QName refKey;
+    private final XSDataType inlineComplexType;
 
-    public QName getName() {
+    XSAttribute(QName name, QName type, QName refKey, XSDataType inlineComplexType) {
 
-        return name;
+        this.name = name;
+        this.type = type;
+        this.refKey = refKey;
+        this.inlineComplexType = inlineComplexType;
     }
 
-    public void setName(QName name) {
+    public QName getName() {
 
-        this.name = name;
+        return name;
     }
 
     public QName getType() {
@@ -44,18 +48,13 @@ public class XSAttribute {
         return type;
     }
 
-    public void setType(QName type) {
+    public XSDataType getInlineComplexType() {
 
-        this.type = type;
+        return inlineComplexType;
     }
 
-    public void setInlineComplexType(XSDataType inlineComplexType) {
+    public QName getRefKey() {
 
-        this.inlineComplexType = inlineComplexType;
-    }
-
-    public void setRefKey(QName refKey) {
-
-        this.refKey = refKey;
+        return refKey;
     }
 }
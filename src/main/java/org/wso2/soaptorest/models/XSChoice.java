@@ -17,18 +17,27 @@
  */
 package org.wso2.soaptorest.models;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Model for represent Choice element in the given XSD
+ * Model for represent Choice element in the given XSD. The models are immutable and are created by an
+ * {@link XSModelBuilder}.
  */
-public class XSChoice {
+public final class XSChoice {
 
-    List<XSSequence> sequenceList = new ArrayList<>();
-    List<XSChoice> choiceList = new ArrayList<>();
-    List<XSGroup> groupsList = new ArrayList<>();
-    List<XSElement> elementList = new ArrayList<>();
+    private final List<XSSequence> sequenceList;
+    private final List<XSChoice> choiceList;
+    private final List<XSGroup> groupsList;
+    private final List<XSElement> elementList;
+
+    XSChoice(List<XSElement> elementList, List<XSSequence> sequenceList, List<XSChoice> choiceList,
+             List<XSGroup> groupsList) {
+
+        this.elementList = elementList;
+        this.sequenceList = sequenceList;
+        this.choiceList = choiceList;
+        this.groupsList = groupsList;
+    }
 
     public List<XSSequence> getSequenceList() {
 
@@ -49,9 +58,4 @@ public class XSChoice {
 
         return elementList;
     }
-
-    public void addElement(XSElement element) {
-
-        elementList.add(element);
-    }
 }
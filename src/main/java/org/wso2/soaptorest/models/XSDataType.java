@@ -20,25 +20,32 @@ package org.wso2.soaptorest.models;
 import javax.xml.namespace.QName;
 
 /**
- * Model for represent Data Type in the given XSD
+ * Model for represent Data Type in the given XSD. The models are immutable and are created by an
+ * {@link XSModelBuilder}.
  */
-public class XSDataType {
+public final class XSDataType {
 
-    QName name;
-    QName extensionBase;
-    XSSequence xsSequence;
-    XSChoice xsChoice;
-    XSGroup xsGroup;
-    boolean isSimpleType = false;
+    private final QName name;
+    private final QName extensionBase;
+    private final XSSequence xsSequence;
+    private final XSChoice xsChoice;
+    private final XSGroup xsGroup;
+    private final boolean isSimpleType;
 
-    public QName getName() {
+    XSDataType(QName name, QName extensionBase, XSSequence xsSequence, XSChoice xsChoice, XSGroup xsGroup,
+               boolean isSimpleType) {
 
-        return name;
+        this.name = name;
+        this.extensionBase = extensionBase;
+        this.xsSequence = xsSequence;
+        this.xsChoice = xsChoice;
+        this.xsGroup = xsGroup;
+        this.isSimpleType = isSimpleType;
     }
 
-    public void setName(QName name) {
+    public QName getName() {
 
-        this.name = name;
+        return name;
     }
 
     public XSSequence getSequence() {
@@ -46,46 +53,22 @@ public class XSDataType {
         return xsSequence;
     }
 
-    public void setSequence(XSSequence sequence) {
-
-        this.xsSequence = sequence;
-    }
-
     public XSChoice getChoice() {
 
         return xsChoice;
     }
 
-    public void setChoice(XSChoice choice) {
-
-        this.xsChoice = choice;
-    }
-
     public XSGroup getGroup() {
 
         return xsGroup;
     }
 
-    public void setGroup(XSGroup group) {
-
-        this.xsGroup = group;
-    }
-
     public QName getExtensionBase() {
 
         return extensionBase;
     }
 
-    public void setExtensionBase(QName extensionBase) {
-
-        this.extensionBase = extensionBase;
-    }
-
     public boolean isSimpleType() {
         return isSimpleType;
     }
-
-    public void setSimpleType(boolean simpleType) {
-        isSimpleType = simpleType;
-    }
 }
@@ -20,25 +20,32 @@ package org.wso2.soaptorest.models;
 import javax.xml.namespace.QName;
 
 /**
- * Model for represent Element in the given XSD
+ * Model for represent Element in the given XSD. The models are immutable and are created by an
+ * {@link XSModelBuilder}.
  */
-public class XSElement {
+public final class XSElement {
 
-    QName name;
-    QName type;
-    QName refKey;
-    boolean isOptional;
-    XSDataType inlineComplexType;
-    boolean isArray;
+    private final QName name;
+    private final QName type;
+    private final QName refKey;
+    private final XSDataType inlineComplexType;
+    private final boolean isOptional;
+    private final boolean isArray;
 
-    public QName getName() {
+    XSElement(QName name, QName type, QName refKey, XSDataType inlineComplexType, boolean isOptional,
+              boolean isArray) {
 
-        return name;
+        this.name = name;
+        this.type = type;
+        this.refKey = refKey;
+        this.inlineComplexType = inlineComplexType;
+        this.isOptional = isOptional;
+        this.isArray = isArray;
     }
 
-    public void setName(QName name) {
+    public QName getName() {
 
-        this.name = name;
+        return name;
     }
 
     public QName getType() {
@@ -46,44 +53,21 @@ public class XSElement {
         return type;
     }
 
-    public void setType(QName type) {
-
-        this.type = type;
-    }
-
     public XSDataType getInlineComplexType() {
 
         return inlineComplexType;
     }
 
-    public void setInlineComplexType(XSDataType inlineComplexType) {
-
-        this.inlineComplexType = inlineComplexType;
-    }
-
     public QName getRefKey() {
 
         return refKey;
     }
 
-    public void setRefKey(QName refKey) {
-
-        this.refKey = refKey;
-    }
-
     public boolean isArray() {
         return isArray;
     }
 
-    public void setArray(boolean array) {
-        isArray = array;
-    }
-
     public boolean isOptional() {
         return isOptional;
     }
-
-    public void setOptional(boolean optional) {
-        isOptional = optional;
-    }
 }
@@ -18,27 +18,30 @@
 package org.wso2.soaptorest.models;
 
 import javax.xml.namespace.QName;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Model for represent Group element in the given XSD
+ * Model for represent Group element in the given XSD, either a global group with the sequence of its elements or a
+ * reference to a global group. The models are immutable and are created by an {@link XSModelBuilder}.
  */
-public class XSGroup {
+public final class XSGroup {
 
-    QName refKey;
-    QName name;
-    List<XSSequence> sequenceList = new ArrayList<>();
-    List<XSChoice> choiceList = new ArrayList<>();
+    private final QName refKey;
+    private final QName name;
+    private final List<XSSequence> sequenceList;
+    private final List<XSChoice> choiceList;
 
-    public List<XSSequence> getSequenceList() {
+    XSGroup(QName refKey, QName name, List<XSSequence> sequenceList, List<XSChoice> choiceList) {
 
-        return sequenceList;
+        this.refKey = refKey;
+        this.name = name;
+        this.sequenceList = sequenceList;
+        this.choiceList = choiceList;
     }
 
-    public void addSequence(XSSequence sequence) {
+    public List<XSSequence> getSequenceList() {
 
-        sequenceList.add(sequence);
+        return sequenceList;
     }
 
     public List<XSChoice> getChoiceList() {
@@ -51,16 +54,7 @@ public class XSGroup {
         return refKey;
     }
 
-    public void setRefKey(QName refKey) {
-
-        this.refKey = refKey;
-    }
-
     public QName getName() {
         return name;
     }
-
-    public void setName(QName name) {
-        this.name = name;
-    }
 }
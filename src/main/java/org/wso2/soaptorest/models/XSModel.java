@@ -17,30 +17,35 @@
  */
 package org.wso2.soaptorest.models;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Model for represent the all the Data Types in the given XSD
+ * Model for represent the all the Data Types in the given XSD. The models are immutable and are created by an
+ * {@link XSModelBuilder}.
  */
-public class XSModel {
+public final class XSModel {
 
-    List<XSElement> elements = new ArrayList<>();
-    List<XSAttribute> attributes = new ArrayList<>();
-    List<XSDataType> xsDataTypes = new ArrayList<>();
-    List<XSGroup> groups = new ArrayList<>();
-    String targetNamespace;
+    private final List<XSElement> elements;
+    private final List<XSAttribute> attributes;
+    private final List<XSDataType> xsDataTypes;
+    private final List<XSGroup> groups;
+    private final String targetNamespace;
+    private final boolean elementFormDefaultQualified;
 
-    private boolean elementFormDefaultQualified = false;
+    XSModel(String targetNamespace, boolean elementFormDefaultQualified, List<XSElement> elements,
+            List<XSAttribute> attributes, List<XSGroup> groups, List<XSDataType> xsDataTypes) {
 
-    public void addElement(XSElement element) {
-
-        elements.add(element);
+        this.targetNamespace = targetNamespace;
+        this.elementFormDefaultQualified = elementFormDefaultQualified;
+        this.elements = elements;
+        this.attributes = attributes;
+        this.groups = groups;
+        this.xsDataTypes = xsDataTypes;
     }
 
-    public void addAttribute(XSAttribute attribute) {
+    public List<XSAttribute> getAttributes() {
 
-        attributes.add(attribute);
+        return attributes;
     }
 
     public List<XSDataType> getXsDataTypes() {
@@ -48,23 +53,13 @@ public class XSModel {
         return xsDataTypes;
     }
 
-    public void addXSDataType(XSDataType complexType) {
-
-        xsDataTypes.add(complexType);
-    }
-
-    public void addGroup(XSGroup group) {
-
-        groups.add(group);
-    }
-
     public List<XSGroup> getGroups() {
         return groups;
     }
 
-    public void setTargetNamespace(String targetNamespace) {
+    public String getTargetNamespace() {
 
-        this.targetNamespace = targetNamespace;
+        return targetNamespace;
     }
 
     public List<XSElement> getElements() {
@@ -75,9 +70,4 @@ public class XSModel {
 
         return elementFormDefaultQualified;
     }
-
-    public void setElementFormDefaultQualified(boolean elementFormDefaultQualified) {
-
-        this.elementFormDefaultQualified = elementFormDefaultQualified;
-    }
 }
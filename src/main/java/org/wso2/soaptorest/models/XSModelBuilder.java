@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.models;
+
+import javax.xml.namespace.QName;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Creates the immutable data models of the XSD definitions of a conversion.
+ * <p>
+ * The builder keeps a symbol table of the qualified names and namespaces of the models. Every name a model is created
+ * with is replaced by the one instance of the name in the table, so the thousands of definitions of large schemas
+ * share their names and namespace strings instead of keeping a copy of each. The children of the models are kept in
+ * lists backed by arrays of their exact size, and models without children share a single empty list.
+ * <p>
+ * A builder is not thread safe. The models it creates are, and they can be shared by conversions that use other
+ * builders.
+ */
+public final class XSModelBuilder {
+
+    private static final QName STRING_TYPE = new QName("string");
+
+    private final Map<String, String> strings = new HashMap<>();
+    // Keyed by the namespace and local part of the names, the way qualified names are compared
+    private final Map<QName, QName> qNames = new HashMap<>();
+    // Names written with another prefix than the name of the same namespace and local part in the table above
+    private final Map<String, QName> prefixedQNames = new HashMap<>();
+
+    /**
+     * Returns the instance of the given string in the symbol table, adding the string if the table does not have it.
+     *
+     * @param string a namespace or a name, or null
+     * @return the equal string of the table, or null if the given string is null
+     */
+    public String intern(String string) {
+
+        if (string == null) {
+            return null;
+        }
+        String symbol = strings.putIfAbsent(string, string);
+        return symbol != null ? symbol : string;
+    }
+
+    /**
+     * Returns the instance of the given qualified name in the symbol table, adding a name with interned parts if the
+     * table does not have it. Names with the same namespace and local part but different prefixes are kept apart,
+     * since the prefixes of the names of data types are written to the generated OpenAPI.
+     *
+     * @param qName a qualified name, or null
+     * @return the equal name of the table with the same prefix, or null if the given name is null
+     */
+    public QName intern(QName qName) {
+
+        if (qName == null) {
+            return null;
+        }
+        QName symbol = qNames.get(qName);
+        if (symbol == null) {
+            symbol = newQName(qName);
+            qNames.put(symbol, symbol);
+            return symbol;
+        }
+        if (symbol.getPrefix().equals(qName.getPrefix())) {
+            return symbol;
+        }
+        String prefixedKey = qName.getPrefix() + ':' + qName;
+        symbol = prefixedQNames.get(prefixedKey);
+        if (symbol == null) {
+            symbol = newQName(qName);
+            prefixedQNames.put(prefixedKey, symbol);
+        }
+        return symbol;
+    }
+
+    /**
+     * Creates the model of an element, which has a named type, an inline type or a reference to a global element.
+     */
+    public XSElement element(QName name, QName type, QName refKey, XSDataType inlineComplexType, boolean optional,
+                             boolean array) {
+
+        return new XSElement(intern(name), intern(type), intern(refKey), inlineComplexType, optional, array);
+    }
+
+    /**
+     * Creates the model of an attribute, which has a named type, an inline type or a reference to a global attribute.
+     */
+    public XSAttribute attribute(QName name, QName type, QName refKey, XSDataType inlineComplexType) {
+
+        return new XSAttribute(intern(name), intern(type), intern(refKey), inlineComplexType);
+    }
+
+    /**
+     * Creates the model of a sequence or all of the given elements.
+     */
+    public XSSequence sequence(Collection<XSElement> elements) {
+
+        return sequence(elements, null, null);
+    }
+
+    /**
+     * Creates the model of a sequence with nested particles.
+     *
+     * @param elements  elements of the sequence, or null
+     * @param sequences sequences nested in the sequence, or null
+     * @param choices   choices nested in the sequence, or null
+     */
+    public XSSequence sequence(Collection<XSElement> elements, Collection<XSSequence> sequences,
+                               Collection<XSChoice> choices) {
+
+        return new XSSequence(ImmutableArrayList.copyOf(elements), ImmutableArrayList.copyOf(sequences),
+                ImmutableArrayList.copyOf(choices));
+    }
+
+    /**
+     * Creates the model of a choice of the given elements.
+     */
+    public XSChoice choice(Collection<XSElement> elements) {
+
+        return choice(elements, null, null, null);
+    }
+
+    /**
+     * Creates the model of a choice with nested particles.
+     *
+     * @param elements  elements of the choice, or null
+     * @param sequences sequences nested in the choice, or null
+     * @param choices   choices nested in the choice, or null
+     * @param groups    groups referred by the choice, or null
+     */
+    public XSChoice choice(Collection<XSElement> elements, Collection<XSSequence> sequences,
+                           Collection<XSChoice> choices, Collection<XSGroup> groups) {
+
+        return new XSChoice(ImmutableArrayList.copyOf(elements), ImmutableArrayList.copyOf(sequences),
+                ImmutableArrayList.copyOf(choices), ImmutableArrayList.copyOf(groups));
+    }
+
+    /**
+     * Creates the model of a global group.
+     *
+     * @param name     qualified name of the group
+     * @param sequence sequence of the elements of the group, or null if the group has none
+     */
+    public XSGroup group(QName name, XSSequence sequence) {
+
+        return group(name, sequence != null ? Collections.singletonList(sequence) : null, null);
+    }
+
+    /**
+     * Creates the model of a global group with the given particles.
+     *
+     * @param name      qualified name of the group
+     * @param sequences sequences of the group, or null
+     * @param choices   choices of the group, or null
+     */
+    public XSGroup group(QName name, Collection<XSSequence> sequences, Collection<XSChoice> choices) {
+
+        return new XSGroup(null, intern(name), ImmutableArrayList.copyOf(sequences),
+                ImmutableArrayList.copyOf(choices));
+    }
+
+    /**
+     * Creates the model of a reference of a complex type to a global group.
+     */
+    public XSGroup groupReference(QName refKey) {
+
+        return new XSGroup(intern(refKey), null, Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * Creates the model of a complex type.
+     *
+     * @param name          qualified name of a global type, or null for an inline type
+     * @param extensionBase base type of the simple or complex content extension of the type, or null
+     * @param sequence      sequence or all of the type, or null
+     * @param choice        choice of the type, or null
+     * @param group         reference of the type to a group, or null
+     */
+    public XSDataType complexType(QName name, QName extensionBase, XSSequence sequence, XSChoice choice,
+                                  XSGroup group) {
+
+        return new XSDataType(intern(name), intern(extensionBase), sequence, choice, group, false);
+    }
+
+    /**
+     * Creates the model of a simple type, which is modelled as a sequence of a single element of the name of the type
+     * and of the type it restricts.
+     *
+     * @param name     qualified name of a global type, or null for an inline type
+     * @param baseType type the simple type restricts, or null to take it as a string
+     */
+    public XSDataType simpleType(QName name, QName baseType) {
+
+        XSElement xsElement = element(name, baseType != null ? baseType : STRING_TYPE, null, null, false, false);
+        return new XSDataType(intern(name), null, sequence(Collections.singletonList(xsElement)), null, null, true);
+    }
+
+    /**
+     * Creates the model of a schema with the given global definitions.
+     */
+    public XSModel model(String targetNamespace, boolean elementFormDefaultQualified, Collection<XSElement> elements,
+                         Collection<XSAttribute> attributes, Collection<XSGroup> groups,
+                         Collection<XSDataType> dataTypes) {
+
+        return new XSModel(intern(targetNamespace), elementFormDefaultQualified, ImmutableArrayList.copyOf(elements),
+                ImmutableArrayList.copyOf(attributes), ImmutableArrayList.copyOf(groups),
+                ImmutableArrayList.copyOf(dataTypes));
+    }
+
+    private QName newQName(QName qName) {
+
+        return new QName(intern(qName.getNamespaceURI()), intern(qName.getLocalPart()), intern(qName.getPrefix()));
+    }
+}
@@ -17,26 +17,28 @@
  */
 package org.wso2.soaptorest.models;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Model for represent Sequence element in the given XSD
+ * Model for represent Sequence element in the given XSD. The models are immutable and are created by an
+ * {@link XSModelBuilder}.
  */
-public class XSSequence {
+public final class XSSequence {
 
-    List<XSElement> elementList = new ArrayList<>();
-    List<XSSequence> sequenceList = new ArrayList<>();
-    List<XSChoice> choiceList = new ArrayList<>();
+    private final List<XSElement> elementList;
+    private final List<XSSequence> sequenceList;
+    private final List<XSChoice> choiceList;
 
-    public List<XSElement> getElementList() {
+    XSSequence(List<XSElement> elementList, List<XSSequence> sequenceList, List<XSChoice> choiceList) {
 
-        return elementList;
+        this.elementList = elementList;
+        this.sequenceList = sequenceList;
+        this.choiceList = choiceList;
     }
 
-    public void addElement(XSElement element) {
+    public List<XSElement> getElementList() {
 
-        elementList.add(element);
+        return elementList;
     }
 
     public List<XSSequence> getSequenceList() {
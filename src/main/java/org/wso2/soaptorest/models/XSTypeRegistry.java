@@ -0,0 +1,585 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.models;
+
+import javax.xml.namespace.QName;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the global data types, elements, groups and attributes of all the XSD models of a WSDL by their qualified
+ * names.
+ * <p>
+ * The registry also gives every data type, group and element the name of its schema in the components of the
+ * generated OpenAPI. The name is the local name of the definition, so that definitions in different namespaces with
+ * the same local name would share a component. The registry keeps such names unique by adding a number to the name of
+ * each definition after the first one, in the order of the XSD models.
+ * <p>
+ * Optionally, the inline complex types of local elements that have the same structure are given a shared component,
+ * which the schemas of the elements refer to instead of repeating the structure. Generated WSDL files often repeat
+ * the same anonymous types many times.
+ */
+public class XSTypeRegistry {
+
+    private static final String ROOT_ELEMENT_PREFIX = "rootElement_";
+    private static final String INLINE_TYPE_SUFFIX = "_inlineType";
+
+    private final Map<QName, XSDataType> dataTypes = new HashMap<>();
+    private final Map<QName, XSElement> elements = new HashMap<>();
+    private final Map<QName, XSGroup> groups = new HashMap<>();
+    private final Map<QName, XSAttribute> attributes = new HashMap<>();
+    private final Map<QName, String> typeComponentNames = new HashMap<>();
+    private final Map<QName, String> groupComponentNames = new HashMap<>();
+    private final Map<QName, String> elementComponentNames = new HashMap<>();
+    // Data types and groups are both added to the components under their own names, elements under a prefix
+    private final Set<String> componentNames = new HashSet<>();
+    private final Set<String> elementNames = new HashSet<>();
+    // Shared inline types by identity, since the models do not define equality
+    private final Map<XSDataType, String> inlineTypeComponentNames = new IdentityHashMap<>();
+    private final Map<XSDataType, XSModel> sharedInlineTypeModels = new IdentityHashMap<>();
+    private final List<XSDataType> sharedInlineTypes = new ArrayList<>();
+    // Descriptions of the definitions by identity, which the schemas of the components are generated from in parallel
+    private final Map<Object, String> descriptions = new ConcurrentHashMap<>();
+
+    /**
+     * Builds the registry of the given XSD models. A definition that is in more than one of the models is taken from
+     * the first of them.
+     *
+     * @param xsModels XSD models of all the schemas of a WSDL
+     */
+    public XSTypeRegistry(List<XSModel> xsModels) {
+
+        this(xsModels, false);
+    }
+
+    /**
+     * Builds the registry of the given XSD models, optionally sharing the inline complex types of local elements.
+     * Inline types share a component when they have the same description and their schemas have the same element
+     * form default. The component of a structure is named after the first element that has it, with the
+     * {@code _inlineType} suffix, so that it is not taken for the component of an element of that name. The inline
+     * types of global elements are not shared, since they are the components of the elements.
+     *
+     * @param xsModels         XSD models of all the schemas of a WSDL
+     * @param shareInlineTypes true to give the inline types that occur more than once a shared component
+     */
+    public XSTypeRegistry(List<XSModel> xsModels, boolean shareInlineTypes) {
+
+        for (XSModel xsModel : xsModels) {
+            for (XSDataType xsDataType : xsModel.getXsDataTypes()) {
+                QName name = xsDataType.getName();
+                if (name != null && !dataTypes.containsKey(name)) {
+                    dataTypes.put(name, xsDataType);
+                    typeComponentNames.put(name, getUniqueName(name, componentNames));
+                }
+            }
+            for (XSGroup xsGroup : xsModel.getGroups()) {
+                QName name = xsGroup.getName();
+                if (name != null && !groups.containsKey(name)) {
+                    groups.put(name, xsGroup);
+                    groupComponentNames.put(name, getUniqueName(name, componentNames));
+                }
+            }
+            for (XSElement xsElement : xsModel.getElements()) {
+                QName name = xsElement.getName();
+                if (name != null && !elements.containsKey(name)) {
+                    elements.put(name, xsElement);
+                    elementComponentNames.put(name, getUniqueName(name, elementNames));
+                }
+            }
+            for (XSAttribute xsAttribute : xsModel.getAttributes()) {
+                QName name = xsAttribute.getName();
+                if (name != null && !attributes.containsKey(name)) {
+                    attributes.put(name, xsAttribute);
+                }
+            }
+        }
+        if (shareInlineTypes) {
+            shareInlineTypes(xsModels);
+        }
+    }
+
+    public XSDataType getDataType(QName name) {
+
+        return dataTypes.get(name);
+    }
+
+    public XSElement getElement(QName name) {
+
+        return elements.get(name);
+    }
+
+    public XSGroup getGroup(QName name) {
+
+        return groups.get(name);
+    }
+
+    public XSAttribute getAttribute(QName name) {
+
+        return attributes.get(name);
+    }
+
+    /**
+     * @param name qualified name of a global data type
+     * @return the component name of the data type, or null if no schema defines a data type of that name
+     */
+    public String getTypeComponentName(QName name) {
+
+        return typeComponentNames.get(name);
+    }
+
+    /**
+     * @param name qualified name of a global group
+     * @return the component name of the group, or null if no schema defines a group of that name
+     */
+    public String getGroupComponentName(QName name) {
+
+        return groupComponentNames.get(name);
+    }
+
+    /**
+     * Returns the name a reference to a global element points to. The component of the element itself has this name
+     * with the {@code rootElement_} prefix.
+     *
+     * @param name qualified name of a global element
+     * @return the unique name of the element, or null if no schema defines an element of that name
+     */
+    public String getElementName(QName name) {
+
+        return elementComponentNames.get(name);
+    }
+
+    /**
+     * @param name qualified name of a global element
+     * @return the component name of the element, or null if no schema defines an element of that name
+     */
+    public String getElementComponentName(QName name) {
+
+        String elementName = elementComponentNames.get(name);
+        return elementName != null ? ROOT_ELEMENT_PREFIX + elementName : null;
+    }
+
+    /**
+     * @param inlineType inline complex type of a local element
+     * @return the name of the shared component of the type, or null if the type is not shared
+     */
+    public String getInlineTypeComponentName(XSDataType inlineType) {
+
+        return inlineTypeComponentNames.get(inlineType);
+    }
+
+    /**
+     * @return one inline type of every shared structure, whose schema is the shared component, in the order the
+     * structures first occur in the XSD models
+     */
+    public List<XSDataType> getSharedInlineTypes() {
+
+        return Collections.unmodifiableList(sharedInlineTypes);
+    }
+
+    /**
+     * @param sharedInlineType one of the {@link #getSharedInlineTypes() shared inline types}
+     * @return the XSD model of the shared inline type
+     */
+    public XSModel getSharedInlineTypeModel(XSDataType sharedInlineType) {
+
+        return sharedInlineTypeModels.get(sharedInlineType);
+    }
+
+    /**
+     * Returns a description of a global or inline data type with everything the schema generated for it depends on.
+     * It has the definition with its nested definitions and the names of the components of the definitions it refers
+     * to, including the shared components of its inline types. An inline type that is shared is described by the name
+     * of its component only, since its structure is described once by the component. Definitions with the same
+     * description in schemas with the same element form default give equal schemas. The description of a definition
+     * is built once and kept by the registry.
+     *
+     * @param xsDataType a global or inline data type
+     * @return the description of the data type
+     */
+    public String describe(XSDataType xsDataType) {
+
+        String description = descriptions.get(xsDataType);
+        if (description == null) {
+            StringBuilder descriptionBuilder = new StringBuilder();
+            describeDataType(descriptionBuilder, xsDataType, null);
+            description = descriptionBuilder.toString();
+            descriptions.put(xsDataType, description);
+        }
+        return description;
+    }
+
+    /**
+     * Returns a description of a group like {@link #describe(XSDataType)} does for a data type.
+     *
+     * @param xsGroup a global group
+     * @return the description of the group
+     */
+    public String describe(XSGroup xsGroup) {
+
+        String description = descriptions.get(xsGroup);
+        if (description == null) {
+            StringBuilder descriptionBuilder = new StringBuilder();
+            describeGroup(descriptionBuilder, xsGroup, null);
+            description = descriptionBuilder.toString();
+            descriptions.put(xsGroup, description);
+        }
+        return description;
+    }
+
+    /**
+     * Returns a description of an element like {@link #describe(XSDataType)} does for a data type.
+     *
+     * @param xsElement a global or local element
+     * @return the description of the element
+     */
+    public String describe(XSElement xsElement) {
+
+        String description = descriptions.get(xsElement);
+        if (description == null) {
+            StringBuilder descriptionBuilder = new StringBuilder();
+            describeElement(descriptionBuilder, xsElement, null);
+            description = descriptionBuilder.toString();
+            descriptions.put(xsElement, description);
+        }
+        return description;
+    }
+
+    /**
+     * Finds the inline types with the same structure and gives every structure that occurs more than once a
+     * component. Every distinct structure gets an integer id, and an inline type nested in another one is described
+     * by the id of its structure, so that each description has the size of a single inline type and is built once.
+     */
+    private void shareInlineTypes(List<XSModel> xsModels) {
+
+        StructureIds structureIds = new StructureIds();
+        Map<String, List<XSElement>> structures = new LinkedHashMap<>();
+        Map<String, XSModel> structureModels = new HashMap<>();
+        for (XSModel xsModel : xsModels) {
+            InlineTypeCollector collector = new InlineTypeCollector(xsModel, structureIds, structures,
+                    structureModels);
+            for (XSDataType xsDataType : xsModel.getXsDataTypes()) {
+                collector.collectDataType(xsDataType);
+            }
+            for (XSGroup xsGroup : xsModel.getGroups()) {
+                collector.collectGroup(xsGroup);
+            }
+            for (XSElement xsElement : xsModel.getElements()) {
+                if (xsElement.getInlineComplexType() != null) {
+                    collector.collectDataType(xsElement.getInlineComplexType());
+                }
+            }
+        }
+        for (Map.Entry<String, List<XSElement>> structure : structures.entrySet()) {
+            List<XSElement> xsElements = structure.getValue();
+            if (xsElements.size() < 2) {
+                continue;
+            }
+            XSElement firstElement = xsElements.get(0);
+            String componentName = getUniqueName(firstElement.getName().getLocalPart() + INLINE_TYPE_SUFFIX,
+                    componentNames);
+            for (XSElement xsElement : xsElements) {
+                inlineTypeComponentNames.put(xsElement.getInlineComplexType(), componentName);
+            }
+            sharedInlineTypes.add(firstElement.getInlineComplexType());
+            sharedInlineTypeModels.put(firstElement.getInlineComplexType(), structureModels.get(structure.getKey()));
+        }
+    }
+
+    private void describeDataType(StringBuilder description, XSDataType xsDataType,
+                                  StructureIds structureIds) {
+
+        description.append(xsDataType.isSimpleType() ? "(s" : "(c");
+        appendQName(description, xsDataType.getName());
+        appendType(description, xsDataType.getName());
+        appendType(description, xsDataType.getExtensionBase());
+        describeSequence(description, xsDataType.getSequence(), structureIds);
+        describeChoice(description, xsDataType.getChoice(), structureIds);
+        describeGroup(description, xsDataType.getGroup(), structureIds);
+        description.append(')');
+    }
+
+    private void describeSequence(StringBuilder description, XSSequence xsSequence,
+                                  StructureIds structureIds) {
+
+        if (xsSequence == null) {
+            description.append('-');
+            return;
+        }
+        description.append("(q");
+        for (XSElement xsElement : xsSequence.getElementList()) {
+            describeElement(description, xsElement, structureIds);
+        }
+        description.append('|');
+        for (XSSequence innerXSSequence : xsSequence.getSequenceList()) {
+            describeSequence(description, innerXSSequence, structureIds);
+        }
+        description.append('|');
+        for (XSChoice xsChoice : xsSequence.getChoiceList()) {
+            describeChoice(description, xsChoice, structureIds);
+        }
+        description.append(')');
+    }
+
+    private void describeChoice(StringBuilder description, XSChoice xsChoice, StructureIds structureIds) {
+
+        if (xsChoice == null) {
+            description.append('-');
+            return;
+        }
+        description.append("(h");
+        for (XSSequence xsSequence : xsChoice.getSequenceList()) {
+            describeSequence(description, xsSequence, structureIds);
+        }
+        description.append('|');
+        for (XSChoice innerXSChoice : xsChoice.getChoiceList()) {
+            describeChoice(description, innerXSChoice, structureIds);
+        }
+        description.append('|');
+        for (XSGroup xsGroup : xsChoice.getGroupsList()) {
+            describeGroup(description, xsGroup, structureIds);
+        }
+        description.append('|');
+        for (XSElement xsElement : xsChoice.getElementList()) {
+            describeElement(description, xsElement, structureIds);
+        }
+        description.append(')');
+    }
+
+    private void describeGroup(StringBuilder description, XSGroup xsGroup, StructureIds structureIds) {
+
+        if (xsGroup == null) {
+            description.append('-');
+            return;
+        }
+        description.append("(g");
+        appendQName(description, xsGroup.getName());
+        appendQName(description, xsGroup.getRefKey());
+        appendString(description, xsGroup.getRefKey() != null ? getGroupComponentName(xsGroup.getRefKey()) : null);
+        for (XSChoice xsChoice : xsGroup.getChoiceList()) {
+            describeChoice(description, xsChoice, structureIds);
+        }
+        description.append('|');
+        for (XSSequence xsSequence : xsGroup.getSequenceList()) {
+            describeSequence(description, xsSequence, structureIds);
+        }
+        description.append(')');
+    }
+
+    private void describeElement(StringBuilder description, XSElement xsElement,
+                                 StructureIds structureIds) {
+
+        description.append("(e").append(xsElement.isOptional() ? 'o' : 'r').append(xsElement.isArray() ? 'a' : 's');
+        appendQName(description, xsElement.getName());
+        appendType(description, xsElement.getType());
+        appendQName(description, xsElement.getRefKey());
+        appendString(description, xsElement.getRefKey() != null ? getElementName(xsElement.getRefKey()) : null);
+        XSDataType inlineType = xsElement.getInlineComplexType();
+        if (inlineType == null) {
+            description.append('-');
+        } else if (structureIds != null) {
+            description.append('#').append(getStructureId(inlineType, structureIds));
+        } else if (getInlineTypeComponentName(inlineType) != null) {
+            // The schema of the element only refers to the shared component, which describes the structure
+            description.append('#');
+            appendString(description, getInlineTypeComponentName(inlineType));
+        } else {
+            describeDataType(description, inlineType, null);
+        }
+        description.append(')');
+    }
+
+    /**
+     * Returns the id of the structure of an inline type, describing the inline type when it is met for the first time
+     */
+    private int getStructureId(XSDataType inlineType, StructureIds structureIds) {
+
+        Integer structureId = structureIds.byInlineType.get(inlineType);
+        if (structureId == null) {
+            StringBuilder description = new StringBuilder();
+            describeDataType(description, inlineType, structureIds);
+            structureId = structureIds.byDescription.get(description.toString());
+            if (structureId == null) {
+                structureId = structureIds.byDescription.size();
+                structureIds.byDescription.put(description.toString(), structureId);
+            }
+            structureIds.byInlineType.put(inlineType, structureId);
+        }
+        return structureId;
+    }
+
+    /**
+     * Appends a type with the name of its component, since a reference to the type depends on both
+     */
+    private void appendType(StringBuilder description, QName type) {
+
+        appendQName(description, type);
+        appendString(description, type != null ? getTypeComponentName(type) : null);
+    }
+
+    private static void appendQName(StringBuilder description, QName qName) {
+
+        if (qName == null) {
+            description.append('-');
+            return;
+        }
+        appendString(description, qName.getNamespaceURI());
+        appendString(description, qName.getLocalPart());
+        appendString(description, qName.getPrefix());
+    }
+
+    /**
+     * Appends a string with its length, so that the strings of a description cannot run into each other
+     */
+    private static void appendString(StringBuilder description, String string) {
+
+        if (string == null) {
+            description.append('-');
+            return;
+        }
+        description.append(string.length()).append(':').append(string);
+    }
+
+    private static String getUniqueName(QName name, Set<String> takenNames) {
+
+        return getUniqueName(name.getLocalPart(), takenNames);
+    }
+
+    private static String getUniqueName(String name, Set<String> takenNames) {
+
+        String localName = name.replaceAll("\\s+", "");
+        String uniqueName = localName;
+        for (int i = 2; !takenNames.add(uniqueName); i++) {
+            uniqueName = localName + "_" + i;
+        }
+        return uniqueName;
+    }
+
+    /**
+     * Ids of the distinct structures of the inline types. Two inline types have the same id when their descriptions,
+     * in which the nested inline types are described by their ids in turn, are equal.
+     */
+    private static final class StructureIds {
+
+        // Inline types by identity, since the models do not define equality
+        final Map<XSDataType, Integer> byInlineType = new IdentityHashMap<>();
+        final Map<String, Integer> byDescription = new HashMap<>();
+    }
+
+    /**
+     * Collects the inline types of the local elements of the definitions of a model by their structures, which are
+     * the ids of their descriptions together with the element form default of the model.
+     */
+    private class InlineTypeCollector {
+
+        private final XSModel xsModel;
+        private final StructureIds structureIds;
+        private final Map<String, List<XSElement>> structures;
+        private final Map<String, XSModel> structureModels;
+
+        InlineTypeCollector(XSModel xsModel, StructureIds structureIds, Map<String, List<XSElement>> structures,
+                            Map<String, XSModel> structureModels) {
+
+            this.xsModel = xsModel;
+            this.structureIds = structureIds;
+            this.structures = structures;
+            this.structureModels = structureModels;
+        }
+
+        void collectDataType(XSDataType xsDataType) {
+
+            collectSequence(xsDataType.getSequence());
+            collectChoice(xsDataType.getChoice());
+            collectGroup(xsDataType.getGroup());
+        }
+
+        void collectGroup(XSGroup xsGroup) {
+
+            if (xsGroup == null) {
+                return;
+            }
+            for (XSChoice xsChoice : xsGroup.getChoiceList()) {
+                collectChoice(xsChoice);
+            }
+            for (XSSequence xsSequence : xsGroup.getSequenceList()) {
+                collectSequence(xsSequence);
+            }
+        }
+
+        private void collectSequence(XSSequence xsSequence) {
+
+            if (xsSequence == null) {
+                return;
+            }
+            for (XSElement xsElement : xsSequence.getElementList()) {
+                collectElement(xsElement);
+            }
+            for (XSSequence innerXSSequence : xsSequence.getSequenceList()) {
+                collectSequence(innerXSSequence);
+            }
+            for (XSChoice xsChoice : xsSequence.getChoiceList()) {
+                collectChoice(xsChoice);
+            }
+        }
+
+        private void collectChoice(XSChoice xsChoice) {
+
+            if (xsChoice == null) {
+                return;
+            }
+            for (XSSequence xsSequence : xsChoice.getSequenceList()) {
+                collectSequence(xsSequence);
+            }
+            for (XSChoice innerXSChoice : xsChoice.getChoiceList()) {
+                collectChoice(innerXSChoice);
+            }
+            for (XSGroup xsGroup : xsChoice.getGroupsList()) {
+                collectGroup(xsGroup);
+            }
+            for (XSElement xsElement : xsChoice.getElementList()) {
+                collectElement(xsElement);
+            }
+        }
+
+        private void collectElement(XSElement xsElement) {
+
+            XSDataType inlineType = xsElement.getInlineComplexType();
+            // Inline simple types are single values, which are not worth a component
+            if (inlineType == null || inlineType.isSimpleType() || xsElement.getName() == null) {
+                return;
+            }
+            String structure = (xsModel.isElementFormDefaultQualified() ? "q" : "u") +
+                    getStructureId(inlineType, structureIds);
+            List<XSElement> xsElements = structures.get(structure);
+            if (xsElements == null) {
+                xsElements = new ArrayList<>();
+                structures.put(structure, xsElements);
+                structureModels.put(structure, xsModel);
+            }
+            xsElements.add(xsElement);
+            collectDataType(inlineType);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.runtime;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The part of a JSON payload that a template refers to. The projection is built while the template is compiled, and
+ * is then used to read payloads with a streaming parser, keeping only the members the template refers to and skipping
+ * everything else.
+ * <p>
+ * The members of a JSON object are not ordered the same way as the elements of the SOAP request, so the values have to
+ * be collected before the request is written. The projection keeps this collection as small as the template allows.
+ */
+final class JSONProjection {
+
+    private final Map<String, JSONProjection> fields = new HashMap<>();
+    private JSONProjection items;
+
+    /**
+     * Returns the projection of a member of an object, adding it on first use.
+     *
+     * @param name name of the member
+     * @return the projection of the member
+     */
+    JSONProjection getField(String name) {
+
+        JSONProjection field = fields.get(name);
+        if (field == null) {
+            field = new JSONProjection();
+            fields.put(name, field);
+        }
+        return field;
+    }
+
+    /**
+     * Returns the projection of the items of an array, adding it on first use.
+     *
+     * @return the projection of the items
+     */
+    JSONProjection getItems() {
+
+        if (items == null) {
+            items = new JSONProjection();
+        }
+        return items;
+    }
+
+    /**
+     * Reads the value the parser is positioned at, leaving the parser at the last token of the value.
+     *
+     * @param parser JSON parser positioned at the first token of a value
+     * @return the projected value or null if the value is a JSON null
+     * @throws IOException if the payload cannot be read or is not valid JSON
+     */
+    ProjectedValue read(JsonParser parser) throws IOException {
+
+        JsonToken token = parser.currentToken();
+        switch (token) {
+            case START_OBJECT:
+                return readObject(parser);
+            case START_ARRAY:
+                return readArray(parser);
+            case VALUE_STRING:
+                return ProjectedValue.scalar(ProjectedValue.Type.STRING, parser.getText());
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return ProjectedValue.scalar(ProjectedValue.Type.NUMBER, parser.getText());
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                return ProjectedValue.scalar(ProjectedValue.Type.BOOLEAN, parser.getText());
+            case VALUE_NULL:
+                return null;
+            default:
+                throw new IOException("Unexpected JSON token " + token);
+        }
+    }
+
+    private ProjectedValue readObject(JsonParser parser) throws IOException {
+
+        Map<String, ProjectedValue> values = fields.isEmpty() ? null : new HashMap<>();
+        int size = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            size++;
+            JSONProjection field = fields.get(name);
+            if (field == null) {
+                parser.skipChildren();
+                continue;
+            }
+            ProjectedValue value = field.read(parser);
+            // A repeated member replaces the earlier one
+            if (value != null) {
+                values.put(name, value);
+            } else {
+                values.remove(name);
+            }
+        }
+        return ProjectedValue.object(values, size);
+    }
+
+    private ProjectedValue readArray(JsonParser parser) throws IOException {
+
+        List<ProjectedValue> values = items == null ? null : new ArrayList<>();
+        int size = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            size++;
+            if (items == null) {
+                parser.skipChildren();
+            } else {
+                values.add(items.read(parser));
+            }
+        }
+        return ProjectedValue.array(values, size);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.runtime;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A value of the JSON payload that is read by a {@link SOAPRequestTransformer}. Objects and arrays only keep the
+ * members that the template of the transformer refers to, but remember how many members they had, so that an empty
+ * check gives the same result as on the complete value. A JSON null is not represented, it is a missing value.
+ */
+final class ProjectedValue {
+
+    enum Type {
+        OBJECT, ARRAY, STRING, NUMBER, BOOLEAN
+    }
+
+    private final Type type;
+    private final String text;
+    private final Map<String, ProjectedValue> fields;
+    private final List<ProjectedValue> items;
+    private final int size;
+
+    private ProjectedValue(Type type, String text, Map<String, ProjectedValue> fields, List<ProjectedValue> items,
+                           int size) {
+
+        this.type = type;
+        this.text = text;
+        this.fields = fields;
+        this.items = items;
+        this.size = size;
+    }
+
+    static ProjectedValue scalar(Type type, String text) {
+
+        return new ProjectedValue(type, text, null, null, 0);
+    }
+
+    static ProjectedValue object(Map<String, ProjectedValue> fields, int size) {
+
+        return new ProjectedValue(Type.OBJECT, null, fields, null, size);
+    }
+
+    static ProjectedValue array(List<ProjectedValue> items, int size) {
+
+        return new ProjectedValue(Type.ARRAY, null, null, items, size);
+    }
+
+    Type getType() {
+
+        return type;
+    }
+
+    boolean isScalar() {
+
+        return type != Type.OBJECT && type != Type.ARRAY;
+    }
+
+    /**
+     * @return the text of a scalar value, as it is written in the JSON payload
+     */
+    String getText() {
+
+        return text;
+    }
+
+    /**
+     * @param name name of the member
+     * @return the projected member of an object or null if it is missing
+     */
+    ProjectedValue getField(String name) {
+
+        return fields != null ? fields.get(name) : null;
+    }
+
+    /**
+     * @return the projected items of an array, with null for the items that are JSON nulls
+     */
+    List<ProjectedValue> getItems() {
+
+        return items;
+    }
+
+    /**
+     * Checks whether the value has content, which is false for empty strings, objects and arrays.
+     *
+     * @return true if the value has content
+     */
+    boolean hasContent() {
+
+        switch (type) {
+            case OBJECT:
+            case ARRAY:
+                return size > 0;
+            case STRING:
+                return !text.isEmpty();
+            default:
+                return true;
+        }
+    }
+}
@@ -0,0 +1,352 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.runtime;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+import org.wso2.soaptorest.utils.SOAPToRESTConstants;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The compiled schema of an element of a SOAP response, which writes the element as a typed JSON value. The node of a
+ * complex type has a property for every child element it knows, and an optional extension for the content of its base
+ * type. Nodes are not changed after they are compiled, so a compiled response schema can be used by any number of
+ * threads at the same time. Nodes of recursive types refer to each other, since the depth of the output only depends
+ * on the depth of the SOAP response.
+ */
+final class ResponseNode {
+
+    private static final String NIL = "nil";
+
+    /**
+     * The JSON type an element is written as.
+     */
+    enum Kind {
+        OBJECT, STRING, NUMBER, BOOLEAN
+    }
+
+    private final Kind kind;
+    private Map<String, Integer> propertyIndexes;
+    private String[] propertyNames;
+    private boolean[] arrayProperties;
+    private ResponseNode[] propertyNodes;
+    private ResponseNode extension;
+
+    ResponseNode(Kind kind) {
+
+        this.kind = kind;
+    }
+
+    /**
+     * Sets the properties of an object node. Called once by the compiler, before the node is used.
+     *
+     * @param names     names of the properties, which are the local names of the child elements
+     * @param isArray   whether a property is an array of the repeated child element
+     * @param nodes     nodes of the properties, or of the items of the array properties
+     * @param extension node of the base type content, or null if the type is not an extension
+     */
+    void setProperties(List<String> names, List<Boolean> isArray, List<ResponseNode> nodes, ResponseNode extension) {
+
+        int size = names.size();
+        propertyIndexes = new HashMap<>();
+        propertyNames = new String[size];
+        arrayProperties = new boolean[size];
+        propertyNodes = new ResponseNode[size];
+        for (int i = 0; i < size; i++) {
+            propertyIndexes.put(names.get(i), i);
+            propertyNames[i] = names.get(i);
+            arrayProperties[i] = isArray.get(i);
+            propertyNodes[i] = nodes.get(i);
+        }
+        this.extension = extension;
+    }
+
+    Kind getKind() {
+
+        return kind;
+    }
+
+    /**
+     * Writes the element the reader is positioned at, leaving the reader at the end of the element.
+     *
+     * @param reader    reader positioned at the start of the element
+     * @param generator generator the JSON value is written to
+     * @throws SOAPToRESTException if the element repeats a child element that cannot be written as one JSON member
+     * @throws XMLStreamException  if the SOAP response cannot be read
+     * @throws IOException         if the JSON value cannot be written
+     */
+    void write(XMLStreamReader reader, JsonGenerator generator)
+            throws SOAPToRESTException, XMLStreamException, IOException {
+
+        if (isNil(reader)) {
+            generator.writeNull();
+            skipElement(reader);
+            return;
+        }
+        if (kind != Kind.OBJECT) {
+            writeScalar(kind, readText(reader), generator);
+            return;
+        }
+        generator.writeStartObject();
+        PropertyWriter propertyWriter = new PropertyWriter(this, generator);
+        // The text of an element with simple content is the value of its base type
+        StringBuilder text = extension != null && extension.kind != Kind.OBJECT ? new StringBuilder() : null;
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (!propertyWriter.write(reader)) {
+                    skipElement(reader);
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                break;
+            } else if (text != null && isText(event)) {
+                text.append(reader.getText());
+            }
+        }
+        propertyWriter.close();
+        if (text != null) {
+            generator.writeFieldName(SOAPToRESTConstants.EXTENSION_NAME);
+            writeScalar(extension.kind, text.toString(), generator);
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Returns whether the node, or the base type it extends, has a property for a child element.
+     */
+    private boolean hasProperty(String name) {
+
+        return propertyIndexes.containsKey(name) ||
+                (extension != null && extension.kind == Kind.OBJECT && extension.hasProperty(name));
+    }
+
+    /**
+     * Skips the element the reader is positioned at, leaving the reader at the end of the element.
+     *
+     * @param reader reader positioned at the start of an element
+     * @throws XMLStreamException if the SOAP response cannot be read
+     */
+    static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Reads the text of the element the reader is positioned at, including the text of its child elements, leaving
+     * the reader at the end of the element.
+     *
+     * @param reader reader positioned at the start of an element
+     * @return the text content of the element
+     * @throws XMLStreamException if the SOAP response cannot be read
+     */
+    static String readText(XMLStreamReader reader) throws XMLStreamException {
+
+        String text = null;
+        StringBuilder builder = null;
+        int depth = 1;
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (--depth == 0) {
+                    break;
+                }
+            } else if (isText(event)) {
+                // Most elements have a single text event, which does not need a builder
+                if (text == null) {
+                    text = reader.getText();
+                } else {
+                    if (builder == null) {
+                        builder = new StringBuilder(text);
+                    }
+                    builder.append(reader.getText());
+                }
+            }
+        }
+        if (builder != null) {
+            return builder.toString();
+        }
+        return text != null ? text : SOAPToRESTConstants.EMPTY_STRING;
+    }
+
+    private static boolean isText(int event) {
+
+        return event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA ||
+                event == XMLStreamConstants.SPACE;
+    }
+
+    private static boolean isNil(XMLStreamReader reader) {
+
+        String nil = reader.getAttributeValue(XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, NIL);
+        return nil != null && ("true".equals(nil.trim()) || "1".equals(nil.trim()));
+    }
+
+    /**
+     * Writes the text of a simple element. Text that is not a valid value of the type, such as {@code INF} for a
+     * double, is written as a string so that no content of the response is lost.
+     */
+    private static void writeScalar(Kind kind, String text, JsonGenerator generator) throws IOException {
+
+        if (kind == Kind.NUMBER) {
+            try {
+                generator.writeNumber(new BigDecimal(text.trim()));
+                return;
+            } catch (NumberFormatException e) {
+                // Written as a string below
+            }
+        } else if (kind == Kind.BOOLEAN) {
+            String value = text.trim();
+            if ("true".equals(value) || "1".equals(value)) {
+                generator.writeBoolean(true);
+                return;
+            }
+            if ("false".equals(value) || "0".equals(value)) {
+                generator.writeBoolean(false);
+                return;
+            }
+        }
+        generator.writeString(text);
+    }
+
+    /**
+     * Writes the child elements of an object node as the members of a JSON object. The occurrences of a repeated
+     * element are written as one JSON array, which is opened at the first occurrence and closed when another element
+     * follows. The schema keeps the occurrences of an element next to each other, so only the open array has to be
+     * remembered and the memory does not depend on the size of the response.
+     */
+    static final class PropertyWriter {
+
+        private final ResponseNode node;
+        private final JsonGenerator generator;
+        private final long[] writtenProperties;
+        private int openArray = -1;
+        private PropertyWriter extensionWriter;
+        private boolean isExtensionClosed;
+
+        PropertyWriter(ResponseNode node, JsonGenerator generator) {
+
+            this.node = node;
+            this.generator = generator;
+            this.writtenProperties = new long[(node.propertyNames.length + 63) >>> 6];
+        }
+
+        /**
+         * Writes the child element the reader is positioned at, if the node has a property for it.
+         *
+         * @param reader reader positioned at the start of a child element
+         * @return true if the element is written and the reader is at its end, false if the node does not know the
+         * element and the reader has not moved
+         * @throws SOAPToRESTException if the element repeats and cannot be written as one JSON member
+         * @throws XMLStreamException  if the SOAP response cannot be read
+         * @throws IOException         if the JSON value cannot be written
+         */
+        boolean write(XMLStreamReader reader) throws SOAPToRESTException, XMLStreamException, IOException {
+
+            String name = reader.getLocalName();
+            Integer index = node.propertyIndexes.get(name);
+            if (index != null) {
+                closeExtension();
+                writeProperty(index, reader);
+                return true;
+            }
+            ResponseNode extension = node.extension;
+            if (extension == null || extension.kind != Kind.OBJECT || !extension.hasProperty(name)) {
+                return false;
+            }
+            if (isExtensionClosed) {
+                throw new SOAPToRESTException("Element " + name + " of the base type of " +
+                        SOAPToRESTConstants.EXTENSION_NAME + " does not follow the other elements of the base type");
+            }
+            if (extensionWriter == null) {
+                closeArray();
+                generator.writeFieldName(SOAPToRESTConstants.EXTENSION_NAME);
+                generator.writeStartObject();
+                extensionWriter = new PropertyWriter(extension, generator);
+            }
+            return extensionWriter.write(reader);
+        }
+
+        /**
+         * Closes the open array and the object of the base type content, if any.
+         *
+         * @throws IOException if the JSON value cannot be written
+         */
+        void close() throws IOException {
+
+            closeArray();
+            closeExtension();
+        }
+
+        private void writeProperty(int index, XMLStreamReader reader)
+                throws SOAPToRESTException, XMLStreamException, IOException {
+
+            boolean isArray = node.arrayProperties[index];
+            if (!isArray || openArray != index) {
+                long mask = 1L << index;
+                if ((writtenProperties[index >>> 6] & mask) != 0) {
+                    throw new SOAPToRESTException("Element " + node.propertyNames[index] + " is repeated " +
+                            (isArray ? "after other elements" : "but is not an array") +
+                            " and cannot be written as one JSON member");
+                }
+                closeArray();
+                writtenProperties[index >>> 6] |= mask;
+                generator.writeFieldName(node.propertyNames[index]);
+                if (isArray) {
+                    generator.writeStartArray();
+                    openArray = index;
+                }
+            }
+            node.propertyNodes[index].write(reader, generator);
+        }
+
+        private void closeArray() throws IOException {
+
+            if (openArray >= 0) {
+                generator.writeEndArray();
+                openArray = -1;
+            }
+        }
+
+        private void closeExtension() throws IOException {
+
+            if (extensionWriter != null && !isExtensionClosed) {
+                extensionWriter.close();
+                generator.writeEndObject();
+                isExtensionClosed = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.runtime;
+
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.soaptorest.utils.SOAPToRESTConstants;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiles the OpenAPI schemas of SOAP responses into {@link ResponseNode}s. The schemas are the ones
+ * {@code OASGenerator} builds from the XSD models: a property stands for a child element, an {@link ArraySchema}
+ * stands for an element that can repeat and an {@code ExtensionObject} property stands for the content of a base
+ * type. The node of a component schema is compiled once and shared by all the schemas that refer to it.
+ */
+final class ResponseSchemaCompiler {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseSchemaCompiler.class);
+    private static final String INTEGER_TYPE = "integer";
+    private static final String NUMBER_TYPE = "number";
+    private static final String BOOLEAN_TYPE = "boolean";
+
+    private final Map<String, Schema> componentSchemas;
+    private final Map<String, ResponseNode> componentNodes = new HashMap<>();
+    private final Set<String> resolvingComponents = new HashSet<>();
+
+    /**
+     * @param componentSchemas component schemas of the OpenAPI, or null if it has none
+     */
+    ResponseSchemaCompiler(Map<String, Schema> componentSchemas) {
+
+        this.componentSchemas = componentSchemas != null ? componentSchemas : new HashMap<>();
+    }
+
+    /**
+     * Compiles a schema into the node of the element it describes.
+     *
+     * @param schema schema of an element, or null if the element has no schema
+     * @return the node of the element
+     */
+    ResponseNode compile(Schema<?> schema) {
+
+        return compile(schema, null);
+    }
+
+    private ResponseNode compile(Schema<?> schema, String componentName) {
+
+        if (schema == null) {
+            return new ResponseNode(ResponseNode.Kind.STRING);
+        }
+        if (schema instanceof ArraySchema) {
+            return compile(((ArraySchema) schema).getItems(), null);
+        }
+        boolean hasProperties = schema.getProperties() != null && !schema.getProperties().isEmpty();
+        if (schema.get$ref() != null && !hasProperties) {
+            return compileComponent(getComponentName(schema.get$ref()));
+        }
+        if (schema.get$ref() == null && !hasProperties && !SOAPToRESTConstants.OBJECT_TYPE.equals(schema.getType())) {
+            return new ResponseNode(getScalarKind(schema.getType()));
+        }
+
+        Map<String, Schema> properties = new LinkedHashMap<>();
+        collectProperties(schema, properties, new HashSet<>());
+        if (properties.isEmpty()) {
+            // An object without properties is a leaf of the payload, like an element of a simple type
+            return new ResponseNode(ResponseNode.Kind.STRING);
+        }
+        ResponseNode node = new ResponseNode(ResponseNode.Kind.OBJECT);
+        // Registered before the properties are compiled, so that a recursive type refers to this node
+        if (componentName != null) {
+            componentNodes.put(componentName, node);
+        }
+        List<String> names = new ArrayList<>();
+        List<Boolean> isArray = new ArrayList<>();
+        List<ResponseNode> nodes = new ArrayList<>();
+        ResponseNode extension = null;
+        for (Map.Entry<String, Schema> property : properties.entrySet()) {
+            Schema<?> propertySchema = property.getValue();
+            if (SOAPToRESTConstants.EXTENSION_NAME.equals(property.getKey())) {
+                extension = compile(propertySchema, null);
+                continue;
+            }
+            names.add(property.getKey());
+            isArray.add(propertySchema instanceof ArraySchema);
+            nodes.add(compile(propertySchema, null));
+        }
+        node.setProperties(names, isArray, nodes, extension);
+        return node;
+    }
+
+    private ResponseNode compileComponent(String name) {
+
+        ResponseNode node = componentNodes.get(name);
+        if (node != null) {
+            return node;
+        }
+        Schema<?> schema = getComponentSchema(name);
+        // A schema that only refers to itself has no content to describe
+        if (schema == null || !resolvingComponents.add(name)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Schema " + name + " cannot be resolved, its elements are written as strings");
+            }
+            return new ResponseNode(ResponseNode.Kind.STRING);
+        }
+        node = compile(schema, name);
+        resolvingComponents.remove(name);
+        componentNodes.put(name, node);
+        return node;
+    }
+
+    /**
+     * Collects the properties of a schema and of the schemas it refers to, such as the groups of a complex type.
+     */
+    private void collectProperties(Schema<?> schema, Map<String, Schema> properties, Set<String> visitedComponents) {
+
+        if (schema.getProperties() != null) {
+            for (Map.Entry<String, Schema> property : schema.getProperties().entrySet()) {
+                if (!properties.containsKey(property.getKey())) {
+                    properties.put(property.getKey(), property.getValue());
+                }
+            }
+        }
+        if (schema.get$ref() != null) {
+            String name = getComponentName(schema.get$ref());
+            Schema<?> referredSchema = getComponentSchema(name);
+            if (referredSchema != null && visitedComponents.add(name)) {
+                collectProperties(referredSchema, properties, visitedComponents);
+            }
+        }
+    }
+
+    /**
+     * Returns a component schema by name. Like in {@code SOAPRequestBodyGenerator}, a root element is looked up with
+     * the {@code rootElement_} prefix if there is no schema with its name.
+     */
+    private Schema<?> getComponentSchema(String name) {
+
+        Schema<?> schema = componentSchemas.get(name);
+        if (schema == null) {
+            schema = componentSchemas.get(SOAPToRESTConstants.ROOT_ELEMENT_PREFIX + name);
+        }
+        return schema;
+    }
+
+    private static String getComponentName(String ref) {
+
+        return ref.substring(ref.lastIndexOf('/') + 1);
+    }
+
+    private static ResponseNode.Kind getScalarKind(String type) {
+
+        if (INTEGER_TYPE.equals(type) || NUMBER_TYPE.equals(type)) {
+            return ResponseNode.Kind.NUMBER;
+        }
+        if (BOOLEAN_TYPE.equals(type)) {
+            return ResponseNode.Kind.BOOLEAN;
+        }
+        return ResponseNode.Kind.STRING;
+    }
+}
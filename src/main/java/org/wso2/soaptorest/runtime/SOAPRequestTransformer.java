@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.runtime;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+import org.wso2.soaptorest.models.SOAPRequestElement;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Transforms JSON requests of a REST operation into SOAP requests, without going through a template engine.
+ * <p>
+ * The transformer is compiled once from the {@link SOAPRequestElement} of the operation and has the same output as the
+ * FreeMarker template built from that request body: the placeholders of the request body are compiled into an
+ * immutable program, the JSON request is read with a streaming parser that only keeps the values the program refers
+ * to, and the SOAP envelope is written directly to an {@link OutputStream} with a {@link XMLStreamWriter}. Values are
+ * escaped for XML and written as they appear in the JSON text. A value that the request needs but the JSON request
+ * does not have fails the transformation, unless the value is inside an {@code ifPlaceholder}.
+ * <p>
+ * A compiled transformer can be used by any number of threads at the same time.
+ */
+public final class SOAPRequestTransformer {
+
+    private static final String SOAP_ENVELOPE_PREFIX = "soapenv";
+    private static final String SOAP_ENVELOPE = "Envelope";
+    private static final String SOAP_HEADER = "Header";
+    private static final String SOAP_BODY = "Body";
+    // The caller owns the input stream, so the parser must not close it
+    private static final JsonFactory JSON_FACTORY = new JsonFactory().disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    private final String soapNamespace;
+    private final TemplateInstruction[] instructions;
+    private final JSONProjection payloadProjection;
+    private final int slotCount;
+
+    private SOAPRequestTransformer(String soapNamespace, TemplateInstruction[] instructions,
+                                   JSONProjection payloadProjection, int slotCount) {
+
+        this.soapNamespace = soapNamespace;
+        this.instructions = instructions;
+        this.payloadProjection = payloadProjection;
+        this.slotCount = slotCount;
+    }
+
+    /**
+     * Compiles the request body of a SOAP operation into a transformer.
+     *
+     * @param soapRequestElement SOAP request body of the operation
+     * @return the transformer of the operation
+     * @throws SOAPToRESTException throws {@link SOAPToRESTException} if the request body has a placeholder that cannot
+     *                             be compiled
+     */
+    public static SOAPRequestTransformer compile(SOAPRequestElement soapRequestElement) throws SOAPToRESTException {
+
+        TemplateCompiler compiler = new TemplateCompiler();
+        TemplateInstruction[] instructions = compiler.compile(soapRequestElement.getSoapRequestBody());
+        return new SOAPRequestTransformer(soapRequestElement.getSoapNamespace(), instructions,
+                compiler.getPayloadProjection(), compiler.getSlotCount());
+    }
+
+    /**
+     * Compiles the request bodies of all the operations of a conversion.
+     *
+     * @param conversionData result of a SOAP to REST conversion
+     * @return the transformers mapped by the operation ID of the REST operation
+     * @throws SOAPToRESTException throws {@link SOAPToRESTException} if a request body has a placeholder that cannot
+     *                             be compiled
+     */
+    public static Map<String, SOAPRequestTransformer> compile(SOAPtoRESTConversionData conversionData)
+            throws SOAPToRESTException {
+
+        Map<String, SOAPRequestTransformer> transformers = new HashMap<>();
+        for (Map.Entry<String, SOAPRequestElement> entry : conversionData.getAllSOAPRequestBodies()) {
+            transformers.put(entry.getKey(), compile(entry.getValue()));
+        }
+        return transformers;
+    }
+
+    /**
+     * Reads a JSON request and writes the SOAP envelope of the operation in UTF-8. The output stream is neither
+     * closed nor reset if the transformation fails, so it may hold a part of the envelope in that case.
+     *
+     * @param jsonPayload  JSON request body, or null if the request has none
+     * @param uriVariables values of the URI variables, such as query parameters, mapped by their names
+     * @param outputStream stream the SOAP envelope is written to
+     * @throws SOAPToRESTException throws {@link SOAPToRESTException} if the JSON request cannot be read or does not
+     *                             have a value the SOAP request needs
+     */
+    public void transform(InputStream jsonPayload, Map<String, String> uriVariables, OutputStream outputStream)
+            throws SOAPToRESTException {
+
+        ProjectedValue payload = readPayload(jsonPayload);
+        try {
+            XMLStreamWriter writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(outputStream,
+                    StandardCharsets.UTF_8.name());
+            writer.writeStartElement(SOAP_ENVELOPE_PREFIX, SOAP_ENVELOPE, soapNamespace);
+            writer.writeNamespace(SOAP_ENVELOPE_PREFIX, soapNamespace);
+            writer.writeEmptyElement(SOAP_ENVELOPE_PREFIX, SOAP_HEADER, soapNamespace);
+            writer.writeStartElement(SOAP_ENVELOPE_PREFIX, SOAP_BODY, soapNamespace);
+            TemplateInstruction.execute(instructions,
+                    new TransformationContext(payload, uriVariables, slotCount, writer));
+            writer.writeEndElement();
+            writer.writeEndElement();
+            writer.flush();
+            // Releases the writer, the output stream is left open
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new SOAPToRESTException("Error occurred while writing the SOAP request", e);
+        }
+    }
+
+    private ProjectedValue readPayload(InputStream jsonPayload) throws SOAPToRESTException {
+
+        if (payloadProjection == null || jsonPayload == null) {
+            return null;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(jsonPayload)) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return null;
+            }
+            return payloadProjection.read(parser);
+        } catch (IOException e) {
+            throw new SOAPToRESTException("Error occurred while reading the JSON request", e);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.runtime;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+import org.wso2.soaptorest.utils.SOAPToRESTConstants;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Transforms SOAP responses of an operation into JSON responses, in a single pass over the SOAP response.
+ * <p>
+ * The transformer is compiled once from the response schema the converted OpenAPI has for the operation. The SOAP
+ * response is read with a {@link XMLStreamReader} and every element of the body is written as soon as it is read
+ * with a {@link JsonGenerator}, typed by its schema: elements of integer and number types become JSON numbers,
+ * elements of boolean type become JSON booleans, elements that can repeat become JSON arrays, even if they occur once,
+ * and elements with {@code xsi:nil} become JSON nulls. Elements that the schema does not have are skipped. The memory
+ * of a transformation depends on the depth of the response and not on its size.
+ * <p>
+ * A body element that is not a part of the response, such as the wrapper element of an rpc style response, is
+ * read through and its child elements are written as the parts. A SOAP fault fails the transformation with its fault
+ * string. An element that repeats but is not an array, or that repeats after other elements, cannot be written in a
+ * single pass and also fails the transformation.
+ * <p>
+ * A compiled transformer can be used by any number of threads at the same time.
+ */
+public final class SOAPResponseTransformer {
+
+    private static final String SOAP_ENVELOPE = "Envelope";
+    private static final String SOAP_BODY = "Body";
+    private static final String SOAP_FAULT = "Fault";
+    private static final String SOAP11_FAULT_STRING = "faultstring";
+    private static final String SOAP12_FAULT_TEXT = "Text";
+    // The caller owns the output stream, so the generator must not close it
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXMLInputFactory();
+
+    private final ResponseNode responseNode;
+
+    private SOAPResponseTransformer(ResponseNode responseNode) {
+
+        this.responseNode = responseNode;
+    }
+
+    /**
+     * Compiles the response schema of an operation into a transformer.
+     *
+     * @param responseSchema   schema of the JSON response of the operation
+     * @param componentSchemas component schemas of the OpenAPI the response schema refers to
+     * @return the transformer of the operation
+     */
+    public static SOAPResponseTransformer compile(Schema<?> responseSchema, Map<String, Schema> componentSchemas) {
+
+        ResponseNode responseNode = new ResponseSchemaCompiler(componentSchemas).compile(responseSchema);
+        if (responseNode.getKind() != ResponseNode.Kind.OBJECT) {
+            // An operation without an output message has nothing to write
+            responseNode = new ResponseNode(ResponseNode.Kind.OBJECT);
+            responseNode.setProperties(Collections.<String>emptyList(), Collections.<Boolean>emptyList(),
+                    Collections.<ResponseNode>emptyList(), null);
+        }
+        return new SOAPResponseTransformer(responseNode);
+    }
+
+    /**
+     * Compiles the response schemas of all the operations of a conversion.
+     *
+     * @param conversionData result of a SOAP to REST conversion
+     * @return the transformers mapped by the operation ID of the REST operation
+     */
+    public static Map<String, SOAPResponseTransformer> compile(SOAPtoRESTConversionData conversionData) {
+
+        OpenAPI openAPI = conversionData.getOpenAPI();
+        Map<String, Schema> componentSchemas = openAPI.getComponents() != null ?
+                openAPI.getComponents().getSchemas() : null;
+        Map<String, SOAPResponseTransformer> transformers = new HashMap<>();
+        if (openAPI.getPaths() == null) {
+            return transformers;
+        }
+        for (PathItem pathItem : openAPI.getPaths().values()) {
+            for (Operation operation : pathItem.readOperations()) {
+                transformers.put(operation.getOperationId(),
+                        compile(getResponseSchema(operation), componentSchemas));
+            }
+        }
+        return transformers;
+    }
+
+    /**
+     * Reads a SOAP response and writes the JSON response of the operation in UTF-8. The output stream is neither
+     * closed nor reset if the transformation fails, so it may hold a part of the JSON response in that case.
+     *
+     * @param soapResponse SOAP envelope of the response
+     * @param outputStream stream the JSON response is written to
+     * @throws SOAPToRESTException throws {@link SOAPToRESTException} if the SOAP response cannot be read, is a SOAP
+     *                             fault or cannot be written in a single pass
+     */
+    public void transform(InputStream soapResponse, OutputStream outputStream) throws SOAPToRESTException {
+
+        XMLStreamReader reader = null;
+        try {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(soapResponse);
+            JsonGenerator generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8);
+            reader.nextTag();
+            if (!SOAP_ENVELOPE.equals(reader.getLocalName()) || !isSOAPNamespace(reader.getNamespaceURI())) {
+                throw new SOAPToRESTException("The response is not a SOAP envelope: " + reader.getName());
+            }
+            if (!moveToBody(reader)) {
+                throw new SOAPToRESTException("The SOAP envelope does not have a body");
+            }
+            generator.writeStartObject();
+            writeBody(reader, generator);
+            generator.writeEndObject();
+            generator.flush();
+            // Releases the generator, the output stream is left open
+            generator.close();
+        } catch (XMLStreamException e) {
+            throw new SOAPToRESTException("Error occurred while reading the SOAP response", e);
+        } catch (IOException e) {
+            throw new SOAPToRESTException("Error occurred while writing the JSON response", e);
+        } finally {
+            closeReader(reader);
+        }
+    }
+
+    /**
+     * Moves the reader to the start of the body, skipping the header.
+     *
+     * @return false if the envelope has no body
+     */
+    private static boolean moveToBody(XMLStreamReader reader) throws XMLStreamException {
+
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if (SOAP_BODY.equals(reader.getLocalName())) {
+                return true;
+            }
+            ResponseNode.skipElement(reader);
+        }
+        return false;
+    }
+
+    private void writeBody(XMLStreamReader reader, JsonGenerator generator)
+            throws SOAPToRESTException, XMLStreamException, IOException {
+
+        ResponseNode.PropertyWriter propertyWriter = new ResponseNode.PropertyWriter(responseNode, generator);
+        int depth = 0;
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (depth == 0 && SOAP_FAULT.equals(reader.getLocalName()) &&
+                        isSOAPNamespace(reader.getNamespaceURI())) {
+                    throw new SOAPToRESTException("SOAP fault received: " + readFaultString(reader));
+                }
+                if (!propertyWriter.write(reader)) {
+                    if (depth == 0) {
+                        // Reads through a wrapper element, such as the one of an rpc style response
+                        depth++;
+                    } else {
+                        ResponseNode.skipElement(reader);
+                    }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (depth == 0) {
+                    break;
+                }
+                depth--;
+            }
+        }
+        propertyWriter.close();
+    }
+
+    private static String readFaultString(XMLStreamReader reader) throws XMLStreamException {
+
+        String faultString = null;
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = reader.getLocalName();
+                if (faultString == null && (SOAP11_FAULT_STRING.equals(name) || SOAP12_FAULT_TEXT.equals(name))) {
+                    faultString = ResponseNode.readText(reader).trim();
+                } else {
+                    depth++;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        return faultString;
+    }
+
+    private static Schema<?> getResponseSchema(Operation operation) {
+
+        if (operation.getResponses() == null) {
+            return null;
+        }
+        ApiResponse response = operation.getResponses().getDefault();
+        if (response == null || response.getContent() == null) {
+            return null;
+        }
+        MediaType mediaType = response.getContent().get(SOAPToRESTConstants.DEFAULT_CONTENT_TYPE);
+        return mediaType != null ? mediaType.getSchema() : null;
+    }
+
+    private static boolean isSOAPNamespace(String namespace) {
+
+        return SOAPToRESTConstants.SOAP11_NAMESPACE.equals(namespace) ||
+                SOAPToRESTConstants.SOAP12_NAMESPACE.equals(namespace);
+    }
+
+    private static void closeReader(XMLStreamReader reader) {
+
+        if (reader != null) {
+            try {
+                // Releases the reader, the input stream is left open
+                reader.close();
+            } catch (XMLStreamException e) {
+                // Nothing is left to read from the reader
+            }
+        }
+    }
+
+    private static XMLInputFactory createXMLInputFactory() {
+
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        // SOAP responses come from outside, so they must not have document type declarations or external entities
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
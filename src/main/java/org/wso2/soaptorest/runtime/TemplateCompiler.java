@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.runtime;
+
+import org.apache.commons.lang3.StringUtils;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+import org.wso2.soaptorest.utils.SOAPToRESTConstants;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.wso2.soaptorest.utils.SOAPToRESTConstants.ARRAY_PLACEHOLDER;
+import static org.wso2.soaptorest.utils.SOAPToRESTConstants.ATTRIBUTE_PLACEHOLDER;
+import static org.wso2.soaptorest.utils.SOAPToRESTConstants.IF_PLACEHOLDER;
+import static org.wso2.soaptorest.utils.SOAPToRESTConstants.IS_EMPTY_ATTRIBUTE;
+import static org.wso2.soaptorest.utils.SOAPToRESTConstants.QUESTION_MARK_PLACEHOLDER;
+import static org.wso2.soaptorest.utils.SOAPToRESTConstants.VALUE_ATTRIBUTE;
+
+/**
+ * Compiles the DOM template of a SOAP request into {@link TemplateInstruction}s.
+ * <p>
+ * The placeholders of the template are read the way the FreeMarker template built from it would read them: an
+ * {@code ifPlaceholder} element becomes an {@code <#if value?has_content>}, an element with an
+ * {@code ARRAY_PLACEHOLDER} attribute is repeated for every item of the array, with the item available under the local
+ * name of the element, and {@code ${...}} in text and attribute values is replaced by a value of the payload, of a URI
+ * variable ({@code uri.var.<name>}) or of a loop item. The members of the payload that the template refers to are
+ * collected into a {@link JSONProjection}.
+ */
+final class TemplateCompiler {
+
+    private static final String PAYLOAD_VARIABLE = "payload";
+    private static final String URI_VARIABLE = "uri";
+    private static final String URI_VARIABLE_MEMBER = "var";
+    private static final String HAS_CONTENT_CONDITION = QUESTION_MARK_PLACEHOLDER + "has_content";
+    private static final String INTERPOLATION_START = "${";
+    private static final String INTERPOLATION_END = "}";
+
+    private final JSONProjection payloadProjection = new JSONProjection();
+    private boolean isPayloadUsed;
+    private int slotCount;
+
+    /**
+     * Compiles the children of the given node, which is usually the template document.
+     *
+     * @param template node of the template
+     * @return the instructions of the template
+     * @throws SOAPToRESTException if the template has a placeholder that cannot be compiled
+     */
+    TemplateInstruction[] compile(Node template) throws SOAPToRESTException {
+
+        return compileChildren(template, null, new HashMap<String, String>());
+    }
+
+    /**
+     * @return the members of the payload the compiled templates refer to, or null if they do not use the payload
+     */
+    JSONProjection getPayloadProjection() {
+
+        return isPayloadUsed ? payloadProjection : null;
+    }
+
+    /**
+     * @return the number of loops that are nested into each other at most
+     */
+    int getSlotCount() {
+
+        return slotCount;
+    }
+
+    private TemplateInstruction[] compileChildren(Node node, LoopScope scope, Map<String, String> namespaces)
+            throws SOAPToRESTException {
+
+        List<TemplateInstruction> instructions = new ArrayList<>();
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            switch (child.getNodeType()) {
+                case Node.ELEMENT_NODE:
+                    instructions.add(compileElement((Element) child, scope, namespaces));
+                    break;
+                case Node.TEXT_NODE:
+                case Node.CDATA_SECTION_NODE:
+                    instructions.add(new TemplateInstruction.TextInstruction(
+                            compileText(child.getNodeValue(), scope)));
+                    break;
+                default:
+                    // Comments and processing instructions are not part of the request
+                    break;
+            }
+        }
+        return instructions.toArray(new TemplateInstruction[0]);
+    }
+
+    private TemplateInstruction compileElement(Element element, LoopScope scope, Map<String, String> namespaces)
+            throws SOAPToRESTException {
+
+        if (IF_PLACEHOLDER.equals(element.getNodeName())) {
+            String condition = element.getAttribute(ATTRIBUTE_PLACEHOLDER);
+            if (!condition.endsWith(HAS_CONTENT_CONDITION)) {
+                throw new SOAPToRESTException("Unsupported condition " + condition + " in the SOAP request template");
+            }
+            Reference reference = compileReference(condition.substring(0,
+                    condition.length() - HAS_CONTENT_CONDITION.length()), scope);
+            return new TemplateInstruction.ConditionInstruction(reference.expression,
+                    compileChildren(element, scope, namespaces));
+        }
+        if (element.hasAttribute(ARRAY_PLACEHOLDER)) {
+            Reference array = compileReference(element.getAttribute(ARRAY_PLACEHOLDER), scope);
+            int slot = scope == null ? 0 : scope.slot + 1;
+            slotCount = Math.max(slotCount, slot + 1);
+            JSONProjection itemProjection = array.projection != null ? array.projection.getItems() : null;
+            LoopScope loopScope = new LoopScope(getLocalName(element), slot, itemProjection, scope);
+            TemplateInstruction item = compileElementContent(element, loopScope, namespaces);
+            return new TemplateInstruction.LoopInstruction(array.expression, slot, new TemplateInstruction[]{item});
+        }
+        return compileElementContent(element, scope, namespaces);
+    }
+
+    private TemplateInstruction compileElementContent(Element element, LoopScope scope,
+                                                      Map<String, String> namespaces) throws SOAPToRESTException {
+
+        String namespaceURI = StringUtils.isEmpty(element.getNamespaceURI()) ? null : element.getNamespaceURI();
+        String prefix = namespaceURI != null ? element.getPrefix() : null;
+        String localName = namespaceURI != null ? getLocalName(element) : element.getNodeName();
+        boolean isNamespaceDeclared = false;
+        Map<String, String> elementNamespaces = namespaces;
+        if (namespaceURI != null) {
+            String namespaceKey = prefix == null ? SOAPToRESTConstants.EMPTY_STRING : prefix;
+            if (!namespaceURI.equals(namespaces.get(namespaceKey))) {
+                isNamespaceDeclared = true;
+                elementNamespaces = new HashMap<>(namespaces);
+                elementNamespaces.put(namespaceKey, namespaceURI);
+            }
+        }
+
+        List<String> attributeNames = new ArrayList<>();
+        List<TemplateText> attributeValues = new ArrayList<>();
+        NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Attr attribute = (Attr) attributes.item(i);
+            String name = attribute.getName();
+            if (ARRAY_PLACEHOLDER.equals(name) || IS_EMPTY_ATTRIBUTE.equals(name) || VALUE_ATTRIBUTE.equals(name) ||
+                    SOAPToRESTConstants.XMLNS.equals(name) ||
+                    name.startsWith(SOAPToRESTConstants.XMLNS + SOAPToRESTConstants.NAMESPACE_SEPARATOR)) {
+                // Namespace declarations are written from the namespaces of the elements
+                continue;
+            }
+            attributeNames.add(name);
+            attributeValues.add(compileText(attribute.getValue(), scope));
+        }
+        return new TemplateInstruction.ElementInstruction(prefix, localName, namespaceURI, isNamespaceDeclared,
+                attributeNames.toArray(new String[0]), attributeValues.toArray(new TemplateText[0]),
+                compileChildren(element, scope, elementNamespaces));
+    }
+
+    private TemplateText compileText(String text, LoopScope scope) throws SOAPToRESTException {
+
+        List<Object> parts = new ArrayList<>();
+        int position = 0;
+        int start;
+        while ((start = text.indexOf(INTERPOLATION_START, position)) >= 0) {
+            int end = text.indexOf(INTERPOLATION_END, start);
+            if (end < 0) {
+                throw new SOAPToRESTException("Unclosed interpolation in " + text + " of the SOAP request template");
+            }
+            if (start > position) {
+                parts.add(text.substring(position, start));
+            }
+            parts.add(compileReference(text.substring(start + INTERPOLATION_START.length(), end), scope).expression);
+            position = end + INTERPOLATION_END.length();
+        }
+        if (position < text.length() || parts.isEmpty()) {
+            parts.add(text.substring(position));
+        }
+        return new TemplateText(parts.toArray());
+    }
+
+    /**
+     * Compiles a reference such as {@code payload.a\-b.items[0].id}, where a backslash escapes the next character.
+     */
+    private Reference compileReference(String text, LoopScope scope) throws SOAPToRESTException {
+
+        List<String> names = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                name.append(text.charAt(++i));
+            } else if (c == '.' || c == '[') {
+                addName(name, names, indexes);
+                if (c == '[') {
+                    int end = text.indexOf(']', i);
+                    if (end < 0 || end == i + 1 || !StringUtils.isNumeric(text.substring(i + 1, end))) {
+                        throw new SOAPToRESTException("Unsupported reference " + text + " in the SOAP request " +
+                                "template");
+                    }
+                    names.add(null);
+                    indexes.add(Integer.parseInt(text.substring(i + 1, end)));
+                    i = end;
+                }
+            } else if (!Character.isWhitespace(c)) {
+                name.append(c);
+            }
+        }
+        addName(name, names, indexes);
+        if (names.isEmpty() || names.get(0) == null) {
+            throw new SOAPToRESTException("Unsupported reference " + text + " in the SOAP request template");
+        }
+
+        String variable = names.get(0);
+        int root = ValueExpression.UNDEFINED;
+        JSONProjection projection = null;
+        String uriVariable = null;
+        int firstStep = 1;
+        LoopScope loopScope = scope;
+        while (loopScope != null && !loopScope.variable.equals(variable)) {
+            loopScope = loopScope.parent;
+        }
+        if (loopScope != null) {
+            root = loopScope.slot;
+            projection = loopScope.projection;
+        } else if (PAYLOAD_VARIABLE.equals(variable)) {
+            root = ValueExpression.PAYLOAD;
+            projection = payloadProjection;
+            isPayloadUsed = true;
+        } else if (URI_VARIABLE.equals(variable) && names.size() == 3 && URI_VARIABLE_MEMBER.equals(names.get(1)) &&
+                names.get(2) != null) {
+            root = ValueExpression.URI_VARIABLE;
+            uriVariable = names.get(2);
+            firstStep = names.size();
+        }
+
+        int stepCount = names.size() - firstStep;
+        String[] stepNames = new String[stepCount];
+        int[] stepIndexes = new int[stepCount];
+        for (int i = 0; i < stepCount; i++) {
+            stepNames[i] = names.get(firstStep + i);
+            stepIndexes[i] = indexes.get(firstStep + i);
+            if (projection != null) {
+                projection = stepNames[i] != null ? projection.getField(stepNames[i]) : projection.getItems();
+            }
+        }
+        return new Reference(new ValueExpression(text, root, uriVariable, stepNames, stepIndexes), projection);
+    }
+
+    private static void addName(StringBuilder name, List<String> names, List<Integer> indexes) {
+
+        if (name.length() > 0) {
+            names.add(name.toString());
+            indexes.add(-1);
+            name.setLength(0);
+        }
+    }
+
+    private static String getLocalName(Element element) {
+
+        if (element.getLocalName() != null) {
+            return element.getLocalName();
+        }
+        String nodeName = element.getNodeName();
+        return nodeName.substring(nodeName.indexOf(SOAPToRESTConstants.NAMESPACE_SEPARATOR) + 1);
+    }
+
+    /**
+     * A compiled reference together with the projection of the value it refers to, which is null if it does not refer
+     * to the payload.
+     */
+    private static class Reference {
+
+        private final ValueExpression expression;
+        private final JSONProjection projection;
+
+        Reference(ValueExpression expression, JSONProjection projection) {
+
+            this.expression = expression;
+            this.projection = projection;
+        }
+    }
+
+    /**
+     * A loop that encloses the part of the template being compiled.
+     */
+    private static class LoopScope {
+
+        private final String variable;
+        private final int slot;
+        private final JSONProjection projection;
+        private final LoopScope parent;
+
+        LoopScope(String variable, int slot, JSONProjection projection, LoopScope parent) {
+
+            this.variable = variable;
+            this.slot = slot;
+            this.projection = projection;
+            this.parent = parent;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.runtime;
+
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.util.List;
+
+/**
+ * An instruction of a compiled SOAP request template. Instructions are immutable, so a compiled template can be
+ * executed by any number of threads at the same time.
+ */
+abstract class TemplateInstruction {
+
+    /**
+     * Writes the part of the SOAP request that this instruction stands for.
+     *
+     * @param context context of the transformation
+     * @throws SOAPToRESTException if the payload does not have a value the template needs
+     * @throws XMLStreamException  if the request cannot be written
+     */
+    abstract void execute(TransformationContext context) throws SOAPToRESTException, XMLStreamException;
+
+    static void execute(TemplateInstruction[] instructions, TransformationContext context)
+            throws SOAPToRESTException, XMLStreamException {
+
+        for (TemplateInstruction instruction : instructions) {
+            instruction.execute(context);
+        }
+    }
+
+    /**
+     * Writes an element with its attributes and content.
+     */
+    static final class ElementInstruction extends TemplateInstruction {
+
+        private final String prefix;
+        private final String localName;
+        private final String namespaceURI;
+        private final boolean isNamespaceDeclared;
+        private final String[] attributeNames;
+        private final TemplateText[] attributeValues;
+        private final TemplateInstruction[] children;
+
+        /**
+         * @param prefix              prefix of the element, or null if it has none
+         * @param localName           local name of the element, or the qualified name if it has no namespace
+         * @param namespaceURI        namespace of the element, or null if it has none
+         * @param isNamespaceDeclared whether the namespace is declared on this element
+         * @param attributeNames      names of the attributes
+         * @param attributeValues     values of the attributes
+         * @param children            instructions of the content
+         */
+        ElementInstruction(String prefix, String localName, String namespaceURI, boolean isNamespaceDeclared,
+                           String[] attributeNames, TemplateText[] attributeValues, TemplateInstruction[] children) {
+
+            this.prefix = prefix;
+            this.localName = localName;
+            this.namespaceURI = namespaceURI;
+            this.isNamespaceDeclared = isNamespaceDeclared;
+            this.attributeNames = attributeNames;
+            this.attributeValues = attributeValues;
+            this.children = children;
+        }
+
+        @Override
+        void execute(TransformationContext context) throws SOAPToRESTException, XMLStreamException {
+
+            XMLStreamWriter writer = context.getWriter();
+            if (namespaceURI == null) {
+                writer.writeStartElement(localName);
+            } else if (prefix == null) {
+                writer.writeStartElement(namespaceURI, localName);
+                if (isNamespaceDeclared) {
+                    writer.writeDefaultNamespace(namespaceURI);
+                }
+            } else {
+                writer.writeStartElement(prefix, localName, namespaceURI);
+                if (isNamespaceDeclared) {
+                    writer.writeNamespace(prefix, namespaceURI);
+                }
+            }
+            for (int i = 0; i < attributeNames.length; i++) {
+                writer.writeAttribute(attributeNames[i], attributeValues[i].evaluate(context));
+            }
+            execute(children, context);
+            writer.writeEndElement();
+        }
+    }
+
+    /**
+     * Writes the text content of an element.
+     */
+    static final class TextInstruction extends TemplateInstruction {
+
+        private final TemplateText text;
+
+        TextInstruction(TemplateText text) {
+
+            this.text = text;
+        }
+
+        @Override
+        void execute(TransformationContext context) throws SOAPToRESTException, XMLStreamException {
+
+            text.write(context);
+        }
+    }
+
+    /**
+     * Writes its content only if a value of the payload has content, which stands for
+     * {@code <#if value?has_content>}.
+     */
+    static final class ConditionInstruction extends TemplateInstruction {
+
+        private final ValueExpression value;
+        private final TemplateInstruction[] children;
+
+        ConditionInstruction(ValueExpression value, TemplateInstruction[] children) {
+
+            this.value = value;
+            this.children = children;
+        }
+
+        @Override
+        void execute(TransformationContext context) throws SOAPToRESTException, XMLStreamException {
+
+            ProjectedValue projectedValue = value.evaluate(context, true);
+            if (projectedValue != null && projectedValue.hasContent()) {
+                execute(children, context);
+            }
+        }
+    }
+
+    /**
+     * Writes its content once for every item of an array of the payload, which stands for
+     * {@code <#list array as item>}.
+     */
+    static final class LoopInstruction extends TemplateInstruction {
+
+        private final ValueExpression array;
+        private final int slot;
+        private final TemplateInstruction[] children;
+
+        LoopInstruction(ValueExpression array, int slot, TemplateInstruction[] children) {
+
+            this.array = array;
+            this.slot = slot;
+            this.children = children;
+        }
+
+        @Override
+        void execute(TransformationContext context) throws SOAPToRESTException, XMLStreamException {
+
+            ProjectedValue projectedValue = array.evaluate(context, false);
+            if (projectedValue.getType() != ProjectedValue.Type.ARRAY) {
+                throw new SOAPToRESTException("Expected a JSON array for " + array + " but found "
+                        + projectedValue.getType());
+            }
+            List<ProjectedValue> items = projectedValue.getItems();
+            for (ProjectedValue item : items) {
+                context.setSlot(slot, item);
+                execute(children, context);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.runtime;
+
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * Text of an element or attribute of a template, made of literal parts and {@code ${...}} interpolations.
+ */
+final class TemplateText {
+
+    // Every part is either a literal String or a ValueExpression
+    private final Object[] parts;
+
+    TemplateText(Object[] parts) {
+
+        this.parts = parts;
+    }
+
+    /**
+     * Evaluates the interpolations and returns the complete text.
+     *
+     * @param context context of the transformation
+     * @return the text
+     * @throws SOAPToRESTException if an interpolated value is missing or is not a scalar
+     */
+    String evaluate(TransformationContext context) throws SOAPToRESTException {
+
+        if (parts.length == 1) {
+            return evaluatePart(parts[0], context);
+        }
+        StringBuilder text = new StringBuilder();
+        for (Object part : parts) {
+            text.append(evaluatePart(part, context));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Writes the text as character data of the current element.
+     *
+     * @param context context of the transformation
+     * @throws SOAPToRESTException if an interpolated value is missing or is not a scalar
+     * @throws XMLStreamException  if the text cannot be written
+     */
+    void write(TransformationContext context) throws SOAPToRESTException, XMLStreamException {
+
+        for (Object part : parts) {
+            context.getWriter().writeCharacters(evaluatePart(part, context));
+        }
+    }
+
+    private static String evaluatePart(Object part, TransformationContext context) throws SOAPToRESTException {
+
+        if (part instanceof ValueExpression) {
+            return ((ValueExpression) part).evaluateText(context);
+        }
+        return (String) part;
+    }
+}
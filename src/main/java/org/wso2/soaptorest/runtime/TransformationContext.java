@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.runtime;
+
+import javax.xml.stream.XMLStreamWriter;
+import java.util.Map;
+
+/**
+ * State of a single transformation: the projected payload, the URI variables, the current item of every enclosing
+ * loop and the writer of the SOAP request.
+ */
+final class TransformationContext {
+
+    private final ProjectedValue payload;
+    private final Map<String, String> uriVariables;
+    private final ProjectedValue[] slots;
+    private final XMLStreamWriter writer;
+
+    TransformationContext(ProjectedValue payload, Map<String, String> uriVariables, int slotCount,
+                          XMLStreamWriter writer) {
+
+        this.payload = payload;
+        this.uriVariables = uriVariables;
+        this.slots = new ProjectedValue[slotCount];
+        this.writer = writer;
+    }
+
+    ProjectedValue getPayload() {
+
+        return payload;
+    }
+
+    ProjectedValue getURIVariable(String name) {
+
+        String value = uriVariables != null ? uriVariables.get(name) : null;
+        return value != null ? ProjectedValue.scalar(ProjectedValue.Type.STRING, value) : null;
+    }
+
+    ProjectedValue getSlot(int slot) {
+
+        return slots[slot];
+    }
+
+    void setSlot(int slot, ProjectedValue value) {
+
+        slots[slot] = value;
+    }
+
+    XMLStreamWriter getWriter() {
+
+        return writer;
+    }
+}
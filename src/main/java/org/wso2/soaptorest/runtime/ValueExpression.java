@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.runtime;
+
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+
+import java.util.List;
+
+/**
+ * A compiled variable reference of a template, such as {@code payload.order.items[0].id}. The variable is resolved when
+ * the template is compiled, to the payload, to a URI variable or to the slot of an enclosing loop, and the rest of the
+ * reference is kept as a list of member names and item indexes.
+ */
+final class ValueExpression {
+
+    static final int PAYLOAD = -1;
+    static final int URI_VARIABLE = -2;
+    static final int UNDEFINED = -3;
+
+    private final String expression;
+    private final int root;
+    private final String uriVariable;
+    // Member name of every step, or null if the step is an item index
+    private final String[] names;
+    private final int[] indexes;
+
+    ValueExpression(String expression, int root, String uriVariable, String[] names, int[] indexes) {
+
+        this.expression = expression;
+        this.root = root;
+        this.uriVariable = uriVariable;
+        this.names = names;
+        this.indexes = indexes;
+    }
+
+    /**
+     * Evaluates the reference. Like in FreeMarker, every step except the last one must exist, and the last one may
+     * only be missing if the caller allows it.
+     *
+     * @param context         context of the transformation
+     * @param isMissingAllowed whether a missing value is returned as null instead of failing
+     * @return the value or null if it is missing and that is allowed
+     * @throws SOAPToRESTException if a value is missing or has the wrong type
+     */
+    ProjectedValue evaluate(TransformationContext context, boolean isMissingAllowed) throws SOAPToRESTException {
+
+        ProjectedValue value;
+        switch (root) {
+            case PAYLOAD:
+                value = context.getPayload();
+                break;
+            case URI_VARIABLE:
+                value = context.getURIVariable(uriVariable);
+                break;
+            case UNDEFINED:
+                value = null;
+                break;
+            default:
+                value = context.getSlot(root);
+        }
+        if (value == null) {
+            return missing(names.length == 0 && isMissingAllowed);
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (names[i] != null) {
+                if (value.getType() != ProjectedValue.Type.OBJECT) {
+                    throw new SOAPToRESTException("Expected a JSON object before member '" + names[i] + "' of "
+                            + expression + " but found " + value.getType());
+                }
+                value = value.getField(names[i]);
+            } else {
+                if (value.getType() != ProjectedValue.Type.ARRAY) {
+                    throw new SOAPToRESTException("Expected a JSON array before item " + indexes[i] + " of "
+                            + expression + " but found " + value.getType());
+                }
+                List<ProjectedValue> items = value.getItems();
+                value = indexes[i] < items.size() ? items.get(indexes[i]) : null;
+            }
+            if (value == null) {
+                return missing(i == names.length - 1 && isMissingAllowed);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Evaluates the reference to a scalar value and returns its text.
+     *
+     * @param context context of the transformation
+     * @return the text of the value
+     * @throws SOAPToRESTException if the value is missing or is not a scalar
+     */
+    String evaluateText(TransformationContext context) throws SOAPToRESTException {
+
+        ProjectedValue value = evaluate(context, false);
+        if (!value.isScalar()) {
+            throw new SOAPToRESTException("Expected a JSON string, number or boolean for " + expression
+                    + " but found " + value.getType());
+        }
+        return value.getText();
+    }
+
+    private ProjectedValue missing(boolean isMissingAllowed) throws SOAPToRESTException {
+
+        if (isMissingAllowed) {
+            return null;
+        }
+        throw new SOAPToRESTException("The value of " + expression + " is missing in the request");
+    }
+
+    @Override
+    public String toString() {
+
+        return expression;
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.w3c.dom.Document;
+import org.wso2.soaptorest.models.SOAPRequestElement;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Makes deep copies of conversion data, so that a result that is handed out more than once can be changed by each of
+ * its callers without changing the others.
+ * <p>
+ * The OpenAPI models are copied field by field, including the fields that are not serialized, such as the names of
+ * the schemas. The maps of the models, such as {@link io.swagger.v3.oas.models.Paths}, are copied with their entries.
+ * A model that occurs more than once in the copied models is copied once, so the copy has the same structure as the
+ * original. Strings, numbers, booleans and enums are immutable and are shared, and the other values the models can
+ * hold, such as the values of extensions, are shared as well. The DOM documents of the SOAP payloads are cloned while
+ * holding the lock of the document, since a DOM is not safe to read from several threads.
+ * <p>
+ * Any number of threads can copy the same models at the same time, as long as the models are not changed while they
+ * are copied.
+ */
+public final class ConversionDataCopier {
+
+    private static final String MODEL_PACKAGE = "io.swagger.v3.oas.models.";
+    private static final ConcurrentMap<Class<?>, Field[]> MODEL_FIELDS = new ConcurrentHashMap<>();
+
+    // Copies of the models copied so far, by the identity of the models
+    private final Map<Object, Object> copies = new IdentityHashMap<>();
+
+    private ConversionDataCopier() {
+
+    }
+
+    /**
+     * Copies the OpenAPI and the SOAP payloads of the conversion data. The digests of the components are immutable and
+     * are shared with the copy.
+     *
+     * @param conversionData conversion data to copy
+     * @return a copy that shares no mutable state with the conversion data
+     */
+    public static SOAPtoRESTConversionData copy(SOAPtoRESTConversionData conversionData) {
+
+        Map<String, SOAPRequestElement> soapRequestBodies = new LinkedHashMap<>();
+        for (Map.Entry<String, SOAPRequestElement> soapRequestBody : conversionData.getAllSOAPRequestBodies()) {
+            soapRequestBodies.put(soapRequestBody.getKey(), copy(soapRequestBody.getValue()));
+        }
+        return new SOAPtoRESTConversionData(copyModel(conversionData.getOpenAPI()), soapRequestBodies,
+                conversionData.getSoapService(), conversionData.getSoapPort(), conversionData.getComponentDigests());
+    }
+
+    /**
+     * Copies an OpenAPI or any of its models, such as a schema.
+     *
+     * @param model model to copy, or null
+     * @return the copy of the model, or null if the model is null
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T copyModel(T model) {
+
+        if (model != null && !model.getClass().getName().startsWith(MODEL_PACKAGE)) {
+            throw new IllegalArgumentException(model.getClass().getName() + " is not an OpenAPI model");
+        }
+        return (T) new ConversionDataCopier().copyValue(model);
+    }
+
+    /**
+     * Copies the SOAP payload of an operation, cloning its DOM document.
+     *
+     * @param soapRequestElement SOAP payload to copy
+     * @return a copy with its own document
+     */
+    public static SOAPRequestElement copy(SOAPRequestElement soapRequestElement) {
+
+        Document soapRequestBody = soapRequestElement.getSoapRequestBody();
+        Document soapRequestBodyCopy = null;
+        if (soapRequestBody != null) {
+            synchronized (soapRequestBody) {
+                soapRequestBodyCopy = (Document) soapRequestBody.cloneNode(true);
+            }
+        }
+        return new SOAPRequestElement(soapRequestBodyCopy, soapRequestElement.getSoapAction(),
+                soapRequestElement.getNamespace(), soapRequestElement.getSoapNamespace());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object copyValue(Object value) {
+
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean ||
+                value instanceof Enum) {
+            return value;
+        }
+        Object copy = copies.get(value);
+        if (copy != null) {
+            return copy;
+        }
+        if (value.getClass().getName().startsWith(MODEL_PACKAGE)) {
+            return copyFields(value);
+        }
+        if (value instanceof JsonNode) {
+            copy = ((JsonNode) value).deepCopy();
+        } else if (value instanceof Map) {
+            copy = copyEntries((Map<Object, Object>) value, new LinkedHashMap<>());
+        } else if (value instanceof List) {
+            copy = copyItems((Collection<Object>) value, new ArrayList<>());
+        } else if (value instanceof Set) {
+            copy = copyItems((Collection<Object>) value, new LinkedHashSet<>());
+        } else {
+            return value;
+        }
+        copies.put(value, copy);
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object copyFields(Object model) {
+
+        Object copy;
+        try {
+            copy = model.getClass().getDeclaredConstructor().newInstance();
+            copies.put(model, copy);
+            // The maps of the models, such as the paths and the responses, keep their entries in the map itself
+            if (model instanceof Map) {
+                copyEntries((Map<Object, Object>) model, (Map<Object, Object>) copy);
+            }
+            for (Field field : getModelFields(model.getClass())) {
+                field.set(copy, copyValue(field.get(model)));
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot copy the OpenAPI model " + model.getClass().getName(), e);
+        }
+        return copy;
+    }
+
+    private Map<Object, Object> copyEntries(Map<Object, Object> entries, Map<Object, Object> copy) {
+
+        for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+            copy.put(copyValue(entry.getKey()), copyValue(entry.getValue()));
+        }
+        return copy;
+    }
+
+    private Collection<Object> copyItems(Collection<Object> items, Collection<Object> copy) {
+
+        for (Object item : items) {
+            copy.add(copyValue(item));
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the instance fields a model class and its super classes declare, up to the first class that is not an
+     * OpenAPI model, such as the {@link LinkedHashMap} the paths extend.
+     */
+    private static Field[] getModelFields(Class<?> modelClass) {
+
+        Field[] fields = MODEL_FIELDS.get(modelClass);
+        if (fields != null) {
+            return fields;
+        }
+        List<Field> modelFields = new ArrayList<>();
+        for (Class<?> type = modelClass; type != null && type.getName().startsWith(MODEL_PACKAGE);
+             type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                    field.setAccessible(true);
+                    modelFields.add(field);
+                }
+            }
+        }
+        fields = modelFields.toArray(new Field[0]);
+        MODEL_FIELDS.putIfAbsent(modelClass, fields);
+        return fields;
+    }
+}
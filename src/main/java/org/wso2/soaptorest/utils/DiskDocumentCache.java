@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persistent cache of the WSDL and XSD documents fetched over HTTP, which can be given to an {@link ImportResolver}.
+ * Every document is stored in a file of the cache directory together with the {@code ETag} and {@code Last-Modified}
+ * headers of its response. The next fetch of the document, by this or by a later process, revalidates it with a
+ * conditional request, and a {@code 304 Not Modified} response is answered with the stored content. Together with a
+ * {@code ConversionCache}, a WSDL whose documents did not change is then neither downloaded nor converted again.
+ * <p>
+ * A response without either header is not stored, since it cannot be revalidated. Documents that are not fetched over
+ * HTTP are not cached. A cache can be used by any number of threads and processes at the same time, since every entry
+ * is replaced in a single move.
+ */
+public class DiskDocumentCache {
+
+    private static final Logger log = LoggerFactory.getLogger(DiskDocumentCache.class);
+    private static final int ENTRY_VERSION = 1;
+    private static final String ENTRY_SUFFIX = ".document";
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final String ETAG = "ETag";
+    private static final String LAST_MODIFIED = "Last-Modified";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+
+    private final Path directory;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * @param directoryPath path of the directory the documents are stored in, which is created if it does not exist
+     * @throws SOAPToRESTException if the directory cannot be created
+     */
+    public DiskDocumentCache(String directoryPath) throws SOAPToRESTException {
+
+        this.directory = new File(directoryPath).toPath();
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new SOAPToRESTException("Cannot create the document cache directory " + directoryPath, e);
+        }
+    }
+
+    /**
+     * @return the number of fetches that were answered with {@code 304 Not Modified} and served from the cache
+     */
+    public long getHitCount() {
+
+        return hitCount.get();
+    }
+
+    /**
+     * @return the number of fetches that downloaded the document
+     */
+    public long getMissCount() {
+
+        return missCount.get();
+    }
+
+    /**
+     * Fetches a document through a connection that was not connected yet, revalidating the stored copy of the
+     * document if there is one.
+     *
+     * @param connection connection to the location of the document
+     * @return the content of the document
+     * @throws IOException if the document cannot be fetched
+     */
+    byte[] fetch(HttpURLConnection connection) throws IOException {
+
+        URL url = connection.getURL();
+        Path entryPath = directory.resolve(getEntryName(url));
+        CachedDocument cachedDocument = readEntry(entryPath, url);
+        if (cachedDocument != null) {
+            if (cachedDocument.etag != null) {
+                connection.setRequestProperty(IF_NONE_MATCH, cachedDocument.etag);
+            }
+            if (cachedDocument.lastModified != null) {
+                connection.setRequestProperty(IF_MODIFIED_SINCE, cachedDocument.lastModified);
+            }
+        }
+        if (connection.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED && cachedDocument != null) {
+            hitCount.incrementAndGet();
+            log.debug("The cached copy of " + url + " is up to date");
+            return cachedDocument.content;
+        }
+        byte[] content;
+        // Fails like an unconditional fetch if the response is an error
+        try (InputStream inputStream = connection.getInputStream()) {
+            content = ResolvedDocuments.readAll(inputStream);
+        }
+        missCount.incrementAndGet();
+        String etag = connection.getHeaderField(ETAG);
+        String lastModified = connection.getHeaderField(LAST_MODIFIED);
+        if (etag != null || lastModified != null) {
+            writeEntry(entryPath, url, new CachedDocument(etag, lastModified, content));
+        } else if (cachedDocument != null) {
+            Files.deleteIfExists(entryPath);
+        }
+        return content;
+    }
+
+    private CachedDocument readEntry(Path entryPath, URL url) {
+
+        byte[] entry;
+        try {
+            entry = Files.readAllBytes(entryPath);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.debug("Cannot read the cached copy of " + url, e);
+            return null;
+        }
+        try (DataInputStream inputStream = new DataInputStream(new ByteArrayInputStream(entry))) {
+            if (inputStream.readInt() != ENTRY_VERSION || !url.toExternalForm().equals(inputStream.readUTF())) {
+                return null;
+            }
+            String etag = inputStream.readBoolean() ? inputStream.readUTF() : null;
+            String lastModified = inputStream.readBoolean() ? inputStream.readUTF() : null;
+            byte[] content = new byte[inputStream.readInt()];
+            inputStream.readFully(content);
+            return new CachedDocument(etag, lastModified, content);
+        } catch (IOException e) {
+            // A truncated entry of a process that was stopped is fetched again
+            log.debug("Ignoring the corrupted cached copy of " + url, e);
+            return null;
+        }
+    }
+
+    private void writeEntry(Path entryPath, URL url, CachedDocument cachedDocument) {
+
+        ByteArrayOutputStream entry = new ByteArrayOutputStream(cachedDocument.content.length + 256);
+        try {
+            try (DataOutputStream outputStream = new DataOutputStream(entry)) {
+                outputStream.writeInt(ENTRY_VERSION);
+                outputStream.writeUTF(url.toExternalForm());
+                writeOptional(outputStream, cachedDocument.etag);
+                writeOptional(outputStream, cachedDocument.lastModified);
+                outputStream.writeInt(cachedDocument.content.length);
+                outputStream.write(cachedDocument.content);
+            }
+            Path tempPath = Files.createTempFile(directory, entryPath.getFileName().toString(), ".tmp");
+            try {
+                Files.write(tempPath, entry.toByteArray());
+                try {
+                    Files.move(tempPath, entryPath, StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempPath, entryPath, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tempPath);
+            }
+        } catch (IOException e) {
+            // The document is fetched again next time
+            log.debug("Cannot store the cached copy of " + url, e);
+        }
+    }
+
+    private static void writeOptional(DataOutputStream outputStream, String value) throws IOException {
+
+        outputStream.writeBoolean(value != null);
+        if (value != null) {
+            outputStream.writeUTF(value);
+        }
+    }
+
+    private static String getEntryName(URL url) {
+
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            byte[] digest = messageDigest.digest(url.toExternalForm().getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + ENTRY_SUFFIX;
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(DIGEST_ALGORITHM + " is not supported", e);
+        }
+    }
+
+    private static final class CachedDocument {
+
+        final String etag;
+        final String lastModified;
+        final byte[] content;
+
+        CachedDocument(String etag, String lastModified, byte[] content) {
+
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.content = content;
+        }
+    }
+}
@@ -0,0 +1,434 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fetches a WSDL together with all the XSD documents its schemas import, include or redefine, directly or through
+ * other XSD documents, before the WSDL is read. The documents of the import graph are fetched in parallel on a bounded
+ * pool of threads: every fetched document is scanned for the locations it refers to, and the documents that were not
+ * requested yet are fetched next. Remote imports therefore cost about the latency of the longest import chain instead
+ * of the sum of the latencies of all the documents.
+ * <p>
+ * A resolver that resolves WSDL imports also follows the {@code wsdl:import} elements of the WSDL and of the WSDL
+ * documents it imports, and the conversion reads the imported WSDL documents and their schemas. Every document is
+ * fetched once for a conversion however many documents refer to it, including the documents of an import cycle, and
+ * all the readers of the conversion take it from the same {@link ResolvedDocuments}. An imported WSDL document with a
+ * document type declaration is not fetched, since the WSDL reader parses imported documents itself.
+ * <p>
+ * A resolver with an {@link XMLCatalog} reads the documents whose locations the catalog maps from local files or
+ * entries of archives instead of fetching them, while the conversion keeps their original locations. A resolver with a
+ * {@link DiskDocumentCache} stores the documents it fetches over HTTP and revalidates them with conditional requests.
+ * <p>
+ * Every fetch has a connect and read timeout, and the conversion has a deadline that starts when its documents are
+ * resolved, unless the resolver is created without them. A document that cannot be fetched in time fails the
+ * conversion like a document that does not exist, and the conversion fails as soon as the deadline passes. The
+ * readers of the conversion still walk the schemas in their own order, so the order of the schemas does not depend on
+ * the order the fetches complete in.
+ * <p>
+ * A resolver can be shared by any number of conversions at the same time. Its threads are daemon threads that end
+ * when they have been idle for a minute.
+ */
+public class ImportResolver {
+
+    public static final int DEFAULT_MAX_CONCURRENT_FETCHES = 8;
+    public static final int DEFAULT_FETCH_TIMEOUT_MILLIS = 30000;
+    public static final long DEFAULT_DEADLINE_MILLIS = 120000;
+    public static final int NO_FETCH_TIMEOUT = 0;
+    public static final long NO_DEADLINE = 0;
+    private static final long IDLE_THREAD_TIMEOUT_SECONDS = 60;
+    private static final Logger log = LoggerFactory.getLogger(ImportResolver.class);
+    private static final AtomicInteger RESOLVER_COUNT = new AtomicInteger();
+
+    private final ThreadPoolExecutor fetchExecutor;
+    private final int fetchTimeoutMillis;
+    private final long deadlineMillis;
+    private final boolean resolveWSDLImports;
+    private final XMLCatalog catalog;
+    private final DiskDocumentCache documentCache;
+
+    public ImportResolver() {
+
+        this(builder());
+    }
+
+    private ImportResolver(Builder builder) {
+
+        int maxConcurrentFetches = builder.maxConcurrentFetches;
+        if (maxConcurrentFetches < 1 || builder.fetchTimeoutMillis < 0 || builder.deadlineMillis < 0) {
+            throw new IllegalArgumentException("The resolver must be able to fetch at least one document and the " +
+                    "timeouts must not be negative");
+        }
+        this.fetchTimeoutMillis = builder.fetchTimeoutMillis;
+        this.deadlineMillis = builder.deadlineMillis;
+        this.resolveWSDLImports = builder.resolveWSDLImports;
+        this.catalog = builder.catalog;
+        this.documentCache = builder.documentCache;
+        final String threadNamePrefix = "soaptorest-import-resolver-" + RESOLVER_COUNT.incrementAndGet() + '-';
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.fetchExecutor = new ThreadPoolExecutor(maxConcurrentFetches, maxConcurrentFetches,
+                IDLE_THREAD_TIMEOUT_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), runnable -> {
+                    Thread thread = new Thread(runnable, threadNamePrefix + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.fetchExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * @return a builder of a resolver with the default number of concurrent fetches, fetch timeout and deadline, which
+     * does not resolve WSDL imports
+     */
+    public static Builder builder() {
+
+        return new Builder();
+    }
+
+    /**
+     * @return whether the resolver fetches the WSDL documents the WSDL imports
+     */
+    public boolean isResolveWSDLImports() {
+
+        return resolveWSDLImports;
+    }
+
+    /**
+     * @return the catalog of the locations of the documents, or null if every document is fetched from its location
+     */
+    public XMLCatalog getCatalog() {
+
+        return catalog;
+    }
+
+    /**
+     * @return the cache of the documents fetched over HTTP, or null if every document is downloaded
+     */
+    public DiskDocumentCache getDocumentCache() {
+
+        return documentCache;
+    }
+
+    /**
+     * Fetches the WSDL of the given URL and all the documents it refers to.
+     *
+     * @param wsdlURL URL of the WSDL
+     * @return the fetched documents, which the WSDL is read from
+     * @throws SOAPToRESTException if the WSDL cannot be read, or the documents are not fetched before the deadline
+     */
+    public ResolvedDocuments resolve(URL wsdlURL) throws SOAPToRESTException {
+
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+        byte[] wsdlContent;
+        try {
+            wsdlContent = ResolvedDocuments.fetch(wsdlURL, ResolvedDocuments.getFetchTimeout(fetchTimeoutMillis,
+                    deadlineMillis, deadlineNanos), catalog, documentCache);
+        } catch (IOException e) {
+            throw new SOAPToRESTException("Error while reading WSDL document", e);
+        }
+        Map<String, byte[]> documents = new HashMap<>();
+        Map<String, IOException> failures = new HashMap<>();
+        Set<String> requestedDocuments = new HashSet<>();
+        requestedDocuments.add(wsdlURL.toExternalForm());
+        Set<String> wsdlDocuments = new HashSet<>();
+        CompletionService<FetchedDocument> completionService = new ExecutorCompletionService<>(fetchExecutor);
+        List<Future<FetchedDocument>> fetches = new ArrayList<>();
+        FetchedDocument wsdlDocument = new FetchedDocument(wsdlURL, wsdlContent, true);
+        int pendingFetches = requestReferences(wsdlDocument, requestedDocuments, wsdlDocuments, completionService,
+                fetches, deadlineNanos);
+        try {
+            while (pendingFetches > 0) {
+                Future<FetchedDocument> fetch;
+                if (deadlineMillis == NO_DEADLINE) {
+                    fetch = completionService.take();
+                } else {
+                    long remainingNanos = deadlineNanos - System.nanoTime();
+                    fetch = remainingNanos > 0 ? completionService.poll(remainingNanos, TimeUnit.NANOSECONDS) : null;
+                }
+                if (fetch == null) {
+                    throw new SOAPToRESTException("The documents of the WSDL " + wsdlURL + " were not fetched " +
+                            "within the deadline of " + deadlineMillis + " ms");
+                }
+                pendingFetches--;
+                FetchedDocument fetchedDocument = getFetchedDocument(fetch);
+                if (fetchedDocument.failure != null) {
+                    failures.put(fetchedDocument.url.toExternalForm(), fetchedDocument.failure);
+                    continue;
+                }
+                documents.put(fetchedDocument.url.toExternalForm(), fetchedDocument.content);
+                pendingFetches += requestReferences(fetchedDocument, requestedDocuments, wsdlDocuments,
+                        completionService, fetches, deadlineNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SOAPToRESTException("Interrupted while fetching the documents of the WSDL " + wsdlURL, e);
+        } finally {
+            if (pendingFetches > 0) {
+                for (Future<FetchedDocument> fetch : fetches) {
+                    fetch.cancel(true);
+                }
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Fetched " + documents.size() + " documents of the WSDL " + wsdlURL + ", " + failures.size() +
+                    " could not be fetched");
+        }
+        return new ResolvedDocuments(wsdlURL, wsdlContent, documents, failures, fetchTimeoutMillis, deadlineMillis,
+                deadlineNanos, resolveWSDLImports ? wsdlDocuments : null, catalog,
+                documentCache);
+    }
+
+    /**
+     * Fetches the documents a fetched document refers to that were not requested before.
+     *
+     * @return the number of fetches that were started
+     */
+    private int requestReferences(FetchedDocument fetchedDocument, Set<String> requestedDocuments,
+                                  Set<String> wsdlDocuments, CompletionService<FetchedDocument> completionService,
+                                  List<Future<FetchedDocument>> fetches, long deadlineNanos) {
+
+        int requestCount = 0;
+        for (String schemaLocation : fetchedDocument.schemaLocations) {
+            requestCount += requestDocument(fetchedDocument.url, schemaLocation, false, requestedDocuments,
+                    wsdlDocuments, completionService, fetches, deadlineNanos);
+        }
+        for (String wsdlLocation : fetchedDocument.wsdlLocations) {
+            requestCount += requestDocument(fetchedDocument.url, wsdlLocation, true, requestedDocuments,
+                    wsdlDocuments, completionService, fetches, deadlineNanos);
+        }
+        return requestCount;
+    }
+
+    private int requestDocument(URL baseURL, String location, boolean wsdlDocument, Set<String> requestedDocuments,
+                                Set<String> wsdlDocuments, CompletionService<FetchedDocument> completionService,
+                                List<Future<FetchedDocument>> fetches, long deadlineNanos) {
+
+        URL documentURL;
+        try {
+            documentURL = new URL(baseURL, location);
+        } catch (MalformedURLException e) {
+            // Left to the WSDL reader, which reports the locations it cannot resolve
+            return 0;
+        }
+        if (wsdlDocument) {
+            wsdlDocuments.add(documentURL.toExternalForm());
+        }
+        if (!requestedDocuments.add(documentURL.toExternalForm())) {
+            // Fetched for an earlier reference, which also ends the cycles of imports
+            return 0;
+        }
+        fetches.add(completionService.submit(new DocumentFetch(documentURL, wsdlDocument, deadlineNanos)));
+        return 1;
+    }
+
+    private static FetchedDocument getFetchedDocument(Future<FetchedDocument> fetch) throws InterruptedException {
+
+        try {
+            return fetch.get();
+        } catch (ExecutionException e) {
+            // A fetch reports its own failures, so this is a failure of the fetch itself
+            throw new IllegalStateException("Unexpected failure while fetching a document", e.getCause());
+        }
+    }
+
+    private class DocumentFetch implements Callable<FetchedDocument> {
+
+        private final URL url;
+        private final boolean wsdlDocument;
+        private final long deadlineNanos;
+
+        DocumentFetch(URL url, boolean wsdlDocument, long deadlineNanos) {
+
+            this.url = url;
+            this.wsdlDocument = wsdlDocument;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public FetchedDocument call() {
+
+            try {
+                byte[] content = ResolvedDocuments.fetch(url, ResolvedDocuments.getFetchTimeout(fetchTimeoutMillis,
+                        deadlineMillis, deadlineNanos), catalog, documentCache);
+                if (wsdlDocument && declaresDocumentType(content)) {
+                    throw new IOException("The imported WSDL document " + url + " has a document type declaration");
+                }
+                return new FetchedDocument(url, content, wsdlDocument);
+            } catch (IOException e) {
+                log.debug("Cannot fetch the document " + url, e);
+                return new FetchedDocument(url, e);
+            } catch (RuntimeException e) {
+                // For example a location with a protocol that cannot be fetched
+                log.debug("Cannot fetch the document " + url, e);
+                return new FetchedDocument(url, new IOException("Cannot fetch the document " + url, e));
+            }
+        }
+
+        private boolean declaresDocumentType(byte[] content) {
+
+            try {
+                return WSDLContentDigest.declaresDocumentType(content);
+            } catch (XMLStreamException e) {
+                // The WSDL reader reports that the document is not well-formed
+                return false;
+            }
+        }
+    }
+
+    /**
+     * A fetched document with the locations of the documents it refers to, or the failure of its fetch.
+     */
+    private final class FetchedDocument {
+
+        final URL url;
+        final byte[] content;
+        final List<String> schemaLocations = new ArrayList<>();
+        final List<String> wsdlLocations = new ArrayList<>();
+        final IOException failure;
+
+        FetchedDocument(URL url, byte[] content, boolean wsdlDocument) {
+
+            this.url = url;
+            this.content = content;
+            this.failure = null;
+            try {
+                // Only the WSDL documents of a resolver that resolves WSDL imports are followed to other WSDL documents
+                WSDLContentDigest.readReferenceLocations(content, schemaLocations,
+                        wsdlDocument && resolveWSDLImports ? wsdlLocations : null);
+            } catch (XMLStreamException e) {
+                // The reader of the document reports that it is not well-formed
+                log.debug("Cannot scan the document " + url + " for the documents it refers to", e);
+                schemaLocations.clear();
+                wsdlLocations.clear();
+            }
+        }
+
+        FetchedDocument(URL url, IOException failure) {
+
+            this.url = url;
+            this.content = null;
+            this.failure = failure;
+        }
+    }
+
+    /**
+     * Builder of {@link ImportResolver}. A builder is not thread safe.
+     */
+    public static final class Builder {
+
+        private int maxConcurrentFetches = DEFAULT_MAX_CONCURRENT_FETCHES;
+        private int fetchTimeoutMillis = DEFAULT_FETCH_TIMEOUT_MILLIS;
+        private long deadlineMillis = DEFAULT_DEADLINE_MILLIS;
+        private boolean resolveWSDLImports;
+        private XMLCatalog catalog;
+        private DiskDocumentCache documentCache;
+
+        private Builder() {
+
+        }
+
+        /**
+         * @param maxConcurrentFetches maximum number of documents fetched at the same time
+         */
+        public Builder maxConcurrentFetches(int maxConcurrentFetches) {
+
+            this.maxConcurrentFetches = maxConcurrentFetches;
+            return this;
+        }
+
+        /**
+         * @param fetchTimeoutMillis timeout of connecting to the location of a document and of every read of its
+         *                           content, or {@link #NO_FETCH_TIMEOUT} to wait for the documents without a timeout
+         */
+        public Builder fetchTimeoutMillis(int fetchTimeoutMillis) {
+
+            this.fetchTimeoutMillis = fetchTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * @param deadlineMillis time a conversion has to complete, starting when its documents are resolved, or
+         *                       {@link #NO_DEADLINE} to convert the WSDL without a deadline
+         */
+        public Builder deadlineMillis(long deadlineMillis) {
+
+            this.deadlineMillis = deadlineMillis;
+            return this;
+        }
+
+        /**
+         * @param resolveWSDLImports true to fetch the WSDL documents the WSDL imports, and convert them with the WSDL
+         */
+        public Builder resolveWSDLImports(boolean resolveWSDLImports) {
+
+            this.resolveWSDLImports = resolveWSDLImports;
+            return this;
+        }
+
+        /**
+         * @param catalog catalog that maps the locations of the documents to the locations they are read from, or null
+         *                to fetch every document from its own location
+         */
+        public Builder catalog(XMLCatalog catalog) {
+
+            this.catalog = catalog;
+            return this;
+        }
+
+        /**
+         * @param documentCache cache that stores the documents fetched over HTTP and revalidates them, or null to
+         *                      download every document
+         */
+        public Builder documentCache(DiskDocumentCache documentCache) {
+
+            this.documentCache = documentCache;
+            return this;
+        }
+
+        /**
+         * @return a new resolver with the threads of its own pool
+         * @throws IllegalArgumentException if the resolver cannot fetch any document, or a timeout is negative
+         */
+        public ImportResolver build() {
+
+            return new ImportResolver(this);
+        }
+    }
+}
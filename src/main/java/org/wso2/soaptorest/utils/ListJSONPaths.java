@@ -17,7 +17,7 @@
  */
 package org.wso2.soaptorest.utils;
 
-import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
 import org.apache.commons.lang3.StringUtils;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -36,6 +36,15 @@ import java.util.Map;
  */
 public class ListJSONPaths {
 
+    /**
+     * Default number of nested references after which a reference of a schema ends the JSON path
+     */
+    public static final int DEFAULT_MAX_DEPTH = 64;
+    /**
+     * Default number of JSON paths of a payload after which a reference of a schema ends the JSON path
+     */
+    public static final int DEFAULT_MAX_PATHS = 20000;
+
     /**
      * This method will return a list of all the available json paths of the input json string
      *
@@ -92,6 +101,45 @@ public class ListJSONPaths {
         }
     }
 
+    /**
+     * This method will return a list of all the available json paths of the payload of the given schema. The paths
+     * are the same as the ones listed from an example of the schema, but no example is built. The paths are cut off
+     * at {@link #DEFAULT_MAX_DEPTH} nested references or {@link #DEFAULT_MAX_PATHS} paths.
+     *
+     * @param schema                schema of the payload
+     * @param definitions           schemas of the OpenAPI components that the schema refers to
+     * @param jsonPathSchemaMapping map that is populated with the schema name of the json paths
+     * @return the arraylist of the available json paths
+     */
+    public static ArrayList<String> getJsonPathsFromSchema(Schema<?> schema, Map<String, Schema> definitions,
+                                                           Map<String, String> jsonPathSchemaMapping) {
+
+        return getJsonPathsFromSchema(schema, definitions, jsonPathSchemaMapping, DEFAULT_MAX_DEPTH,
+                DEFAULT_MAX_PATHS);
+    }
+
+    /**
+     * This method will return a list of the json paths of the payload of the given schema like
+     * {@link #getJsonPathsFromSchema(Schema, Map, Map)}, with the given cutoffs. Every referenced schema is walked
+     * once and its paths are copied to the later references to it, and a reference to a schema that is still being
+     * walked ends the path, so recursive schemas have a finite list of paths. A reference that is nested in more than
+     * the given number of references, or that is reached after the given number of paths, ends the path as well,
+     * which bounds the paths of schemas whose number of paths grows exponentially with their depth.
+     *
+     * @param schema                schema of the payload
+     * @param definitions           schemas of the OpenAPI components that the schema refers to
+     * @param jsonPathSchemaMapping map that is populated with the schema name of the json paths
+     * @param maxDepth              number of nested references after which a reference ends the path
+     * @param maxPaths              number of paths after which a reference ends the path
+     * @return the arraylist of the available json paths
+     */
+    public static ArrayList<String> getJsonPathsFromSchema(Schema<?> schema, Map<String, Schema> definitions,
+                                                           Map<String, String> jsonPathSchemaMapping, int maxDepth,
+                                                           int maxPaths) {
+
+        return new SchemaJSONPathWalker(definitions, jsonPathSchemaMapping, maxDepth, maxPaths).walk(schema);
+    }
+
     /*
      * This method will return a list of all the available json paths of the input json string
      * @param example example object
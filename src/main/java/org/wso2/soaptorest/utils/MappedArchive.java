@@ -0,0 +1,378 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * A zip or jar archive that is mapped into memory, with an index of its entries. The documents of a conversion that
+ * are read from the same archive, and the conversions after it, read the entries from the mapped archive without
+ * opening, scanning or inflating the rest of the archive again. The most recently used mapped archives are cached by
+ * their path, and an archive that is modified after it was mapped is mapped again. An archive that is evicted from the
+ * cache is unmapped once the conversions that read it are done with it.
+ * <p>
+ * The headers of an archive are checked against the size of the archive before they are used, and entries larger
+ * than {@link #MAX_ENTRY_SIZE} are not read, so a corrupted or crafted archive fails with an {@link IOException}.
+ * <p>
+ * An archive that is only in memory is indexed the same way and registered under a location of its own, so that the
+ * {@code jar:} URLs of its entries can be read like the ones of an archive file until it is unregistered.
+ */
+final class MappedArchive {
+
+    private static final String JAR_PROTOCOL = "jar";
+    private static final String FILE_PREFIX = "file:";
+    private static final String BUFFER_LOCATION_PREFIX = "file:/soaptorest-archive-";
+    private static final String ENTRY_SEPARATOR = "!/";
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int CENTRAL_DIRECTORY_SIGNATURE = 0x02014b50;
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int MAX_COMMENT_SIZE = 0xffff;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+    // Number of mapped archive files that are kept in the cache
+    static final int MAX_ARCHIVES = 32;
+    // Size of the largest entry that is read, inflated or not
+    static final int MAX_ENTRY_SIZE = 64 * 1024 * 1024;
+    // The mapped archive files by their paths, in access order
+    private static final Map<String, MappedArchive> ARCHIVES = new LinkedHashMap<String, MappedArchive>(16, 0.75f,
+            true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, MappedArchive> eldest) {
+
+            return size() > MAX_ARCHIVES;
+        }
+    };
+    // The archives that are only in memory, by the location their entries are read from
+    private static final Map<String, MappedArchive> BUFFER_ARCHIVES = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final long lastModified;
+    private final long length;
+    private final ByteBuffer content;
+    private final Map<String, Entry> entries;
+
+    private MappedArchive(String name, long lastModified, long length, ByteBuffer content,
+                          Map<String, Entry> entries) {
+
+        this.name = name;
+        this.lastModified = lastModified;
+        this.length = length;
+        this.content = content;
+        this.entries = entries;
+    }
+
+    /**
+     * Returns whether a URL refers to an entry of a local or registered archive, in the form
+     * {@code jar:file:<archive path>!/<entry name>}.
+     */
+    static boolean isArchiveEntry(URL url) {
+
+        return JAR_PROTOCOL.equals(url.getProtocol()) && url.getPath().startsWith(FILE_PREFIX);
+    }
+
+    /**
+     * Reads the entry of a local or registered archive a {@code jar:file:} URL refers to.
+     *
+     * @param url URL of the entry
+     * @return the content of the entry
+     * @throws IOException if the archive or the entry cannot be read
+     */
+    static byte[] readEntry(URL url) throws IOException {
+
+        String path = url.getPath();
+        int separatorIndex = path.indexOf(ENTRY_SEPARATOR);
+        if (separatorIndex < 0) {
+            throw new IOException("The URL " + url + " does not refer to an entry of an archive");
+        }
+        // Only the escaped characters are decoded, a plus sign is part of the name
+        String entryName = URLDecoder.decode(path.substring(separatorIndex + ENTRY_SEPARATOR.length())
+                .replace("+", "%2B"), StandardCharsets.UTF_8.name());
+        String archiveLocation = path.substring(0, separatorIndex);
+        MappedArchive bufferArchive = BUFFER_ARCHIVES.get(archiveLocation);
+        if (bufferArchive != null) {
+            return bufferArchive.read(entryName);
+        }
+        File archiveFile;
+        try {
+            URI archiveURI = new URI(archiveLocation);
+            if (!"file".equals(archiveURI.getScheme())) {
+                throw new IOException("The archive of " + url + " is not a local file");
+            }
+            archiveFile = new File(archiveURI);
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            throw new IOException("Cannot find the archive of " + url, e);
+        }
+        return getArchive(archiveFile).read(entryName);
+    }
+
+    /**
+     * Returns the mapped archive of a file, which is mapped when it is asked for the first time or was modified.
+     */
+    static MappedArchive getArchive(File file) throws IOException {
+
+        File archiveFile = file.getCanonicalFile();
+        String key = archiveFile.getPath();
+        MappedArchive archive;
+        synchronized (ARCHIVES) {
+            archive = ARCHIVES.get(key);
+        }
+        if (archive != null && archive.lastModified == archiveFile.lastModified() &&
+                archive.length == archiveFile.length()) {
+            return archive;
+        }
+        archive = map(archiveFile);
+        synchronized (ARCHIVES) {
+            ARCHIVES.put(key, archive);
+        }
+        return archive;
+    }
+
+    /**
+     * Indexes an archive that is in memory and registers it, so that its entries can be read through
+     * {@link #readEntry(URL)}.
+     *
+     * @param content content of the archive, from its position to its limit
+     * @return the location of the archive in the {@code jar:} URLs of its entries
+     * @throws IOException if the content is not a zip or jar archive
+     */
+    static String registerBuffer(ByteBuffer content) throws IOException {
+
+        String location = BUFFER_LOCATION_PREFIX + UUID.randomUUID() + ".zip";
+        BUFFER_ARCHIVES.put(location, index(location, -1, -1, content.slice()));
+        return location;
+    }
+
+    /**
+     * Returns a registered archive that is in memory.
+     *
+     * @param location location the archive was registered under
+     * @return the archive, or null if it is not registered
+     */
+    static MappedArchive getBufferArchive(String location) {
+
+        return BUFFER_ARCHIVES.get(location);
+    }
+
+    /**
+     * Removes a registered archive that is in memory, after which its entries cannot be read anymore.
+     *
+     * @param location location the archive was registered under
+     */
+    static void unregisterBuffer(String location) {
+
+        BUFFER_ARCHIVES.remove(location);
+    }
+
+    /**
+     * @return the names of the files in the archive
+     */
+    Set<String> getEntryNames() {
+
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    /**
+     * Reads an entry of the archive.
+     *
+     * @param entryName name of the entry, relative to the root of the archive
+     * @return the content of the entry
+     * @throws IOException if the archive has no such entry, or the entry is corrupted or cannot be inflated
+     */
+    byte[] read(String entryName) throws IOException {
+
+        Entry entry = entries.get(entryName);
+        if (entry == null) {
+            throw new IOException("The archive " + name + " has no entry " + entryName);
+        }
+        // Every reader has its own view of the mapped archive, so entries can be read by many threads at once
+        ByteBuffer archive = content.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        if ((long) entry.localHeaderOffset + LOCAL_HEADER_SIZE > archive.limit() ||
+                archive.getInt(entry.localHeaderOffset) != LOCAL_HEADER_SIGNATURE) {
+            throw new IOException("The entry " + entryName + " of the archive " + name + " is corrupted");
+        }
+        long dataOffset = (long) entry.localHeaderOffset + LOCAL_HEADER_SIZE +
+                Short.toUnsignedInt(archive.getShort(entry.localHeaderOffset + 26)) +
+                Short.toUnsignedInt(archive.getShort(entry.localHeaderOffset + 28));
+        if (dataOffset + entry.compressedSize > archive.limit()) {
+            throw new IOException("The entry " + entryName + " of the archive " + name + " is truncated");
+        }
+        byte[] compressed = new byte[entry.compressedSize];
+        // Called through Buffer, since ByteBuffer.position(int) of Java 9 and later does not exist in Java 8
+        ((Buffer) archive).position((int) dataOffset);
+        archive.get(compressed);
+        if (entry.method == STORED) {
+            return compressed;
+        }
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(compressed);
+            byte[] inflated = new byte[entry.size];
+            int inflatedSize = 0;
+            while (inflatedSize < inflated.length && !inflater.finished()) {
+                int count = inflater.inflate(inflated, inflatedSize, inflated.length - inflatedSize);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                inflatedSize += count;
+            }
+            if (inflatedSize != inflated.length) {
+                throw new IOException("The entry " + entryName + " of the archive " + name + " is truncated");
+            }
+            return inflated;
+        } catch (DataFormatException e) {
+            throw new IOException("Cannot inflate the entry " + entryName + " of the archive " + name, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static MappedArchive map(File file) throws IOException {
+
+        long lastModified = file.lastModified();
+        long length = file.length();
+        MappedByteBuffer mappedContent;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("The archive " + file + " is too large to be mapped");
+            }
+            // The mapping stays valid after the channel is closed
+            mappedContent = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        return index(file.getPath(), lastModified, length, mappedContent);
+    }
+
+    /**
+     * Reads the central directory of an archive into an index of its entries.
+     */
+    private static MappedArchive index(String name, long lastModified, long length, ByteBuffer archiveContent)
+            throws IOException {
+
+        try {
+            return indexEntries(name, lastModified, length, archiveContent);
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            // A header that the checks of the offsets and sizes did not catch points outside of the archive
+            throw new IOException("The archive " + name + " is corrupted", e);
+        }
+    }
+
+    private static MappedArchive indexEntries(String name, long lastModified, long length,
+                                              ByteBuffer archiveContent) throws IOException {
+
+        ByteBuffer content = archiveContent.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int endOfCentralDirectory = findEndOfCentralDirectory(content, name);
+        int entryCount = Short.toUnsignedInt(content.getShort(endOfCentralDirectory + 10));
+        long centralDirectoryOffset = Integer.toUnsignedLong(content.getInt(endOfCentralDirectory + 16));
+        if (entryCount == 0xffff || centralDirectoryOffset == 0xffffffffL) {
+            throw new IOException("The archive " + name + " is a ZIP64 archive, which cannot be mapped");
+        }
+        Map<String, Entry> entries = new HashMap<>();
+        int offset = (int) centralDirectoryOffset;
+        for (int i = 0; i < entryCount; i++) {
+            if ((long) offset + CENTRAL_DIRECTORY_HEADER_SIZE > content.limit() ||
+                    content.getInt(offset) != CENTRAL_DIRECTORY_SIGNATURE) {
+                throw new IOException("The central directory of the archive " + name + " is corrupted");
+            }
+            int method = Short.toUnsignedInt(content.getShort(offset + 10));
+            long compressedSize = Integer.toUnsignedLong(content.getInt(offset + 20));
+            long size = Integer.toUnsignedLong(content.getInt(offset + 24));
+            int nameLength = Short.toUnsignedInt(content.getShort(offset + 28));
+            int extraLength = Short.toUnsignedInt(content.getShort(offset + 30));
+            int commentLength = Short.toUnsignedInt(content.getShort(offset + 32));
+            long localHeaderOffset = Integer.toUnsignedLong(content.getInt(offset + 42));
+            if ((long) offset + CENTRAL_DIRECTORY_HEADER_SIZE + nameLength > content.limit()) {
+                throw new IOException("The central directory of the archive " + name + " is corrupted");
+            }
+            byte[] entryNameBytes = new byte[nameLength];
+            ((Buffer) content).position(offset + CENTRAL_DIRECTORY_HEADER_SIZE);
+            content.get(entryNameBytes);
+            String entryName = new String(entryNameBytes, StandardCharsets.UTF_8);
+            offset += CENTRAL_DIRECTORY_HEADER_SIZE + nameLength + extraLength + commentLength;
+            if (entryName.endsWith("/")) {
+                // A directory
+                continue;
+            }
+            if (method != STORED && method != DEFLATED) {
+                // Left out, so that reading it fails like reading a missing entry
+                continue;
+            }
+            if (compressedSize + localHeaderOffset > content.limit()) {
+                throw new IOException("The entry " + entryName + " of the archive " + name + " is corrupted");
+            }
+            if (size > MAX_ENTRY_SIZE || compressedSize > MAX_ENTRY_SIZE) {
+                throw new IOException("The entry " + entryName + " of the archive " + name + " is larger than " +
+                        MAX_ENTRY_SIZE + " bytes");
+            }
+            entries.put(entryName, new Entry(method, (int) compressedSize, (int) size, (int) localHeaderOffset));
+        }
+        return new MappedArchive(name, lastModified, length, archiveContent, entries);
+    }
+
+    private static int findEndOfCentralDirectory(ByteBuffer content, String name) throws IOException {
+
+        // The record is at the end of the archive, followed by a comment of up to 64 KB
+        int lowestOffset = Math.max(0, content.limit() - END_OF_CENTRAL_DIRECTORY_SIZE - MAX_COMMENT_SIZE);
+        for (int offset = content.limit() - END_OF_CENTRAL_DIRECTORY_SIZE; offset >= lowestOffset; offset--) {
+            if (content.getInt(offset) == END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                return offset;
+            }
+        }
+        throw new IOException("The file " + name + " is not a zip or jar archive");
+    }
+
+    private static final class Entry {
+
+        final int method;
+        final int compressedSize;
+        final int size;
+        final int localHeaderOffset;
+
+        Entry(int method, int compressedSize, int size, int localHeaderOffset) {
+
+            this.method = method;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+    }
+}
@@ -0,0 +1,504 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.utils;
+
+import com.ibm.wsdl.Constants;
+import com.ibm.wsdl.extensions.schema.SchemaConstants;
+import com.ibm.wsdl.util.StringUtils;
+import com.ibm.wsdl.util.xml.QNameUtils;
+import com.ibm.wsdl.xml.WSDLReaderImpl;
+import org.apache.ws.commons.schema.resolver.DefaultURIResolver;
+import org.apache.ws.commons.schema.resolver.URIResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+import org.xml.sax.InputSource;
+
+import javax.wsdl.Definition;
+import javax.wsdl.Import;
+import javax.wsdl.Types;
+import javax.wsdl.WSDLException;
+import javax.wsdl.xml.WSDLLocator;
+import javax.wsdl.xml.WSDLReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The WSDL document and the XSD and WSDL documents it refers to, as fetched by {@link ImportResolver}. The readers of
+ * the conversion take the documents from here instead of fetching them one after another while they parse, through
+ * {@link #openStream(URL)}, through the {@link WSDLLocator} of the WSDL reader and through the {@link URIResolver} of
+ * the schema collection. A document that was not fetched in advance, for example one that is referred to by a location
+ * the import scan resolved differently, is fetched when it is asked for, with the same timeout and deadline.
+ */
+public class ResolvedDocuments {
+
+    private static final Logger log = LoggerFactory.getLogger(ResolvedDocuments.class);
+    private static final int BUFFER_SIZE = 8192;
+    private static final String CYCLIC_IMPORT_FRAGMENT = "#cyclic-import";
+    private static final String ARCHIVE_PREFIX = "jar:";
+    private static final String JAVAX_WSDL_VERBOSE_MODE = "javax.wsdl.verbose";
+    private static final String JAVAX_WSDL_IMPORT_DOCUMENTS = "javax.wsdl.importDocuments";
+
+    private final URL wsdlURL;
+    private final byte[] wsdlContent;
+    private final Map<String, byte[]> documents;
+    private final Map<String, IOException> failures;
+    private final int fetchTimeoutMillis;
+    private final long deadlineMillis;
+    private final long deadlineNanos;
+    // URLs of the WSDL documents the WSDL imports, or null if the WSDL imports were not resolved
+    private final Set<String> wsdlDocuments;
+    private final XMLCatalog catalog;
+    private final DiskDocumentCache documentCache;
+
+    ResolvedDocuments(URL wsdlURL, byte[] wsdlContent, Map<String, byte[]> documents,
+                      Map<String, IOException> failures, int fetchTimeoutMillis, long deadlineMillis,
+                      long deadlineNanos, Set<String> wsdlDocuments, XMLCatalog catalog,
+                      DiskDocumentCache documentCache) {
+
+        this.wsdlURL = wsdlURL;
+        this.wsdlContent = wsdlContent;
+        this.documents = documents;
+        this.failures = failures;
+        this.fetchTimeoutMillis = fetchTimeoutMillis;
+        this.deadlineMillis = deadlineMillis;
+        this.deadlineNanos = deadlineNanos;
+        this.wsdlDocuments = wsdlDocuments;
+        this.catalog = catalog;
+        this.documentCache = documentCache;
+    }
+
+    /**
+     * @return the URL of the WSDL, which the locations of the documents it refers to are resolved against
+     */
+    public URL getWSDLURL() {
+
+        return wsdlURL;
+    }
+
+    /**
+     * @return the bytes of the WSDL document
+     */
+    public byte[] getWSDLContent() {
+
+        return wsdlContent;
+    }
+
+    /**
+     * @return the number of documents the WSDL refers to, directly or through other documents, that were fetched
+     */
+    public int getDocumentCount() {
+
+        return documents.size();
+    }
+
+    /**
+     * @return whether the WSDL documents the WSDL imports were resolved, so that the conversion reads them
+     */
+    public boolean isWSDLImportsResolved() {
+
+        return wsdlDocuments != null;
+    }
+
+    /**
+     * Opens a document the WSDL refers to.
+     *
+     * @param url URL of the document
+     * @return the content of the document
+     * @throws IOException if the document could not be fetched, or is fetched now and cannot be read
+     */
+    public InputStream openStream(URL url) throws IOException {
+
+        return new ByteArrayInputStream(readContent(url));
+    }
+
+    /**
+     * Returns the bytes of a document the WSDL refers to.
+     *
+     * @param url URL of the document
+     * @return the content of the document
+     * @throws IOException if the document could not be fetched, or is fetched now and cannot be read
+     */
+    public byte[] readContent(URL url) throws IOException {
+
+        String documentURI = url.toExternalForm();
+        if (documentURI.equals(wsdlURL.toExternalForm())) {
+            // A document that imports the WSDL back
+            return wsdlContent;
+        }
+        byte[] content = documents.get(documentURI);
+        if (content != null) {
+            return content;
+        }
+        IOException failure = failures.get(documentURI);
+        if (failure != null) {
+            throw failure;
+        }
+        return fetch(url, getFetchTimeout(fetchTimeoutMillis, deadlineMillis, deadlineNanos), catalog, documentCache);
+    }
+
+    /**
+     * Fails the conversion if its deadline has passed.
+     *
+     * @throws SOAPToRESTException if the deadline of the conversion has passed
+     */
+    public void checkDeadline() throws SOAPToRESTException {
+
+        if (deadlineMillis != ImportResolver.NO_DEADLINE && System.nanoTime() - deadlineNanos > 0) {
+            throw new SOAPToRESTException("The WSDL " + wsdlURL + " was not converted within the deadline of " +
+                    deadlineMillis + " ms");
+        }
+    }
+
+    /**
+     * Reads the definition of the parsed WSDL document, with a locator that gives the WSDL reader the fetched schemas.
+     * The locations are resolved like the reader resolves them without a locator, so the document base URIs of the
+     * schemas are the same. When the WSDL documents the WSDL imports were fetched as well, they are read into the
+     * definitions of the imports from the documents the secured parser parses, instead of being parsed by the WSDL
+     * reader, which does not guard against external entities.
+     *
+     * @param baseURI  base URI the WSDL is read with
+     * @param document parsed WSDL document
+     * @return the definition of the WSDL
+     * @throws WSDLException if the WSDL or a document it imports cannot be read, or is not secure to read
+     */
+    public Definition readWSDL(String baseURI, Document document) throws WSDLException {
+
+        WSDLReader wsdlReader = new ImportReader();
+        wsdlReader.setFeature(JAVAX_WSDL_VERBOSE_MODE, false);
+        wsdlReader.setFeature(JAVAX_WSDL_IMPORT_DOCUMENTS, wsdlDocuments != null);
+        return wsdlReader.readWSDL(new DocumentLocator(baseURI), document.getDocumentElement());
+    }
+
+    /**
+     * Parses an imported document with the secured parser. A document that declares a document type is refused, so
+     * that the documents the WSDL reader is given have no entities to expand, whichever parser reads them.
+     */
+    private static Document parseImportedDocument(byte[] content, String documentURI) throws WSDLException {
+
+        Document document;
+        try {
+            document = WSDLProcessingUtil.getSecuredParsedDocumentFromBytes(content, documentURI);
+        } catch (SOAPToRESTException e) {
+            throw new WSDLException(WSDLException.PARSER_ERROR, "Unable to parse imported document at '" +
+                    documentURI + "'", e);
+        }
+        if (document.getDoctype() != null) {
+            throw new WSDLException(WSDLException.PARSER_ERROR, "The imported document at '" + documentURI +
+                    "' declares a document type");
+        }
+        return document;
+    }
+
+    /**
+     * Returns a resolver that gives a schema collection the fetched content of the documents it imports, and leaves
+     * the ones that were not fetched to the default resolver of the collection.
+     *
+     * @return the resolver of the schema collection
+     */
+    public URIResolver getSchemaResolver() {
+
+        return new DocumentURIResolver();
+    }
+
+    /**
+     * Reads a document from the location the catalog maps it to, or fetches it with the given connect and read
+     * timeout if the catalog does not map it.
+     *
+     * @param catalog       catalog of the locations of the documents, or null to fetch every document
+     * @param documentCache cache that revalidates the documents fetched over HTTP, or null to download them
+     */
+    static byte[] fetch(URL url, int timeoutMillis, XMLCatalog catalog, DiskDocumentCache documentCache)
+            throws IOException {
+
+        if (catalog != null) {
+            byte[] content = catalog.read(url);
+            if (content != null) {
+                return content;
+            }
+        }
+        if (MappedArchive.isArchiveEntry(url)) {
+            // A document of a WSDL archive
+            return MappedArchive.readEntry(url);
+        }
+        URLConnection connection = url.openConnection();
+        connection.setConnectTimeout(timeoutMillis);
+        connection.setReadTimeout(timeoutMillis);
+        if (documentCache != null && connection instanceof HttpURLConnection) {
+            return documentCache.fetch((HttpURLConnection) connection);
+        }
+        try (InputStream inputStream = connection.getInputStream()) {
+            return readAll(inputStream);
+        }
+    }
+
+    /**
+     * Reads a stream to its end.
+     */
+    static byte[] readAll(InputStream inputStream) throws IOException {
+
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            content.write(buffer, 0, read);
+        }
+        return content.toByteArray();
+    }
+
+    /**
+     * Returns the timeout of a fetch, which is the fetch timeout unless less time is left before the deadline. A
+     * timeout of zero waits for the document without a timeout, like the timeouts of a URL connection.
+     *
+     * @throws IOException if the deadline has passed
+     */
+    static int getFetchTimeout(int fetchTimeoutMillis, long deadlineMillis, long deadlineNanos) throws IOException {
+
+        if (deadlineMillis == ImportResolver.NO_DEADLINE) {
+            return fetchTimeoutMillis;
+        }
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+        if (remainingMillis <= 0) {
+            throw new IOException("The deadline of the conversion has passed");
+        }
+        if (fetchTimeoutMillis == ImportResolver.NO_FETCH_TIMEOUT) {
+            return (int) Math.min(Integer.MAX_VALUE, remainingMillis);
+        }
+        return (int) Math.min(fetchTimeoutMillis, remainingMillis);
+    }
+
+    private InputSource getInputSource(URL url) {
+
+        try {
+            InputSource inputSource = new InputSource(openStream(url));
+            inputSource.setSystemId(url.toExternalForm());
+            return inputSource;
+        } catch (IOException e) {
+            log.debug("Cannot read the document " + url, e);
+            return null;
+        }
+    }
+
+    /**
+     * WSDL reader that reads the WSDL documents a definition imports from the documents the secured parser parses.
+     * The lookups of the reader through the imports of a definition do not end on a cycle of definitions, so an import
+     * of a WSDL document that is still being read, which closes a cycle of imports, is given an empty definition
+     * instead.
+     */
+    private class ImportReader extends WSDLReaderImpl {
+
+        // The WSDL documents being read, the importing one on top, since the reader reads imports depth first
+        private final Deque<String> readingDocuments = new ArrayDeque<>();
+
+        ImportReader() {
+
+            readingDocuments.push(wsdlURL.toExternalForm());
+        }
+
+        @Override
+        protected Import parseImport(Element importElement, Definition definition, Map importedDefinitions)
+                throws WSDLException {
+
+            boolean readImportedDocument = importDocuments;
+            // The reader parses the import without reading the document it imports
+            importDocuments = false;
+            Import wsdlImport;
+            try {
+                wsdlImport = super.parseImport(importElement, definition, importedDefinitions);
+            } finally {
+                importDocuments = readImportedDocument;
+            }
+            if (readImportedDocument && wsdlImport.getLocationURI() != null) {
+                wsdlImport.setDefinition(readImportedDefinition(definition.getDocumentBaseURI(),
+                        wsdlImport.getLocationURI(), importedDefinitions));
+            }
+            return wsdlImport;
+        }
+
+        /**
+         * Reads an imported document into a definition, or takes the definition from the ones read already. An
+         * imported schema is read into the types of a definition of its own, and a document that is neither a WSDL
+         * nor a schema document is not read, like the WSDL reader does.
+         */
+        private Definition readImportedDefinition(String parentLocation, String importLocation,
+                                                  Map<?, ?> importedDefinitions) throws WSDLException {
+
+            URL url;
+            try {
+                URL contextURL = parentLocation != null ? StringUtils.getURL(null, parentLocation) : null;
+                url = StringUtils.getURL(contextURL, importLocation);
+            } catch (MalformedURLException e) {
+                throw new WSDLException(WSDLException.OTHER_ERROR, "Unable to resolve imported document at '" +
+                        importLocation + "', relative to '" + parentLocation + "'", e);
+            }
+            String documentURI = url.toExternalForm();
+            if (readingDocuments.contains(documentURI)) {
+                log.debug("Ignoring the cyclic import of " + documentURI + " in " + readingDocuments.peek());
+                // Read as a document of its own instead of the definition that is still being read
+                return newDefinition(documentURI + CYCLIC_IMPORT_FRAGMENT);
+            }
+            Definition importedDefinition = (Definition) importedDefinitions.get(documentURI);
+            if (importedDefinition != null) {
+                return importedDefinition;
+            }
+            byte[] content;
+            try {
+                content = readContent(url);
+            } catch (IOException e) {
+                throw new WSDLException(WSDLException.OTHER_ERROR, "Unable to locate imported document at '" +
+                        documentURI + "'", e);
+            }
+            Element element = parseImportedDocument(content, documentURI).getDocumentElement();
+            if (QNameUtils.matches(Constants.Q_ELEM_DEFINITIONS, element)) {
+                readingDocuments.push(documentURI);
+                try {
+                    return readWSDL(documentURI, element, importedDefinitions);
+                } finally {
+                    readingDocuments.pop();
+                }
+            }
+            if (!SchemaConstants.XSD_QNAME_LIST.contains(QNameUtils.newQName(element))) {
+                return null;
+            }
+            importedDefinition = newDefinition(documentURI);
+            Types types = importedDefinition.createTypes();
+            types.addExtensibilityElement(parseSchema(Types.class, element, importedDefinition));
+            importedDefinition.setTypes(types);
+            return importedDefinition;
+        }
+
+        private Definition newDefinition(String documentBaseURI) throws WSDLException {
+
+            Definition definition = getWSDLFactory().newDefinition();
+            if (extReg != null) {
+                definition.setExtensionRegistry(extReg);
+            }
+            definition.setDocumentBaseURI(documentBaseURI);
+            return definition;
+        }
+    }
+
+    /**
+     * Locator of the documents the schemas of a WSDL document refer to, which the WSDL reader parses itself. A
+     * document is given to the reader only if the secured parser reads it without a document type, otherwise the
+     * reader fails the WSDL like for a document it cannot fetch.
+     */
+    private class DocumentLocator implements WSDLLocator {
+
+        private final String baseURI;
+        private String latestImportURI;
+
+        DocumentLocator(String baseURI) {
+
+            this.baseURI = baseURI;
+        }
+
+        @Override
+        public InputSource getBaseInputSource() {
+
+            InputSource inputSource = new InputSource(new ByteArrayInputStream(wsdlContent));
+            inputSource.setSystemId(baseURI);
+            return inputSource;
+        }
+
+        @Override
+        public InputSource getImportInputSource(String parentLocation, String importLocation) {
+
+            URL url;
+            try {
+                URL contextURL = parentLocation != null ? StringUtils.getURL(null, parentLocation) : null;
+                url = StringUtils.getURL(contextURL, importLocation);
+            } catch (MalformedURLException e) {
+                log.debug("Cannot resolve the location " + importLocation + " relative to " + parentLocation, e);
+                return null;
+            }
+            String documentURI = url.toExternalForm();
+            latestImportURI = documentURI;
+            byte[] content;
+            try {
+                content = readContent(url);
+                parseImportedDocument(content, documentURI);
+            } catch (IOException | WSDLException e) {
+                log.debug("Cannot read the document " + url, e);
+                return null;
+            }
+            InputSource inputSource = new InputSource(new ByteArrayInputStream(content));
+            inputSource.setSystemId(documentURI);
+            return inputSource;
+        }
+
+        @Override
+        public String getBaseURI() {
+
+            return baseURI;
+        }
+
+        @Override
+        public String getLatestImportURI() {
+
+            return latestImportURI;
+        }
+
+        @Override
+        public void close() {
+
+            // The documents are kept in memory
+        }
+    }
+
+    private class DocumentURIResolver extends DefaultURIResolver {
+
+        @Override
+        public InputSource resolveEntity(String targetNamespace, String schemaLocation, String baseUri) {
+
+            if (baseUri != null && baseUri.startsWith(ARCHIVE_PREFIX)) {
+                // The default resolver resolves locations as URIs, which cannot be relative to a jar URL
+                try {
+                    URL url = new URL(new URL(baseUri), schemaLocation);
+                    InputSource fetchedInputSource = getInputSource(url);
+                    return fetchedInputSource != null ? fetchedInputSource : new InputSource(url.toExternalForm());
+                } catch (MalformedURLException e) {
+                    log.debug("Cannot resolve the location " + schemaLocation + " relative to " + baseUri, e);
+                }
+            }
+            InputSource inputSource = super.resolveEntity(targetNamespace, schemaLocation, baseUri);
+            if (inputSource == null || inputSource.getSystemId() == null) {
+                return inputSource;
+            }
+            try {
+                InputSource fetchedInputSource = getInputSource(new URL(inputSource.getSystemId()));
+                return fetchedInputSource != null ? fetchedInputSource : inputSource;
+            } catch (MalformedURLException e) {
+                return inputSource;
+            }
+        }
+    }
+}
@@ -61,7 +61,12 @@ public class SOAPOperationExtractingUtil {
             wsdlInfo.setHasSoap12BindingOperations(hasSoap12BindingOperations(wsdlDefinition));
 
             //only support for single service and a port per WSDL file, hence getting the first one
-            Service service = (Service) wsdlDefinition.getServices().values().iterator().next();
+            Map<?, ?> services = wsdlDefinition.getServices();
+            if (services.isEmpty()) {
+                // The service of a WSDL that is split across documents can be in an imported document
+                services = wsdlDefinition.getAllServices();
+            }
+            Service service = (Service) services.values().iterator().next();
             Port port = (Port) service.getPorts().values().iterator().next();
             wsdlInfo.setSoapService(service.getQName().getLocalPart());
             wsdlInfo.setSoapPort(port.getName());
@@ -0,0 +1,377 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.utils;
+
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.BooleanSchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
+import io.swagger.v3.oas.models.media.DateSchema;
+import io.swagger.v3.oas.models.media.DateTimeSchema;
+import io.swagger.v3.oas.models.media.EmailSchema;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.NumberSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.PasswordSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.media.UUIDSchema;
+import io.swagger.v3.oas.models.media.XML;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Walks an OpenAPI schema and its references and lists the JSON paths of the payload together with the schema name of
+ * every JSON path, without building an example payload first.
+ * <p>
+ * The walk follows the rules of the swagger-inflector {@code ExampleBuilder} and of
+ * {@link ListJSONPaths#listExamples}, so the paths are the same as the ones listed from a generated example. A
+ * referenced schema is only walked once. The paths it produced are recorded, and every later reference to it replays
+ * them under the new parent path. A reference to a schema that is still being walked ends the path with a leaf, which
+ * stops recursive types.
+ * <p>
+ * Replaying the references keeps the walk linear in the size of the schemas, but not the number of paths: a type with
+ * two properties of a type with two properties, and so on, has twice as many paths for every level. Two cutoffs bound
+ * the walk. A reference nested in more references than the maximum depth, or reached when the walk already has the
+ * maximum number of paths, ends the path with a leaf like a recursive reference does.
+ */
+class SchemaJSONPathWalker {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaJSONPathWalker.class);
+    private static final String ARRAY_ITEM = "[0]";
+    private static final String OBJECT_TYPE = "object";
+
+    private final Map<String, Schema> definitions;
+    private final Map<String, String> jsonPathSchemaMapping;
+    private final int maxDepth;
+    private final int maxPaths;
+    // Every path in the order it was reached, including the empty path of a root leaf
+    private final List<String> walkedPaths = new ArrayList<>();
+    private final List<String[]> walkedMappings = new ArrayList<>();
+    // Walked references. A null value means that the reference is being walked or did not produce a payload
+    private final Map<String, WalkedReference> walkedReferences = new HashMap<>();
+    // Number of references that are being walked
+    private int depth;
+    private boolean cutOff;
+
+    /**
+     * @param definitions           schemas of the OpenAPI components that the schema refers to
+     * @param jsonPathSchemaMapping map that is populated with the schema name of the json paths
+     * @param maxDepth              number of nested references after which a reference ends the path
+     * @param maxPaths              number of paths after which a reference ends the path
+     */
+    SchemaJSONPathWalker(Map<String, Schema> definitions, Map<String, String> jsonPathSchemaMapping, int maxDepth,
+                         int maxPaths) {
+
+        this.definitions = definitions;
+        this.jsonPathSchemaMapping = jsonPathSchemaMapping;
+        this.maxDepth = maxDepth;
+        this.maxPaths = maxPaths;
+    }
+
+    /**
+     * Walks the schema and returns the JSON paths of its payload.
+     *
+     * @param schema schema of the payload
+     * @return the list of the JSON paths
+     */
+    ArrayList<String> walk(Schema<?> schema) {
+
+        walk(schema, null, SOAPToRESTConstants.EMPTY_STRING);
+        if (cutOff) {
+            log.warn("The JSON paths of a payload were cut off at " + maxDepth + " nested references or " +
+                    maxPaths + " paths");
+        }
+        ArrayList<String> pathList = new ArrayList<>();
+        for (String path : walkedPaths) {
+            if (StringUtils.isNotBlank(path)) {
+                pathList.add(path);
+            }
+        }
+        return pathList;
+    }
+
+    /**
+     * Walks a schema placed at the given JSON path.
+     *
+     * @param schema schema to walk
+     * @param name   name given to the payload of the schema, if any
+     * @param path   JSON path of the payload
+     * @return the walked payload or null if the schema does not produce one
+     */
+    private Payload walk(Schema<?> schema, String name, String path) {
+
+        if (schema == null) {
+            return null;
+        }
+        boolean wrapped = false;
+        XML xml = schema.getXml();
+        if (xml != null) {
+            name = xml.getName();
+            wrapped = xml.getWrapped() != null ? xml.getWrapped() : false;
+        }
+
+        Payload payload = null;
+        if (schema.get$ref() != null) {
+            String ref = schema.get$ref();
+            ref = ref.substring(ref.lastIndexOf('/') + 1);
+            if (walkedReferences.containsKey(ref)) {
+                return walkWalkedReference(ref, path);
+            }
+            if (depth >= maxDepth || walkedPaths.size() >= maxPaths) {
+                cutOff = true;
+                return endWithLeaf(ref, path);
+            }
+            walkedReferences.put(ref, null);
+            Schema<?> referredSchema = definitions != null ? definitions.get(ref) : null;
+            if (referredSchema != null) {
+                int pathIndex = walkedPaths.size();
+                int mappingIndex = walkedMappings.size();
+                depth++;
+                payload = walk(referredSchema, ref, path);
+                depth--;
+                if (payload != null) {
+                    walkedReferences.put(ref, new WalkedReference(payload, path, pathIndex, walkedPaths.size(),
+                            mappingIndex, walkedMappings.size()));
+                }
+                return payload;
+            }
+        } else if (isLeaf(schema)) {
+            addPath(path);
+            payload = new Payload(null);
+        } else if (schema instanceof ObjectSchema) {
+            if (schema.getProperties() != null) {
+                payload = new Payload(schema.getName());
+                walkProperties(schema.getProperties(), path);
+            }
+        } else if (schema instanceof ArraySchema) {
+            Payload item = walk(((ArraySchema) schema).getItems(), null, path + ARRAY_ITEM);
+            if (item != null) {
+                payload = new Payload(schema.getName());
+            }
+        } else if (schema instanceof ComposedSchema) {
+            payload = walkComposedSchema((ComposedSchema) schema, path);
+        } else if (schema.getProperties() != null) {
+            payload = new Payload(null);
+            walkProperties(schema.getProperties(), path);
+        }
+        if (schema.getAdditionalProperties() instanceof Schema) {
+            if (payload == null) {
+                payload = new Payload(null);
+            }
+            for (int i = 1; i <= 3; i++) {
+                String key = "additionalProp" + i;
+                if (schema.getProperties() == null || !schema.getProperties().containsKey(key)) {
+                    String childPath = getChildPath(path, key);
+                    Payload property = walk((Schema<?>) schema.getAdditionalProperties(), null, childPath);
+                    if (property != null) {
+                        addMapping(childPath, property.name != null ? property.name : key);
+                    }
+                }
+            }
+        } else if (schema.getAdditionalProperties() instanceof Boolean && payload == null) {
+            addPath(path);
+            payload = new Payload(null);
+        }
+        if (payload != null && !wrapped && name != null) {
+            payload.name = name;
+        }
+        return payload;
+    }
+
+    private void walkProperties(Map<String, Schema> properties, String path) {
+
+        if (properties.isEmpty()) {
+            // An object without values is a leaf of the payload
+            addPath(path);
+            return;
+        }
+        for (Map.Entry<String, Schema> entry : properties.entrySet()) {
+            String childPath = getChildPath(path, entry.getKey());
+            Payload property = walk(entry.getValue(), null, childPath);
+            if (property != null && property.name != null) {
+                addMapping(childPath, property.name);
+            }
+        }
+    }
+
+    /**
+     * Walks the first schema of a oneOf or anyOf composition that produces a payload, or all the schemas of an allOf
+     * composition as a single object.
+     */
+    private Payload walkComposedSchema(ComposedSchema schema, String path) {
+
+        List<Schema> schemas = schema.getOneOf() != null ? schema.getOneOf() : schema.getAnyOf();
+        if (schemas != null) {
+            for (Schema<?> innerSchema : schemas) {
+                Payload payload = walk(innerSchema, null, path);
+                if (payload != null) {
+                    return payload;
+                }
+            }
+            return null;
+        }
+        if (schema.getAllOf() != null) {
+            for (Schema<?> innerSchema : schema.getAllOf()) {
+                walk(innerSchema, null, path);
+            }
+            return new Payload(null);
+        }
+        return null;
+    }
+
+    /**
+     * Handles a reference to a schema that was already reached. A completely walked schema replays its recorded paths
+     * under the new parent path, unless they would take the walk over the maximum number of paths. A schema that is
+     * still being walked ends the path with a leaf.
+     */
+    private Payload walkWalkedReference(String ref, String path) {
+
+        WalkedReference walkedReference = walkedReferences.get(ref);
+        if (walkedReference != null &&
+                walkedPaths.size() + walkedReference.pathEnd - walkedReference.pathStart > maxPaths) {
+            cutOff = true;
+            return endWithLeaf(ref, path);
+        }
+        if (walkedReference != null) {
+            for (int i = walkedReference.pathStart; i < walkedReference.pathEnd; i++) {
+                addPath(rebasePath(walkedPaths.get(i), walkedReference.path, path));
+            }
+            for (int i = walkedReference.mappingStart; i < walkedReference.mappingEnd; i++) {
+                String[] mapping = walkedMappings.get(i);
+                addMapping(rebasePath(mapping[0], walkedReference.path, path), mapping[1]);
+            }
+            return walkedReference.payload;
+        }
+        return endWithLeaf(ref, path);
+    }
+
+    /**
+     * Ends the path at a reference that is not walked with a leaf if the referred schema is an object or a simple type.
+     */
+    private Payload endWithLeaf(String ref, String path) {
+
+        Schema<?> schema = definitions != null ? definitions.get(ref) : null;
+        if (schema == null || schema.getType() == null) {
+            return null;
+        }
+        switch (schema.getType()) {
+            case OBJECT_TYPE:
+            case "string":
+            case "integer":
+            case "long":
+            case "float":
+            case "double":
+                addPath(path);
+                return new Payload(null);
+            default:
+                return null;
+        }
+    }
+
+    private void addPath(String path) {
+
+        walkedPaths.add(path);
+    }
+
+    private void addMapping(String path, String schemaName) {
+
+        jsonPathSchemaMapping.put(path, schemaName);
+        walkedMappings.add(new String[]{path, schemaName});
+    }
+
+    private static boolean isLeaf(Schema<?> schema) {
+
+        if (schema instanceof IntegerSchema) {
+            return schema.getFormat() == null || "int32".equals(schema.getFormat()) ||
+                    "int64".equals(schema.getFormat());
+        }
+        if (schema instanceof NumberSchema) {
+            return schema.getFormat() == null || "double".equals(schema.getFormat()) ||
+                    "float".equals(schema.getFormat());
+        }
+        return schema instanceof EmailSchema || schema instanceof UUIDSchema || schema instanceof StringSchema ||
+                schema instanceof PasswordSchema || schema instanceof BooleanSchema || schema instanceof DateSchema ||
+                schema instanceof DateTimeSchema;
+    }
+
+    private static String getChildPath(String path, String key) {
+
+        return path.isEmpty() ? key : path + "." + key;
+    }
+
+    /**
+     * Moves a path recorded under one parent path to another parent path.
+     */
+    private static String rebasePath(String recordedPath, String recordedParentPath, String parentPath) {
+
+        String relativePath;
+        if (!recordedParentPath.isEmpty()) {
+            relativePath = recordedPath.substring(recordedParentPath.length());
+        } else if (recordedPath.isEmpty() || recordedPath.startsWith(ARRAY_ITEM)) {
+            relativePath = recordedPath;
+        } else {
+            relativePath = "." + recordedPath;
+        }
+        if (parentPath.isEmpty() && relativePath.startsWith(".")) {
+            return relativePath.substring(1);
+        }
+        return parentPath + relativePath;
+    }
+
+    /**
+     * Payload of a walked schema. Only the name is kept, since it is the schema name recorded for the JSON path.
+     */
+    private static class Payload {
+
+        private String name;
+
+        Payload(String name) {
+
+            this.name = name;
+        }
+    }
+
+    /**
+     * A completely walked reference together with the range of the paths and mappings it produced.
+     */
+    private static class WalkedReference {
+
+        private final Payload payload;
+        private final String path;
+        private final int pathStart;
+        private final int pathEnd;
+        private final int mappingStart;
+        private final int mappingEnd;
+
+        WalkedReference(Payload payload, String path, int pathStart, int pathEnd, int mappingStart, int mappingEnd) {
+
+            this.payload = payload;
+            this.path = path;
+            this.pathStart = pathStart;
+            this.pathEnd = pathEnd;
+            this.mappingStart = mappingStart;
+            this.mappingEnd = mappingEnd;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.utils;
+
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A zip or jar archive of a WSDL together with the WSDL and XSD documents it refers to, which is converted without
+ * extracting it. The archive is read through a {@code MappedArchive}: an archive file is memory mapped and an archive
+ * in a {@link ByteBuffer} is read in place, and the documents are read from the entries the central directory of the
+ * archive points to. Every document of the archive has a {@code jar:} URL, so the relative locations the documents
+ * refer to are resolved within the archive like within a directory.
+ * <p>
+ * An archive in a buffer can be read until it is closed. The buffer must not be modified while it is open.
+ */
+public class WSDLArchive implements Closeable {
+
+    private static final String WSDL_EXTENSION = ".wsdl";
+    private static final String ARCHIVE_PREFIX = "jar:";
+    private static final String ENTRY_SEPARATOR = "!/";
+
+    private final MappedArchive archive;
+    private final String archiveLocation;
+    private final boolean buffer;
+
+    private WSDLArchive(MappedArchive archive, String archiveLocation, boolean buffer) {
+
+        this.archive = archive;
+        this.archiveLocation = archiveLocation;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Opens an archive file, which is memory mapped once for all the conversions that read it.
+     *
+     * @param archivePath path of the zip or jar file
+     * @return the archive
+     * @throws SOAPToRESTException if the file is not a zip or jar archive
+     */
+    public static WSDLArchive open(String archivePath) throws SOAPToRESTException {
+
+        try {
+            File archiveFile = new File(archivePath).getCanonicalFile();
+            return new WSDLArchive(MappedArchive.getArchive(archiveFile), archiveFile.toURI().toString(), false);
+        } catch (IOException e) {
+            throw new SOAPToRESTException("Error while reading the WSDL archive " + archivePath, e);
+        }
+    }
+
+    /**
+     * Opens an archive in a buffer, from the position to the limit of the buffer, without copying it.
+     *
+     * @param archive content of the zip or jar archive
+     * @return the archive, which must be closed when it is no longer read
+     * @throws SOAPToRESTException if the content is not a zip or jar archive
+     */
+    public static WSDLArchive open(ByteBuffer archive) throws SOAPToRESTException {
+
+        try {
+            String archiveLocation = MappedArchive.registerBuffer(archive);
+            return new WSDLArchive(MappedArchive.getBufferArchive(archiveLocation), archiveLocation, true);
+        } catch (IOException e) {
+            throw new SOAPToRESTException("Error while reading the WSDL archive", e);
+        }
+    }
+
+    /**
+     * @return the names of the WSDL files of the archive, in alphabetical order
+     */
+    public List<String> getWSDLEntries() {
+
+        List<String> wsdlEntries = new ArrayList<>();
+        for (String entryName : archive.getEntryNames()) {
+            if (entryName.toLowerCase(Locale.ROOT).endsWith(WSDL_EXTENSION)) {
+                wsdlEntries.add(entryName);
+            }
+        }
+        Collections.sort(wsdlEntries);
+        return wsdlEntries;
+    }
+
+    /**
+     * Returns the URL of the WSDL of the archive that is converted.
+     *
+     * @param wsdlEntry name of the WSDL file in the archive, or null if the archive has a single WSDL file
+     * @return the {@code jar:} URL of the WSDL
+     * @throws SOAPToRESTException if the archive has no such entry, or more than one WSDL file and none is named
+     */
+    public URL getWSDLURL(String wsdlEntry) throws SOAPToRESTException {
+
+        if (wsdlEntry == null) {
+            List<String> wsdlEntries = getWSDLEntries();
+            if (wsdlEntries.size() != 1) {
+                throw new SOAPToRESTException("The WSDL archive has " + wsdlEntries.size() + " WSDL files " +
+                        wsdlEntries + ", the WSDL file to convert must be given");
+            }
+            wsdlEntry = wsdlEntries.get(0);
+        }
+        if (!archive.getEntryNames().contains(wsdlEntry)) {
+            throw new SOAPToRESTException("The WSDL archive has no entry " + wsdlEntry);
+        }
+        return getURL(wsdlEntry);
+    }
+
+    /**
+     * Returns the URL of an entry of the archive, which the conversion reads the entry from.
+     *
+     * @param entryName name of the entry, relative to the root of the archive
+     * @return the {@code jar:} URL of the entry
+     * @throws SOAPToRESTException if the name cannot be part of a URL
+     */
+    public URL getURL(String entryName) throws SOAPToRESTException {
+
+        try {
+            String entryPath = new URI(null, null, entryName, null).getRawPath();
+            return new URL(ARCHIVE_PREFIX + archiveLocation + ENTRY_SEPARATOR + entryPath);
+        } catch (URISyntaxException | MalformedURLException e) {
+            throw new SOAPToRESTException("Cannot refer to the entry " + entryName + " of the WSDL archive", e);
+        }
+    }
+
+    /**
+     * Stops reading an archive in a buffer. An archive file stays mapped for the next conversions that read it.
+     */
+    @Override
+    public void close() {
+
+        if (buffer) {
+            MappedArchive.unregisterBuffer(archiveLocation);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.utils;
+
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Content hash of a WSDL document together with all the XSD documents it imports or includes, directly or through
+ * other XSD documents, and the WSDL documents it imports when they are read.
+ * <p>
+ * The hash of a document is the SHA-256 hash of its bytes and of the locations and hashes of the documents its schemas
+ * refer to with {@code xsd:import}, {@code xsd:include} or {@code xsd:redefine}, and of the documents it refers to
+ * with {@code wsdl:import} when the conversion follows WSDL imports. A change in any of the documents
+ * therefore changes the hash of the WSDL, while copies of the same documents at other locations have the same hash.
+ * The hash of every document is kept by its resolved URL, so that the schemas of a document can be looked up by the
+ * document base URI the WSDL reader gives them.
+ */
+public class WSDLContentDigest {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final String WSDL_NAMESPACE = "http://schemas.xmlsoap.org/wsdl/";
+    private static final String SCHEMA_LOCATION = "schemaLocation";
+    private static final String WSDL_LOCATION = "location";
+    private static final String XSD_IMPORT = "import";
+    private static final String XSD_INCLUDE = "include";
+    private static final String XSD_REDEFINE = "redefine";
+    private static final String WSDL_IMPORT = "import";
+    private static final String UNREADABLE_PREFIX = "unreadable:";
+    private static final String CYCLE_PREFIX = "cycle:";
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXMLInputFactory();
+
+    private final byte[] wsdlContent;
+    private final String digest;
+    private final Map<String, String> documentDigests;
+
+    private WSDLContentDigest(byte[] wsdlContent, String digest, Map<String, String> documentDigests) {
+
+        this.wsdlContent = wsdlContent;
+        this.digest = digest;
+        this.documentDigests = documentDigests;
+    }
+
+    /**
+     * Reads the WSDL file of the given path and all the documents it refers to.
+     *
+     * @param path path of the WSDL file
+     * @return the content hash of the WSDL file
+     * @throws SOAPToRESTException if the WSDL file cannot be read
+     */
+    public static WSDLContentDigest fromPath(String path) throws SOAPToRESTException {
+
+        try {
+            return fromURL(new File(path).getAbsoluteFile().toURI().toURL());
+        } catch (MalformedURLException e) {
+            throw new SOAPToRESTException("Error while reading WSDL document", e);
+        }
+    }
+
+    /**
+     * Reads the WSDL of the given URL and all the documents it refers to.
+     *
+     * @param url URL of the WSDL
+     * @return the content hash of the WSDL
+     * @throws SOAPToRESTException if the WSDL cannot be read or parsed
+     */
+    public static WSDLContentDigest fromURL(URL url) throws SOAPToRESTException {
+
+        try {
+            byte[] wsdlContent = readContent(url);
+            Map<String, String> documentDigests = new HashMap<>();
+            String digest = digestDocument(url, wsdlContent, documentDigests, new HashSet<>(), null, false);
+            return new WSDLContentDigest(wsdlContent, digest, documentDigests);
+        } catch (IOException | XMLStreamException e) {
+            throw new SOAPToRESTException("Error while reading WSDL document", e);
+        }
+    }
+
+    /**
+     * Hashes the WSDL and the documents it refers to from the documents an {@link ImportResolver} fetched, without
+     * reading them again. The WSDL documents the WSDL imports are hashed when the resolver fetched them.
+     *
+     * @param resolvedDocuments the WSDL and the documents it refers to
+     * @return the content hash of the WSDL
+     * @throws SOAPToRESTException if the WSDL cannot be parsed
+     */
+    public static WSDLContentDigest fromResolvedDocuments(ResolvedDocuments resolvedDocuments)
+            throws SOAPToRESTException {
+
+        try {
+            byte[] wsdlContent = resolvedDocuments.getWSDLContent();
+            Map<String, String> documentDigests = new HashMap<>();
+            String digest = digestDocument(resolvedDocuments.getWSDLURL(), wsdlContent, documentDigests,
+                    new HashSet<>(), resolvedDocuments, resolvedDocuments.isWSDLImportsResolved());
+            return new WSDLContentDigest(wsdlContent, digest, documentDigests);
+        } catch (XMLStreamException e) {
+            throw new SOAPToRESTException("Error while reading WSDL document", e);
+        }
+    }
+
+    /**
+     * @return the bytes of the WSDL document, which the WSDL can be parsed from without reading it again
+     */
+    public byte[] getWSDLContent() {
+
+        return wsdlContent;
+    }
+
+    /**
+     * @return the hash of the WSDL document and all the documents it refers to
+     */
+    public String getDigest() {
+
+        return digest;
+    }
+
+    /**
+     * Returns the hash of a document the WSDL refers to, including the documents it refers to in turn.
+     *
+     * @param documentURI resolved URL of the document
+     * @return the hash of the document, or null if the WSDL does not refer to a document of that URL
+     */
+    public String getDocumentDigest(String documentURI) {
+
+        return documentDigests.get(documentURI);
+    }
+
+    private static String digestDocument(URL url, byte[] content, Map<String, String> documentDigests,
+                                         Set<String> digestingDocuments, ResolvedDocuments resolvedDocuments,
+                                         boolean wsdlImports) throws XMLStreamException {
+
+        String documentURI = url.toString();
+        digestingDocuments.add(documentURI);
+        MessageDigest messageDigest = createMessageDigest();
+        messageDigest.update(content);
+        List<String> locations = new ArrayList<>();
+        // The locations of both kinds of references in document order
+        readReferenceLocations(content, locations, wsdlImports ? locations : null);
+        for (String location : locations) {
+            String referencedDigest;
+            URL referencedURL = null;
+            try {
+                referencedURL = new URL(url, location);
+            } catch (MalformedURLException e) {
+                // Left to the WSDL reader, which reports the locations it cannot resolve
+            }
+            if (referencedURL == null) {
+                referencedDigest = UNREADABLE_PREFIX + location;
+            } else if (documentDigests.containsKey(referencedURL.toString())) {
+                referencedDigest = documentDigests.get(referencedURL.toString());
+            } else if (digestingDocuments.contains(referencedURL.toString())) {
+                // A document that refers back to a document being hashed only adds the location of the cycle
+                referencedDigest = CYCLE_PREFIX + referencedURL;
+            } else {
+                referencedDigest = digestReferencedDocument(referencedURL, documentDigests, digestingDocuments,
+                        resolvedDocuments, wsdlImports);
+            }
+            messageDigest.update(location.getBytes(StandardCharsets.UTF_8));
+            messageDigest.update((byte) 0);
+            messageDigest.update(referencedDigest.getBytes(StandardCharsets.UTF_8));
+            messageDigest.update((byte) 0);
+        }
+        String digest = Base64.getUrlEncoder().withoutPadding().encodeToString(messageDigest.digest());
+        digestingDocuments.remove(documentURI);
+        documentDigests.put(documentURI, digest);
+        return digest;
+    }
+
+    private static String digestReferencedDocument(URL url, Map<String, String> documentDigests,
+                                                   Set<String> digestingDocuments,
+                                                   ResolvedDocuments resolvedDocuments, boolean wsdlImports) {
+
+        try {
+            byte[] content = resolvedDocuments != null ? resolvedDocuments.readContent(url) : readContent(url);
+            return digestDocument(url, content, documentDigests, digestingDocuments, resolvedDocuments,
+                    wsdlImports);
+        } catch (IOException | XMLStreamException e) {
+            // The WSDL reader skips the schemas it cannot read, so the conversion does not depend on their content
+            return UNREADABLE_PREFIX + url;
+        }
+    }
+
+    /**
+     * Returns the schema locations of the imports, includes and redefinitions of all the schemas in a document.
+     */
+    static List<String> readSchemaLocations(byte[] content) throws XMLStreamException {
+
+        List<String> schemaLocations = new ArrayList<>();
+        readReferenceLocations(content, schemaLocations, null);
+        return schemaLocations;
+    }
+
+    /**
+     * Adds the schema locations of the imports, includes and redefinitions of all the schemas in a document to one
+     * list, and the locations of the WSDL imports of the document to the other.
+     *
+     * @param content         content of the document
+     * @param schemaLocations list the schema locations are added to
+     * @param wsdlLocations   list the WSDL import locations are added to, or null to leave them out
+     */
+    static void readReferenceLocations(byte[] content, List<String> schemaLocations, List<String> wsdlLocations)
+            throws XMLStreamException {
+
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(new ByteArrayInputStream(content));
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                String namespace = reader.getNamespaceURI();
+                String name = reader.getLocalName();
+                if (XMLConstants.W3C_XML_SCHEMA_NS_URI.equals(namespace)) {
+                    if (XSD_IMPORT.equals(name) || XSD_INCLUDE.equals(name) || XSD_REDEFINE.equals(name)) {
+                        addLocation(reader.getAttributeValue(null, SCHEMA_LOCATION), schemaLocations);
+                    }
+                } else if (wsdlLocations != null && WSDL_NAMESPACE.equals(namespace) && WSDL_IMPORT.equals(name)) {
+                    addLocation(reader.getAttributeValue(null, WSDL_LOCATION), wsdlLocations);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Returns whether a document has a document type declaration, which can declare external entities.
+     */
+    static boolean declaresDocumentType(byte[] content) throws XMLStreamException {
+
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(new ByteArrayInputStream(content));
+        try {
+            // The declaration can only come before the root element
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.DTD) {
+                    return true;
+                } else if (event == XMLStreamConstants.START_ELEMENT) {
+                    return false;
+                }
+            }
+            return false;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static void addLocation(String location, List<String> locations) {
+
+        if (location != null) {
+            locations.add(location.trim());
+        }
+    }
+
+    private static byte[] readContent(URL url) throws IOException {
+
+        try (InputStream inputStream = url.openStream()) {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                content.write(buffer, 0, read);
+            }
+            return content.toByteArray();
+        }
+    }
+
+    private static MessageDigest createMessageDigest() {
+
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(DIGEST_ALGORITHM + " is not supported", e);
+        }
+    }
+
+    private static XMLInputFactory createXMLInputFactory() {
+
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        // Only the schema references are read, so document type declarations and external entities are not needed
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
@@ -18,8 +18,10 @@
 package org.wso2.soaptorest.utils;
 
 import com.ibm.wsdl.extensions.schema.SchemaReferenceImpl;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.ws.commons.schema.XmlSchema;
 import org.apache.ws.commons.schema.XmlSchemaCollection;
+import org.apache.ws.commons.schema.resolver.URIResolver;
 import org.apache.xerces.impl.Constants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,6 +30,7 @@ import org.wso2.soaptorest.exceptions.SOAPToRESTException;
 import org.xml.sax.SAXException;
 
 import javax.wsdl.Definition;
+import javax.wsdl.Import;
 import javax.wsdl.Types;
 import javax.wsdl.extensions.schema.Schema;
 import javax.wsdl.extensions.schema.SchemaImport;
@@ -35,11 +38,17 @@ import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 /**
  * Utility class to read the WSDL file from URL or file system safely and read all imported XSD Schemas
@@ -48,13 +57,23 @@ import java.util.*;
 public class WSDLProcessingUtil {
 
     static Logger log = LoggerFactory.getLogger(WSDLProcessingUtil.class);
+    private static final String TARGET_NAMESPACE = "targetNamespace";
+    private static final String FILE_SCHEME = "file";
+
+    private static final int MAX_POOLED_DOCUMENT_BUILDERS = 32;
+    private static final DocumentBuilderFactory SECURED_DOCUMENT_BUILDER_FACTORY =
+            createSecuredDocumentBuilderFactory();
+    // Document builders are not thread safe, so every parse borrows one, which is reset when it is returned
+    private static final BlockingQueue<DocumentBuilder> SECURED_DOCUMENT_BUILDERS =
+            new ArrayBlockingQueue<>(MAX_POOLED_DOCUMENT_BUILDERS);
 
     /**
-     * Returns a secured document builder to avoid XXE attacks
+     * Returns a secured document builder factory to avoid XXE attacks. The factory is created and configured once,
+     * and the document builders it creates are pooled.
      *
-     * @return secured document builder to avoid XXE attacks
+     * @return secured document builder factory to avoid XXE attacks
      */
-    private static DocumentBuilderFactory getSecuredDocumentBuilder() {
+    private static DocumentBuilderFactory createSecuredDocumentBuilderFactory() {
 
         DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
         dbf.setNamespaceAware(true);
@@ -73,6 +92,34 @@ public class WSDLProcessingUtil {
         return dbf;
     }
 
+    /**
+     * Borrows a secured document builder from the pool, or creates one if all of them are in use.
+     *
+     * @return secured document builder, which must be given back with {@link #releaseDocumentBuilder}
+     * @throws ParserConfigurationException if the document builder cannot be created
+     */
+    private static DocumentBuilder borrowDocumentBuilder() throws ParserConfigurationException {
+
+        DocumentBuilder builder = SECURED_DOCUMENT_BUILDERS.poll();
+        if (builder != null) {
+            return builder;
+        }
+        // A document builder factory is not thread safe either
+        synchronized (SECURED_DOCUMENT_BUILDER_FACTORY) {
+            return SECURED_DOCUMENT_BUILDER_FACTORY.newDocumentBuilder();
+        }
+    }
+
+    /**
+     * Resets a borrowed document builder to the configuration of the factory and gives it back to the pool, which
+     * drops it if it is full.
+     */
+    private static void releaseDocumentBuilder(DocumentBuilder builder) {
+
+        builder.reset();
+        SECURED_DOCUMENT_BUILDERS.offer(builder);
+    }
+
     /**
      * Returns an "XXE safe" built DOM XML object by reading the content from the provided file path.
      *
@@ -82,48 +129,227 @@ public class WSDLProcessingUtil {
      */
     public static Document getSecuredParsedDocumentFromPath(String path, String systemId) throws SOAPToRESTException, IOException {
 
-        InputStream inputStream = null;
-        try {
-            DocumentBuilderFactory factory = getSecuredDocumentBuilder();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            inputStream = new FileInputStream(path);
-            return builder.parse(inputStream, systemId);
-        } catch (ParserConfigurationException | IOException | SAXException e) {
+        try (InputStream inputStream = new FileInputStream(path)) {
+            return parse(inputStream, systemId);
+        } catch (IOException e) {
             throw new SOAPToRESTException("Error while reading WSDL document", e);
-        } finally {
-            if (inputStream != null) {
-                inputStream.close();
-            }
         }
     }
 
     public static Document getSecuredParsedDocumentFromURL(URL url) throws SOAPToRESTException, IOException {
 
-        InputStream inputStream = null;
+        try (InputStream inputStream = url.openStream()) {
+            return parse(inputStream, null);
+        } catch (IOException e) {
+            throw new SOAPToRESTException("Error while reading WSDL document", e);
+        }
+    }
+
+    /**
+     * Returns an "XXE safe" built DOM XML object by parsing the given content of a document.
+     *
+     * @param content  content of the document
+     * @param systemId base URI to resolve the relative URIs of the document, or null if it has none
+     * @return an "XXE safe" built DOM XML object of the content
+     * @throws SOAPToRESTException When error occurred while parsing the content
+     */
+    public static Document getSecuredParsedDocumentFromBytes(byte[] content, String systemId)
+            throws SOAPToRESTException {
+
+        return parse(new ByteArrayInputStream(content), systemId);
+    }
+
+    /**
+     * Returns a new empty DOM document, created by a pooled document builder instead of a new factory.
+     *
+     * @return an empty document
+     * @throws SOAPToRESTException When the document builder cannot be created
+     */
+    public static Document newDocument() throws SOAPToRESTException {
+
+        DocumentBuilder builder;
+        try {
+            builder = borrowDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new SOAPToRESTException("Error while creating the document builder", e);
+        }
+        try {
+            return builder.newDocument();
+        } finally {
+            releaseDocumentBuilder(builder);
+        }
+    }
+
+    private static Document parse(InputStream inputStream, String systemId) throws SOAPToRESTException {
+
+        DocumentBuilder builder;
         try {
-            DocumentBuilderFactory factory = getSecuredDocumentBuilder();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            inputStream = url.openStream();
-            return builder.parse(inputStream);
-        } catch (ParserConfigurationException | IOException | SAXException e) {
+            builder = borrowDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new SOAPToRESTException("Error while reading WSDL document", e);
+        }
+        try {
+            return systemId != null ? builder.parse(inputStream, systemId) : builder.parse(inputStream);
+        } catch (IOException | SAXException e) {
             throw new SOAPToRESTException("Error while reading WSDL document", e);
         } finally {
-            if (inputStream != null) {
-                inputStream.close();
-            }
+            releaseDocumentBuilder(builder);
         }
     }
 
     /**
      * This method will read the given WSDL definition and extract all the referred XSD files and create List of
-     * XSD Schemas
+     * XSD Schemas. All the schemas are read into a single {@link XmlSchemaCollection}, and an XSD document that is
+     * referred to more than once, or through a cycle of imports, is read once. The schemas of the WSDL documents the
+     * definition imports, if it was read with its imports, are read with the base URIs of their documents.
      *
      * @param wsdlDefinition input WSDL definition
      * @return returns Set of {@link XmlSchema} objects of all the referred XSDs of the WSDL file
      */
     public static Set<XmlSchema> getXMLSchemasFromWSDL(Definition wsdlDefinition, String systemId) {
 
-        Set<XmlSchema> schemaArrayList = new HashSet<>();
+        return getXMLSchemasFromWSDL(wsdlDefinition, systemId, null);
+    }
+
+    /**
+     * Reads the XSD Schemas of the given WSDL definition like {@link #getXMLSchemasFromWSDL(Definition, String)}, with
+     * the given resolver for the XSD documents the schema collection fetches while it reads the schemas.
+     *
+     * @param wsdlDefinition input WSDL definition
+     * @param systemId       base URI of the schemas in the types of the WSDL
+     * @param schemaResolver resolver of the documents the schemas import, or null to fetch them from their URLs
+     * @return returns Set of {@link XmlSchema} objects of all the referred XSDs of the WSDL file
+     */
+    public static Set<XmlSchema> getXMLSchemasFromWSDL(Definition wsdlDefinition, String systemId,
+                                                       URIResolver schemaResolver) {
+
+        Set<XmlSchema> schemaArrayList = new LinkedHashSet<>();
+        XmlSchemaCollection schemaCollection = new XmlSchemaCollection();
+        if (schemaResolver != null) {
+            schemaCollection.setSchemaResolver(schemaResolver);
+        }
+        Set<String> visitedDocuments = new HashSet<>();
+        for (Definition definition : getDefinitions(wsdlDefinition)) {
+            String definitionSystemId = definition == wsdlDefinition ? systemId : definition.getDocumentBaseURI();
+            for (Schema schema : getInlineSchemas(definition)) {
+                for (Schema referencedSchema : getReferencedSchemas(schema, visitedDocuments)) {
+                    schemaArrayList.add(readReferencedSchema(schemaCollection, referencedSchema));
+                }
+                schemaArrayList.add(readInlineSchema(schemaCollection, schema, definitionSystemId));
+            }
+        }
+        return schemaArrayList;
+    }
+
+    /**
+     * Returns the given WSDL definition and the definitions it imports, directly or through other imported
+     * definitions. Every definition is returned once, after the definitions it imports, so that the schemas of an
+     * imported WSDL document are read before the schemas of the documents that import it.
+     *
+     * @param wsdlDefinition input WSDL definition
+     * @return the definitions of the WSDL, ending with the given definition
+     */
+    public static List<Definition> getDefinitions(Definition wsdlDefinition) {
+
+        List<Definition> definitions = new ArrayList<>();
+        addDefinitions(wsdlDefinition, definitions, Collections.newSetFromMap(new IdentityHashMap<>()));
+        return definitions;
+    }
+
+    private static void addDefinitions(Definition definition, List<Definition> definitions,
+                                       Set<Definition> visitedDefinitions) {
+
+        if (!visitedDefinitions.add(definition)) {
+            return;
+        }
+        for (Import wsdlImport : getImports(definition)) {
+            if (wsdlImport.getDefinition() != null) {
+                addDefinitions(wsdlImport.getDefinition(), definitions, visitedDefinitions);
+            }
+        }
+        definitions.add(definition);
+    }
+
+    private static List<Import> getImports(Definition definition) {
+
+        List<Import> imports = new ArrayList<>();
+        Map<?, ?> importMap = definition.getImports();
+        if (importMap != null) {
+            for (Object importList : importMap.values()) {
+                for (Object wsdlImport : (List<?>) importList) {
+                    if (wsdlImport instanceof Import) {
+                        imports.add((Import) wsdlImport);
+                    }
+                }
+            }
+        }
+        return imports;
+    }
+
+    /**
+     * Reads a schema of the types of a WSDL into the given collection. A schema with the same target namespace as an
+     * earlier schema of the types is read into a collection of its own, since the collection keeps a single schema of
+     * a namespace for each base URI.
+     *
+     * @param schemaCollection collection of the schemas of the WSDL
+     * @param schema           schema in the types of the WSDL
+     * @param systemId         base URI of the WSDL
+     * @return the schema
+     */
+    public static XmlSchema readInlineSchema(XmlSchemaCollection schemaCollection, Schema schema, String systemId) {
+
+        if (findSchema(schemaCollection, schema, systemId) != null) {
+            return new XmlSchemaCollection().read(schema.getElement(), systemId);
+        }
+        return schemaCollection.read(schema.getElement(), systemId);
+    }
+
+    /**
+     * Reads a schema of an XSD document into the given collection, unless the collection already has the schema of
+     * the document. The collection reads the XSD documents a schema imports when it reads the schema, so it has the
+     * schema of a document it resolved an import to before.
+     *
+     * @param schemaCollection collection of the schemas of the WSDL
+     * @param referencedSchema schema of an XSD document the WSDL refers to
+     * @return the schema of the document
+     */
+    public static XmlSchema readReferencedSchema(XmlSchemaCollection schemaCollection, Schema referencedSchema) {
+
+        String systemId = referencedSchema.getDocumentBaseURI();
+        XmlSchema xmlSchema = findSchema(schemaCollection, referencedSchema, systemId);
+        if (xmlSchema == null) {
+            xmlSchema = schemaCollection.read(referencedSchema.getElement(), systemId);
+        }
+        return xmlSchema;
+    }
+
+    private static XmlSchema findSchema(XmlSchemaCollection schemaCollection, Schema schema, String systemId) {
+
+        if (systemId == null) {
+            return null;
+        }
+        XmlSchema[] xmlSchemas = schemaCollection.getXmlSchema(systemId);
+        if (xmlSchemas == null) {
+            return null;
+        }
+        String targetNamespace = schema.getElement().getAttribute(TARGET_NAMESPACE);
+        for (XmlSchema xmlSchema : xmlSchemas) {
+            if (targetNamespace.equals(StringUtils.defaultString(xmlSchema.getTargetNamespace()))) {
+                return xmlSchema;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the schemas defined in the types of the given WSDL definition.
+     *
+     * @param wsdlDefinition input WSDL definition
+     * @return the schemas in the types of the WSDL, in document order
+     */
+    public static List<Schema> getInlineSchemas(Definition wsdlDefinition) {
+
+        List<Schema> inlineSchemas = new ArrayList<>();
         Types types = wsdlDefinition.getTypes();
         List<?> typeList = new ArrayList<>();
         if (types != null) {
@@ -132,25 +358,46 @@ public class WSDLProcessingUtil {
         if (typeList != null) {
             for (Object ext : typeList) {
                 if (ext instanceof Schema) {
-                    Schema schema = (Schema) ext;
-                    XmlSchemaCollection schemaCollection = new XmlSchemaCollection();
-                    schemaArrayList.add(schemaCollection.read(schema.getElement(), systemId));
-                    // Process imported XSDs if available
-                    Map<?, ?> importedSchemas = schema.getImports();
-                    if (importedSchemas != null) {
-                        processImportedSchemas(importedSchemas, schemaArrayList);
-                    }
-                    List<?> schemaIncludes = schema.getIncludes();
-                    if (schemaIncludes != null) {
-                        processIncludedSchemas(schemaIncludes, schemaArrayList);
-                    }
+                    inlineSchemas.add((Schema) ext);
                 }
             }
         }
-        return schemaArrayList;
+        return inlineSchemas;
     }
 
-    private static void processImportedSchemas(Map<?, ?> importedSchemas, Set<XmlSchema> schemaArrayList) {
+    /**
+     * Returns the schemas the given schema imports or includes, directly or through other referenced schemas. The
+     * document base URI of a referenced schema is the URL of the XSD document it is read from. A document whose
+     * canonical URL is in the given set of visited documents is skipped, and the documents that are returned are added
+     * to it, so that a document is returned once for all the schemas of a WSDL even if the imports form a cycle.
+     *
+     * @param schema           schema of the WSDL
+     * @param visitedDocuments canonical URLs of the documents that were returned before
+     * @return the referenced schemas, each preceded by the schemas it refers to in turn
+     */
+    public static List<Schema> getReferencedSchemas(Schema schema, Set<String> visitedDocuments) {
+
+        List<Schema> referencedSchemas = new ArrayList<>();
+        processReferences(schema, referencedSchemas, visitedDocuments);
+        return referencedSchemas;
+    }
+
+    private static void processReferences(Schema schema, List<Schema> referencedSchemas,
+                                          Set<String> visitedDocuments) {
+
+        // Process imported XSDs if available
+        Map<?, ?> importedSchemas = schema.getImports();
+        if (importedSchemas != null) {
+            processImportedSchemas(importedSchemas, referencedSchemas, visitedDocuments);
+        }
+        List<?> schemaIncludes = schema.getIncludes();
+        if (schemaIncludes != null) {
+            processIncludedSchemas(schemaIncludes, referencedSchemas, visitedDocuments);
+        }
+    }
+
+    private static void processImportedSchemas(Map<?, ?> importedSchemas, List<Schema> referencedSchemas,
+                                               Set<String> visitedDocuments) {
 
         for (Object importedSchemaObj : importedSchemas.keySet()) {
             String schemaUrl = (String) importedSchemaObj;
@@ -160,17 +407,7 @@ public class WSDLProcessingUtil {
                     if (schemaVector instanceof SchemaImport) {
                         Schema referencedSchema = ((SchemaImport) schemaVector).getReferencedSchema();
                         if (referencedSchema != null && referencedSchema.getElement() != null) {
-                            String systemId = referencedSchema.getDocumentBaseURI();
-                            XmlSchemaCollection schemaCollection = new XmlSchemaCollection();
-                            schemaArrayList.add(schemaCollection.read(referencedSchema.getElement(), systemId));
-                            Map<?, ?> nestedImportedSchemas = referencedSchema.getImports();
-                            if (nestedImportedSchemas != null) {
-                                processImportedSchemas(nestedImportedSchemas, schemaArrayList);
-                            }
-                            List<?> nestedSchemaIncludes = referencedSchema.getIncludes();
-                            if (nestedSchemaIncludes != null) {
-                                processIncludedSchemas(nestedSchemaIncludes, schemaArrayList);
-                            }
+                            processReferencedSchema(referencedSchema, referencedSchemas, visitedDocuments);
                         } else {
                             log.warn("Cannot access referenced schema for the schema defined at: " + schemaUrl);
                         }
@@ -180,26 +417,50 @@ public class WSDLProcessingUtil {
         }
     }
 
-    private static void processIncludedSchemas(List<?> schemaIncludes, Set<XmlSchema> schemaArrayList) {
+    private static void processIncludedSchemas(List<?> schemaIncludes, List<Schema> referencedSchemas,
+                                               Set<String> visitedDocuments) {
 
         for (Object includedSchemaRef : schemaIncludes) {
             if (includedSchemaRef instanceof SchemaReferenceImpl) {
                 Schema referencedSchema = ((SchemaReferenceImpl) includedSchemaRef).getReferencedSchema();
 
                 if (referencedSchema != null && referencedSchema.getElement() != null) {
-                    String systemId = referencedSchema.getDocumentBaseURI();
-                    XmlSchemaCollection schemaCollection = new XmlSchemaCollection();
-                    schemaArrayList.add(schemaCollection.read(referencedSchema.getElement(), systemId));
-                    Map<?, ?> nestedImportedSchemas = referencedSchema.getImports();
-                    if (nestedImportedSchemas != null) {
-                        processImportedSchemas(nestedImportedSchemas, schemaArrayList);
-                    }
-                    List<?> nestedSchemaIncludes = referencedSchema.getIncludes();
-                    if (nestedSchemaIncludes != null) {
-                        processIncludedSchemas(nestedSchemaIncludes, schemaArrayList);
-                    }
+                    processReferencedSchema(referencedSchema, referencedSchemas, visitedDocuments);
                 }
             }
         }
     }
+
+    private static void processReferencedSchema(Schema referencedSchema, List<Schema> referencedSchemas,
+                                                Set<String> visitedDocuments) {
+
+        String documentURI = referencedSchema.getDocumentBaseURI();
+        if (documentURI != null && !visitedDocuments.add(getCanonicalURI(documentURI))) {
+            return;
+        }
+        // The schemas a document refers to come first, so that they are read before the imports of the document
+        // are resolved
+        processReferences(referencedSchema, referencedSchemas, visitedDocuments);
+        referencedSchemas.add(referencedSchema);
+    }
+
+    /**
+     * Returns the URL of a document in a form that is the same for all the URLs of the document, with the dot
+     * segments of the path removed and, for a file, with symbolic links resolved.
+     *
+     * @param documentURI URL of a document
+     * @return the canonical URL of the document, or the given URL if it cannot be parsed
+     */
+    public static String getCanonicalURI(String documentURI) {
+
+        try {
+            URI uri = new URI(documentURI).normalize();
+            if (FILE_SCHEME.equals(uri.getScheme())) {
+                return new File(uri).getCanonicalFile().toURI().toString();
+            }
+            return uri.toString();
+        } catch (URISyntaxException | IllegalArgumentException | IOException e) {
+            return documentURI;
+        }
+    }
 }
@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An OASIS XML Catalog that maps the locations of the documents a WSDL refers to, for example the remote locations of
+ * the schemas it imports, to local files or to entries of zip and jar archives in the form
+ * {@code jar:file:<archive path>!/<entry name>}. A catalog is given to an {@link ImportResolver}, which reads every
+ * document from the location the catalog maps it to instead of fetching it, so a conversion of a WSDL with remote
+ * imports does not need the network. Entries of archives are read through a memory-mapped archive that is cached for
+ * all the conversions.
+ * <p>
+ * The {@code uri}, {@code system}, {@code rewriteURI}, {@code rewriteSystem}, {@code uriSuffix} and
+ * {@code systemSuffix} entries map a location, which is looked up in that order of precedence: an exact match, then
+ * the longest matching prefix, then the longest matching suffix, and then the catalogs of the {@code nextCatalog}
+ * entries. Relative locations of the catalog are resolved against the catalog file and the {@code xml:base}
+ * attributes of its elements. A document keeps its original location in the conversion, so the relative locations
+ * it refers to are resolved against the original location and looked up in the catalog as well, which is what a
+ * {@code rewriteURI} entry of a whole directory relies on.
+ * <p>
+ * A catalog is immutable and can be shared by any number of conversions at the same time.
+ */
+public class XMLCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(XMLCatalog.class);
+    private static final String CATALOG_NAMESPACE = "urn:oasis:names:tc:entity:xmlns:xml:catalog";
+    private static final String XML_BASE = "base";
+    private static final String ARCHIVE_PREFIX = "jar:";
+    private static final String ENTRY_SEPARATOR = "!/";
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXMLInputFactory();
+
+    private final Map<String, String> locations = new HashMap<>();
+    private final List<String[]> prefixRewrites = new ArrayList<>();
+    private final List<String[]> suffixLocations = new ArrayList<>();
+    private final List<XMLCatalog> nextCatalogs = new ArrayList<>();
+
+    private XMLCatalog() {
+
+    }
+
+    /**
+     * Reads an OASIS XML Catalog file, together with the catalogs its {@code nextCatalog} entries refer to.
+     *
+     * @param catalogPath path of the catalog file
+     * @return the catalog
+     * @throws SOAPToRESTException if the catalog, or a catalog it refers to, cannot be read
+     */
+    public static XMLCatalog read(String catalogPath) throws SOAPToRESTException {
+
+        try {
+            return read(new File(catalogPath).getAbsoluteFile().toURI().toURL(), new HashSet<>());
+        } catch (MalformedURLException e) {
+            throw new SOAPToRESTException("Error while reading the XML catalog " + catalogPath, e);
+        }
+    }
+
+    /**
+     * Maps the location of a document to the location it is read from.
+     *
+     * @param location absolute location of the document
+     * @return the location the document is read from, or null if the catalog does not map the location
+     */
+    public String resolve(String location) {
+
+        String mappedLocation = locations.get(location);
+        if (mappedLocation != null) {
+            return mappedLocation;
+        }
+        String[] longestMatch = null;
+        for (String[] prefixRewrite : prefixRewrites) {
+            if (location.startsWith(prefixRewrite[0]) &&
+                    (longestMatch == null || prefixRewrite[0].length() > longestMatch[0].length())) {
+                longestMatch = prefixRewrite;
+            }
+        }
+        if (longestMatch != null) {
+            return longestMatch[1] + location.substring(longestMatch[0].length());
+        }
+        for (String[] suffixLocation : suffixLocations) {
+            if (location.endsWith(suffixLocation[0]) &&
+                    (longestMatch == null || suffixLocation[0].length() > longestMatch[0].length())) {
+                longestMatch = suffixLocation;
+            }
+        }
+        if (longestMatch != null) {
+            return longestMatch[1];
+        }
+        for (XMLCatalog nextCatalog : nextCatalogs) {
+            mappedLocation = nextCatalog.resolve(location);
+            if (mappedLocation != null) {
+                return mappedLocation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the document of a location from the location the catalog maps it to.
+     *
+     * @param url location of the document
+     * @return the content of the document, or null if the catalog does not map the location
+     * @throws IOException if the mapped location cannot be read
+     */
+    byte[] read(URL url) throws IOException {
+
+        String mappedLocation = resolve(url.toExternalForm());
+        if (mappedLocation == null) {
+            return null;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Reading " + url + " from " + mappedLocation);
+        }
+        URL mappedURL = new URL(mappedLocation);
+        if (MappedArchive.isArchiveEntry(mappedURL)) {
+            return MappedArchive.readEntry(mappedURL);
+        }
+        try (InputStream inputStream = mappedURL.openStream()) {
+            return ResolvedDocuments.readAll(inputStream);
+        }
+    }
+
+    private static XMLCatalog read(URL catalogURL, Set<String> readCatalogs) throws SOAPToRESTException {
+
+        XMLCatalog catalog = new XMLCatalog();
+        if (!readCatalogs.add(catalogURL.toExternalForm())) {
+            // A catalog that is already being read adds no entries
+            return catalog;
+        }
+        byte[] content;
+        try (InputStream inputStream = catalogURL.openStream()) {
+            content = ResolvedDocuments.readAll(inputStream);
+        } catch (IOException e) {
+            throw new SOAPToRESTException("Error while reading the XML catalog " + catalogURL, e);
+        }
+        try {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(catalogURL.toExternalForm(),
+                    new ByteArrayInputStream(content));
+            try {
+                catalog.readEntries(reader, catalogURL, readCatalogs);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException | MalformedURLException e) {
+            throw new SOAPToRESTException("Error while reading the XML catalog " + catalogURL, e);
+        }
+        return catalog;
+    }
+
+    private void readEntries(XMLStreamReader reader, URL catalogURL, Set<String> readCatalogs)
+            throws XMLStreamException, MalformedURLException, SOAPToRESTException {
+
+        // The base URLs of the open elements, the innermost one on top
+        Deque<URL> baseURLs = new ArrayDeque<>();
+        baseURLs.push(catalogURL);
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                baseURLs.pop();
+                continue;
+            } else if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            URL baseURL = baseURLs.peek();
+            String xmlBase = reader.getAttributeValue(XMLConstants.XML_NS_URI, XML_BASE);
+            if (xmlBase != null) {
+                baseURL = new URL(baseURL, xmlBase.trim());
+            }
+            baseURLs.push(baseURL);
+            if (!CATALOG_NAMESPACE.equals(reader.getNamespaceURI())) {
+                continue;
+            }
+            switch (reader.getLocalName()) {
+                case "uri":
+                    addLocation(reader, "name", baseURL);
+                    break;
+                case "system":
+                    addLocation(reader, "systemId", baseURL);
+                    break;
+                case "rewriteURI":
+                    addPrefixRewrite(reader, "uriStartString", baseURL);
+                    break;
+                case "rewriteSystem":
+                    addPrefixRewrite(reader, "systemIdStartString", baseURL);
+                    break;
+                case "uriSuffix":
+                    addSuffixLocation(reader, "uriSuffix", baseURL);
+                    break;
+                case "systemSuffix":
+                    addSuffixLocation(reader, "systemSuffix", baseURL);
+                    break;
+                case "nextCatalog":
+                    String nextCatalog = reader.getAttributeValue(null, "catalog");
+                    if (nextCatalog != null) {
+                        nextCatalogs.add(read(new URL(baseURL, nextCatalog.trim()), readCatalogs));
+                    }
+                    break;
+                default:
+                    // Public identifiers and delegates do not map document locations
+                    break;
+            }
+        }
+    }
+
+    private void addLocation(XMLStreamReader reader, String nameAttribute, URL baseURL)
+            throws MalformedURLException {
+
+        String name = reader.getAttributeValue(null, nameAttribute);
+        String uri = reader.getAttributeValue(null, "uri");
+        // An earlier entry takes precedence over a later one for the same location
+        if (name != null && uri != null && !locations.containsKey(name.trim())) {
+            locations.put(name.trim(), resolveLocation(baseURL, uri));
+        }
+    }
+
+    private void addPrefixRewrite(XMLStreamReader reader, String startStringAttribute, URL baseURL)
+            throws MalformedURLException {
+
+        String startString = reader.getAttributeValue(null, startStringAttribute);
+        String rewritePrefix = reader.getAttributeValue(null, "rewritePrefix");
+        if (startString != null && rewritePrefix != null) {
+            prefixRewrites.add(new String[]{startString.trim(), resolveLocation(baseURL, rewritePrefix)});
+        }
+    }
+
+    private void addSuffixLocation(XMLStreamReader reader, String suffixAttribute, URL baseURL)
+            throws MalformedURLException {
+
+        String suffix = reader.getAttributeValue(null, suffixAttribute);
+        String uri = reader.getAttributeValue(null, "uri");
+        if (suffix != null && uri != null) {
+            suffixLocations.add(new String[]{suffix.trim(), resolveLocation(baseURL, uri)});
+        }
+    }
+
+    /**
+     * Resolves a location of the catalog against its base URL. The archive of a {@code jar:} location can be relative
+     * as well, for example {@code jar:schemas.zip!/xsd/}.
+     */
+    private static String resolveLocation(URL baseURL, String location) throws MalformedURLException {
+
+        String trimmedLocation = location.trim();
+        int separatorIndex = trimmedLocation.indexOf(ENTRY_SEPARATOR);
+        if (trimmedLocation.startsWith(ARCHIVE_PREFIX) && separatorIndex > 0) {
+            URL archiveURL = new URL(baseURL, trimmedLocation.substring(ARCHIVE_PREFIX.length(), separatorIndex));
+            return ARCHIVE_PREFIX + archiveURL.toExternalForm() + trimmedLocation.substring(separatorIndex);
+        }
+        return new URL(baseURL, trimmedLocation).toExternalForm();
+    }
+
+    private static XMLInputFactory createXMLInputFactory() {
+
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        // Catalogs usually declare the document type of the OASIS catalog, which is not needed to read the entries
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
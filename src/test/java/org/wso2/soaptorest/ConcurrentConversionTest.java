@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.wso2.soaptorest.models.SOAPRequestElement;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+import org.wso2.soaptorest.utils.SOAPOperationExtractingUtil;
+import org.wso2.soaptorest.utils.SyntheticWSDLGenerator;
+
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs conversions of different WSDL files, with both document and rpc style bindings, on a thread pool and checks
+ * that every result is the same as the result of converting the file alone. Also checks that generating the SOAP
+ * payloads and the component schemas of a single conversion in parallel gives the same result as generating them
+ * sequentially.
+ */
+class ConcurrentConversionTest {
+
+    private static final int THREAD_COUNT = 8;
+    private static final int ROUNDS = 6;
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testConcurrentConversionsMatchSequentialConversions() throws Exception {
+
+        List<String> wsdlPaths = getWSDLPaths();
+        Map<String, String> expectedResults = new HashMap<>();
+        for (String wsdlPath : wsdlPaths) {
+            expectedResults.put(wsdlPath, convert(wsdlPath, null));
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            List<String> submittedPaths = new ArrayList<>();
+            List<Future<String>> results = new ArrayList<>();
+            for (int round = 0; round < ROUNDS; round++) {
+                for (int i = 0; i < wsdlPaths.size(); i++) {
+                    // Rotate the order in every round so that different files are converted next to each other
+                    String wsdlPath = wsdlPaths.get((i + round * 3) % wsdlPaths.size());
+                    submittedPaths.add(wsdlPath);
+                    results.add(executorService.submit((Callable<String>) () -> convert(wsdlPath, null)));
+                }
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(expectedResults.get(submittedPaths.get(i)), results.get(i).get(2, TimeUnit.MINUTES),
+                        "Concurrent conversion of " + submittedPaths.get(i) + " differs from sequential conversion");
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void testParallelPayloadGenerationMatchesSequentialGeneration() throws Exception {
+
+        ForkJoinPool forkJoinPool = new ForkJoinPool(THREAD_COUNT);
+        try {
+            for (String wsdlPath : getWSDLPaths()) {
+                assertEquals(convert(wsdlPath, null), convert(wsdlPath, forkJoinPool),
+                        "Parallel payload generation of " + wsdlPath + " differs from sequential generation");
+            }
+        } finally {
+            forkJoinPool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testParallelSchemaGenerationMatchesSequentialGeneration() throws Exception {
+
+        SyntheticWSDLGenerator generator = new SyntheticWSDLGenerator();
+        generator.setOperationCount(20);
+        generator.setTypeCount(600);
+        generator.setChoiceDensity(0.2);
+        generator.setGroupDensity(0.2);
+        String wsdlPath = generator.generate(new File(tempDir, "large")).getPath();
+        WSDLProcessor wsdlProcessor = new WSDLProcessor();
+        wsdlProcessor.init(wsdlPath);
+
+        ForkJoinPool forkJoinPool = new ForkJoinPool(THREAD_COUNT);
+        try {
+            OpenAPI sequentialOpenAPI = OASGenerator.generateOpenAPIFromWSDL(
+                    new SOAPOperationExtractingUtil().getWsdlInfo(wsdlProcessor.getWsdlDefinition()),
+                    wsdlProcessor.xsdDataModels, wsdlProcessor.getTypeRegistry(), "Test API", "1.0.0", null);
+            OpenAPI parallelOpenAPI = OASGenerator.generateOpenAPIFromWSDL(
+                    new SOAPOperationExtractingUtil().getWsdlInfo(wsdlProcessor.getWsdlDefinition()),
+                    wsdlProcessor.xsdDataModels, wsdlProcessor.getTypeRegistry(), "Test API", "1.0.0", forkJoinPool);
+            // The components are compared in their order, which a parallel generation keeps
+            assertEquals(new ArrayList<>(sequentialOpenAPI.getComponents().getSchemas().keySet()),
+                    new ArrayList<>(parallelOpenAPI.getComponents().getSchemas().keySet()));
+            assertEquals(Yaml.pretty(sequentialOpenAPI.getComponents()), Yaml.pretty(parallelOpenAPI.getComponents()));
+        } finally {
+            forkJoinPool.shutdownNow();
+        }
+    }
+
+    private List<String> getWSDLPaths() throws IOException {
+
+        List<String> wsdlPaths = new ArrayList<>();
+        wsdlPaths.add("src/test/resources/calculator/calculator.wsdl");
+        wsdlPaths.add("src/test/resources/complex/nested.wsdl");
+        wsdlPaths.add("src/test/resources/complex/arrays.wsdl");
+        wsdlPaths.add("src/test/resources/complex/groups.wsdl");
+        wsdlPaths.add("src/test/resources/complex/choice.wsdl");
+        for (int i = 0; i < 6; i++) {
+            SyntheticWSDLGenerator generator = new SyntheticWSDLGenerator();
+            generator.setOperationCount(10 + i * 5);
+            generator.setTypeCount(8 + i);
+            generator.setNestingDepth(2 + i % 3);
+            generator.setArrayFanOut(i % 2);
+            generator.setChoiceDensity(i % 3 == 1 ? 0.5 : 0);
+            generator.setGroupDensity(i % 3 == 2 ? 0.5 : 0);
+            generator.setRpcStyle(i % 2 == 0);
+            File wsdlFile = generator.generate(new File(tempDir, "generated" + i));
+            wsdlPaths.add(wsdlFile.getPath());
+        }
+        return wsdlPaths;
+    }
+
+    /**
+     * Converts the WSDL and writes the OpenAPI and the SOAP request bodies in a form that does not depend on the
+     * iteration order of the operations.
+     */
+    private static String convert(String wsdlPath, ExecutorService executorService) throws Exception {
+
+        SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath,
+                "Test API", "1.0.0", ConversionOptions.builder().executorService(executorService).build());
+        OpenAPI openAPI = conversionData.getOpenAPI();
+        StringBuilder output = new StringBuilder();
+        output.append(Yaml.pretty(openAPI.getInfo()));
+        output.append(Yaml.pretty(new TreeMap<>(openAPI.getPaths())));
+        output.append(Yaml.pretty(openAPI.getComponents()));
+
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+        Map<String, SOAPRequestElement> requestBodies = new TreeMap<>();
+        for (Map.Entry<String, SOAPRequestElement> entry : conversionData.getAllSOAPRequestBodies()) {
+            requestBodies.put(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<String, SOAPRequestElement> entry : requestBodies.entrySet()) {
+            SOAPRequestElement soapRequestElement = entry.getValue();
+            StringWriter writer = new StringWriter();
+            transformer.transform(new DOMSource(soapRequestElement.getSoapRequestBody()), new StreamResult(writer));
+            output.append(entry.getKey()).append('\n')
+                    .append(soapRequestElement.getSoapAction()).append('\n')
+                    .append(soapRequestElement.getNamespace()).append('\n')
+                    .append(soapRequestElement.getSoapNamespace()).append('\n')
+                    .append(writer).append('\n');
+        }
+        return output.toString();
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+import org.wso2.soaptorest.models.SOAPRequestElement;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+import org.wso2.soaptorest.utils.SyntheticWSDLGenerator;
+
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the conversions of {@link SOAPToRESTConverter} with a {@link ConversionCache}: a cached conversion is the
+ * same as an uncached one, identical content is converted once, and a change in an imported XSD document is
+ * converted again.
+ */
+class ConversionCacheTest {
+
+    private static final String CALCULATOR_DIRECTORY = "src/test/resources/calculator";
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testCachedConversionsMatchUncachedConversions() throws Exception {
+
+        ConversionCache conversionCache = new ConversionCache();
+        List<String> wsdlPaths = getWSDLPaths();
+        for (String wsdlPath : wsdlPaths) {
+            SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath,
+                    "Test API", "1.0.0", ConversionOptions.builder().conversionCache(conversionCache).build());
+            assertEquals(toYaml(SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath, "Test API", "1.0.0")),
+                    toYaml(conversionData), "Cached conversion of " + wsdlPath + " differs from the conversion");
+            SOAPtoRESTConversionData cachedData = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath,
+                    "Test API", "1.0.0", ConversionOptions.builder().conversionCache(conversionCache).build());
+            assertNotSame(conversionData, cachedData);
+            assertEquals(conversionData.getOASString(), cachedData.getOASString(), wsdlPath);
+            assertEquals(toXML(conversionData), toXML(cachedData), wsdlPath);
+        }
+        assertEquals(wsdlPaths.size(), conversionCache.getConversionMissCount());
+        assertEquals(wsdlPaths.size(), conversionCache.getConversionHitCount());
+        assertEquals(wsdlPaths.size(), conversionCache.getConversionCount());
+    }
+
+    @Test
+    void testChangedImportIsConvertedAgain() throws Exception {
+
+        ConversionCache conversionCache = new ConversionCache();
+        String wsdlPath = copyCalculator(new File(tempDir, "calculator"));
+        SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath,
+                "Test API", "1.0.0", ConversionOptions.builder().conversionCache(conversionCache).build());
+        assertEquals(2, conversionCache.getSchemaMissCount());
+
+        // Another API of the same WSDL is converted again, but reads its schemas from the cache
+        SOAPtoRESTConversionData otherVersion = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath,
+                "Test API", "2.0.0", ConversionOptions.builder().conversionCache(conversionCache).build());
+        assertNotSame(conversionData, otherVersion);
+        assertEquals("2.0.0", otherVersion.getOpenAPI().getInfo().getVersion());
+        assertEquals(2, conversionCache.getConversionMissCount());
+        assertEquals(2, conversionCache.getSchemaHitCount());
+
+        File xsdFile = new File(tempDir, "calculator/calculator.xsd");
+        String xsd = new String(Files.readAllBytes(xsdFile.toPath()), StandardCharsets.UTF_8);
+        Files.write(xsdFile.toPath(), xsd.replace("name=\"intA\"", "name=\"changedIntA\"")
+                .getBytes(StandardCharsets.UTF_8));
+        SOAPtoRESTConversionData changedConversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath,
+                "Test API", "1.0.0", ConversionOptions.builder().conversionCache(conversionCache).build());
+        assertNotSame(conversionData, changedConversionData);
+        assertEquals(3, conversionCache.getConversionMissCount());
+        assertTrue(toYaml(changedConversionData).contains("changedIntA"));
+        assertFalse(toYaml(conversionData).contains("changedIntA"));
+    }
+
+    @Test
+    void testIdenticalContentAndEviction() throws Exception {
+
+        ConversionCache conversionCache = new ConversionCache(1, 16);
+        SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(
+                copyCalculator(new File(tempDir, "first")), "Test API", "1.0.0",
+                ConversionOptions.builder().conversionCache(conversionCache).build());
+        // A copy of the same documents at another location has the same content hash
+        assertEquals(toYaml(conversionData), toYaml(SOAPToRESTConverter.getSOAPtoRESTConversionData(
+                copyCalculator(new File(tempDir, "second")), "Test API", "1.0.0",
+                ConversionOptions.builder().conversionCache(conversionCache).build())));
+
+        // Only one conversion is kept, so converting another WSDL evicts the calculator
+        SOAPToRESTConverter.getSOAPtoRESTConversionData("src/test/resources/complex/nested.wsdl", "Test API",
+                "1.0.0", ConversionOptions.builder().conversionCache(conversionCache).build());
+        assertNotSame(conversionData, SOAPToRESTConverter.getSOAPtoRESTConversionData(
+                CALCULATOR_DIRECTORY + "/calculator.wsdl", "Test API", "1.0.0",
+                ConversionOptions.builder().conversionCache(conversionCache).build()));
+        assertEquals(1, conversionCache.getConversionHitCount());
+        assertEquals(3, conversionCache.getConversionMissCount());
+        assertEquals(1, conversionCache.getConversionCount());
+    }
+
+    @Test
+    void testCachedConversionsAreCopies() throws Exception {
+
+        ConversionCache conversionCache = new ConversionCache();
+        ConversionOptions options = ConversionOptions.builder().conversionCache(conversionCache).build();
+        String wsdlPath = CALCULATOR_DIRECTORY + "/calculator.wsdl";
+        SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath,
+                "Test API", "1.0.0", options);
+        String oasString = conversionData.getOASString();
+        String soapRequestBodies = toXML(conversionData);
+
+        // Changes of the result of a miss and of a hit are not in the results of later hits
+        conversionData.getOpenAPI().getInfo().setTitle("Changed API");
+        clearSOAPRequestBodies(conversionData);
+        SOAPtoRESTConversionData cachedData = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath,
+                "Test API", "1.0.0", options);
+        assertEquals(oasString, cachedData.getOASString());
+        assertEquals(soapRequestBodies, toXML(cachedData));
+        // The names of the schemas, which are not serialized, are copied as well
+        for (Map.Entry<String, Schema> schema : cachedData.getOpenAPI().getComponents().getSchemas().entrySet()) {
+            assertEquals(schema.getKey(), schema.getValue().getName());
+        }
+        cachedData.getOpenAPI().getComponents().getSchemas().values().iterator().next().setName("changed");
+        cachedData.getOpenAPI().getComponents().getSchemas().clear();
+        clearSOAPRequestBodies(cachedData);
+
+        SOAPtoRESTConversionData otherCachedData = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath,
+                "Test API", "1.0.0", options);
+        assertEquals(oasString, otherCachedData.getOASString());
+        assertEquals(soapRequestBodies, toXML(otherCachedData));
+        assertEquals(toYaml(SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath, "Test API", "1.0.0")),
+                toYaml(otherCachedData));
+        assertEquals(2, conversionCache.getConversionHitCount());
+    }
+
+    private List<String> getWSDLPaths() throws Exception {
+
+        List<String> wsdlPaths = new ArrayList<>();
+        wsdlPaths.add(CALCULATOR_DIRECTORY + "/calculator.wsdl");
+        wsdlPaths.add("src/test/resources/complex/nested.wsdl");
+        wsdlPaths.add("src/test/resources/complex/arrays.wsdl");
+        wsdlPaths.add("src/test/resources/complex/groups.wsdl");
+        wsdlPaths.add("src/test/resources/complex/choice.wsdl");
+        wsdlPaths.add("src/test/resources/namespaces/shipments.wsdl");
+        for (int i = 0; i < 2; i++) {
+            SyntheticWSDLGenerator generator = new SyntheticWSDLGenerator();
+            generator.setOperationCount(10);
+            generator.setTypeCount(8);
+            generator.setArrayFanOut(i);
+            generator.setRpcStyle(i == 1);
+            wsdlPaths.add(generator.generate(new File(tempDir, "generated" + i)).getPath());
+        }
+        return wsdlPaths;
+    }
+
+    private static String copyCalculator(File directory) throws Exception {
+
+        Files.createDirectories(directory.toPath());
+        for (String fileName : new String[]{"calculator.wsdl", "calculator.xsd"}) {
+            Files.copy(new File(CALCULATOR_DIRECTORY, fileName).toPath(), new File(directory, fileName).toPath());
+        }
+        return new File(directory, "calculator.wsdl").getPath();
+    }
+
+    private static void clearSOAPRequestBodies(SOAPtoRESTConversionData conversionData) {
+
+        for (Map.Entry<String, SOAPRequestElement> entry : conversionData.getAllSOAPRequestBodies()) {
+            Document soapRequestBody = entry.getValue().getSoapRequestBody();
+            soapRequestBody.removeChild(soapRequestBody.getDocumentElement());
+        }
+    }
+
+    private static String toXML(SOAPtoRESTConversionData conversionData) throws Exception {
+
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        Map<String, SOAPRequestElement> soapRequestBodies = new TreeMap<>();
+        for (Map.Entry<String, SOAPRequestElement> entry : conversionData.getAllSOAPRequestBodies()) {
+            soapRequestBodies.put(entry.getKey(), entry.getValue());
+        }
+        StringWriter writer = new StringWriter();
+        for (Map.Entry<String, SOAPRequestElement> entry : soapRequestBodies.entrySet()) {
+            writer.write(entry.getKey());
+            transformer.transform(new DOMSource(entry.getValue().getSoapRequestBody()), new StreamResult(writer));
+        }
+        return writer.toString();
+    }
+
+    private static String toYaml(SOAPtoRESTConversionData conversionData) {
+
+        OpenAPI openAPI = conversionData.getOpenAPI();
+        return Yaml.pretty(openAPI.getInfo()) + Yaml.pretty(new TreeMap<>(openAPI.getPaths())) +
+                Yaml.pretty(openAPI.getComponents());
+    }
+}
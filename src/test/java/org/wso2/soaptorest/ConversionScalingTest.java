@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Node;
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+import org.wso2.soaptorest.models.SOAPRequestElement;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+import org.wso2.soaptorest.utils.SyntheticWSDLGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Grows one dimension of a generated WSDL at a time and checks that the output of the conversion grows close to
+ * linearly with it. The output is measured by counts that do not depend on the machine, the length of the OpenAPI
+ * and the number of nodes of the SOAP payloads, so a type that is written again for every use of it fails the test
+ * while a slow machine does not. A dimension that grows by {@link #GROWTH_FACTOR} may grow the output at most
+ * {@link #ALLOWED_OVERHEAD} times more than linear, which still fails for quadratic behaviour. The conversion time and
+ * the allocated heap of the same WSDL files are measured by {@code ConversionScalingBenchmark} of the benchmark
+ * module.
+ */
+class ConversionScalingTest {
+
+    private static final int GROWTH_FACTOR = 4;
+    private static final double ALLOWED_OVERHEAD = 2.0;
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testOperationCountScaling() throws Exception {
+
+        assertNearLinearScaling("operations", 50, size -> {
+            SyntheticWSDLGenerator generator = new SyntheticWSDLGenerator();
+            generator.setOperationCount(size);
+            generator.setTypeCount(40);
+            return generator;
+        });
+    }
+
+    @Test
+    void testTypeCountScaling() throws Exception {
+
+        assertNearLinearScaling("types", 50, size -> {
+            SyntheticWSDLGenerator generator = new SyntheticWSDLGenerator();
+            generator.setOperationCount(40);
+            generator.setTypeCount(size);
+            return generator;
+        });
+    }
+
+    @Test
+    void testNestingDepthScaling() throws Exception {
+
+        assertNearLinearScaling("nesting depth", 4, size -> {
+            SyntheticWSDLGenerator generator = new SyntheticWSDLGenerator();
+            generator.setOperationCount(4);
+            generator.setTypeCount(size * 4);
+            generator.setNestingDepth(size);
+            return generator;
+        });
+    }
+
+    @Test
+    void testArrayFanOutScaling() throws Exception {
+
+        assertNearLinearScaling("array fan-out", 4, size -> {
+            SyntheticWSDLGenerator generator = new SyntheticWSDLGenerator();
+            generator.setOperationCount(20);
+            generator.setTypeCount(40);
+            generator.setArrayFanOut(size);
+            return generator;
+        });
+    }
+
+    @Test
+    void testChoiceTypeScaling() throws Exception {
+
+        assertNearLinearScaling("choice types", 25, size -> {
+            SyntheticWSDLGenerator generator = new SyntheticWSDLGenerator();
+            generator.setOperationCount(size);
+            generator.setTypeCount(size);
+            generator.setChoiceDensity(0.5);
+            return generator;
+        });
+    }
+
+    @Test
+    void testGroupTypeScaling() throws Exception {
+
+        assertNearLinearScaling("group types", 25, size -> {
+            SyntheticWSDLGenerator generator = new SyntheticWSDLGenerator();
+            generator.setOperationCount(size);
+            generator.setTypeCount(size);
+            generator.setGroupDensity(0.5);
+            return generator;
+        });
+    }
+
+    @Test
+    void testImportChainScaling() throws Exception {
+
+        assertNearLinearScaling("import chain length", 2, size -> {
+            SyntheticWSDLGenerator generator = new SyntheticWSDLGenerator();
+            generator.setOperationCount(size * 4);
+            generator.setTypeCount(size * 4);
+            generator.setImportChainLength(size);
+            return generator;
+        });
+    }
+
+    private void assertNearLinearScaling(String dimension, int baseSize,
+                                         IntFunction<SyntheticWSDLGenerator> generatorForSize) throws Exception {
+
+        int grownSize = baseSize * GROWTH_FACTOR;
+        OutputSize base = convert(generatorForSize.apply(baseSize), "base");
+        OutputSize grown = convert(generatorForSize.apply(grownSize), "grown");
+        double allowedRatio = GROWTH_FACTOR * ALLOWED_OVERHEAD;
+        double oasRatio = (double) grown.oasLength / base.oasLength;
+        double payloadRatio = (double) grown.payloadNodes / base.payloadNodes;
+        assertTrue(oasRatio > 1, "The OpenAPI did not grow when the " + dimension + " grew from " + baseSize + " to "
+                + grownSize);
+        assertTrue(oasRatio <= allowedRatio, "The OpenAPI grew " + oasRatio + " times when the " + dimension
+                + " grew from " + baseSize + " to " + grownSize);
+        assertTrue(payloadRatio <= allowedRatio, "The SOAP payloads grew " + payloadRatio + " times when the "
+                + dimension + " grew from " + baseSize + " to " + grownSize);
+    }
+
+    private OutputSize convert(SyntheticWSDLGenerator generator, String name) throws IOException,
+            SOAPToRESTException {
+
+        String wsdlPath = generator.generate(new File(tempDir, name)).getPath();
+        SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath,
+                "Test API", "1.0.0");
+        assertEquals(generator.getOperationCount(), conversionData.getAllSOAPRequestBodies().size());
+
+        OutputSize outputSize = new OutputSize();
+        outputSize.oasLength = conversionData.getOASString().length();
+        for (Map.Entry<String, SOAPRequestElement> entry : conversionData.getAllSOAPRequestBodies()) {
+            outputSize.payloadNodes += countNodes(entry.getValue().getSoapRequestBody());
+        }
+        return outputSize;
+    }
+
+    private static long countNodes(Node node) {
+
+        long count = 1;
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            count += countNodes(child);
+        }
+        return count;
+    }
+
+    private static class OutputSize {
+
+        long oasLength;
+        long payloadNodes;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+import org.wso2.soaptorest.utils.DiskDocumentCache;
+import org.wso2.soaptorest.utils.ImportResolver;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+/**
+ * Tests the revalidation of cached WSDL and XSD documents against a local HTTP server that answers conditional
+ * requests. The WSDL has an entity tag and the XSD documents have a modification time.
+ */
+class DiskDocumentCacheTest {
+
+    private static final String[] DOCUMENTS = {"orders.wsdl", "types/order.xsd", "types/receipt.xsd",
+            "types/item.xsd"};
+
+    @TempDir
+    File tempDir;
+
+    private HttpServer server;
+    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger notModifiedCount = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::serve);
+        server.start();
+        for (String document : DOCUMENTS) {
+            File file = new File(tempDir, "server/" + document);
+            file.getParentFile().mkdirs();
+            Files.copy(new File("src/test/resources/imports", document).toPath(), file.toPath());
+        }
+    }
+
+    @AfterEach
+    void stopServer() {
+
+        server.stop(0);
+    }
+
+    @Test
+    void testUnchangedDocumentsAreRevalidated() throws Exception {
+
+        URL wsdlURL = new URL("http://localhost:" + server.getAddress().getPort() + "/orders.wsdl");
+        String cachePath = new File(tempDir, "cache").getPath();
+        DiskDocumentCache documentCache = new DiskDocumentCache(cachePath);
+        ConversionCache conversionCache = new ConversionCache();
+        ImportResolver cachingResolver = ImportResolver.builder().maxConcurrentFetches(4).fetchTimeoutMillis(5000)
+                .deadlineMillis(30000).documentCache(documentCache).build();
+        SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlURL,
+                "Test API", "1.0.0",
+                ConversionOptions.builder().conversionCache(conversionCache).importResolver(cachingResolver).build());
+        assertEquals(4, documentCache.getMissCount());
+        assertEquals(0, notModifiedCount.get());
+
+        // A cache of another process reads the documents the first one stored
+        DiskDocumentCache reopenedCache = new DiskDocumentCache(cachePath);
+        ImportResolver importResolver = ImportResolver.builder().maxConcurrentFetches(4).fetchTimeoutMillis(5000)
+                .deadlineMillis(30000).documentCache(reopenedCache).build();
+        assertEquals(conversionData.getOASString(), SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlURL,
+                "Test API", "1.0.0", ConversionOptions.builder().conversionCache(conversionCache)
+                        .importResolver(importResolver).build()).getOASString());
+        assertEquals(4, reopenedCache.getHitCount());
+        assertEquals(0, reopenedCache.getMissCount());
+        assertEquals(4, notModifiedCount.get());
+        assertEquals(1, conversionCache.getConversionHitCount());
+        for (String document : DOCUMENTS) {
+            assertEquals(2, requestCounts.get("/" + document).get(), document);
+        }
+
+        // A changed document is downloaded and converted again
+        File itemFile = new File(tempDir, "server/types/item.xsd");
+        Files.write(itemFile.toPath(), "<!-- changed -->".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        itemFile.setLastModified(itemFile.lastModified() + 10000);
+        assertNotSame(conversionData, SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlURL, "Test API", "1.0.0",
+                ConversionOptions.builder().conversionCache(conversionCache).importResolver(importResolver).build()));
+        assertEquals(7, reopenedCache.getHitCount());
+        assertEquals(1, reopenedCache.getMissCount());
+        assertEquals(2, conversionCache.getConversionMissCount());
+    }
+
+    /**
+     * Answers a request with the file of its path, or with 304 Not Modified if the validator of the request matches.
+     */
+    private void serve(HttpExchange exchange) throws IOException {
+
+        String path = exchange.getRequestURI().getPath();
+        requestCounts.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+        try {
+            File file = new File(tempDir, "server" + path);
+            if (!file.isFile()) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            byte[] content = Files.readAllBytes(file.toPath());
+            String validator;
+            String requestValidator;
+            if (path.endsWith(".wsdl")) {
+                validator = "\"" + content.length + '-' + file.lastModified() + "\"";
+                exchange.getResponseHeaders().set("ETag", validator);
+                requestValidator = exchange.getRequestHeaders().getFirst("If-None-Match");
+            } else {
+                validator = DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(file.lastModified())
+                        .atZone(ZoneOffset.UTC));
+                exchange.getResponseHeaders().set("Last-Modified", validator);
+                requestValidator = exchange.getRequestHeaders().getFirst("If-Modified-Since");
+            }
+            if (validator.equals(requestValidator)) {
+                notModifiedCount.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, content.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(content);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+}
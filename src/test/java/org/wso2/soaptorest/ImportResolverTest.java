@@ -0,0 +1,392 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+import org.wso2.soaptorest.utils.ImportResolver;
+import org.wso2.soaptorest.utils.ResolvedDocuments;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the conversions of WSDL files whose XSD documents are served by a local HTTP server that answers every request
+ * after a delay, like a remote server would.
+ */
+class ImportResolverTest {
+
+    private static final int LATENCY_MILLIS = 500;
+    private static final int IMPORT_COUNT = 8;
+
+    @TempDir
+    File tempDir;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private final AtomicInteger maxActiveRequests = new AtomicInteger();
+    private volatile int latencyMillis = LATENCY_MILLIS;
+
+    @BeforeEach
+    void startServer() throws IOException {
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext("/", this::serve);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void testImportsAreFetchedInParallel() throws Exception {
+
+        writeFanOutWSDL();
+        URL wsdlURL = getServerURL("fanout.wsdl");
+
+        ImportResolver importResolver = new ImportResolver();
+        ResolvedDocuments resolvedDocuments = importResolver.resolve(wsdlURL);
+        // The imports of the WSDL are fetched at the same time, after the WSDL itself
+        assertEquals(IMPORT_COUNT, maxActiveRequests.get());
+        assertEquals(IMPORT_COUNT, resolvedDocuments.getDocumentCount());
+
+        requestCounts.clear();
+        SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlURL,
+                "Test API", "1.0.0", ConversionOptions.builder().importResolver(importResolver).build());
+        for (int i = 0; i < IMPORT_COUNT; i++) {
+            assertEquals(1, requestCounts.get("/type" + i + ".xsd").get(), "type" + i + ".xsd");
+        }
+
+        latencyMillis = 0;
+        SOAPtoRESTConversionData sequentialConversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(
+                wsdlURL, "Test API", "1.0.0", null);
+        assertEquals(toYaml(sequentialConversionData), toYaml(conversionData));
+    }
+
+    @Test
+    void testConversionsOfServedImports() throws Exception {
+
+        latencyMillis = 50;
+        copyResource("imports/orders.wsdl", "orders.wsdl");
+        for (String xsd : new String[]{"order.xsd", "receipt.xsd", "item.xsd"}) {
+            copyResource("imports/types/" + xsd, "types/" + xsd);
+        }
+        URL wsdlURL = getServerURL("orders.wsdl");
+        String expectedYaml = toYaml(SOAPToRESTConverter.getSOAPtoRESTConversionData(
+                "src/test/resources/imports/orders.wsdl", "Test API", "1.0.0"));
+
+        ImportResolver importResolver = ImportResolver.builder().maxConcurrentFetches(2).fetchTimeoutMillis(5000)
+                .deadlineMillis(30000).build();
+        for (boolean streaming : new boolean[]{false, true}) {
+            requestCounts.clear();
+            maxActiveRequests.set(0);
+            assertEquals(expectedYaml, toYaml(SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlURL, "Test API",
+                    "1.0.0", ConversionOptions.builder().streaming(streaming).importResolver(importResolver).build())));
+            // The readers take the documents from the resolver, which fetches every document once
+            for (Map.Entry<String, AtomicInteger> requestCount : requestCounts.entrySet()) {
+                assertEquals(1, requestCount.getValue().get(), requestCount.getKey());
+            }
+            assertEquals(4, requestCounts.size());
+            assertTrue(maxActiveRequests.get() <= 2, maxActiveRequests + " concurrent requests");
+        }
+
+        // The content hash is computed from the fetched documents
+        ConversionCache conversionCache = new ConversionCache();
+        SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlURL,
+                "Test API", "1.0.0",
+                ConversionOptions.builder().conversionCache(conversionCache).importResolver(importResolver).build());
+        assertEquals(expectedYaml, toYaml(conversionData));
+        assertEquals(expectedYaml, toYaml(SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlURL, "Test API",
+                "1.0.0", ConversionOptions.builder().conversionCache(conversionCache).importResolver(importResolver)
+                        .build())));
+        assertEquals(1, conversionCache.getConversionHitCount());
+    }
+
+    @Test
+    void testFetchTimeout() throws Exception {
+
+        writeFanOutWSDL();
+        latencyMillis = 3000;
+        ImportResolver importResolver = ImportResolver.builder().maxConcurrentFetches(IMPORT_COUNT)
+                .fetchTimeoutMillis(500).deadlineMillis(30000).build();
+        // The WSDL itself is not delayed, the imports time out like documents that cannot be read
+        ResolvedDocuments resolvedDocuments = importResolver.resolve(getServerURL("fanout.wsdl"));
+        assertEquals(0, resolvedDocuments.getDocumentCount());
+        assertThrows(SocketTimeoutException.class, () -> resolvedDocuments.readContent(getServerURL("type0.xsd")));
+        SOAPToRESTException exception = assertThrows(SOAPToRESTException.class,
+                () -> SOAPToRESTConverter.getSOAPtoRESTConversionData(getServerURL("fanout.wsdl"), "Test API",
+                        "1.0.0", ConversionOptions.builder().importResolver(importResolver).build()));
+        assertEquals("Cannot process the provide WSDL file", exception.getMessage());
+    }
+
+    @Test
+    void testDeadline() throws Exception {
+
+        writeFanOutWSDL();
+        latencyMillis = 3000;
+        ImportResolver importResolver = ImportResolver.builder().maxConcurrentFetches(IMPORT_COUNT)
+                .fetchTimeoutMillis(10000).deadlineMillis(500).build();
+        // The fetches would complete within their timeout, so only the deadline fails the conversion
+        SOAPToRESTException exception = assertThrows(SOAPToRESTException.class,
+                () -> SOAPToRESTConverter.getSOAPtoRESTConversionData(getServerURL("fanout.wsdl"), "Test API",
+                        "1.0.0", ConversionOptions.builder().streaming(true).importResolver(importResolver).build()));
+        assertEquals(SOAPToRESTException.class, exception.getClass());
+        assertNull(exception.getCause());
+        assertTrue(exception.getMessage().contains("deadline of 500 ms"), exception.getMessage());
+    }
+
+    @Test
+    void testWithoutTimeouts() throws Exception {
+
+        writeFanOutWSDL();
+        latencyMillis = 300;
+        // A resolver without timeouts waits for the documents however long they take, like a conversion without one
+        ImportResolver importResolver = ImportResolver.builder().maxConcurrentFetches(IMPORT_COUNT)
+                .fetchTimeoutMillis(ImportResolver.NO_FETCH_TIMEOUT).deadlineMillis(ImportResolver.NO_DEADLINE).build();
+        SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(
+                getServerURL("fanout.wsdl"), "Test API", "1.0.0",
+                ConversionOptions.builder().importResolver(importResolver).build());
+        assertEquals(toYaml(SOAPToRESTConverter.getSOAPtoRESTConversionData(getServerURL("fanout.wsdl"),
+                "Test API", "1.0.0")), toYaml(conversionData));
+        assertThrows(IllegalArgumentException.class, () -> ImportResolver.builder().fetchTimeoutMillis(-1)
+                .deadlineMillis(ImportResolver.NO_DEADLINE).build());
+    }
+
+    @Test
+    void testWSDLImports() throws Exception {
+
+        latencyMillis = 50;
+        String expectedYaml = toYaml(SOAPToRESTConverter.getSOAPtoRESTConversionData(
+                "src/test/resources/imports/orders.wsdl", "Test API", "1.0.0"));
+        // The WSDL of the same operations split across three WSDL documents, which import each other in a cycle
+        ImportResolver importResolver = ImportResolver.builder().maxConcurrentFetches(4).fetchTimeoutMillis(5000)
+                .deadlineMillis(30000).resolveWSDLImports(true).build();
+        for (boolean streaming : new boolean[]{false, true}) {
+            assertEquals(expectedYaml, toYaml(SOAPToRESTConverter.getSOAPtoRESTConversionData(
+                    "src/test/resources/wsdl-imports/orders-service.wsdl", "Test API", "1.0.0",
+                    ConversionOptions.builder().streaming(streaming).importResolver(importResolver).build())));
+        }
+
+        copyWSDLImportResources();
+        URL wsdlURL = getServerURL("wsdl-imports/orders-service.wsdl");
+        ConversionCache conversionCache = new ConversionCache();
+        SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlURL,
+                "Test API", "1.0.0",
+                ConversionOptions.builder().conversionCache(conversionCache).importResolver(importResolver).build());
+        assertEquals(expectedYaml, toYaml(conversionData));
+        // Every document is fetched once, however many documents import it
+        for (Map.Entry<String, AtomicInteger> requestCount : requestCounts.entrySet()) {
+            assertEquals(1, requestCount.getValue().get(), requestCount.getKey());
+        }
+        assertEquals(6, requestCounts.size());
+
+        // The content hash covers the imported WSDL documents
+        assertEquals(toYaml(conversionData), toYaml(SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlURL,
+                "Test API", "1.0.0", ConversionOptions.builder().conversionCache(conversionCache)
+                        .importResolver(importResolver).build())));
+        Files.write(new File(tempDir, "wsdl-imports/orders-interface.wsdl").toPath(), "<!-- changed -->"
+                .getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlURL, "Test API", "1.0.0",
+                ConversionOptions.builder().conversionCache(conversionCache).importResolver(importResolver).build());
+        assertEquals(1, conversionCache.getConversionHitCount());
+        assertEquals(2, conversionCache.getConversionMissCount());
+    }
+
+    @Test
+    void testImportedWSDLWithDocumentType() throws Exception {
+
+        latencyMillis = 0;
+        copyWSDLImportResources();
+        write("secret.txt", "secret");
+        String secretEntity = "<!DOCTYPE definitions [<!ENTITY secret SYSTEM \"" + getServerURL("secret.txt") +
+                "\">]>";
+        File interfaceFile = new File(tempDir, "wsdl-imports/orders-interface.wsdl");
+        String interfaceWSDL = new String(Files.readAllBytes(interfaceFile.toPath()), StandardCharsets.UTF_8);
+        write("wsdl-imports/orders-interface.wsdl", interfaceWSDL.replace("<definitions", secretEntity +
+                "<definitions").replace("<message ", "<documentation>&secret;</documentation><message "));
+        ImportResolver importResolver = ImportResolver.builder().maxConcurrentFetches(1).fetchTimeoutMillis(5000)
+                .deadlineMillis(30000).resolveWSDLImports(true).build();
+        // An imported WSDL document is parsed with the secured parser, and fails the WSDL if it declares entities
+        SOAPToRESTException exception = assertThrows(SOAPToRESTException.class,
+                () -> SOAPToRESTConverter.getSOAPtoRESTConversionData(getServerURL(
+                        "wsdl-imports/orders-service.wsdl"), "Test API", "1.0.0",
+                        ConversionOptions.builder().importResolver(importResolver).build()));
+        assertEquals("Cannot process the provide WSDL file", exception.getMessage());
+        assertFalse(requestCounts.containsKey("/secret.txt"));
+    }
+
+    @Test
+    void testImportedSchemaWithDocumentType() throws Exception {
+
+        latencyMillis = 0;
+        copyWSDLImportResources();
+        write("secret.txt", "secret");
+        File orderFile = new File(tempDir, "imports/types/order.xsd");
+        String orderXSD = new String(Files.readAllBytes(orderFile.toPath()), StandardCharsets.UTF_8);
+        write("imports/types/order.xsd", orderXSD.replace("<xs:schema", "<!DOCTYPE schema [<!ENTITY secret " +
+                "SYSTEM \"" + getServerURL("secret.txt") + "\">]><xs:schema").replace("<xs:complexType ",
+                "<xs:annotation><xs:documentation>&secret;</xs:documentation></xs:annotation><xs:complexType "));
+        ImportResolver importResolver = ImportResolver.builder().maxConcurrentFetches(1).fetchTimeoutMillis(5000)
+                .deadlineMillis(30000).resolveWSDLImports(true).build();
+        // The WSDL reader is given a schema the WSDL refers to only if the secured parser reads it without entities
+        assertThrows(SOAPToRESTException.class, () -> SOAPToRESTConverter.getSOAPtoRESTConversionData(
+                getServerURL("wsdl-imports/orders-service.wsdl"), "Test API", "1.0.0",
+                ConversionOptions.builder().importResolver(importResolver).build()));
+        assertFalse(requestCounts.containsKey("/secret.txt"));
+    }
+
+    /**
+     * Answers a request with the file of its path in the temporary directory, after the latency. The WSDL files are
+     * answered at once. The largest number of requests that were answered at the same time is kept, to check how many
+     * documents are fetched concurrently.
+     */
+    private void serve(HttpExchange exchange) throws IOException {
+
+        String path = exchange.getRequestURI().getPath();
+        requestCounts.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+        maxActiveRequests.accumulateAndGet(activeRequests.incrementAndGet(), Math::max);
+        try {
+            if (!path.endsWith(".wsdl")) {
+                Thread.sleep(latencyMillis);
+            }
+            File file = new File(tempDir, path.substring(1));
+            if (!file.isFile()) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            byte[] content = Files.readAllBytes(file.toPath());
+            exchange.sendResponseHeaders(200, content.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(content);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // The client has given up on the request
+        } finally {
+            activeRequests.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    /**
+     * Writes a WSDL whose schema imports a number of XSD documents that do not import each other.
+     */
+    private void writeFanOutWSDL() throws IOException {
+
+        StringBuilder imports = new StringBuilder();
+        StringBuilder namespaces = new StringBuilder();
+        StringBuilder sequence = new StringBuilder();
+        for (int i = 0; i < IMPORT_COUNT; i++) {
+            String namespace = "http://example.com/type" + i;
+            namespaces.append(" xmlns:t").append(i).append("=\"").append(namespace).append('"');
+            imports.append("<xsd:import namespace=\"").append(namespace).append("\" schemaLocation=\"type")
+                    .append(i).append(".xsd\"/>");
+            sequence.append("<xsd:element name=\"value").append(i).append("\" type=\"t").append(i).append(":Type")
+                    .append(i).append("\"/>");
+            write("type" + i + ".xsd", "<xsd:schema xmlns:xsd=\"http://www.w3.org/2001/XMLSchema\" " +
+                    "targetNamespace=\"" + namespace + "\"><xsd:complexType name=\"Type" + i + "\"><xsd:sequence>" +
+                    "<xsd:element name=\"name\" type=\"xsd:string\"/><xsd:element name=\"count\" type=\"xsd:int\"/>" +
+                    "</xsd:sequence></xsd:complexType></xsd:schema>");
+        }
+        write("fanout.wsdl", "<definitions xmlns=\"http://schemas.xmlsoap.org/wsdl/\" " +
+                "xmlns:soap=\"http://schemas.xmlsoap.org/wsdl/soap/\" xmlns:tns=\"http://example.com/fanout\" " +
+                "xmlns:xsd=\"http://www.w3.org/2001/XMLSchema\" targetNamespace=\"http://example.com/fanout\" " +
+                "name=\"FanOutService\"><types><xsd:schema targetNamespace=\"http://example.com/fanout\"" +
+                namespaces + ">" + imports + "<xsd:element name=\"get\"><xsd:complexType><xsd:sequence>" + sequence +
+                "</xsd:sequence></xsd:complexType></xsd:element><xsd:element name=\"getResponse\" " +
+                "type=\"t0:Type0\"/></xsd:schema></types><message name=\"get\"><part name=\"parameters\" " +
+                "element=\"tns:get\"/></message><message name=\"getResponse\"><part name=\"parameters\" " +
+                "element=\"tns:getResponse\"/></message><portType name=\"FanOut\"><operation name=\"get\">" +
+                "<input message=\"tns:get\"/><output message=\"tns:getResponse\"/></operation></portType>" +
+                "<binding name=\"FanOutBinding\" type=\"tns:FanOut\"><soap:binding style=\"document\" " +
+                "transport=\"http://schemas.xmlsoap.org/soap/http\"/><operation name=\"get\"><soap:operation " +
+                "soapAction=\"get\"/><input><soap:body use=\"literal\"/></input><output><soap:body " +
+                "use=\"literal\"/></output></operation></binding><service name=\"FanOutService\"><port " +
+                "name=\"FanOutPort\" binding=\"tns:FanOutBinding\"><soap:address " +
+                "location=\"http://localhost/fanout\"/></port></service></definitions>");
+    }
+
+    private void write(String path, String content) throws IOException {
+
+        Files.write(new File(tempDir, path).toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void copyResource(String resourcePath, String path) throws IOException {
+
+        File file = new File(tempDir, path);
+        file.getParentFile().mkdirs();
+        Files.copy(new File("src/test/resources", resourcePath).toPath(), file.toPath());
+    }
+
+    private void copyWSDLImportResources() throws IOException {
+
+        for (String wsdl : new String[]{"orders-service.wsdl", "orders-interface.wsdl", "orders-types.wsdl"}) {
+            copyResource("wsdl-imports/" + wsdl, "wsdl-imports/" + wsdl);
+        }
+        for (String xsd : new String[]{"order.xsd", "receipt.xsd", "item.xsd"}) {
+            copyResource("imports/types/" + xsd, "imports/types/" + xsd);
+        }
+    }
+
+    private URL getServerURL(String path) throws IOException {
+
+        return new URL("http://localhost:" + server.getAddress().getPort() + "/" + path);
+    }
+
+    private static String toYaml(SOAPtoRESTConversionData conversionData) {
+
+        OpenAPI openAPI = conversionData.getOpenAPI();
+        return Yaml.pretty(new TreeMap<>(openAPI.getPaths())) + Yaml.pretty(openAPI.getComponents());
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Element;
+import org.wso2.soaptorest.models.SOAPRequestElement;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+import org.wso2.soaptorest.utils.SyntheticWSDLGenerator;
+
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that an incremental conversion of a changed WSDL gives the result of converting the changed WSDL from scratch
+ * while it reuses the schemas and SOAP payloads that did not change.
+ */
+class IncrementalConversionTest {
+
+    private static final ConversionOptions DIGEST_OPTIONS = ConversionOptions.builder().componentDigests(true).build();
+    private static final String PREVIOUS_MARKER = "previous";
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testChangedTypeIsConvertedAgain() throws Exception {
+
+        File wsdlFile = new File(tempDir, "calculator.wsdl");
+        File xsdFile = new File(tempDir, "calculator.xsd");
+        Files.copy(new File("src/test/resources/calculator/calculator.wsdl").toPath(), wsdlFile.toPath());
+        String xsd = new String(Files.readAllBytes(new File("src/test/resources/calculator/calculator.xsd").toPath()),
+                StandardCharsets.UTF_8);
+        Files.write(xsdFile.toPath(), xsd.getBytes(StandardCharsets.UTF_8));
+        SOAPtoRESTConversionData previousConversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(
+                wsdlFile.getPath(), "Test API", "1.0.0", DIGEST_OPTIONS);
+
+        // Add an optional third operand to the divide type only
+        String divideType = "<xs:complexType name=\"divide\">\n        <xs:sequence>\n";
+        Files.write(xsdFile.toPath(), xsd.replace(divideType, divideType +
+                "            <xs:element name=\"intC\" type=\"xs:int\" minOccurs=\"0\"/>\n")
+                .getBytes(StandardCharsets.UTF_8));
+        SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getUpdatedSOAPtoRESTConversionData(
+                previousConversionData, wsdlFile.getPath(), "Test API", "1.0.0", null);
+
+        SOAPtoRESTConversionData expectedConversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(
+                wsdlFile.getPath(), "Test API", "1.0.0");
+        assertEquals(toString(expectedConversionData), toString(conversionData));
+
+        // The reused schemas and payloads are copies of the marked previous ones, the others are generated again
+        markPrevious(previousConversionData);
+        conversionData = SOAPToRESTConverter.getUpdatedSOAPtoRESTConversionData(previousConversionData,
+                wsdlFile.getPath(), "Test API", "1.0.0", null);
+        Map<String, Schema> schemas = conversionData.getOpenAPI().getComponents().getSchemas();
+        Map<String, Schema> previousSchemas = previousConversionData.getOpenAPI().getComponents().getSchemas();
+        for (String componentName : schemas.keySet()) {
+            assertNotSame(previousSchemas.get(componentName), schemas.get(componentName), componentName);
+            assertEquals("divide".equals(componentName) ? null : PREVIOUS_MARKER,
+                    schemas.get(componentName).getDescription(), componentName);
+        }
+        for (String operationId : new String[]{"add", "subtract", "multiply", "divide"}) {
+            assertNotSame(previousConversionData.getSOAPRequestBody(operationId).getSoapRequestBody(),
+                    conversionData.getSOAPRequestBody(operationId).getSoapRequestBody(), operationId);
+            assertEquals("divide".equals(operationId) ? "" : PREVIOUS_MARKER, conversionData
+                    .getSOAPRequestBody(operationId).getSoapRequestBody().getDocumentElement()
+                    .getAttribute(PREVIOUS_MARKER), operationId);
+        }
+        assertEquals(previousConversionData.getComponentDigests().keySet(),
+                conversionData.getComponentDigests().keySet());
+
+        // Conversions without the option keep no digests
+        assertTrue(expectedConversionData.getComponentDigests().isEmpty());
+
+        // Conversion data without digests is converted from scratch
+        SOAPtoRESTConversionData conversionDataWithoutDigests = new SOAPtoRESTConversionData(
+                previousConversionData.getOpenAPI(), new TreeMap<>(), previousConversionData.getSoapService(),
+                previousConversionData.getSoapPort());
+        assertEquals(toString(expectedConversionData), toString(SOAPToRESTConverter
+                .getUpdatedSOAPtoRESTConversionData(conversionDataWithoutDigests, wsdlFile.getPath(), "Test API",
+                        "1.0.0", null)));
+    }
+
+    @Test
+    void testUnchangedWSDLIsReused() throws Exception {
+
+        SyntheticWSDLGenerator generator = new SyntheticWSDLGenerator();
+        generator.setOperationCount(15);
+        generator.setTypeCount(12);
+        generator.setNestingDepth(3);
+        generator.setArrayFanOut(1);
+        generator.setChoiceDensity(0.3);
+        generator.setGroupDensity(0.3);
+        String wsdlPath = generator.generate(new File(tempDir, "generated")).getPath();
+        SOAPtoRESTConversionData previousConversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath,
+                "Test API", "1.0.0", DIGEST_OPTIONS);
+        String expectedResult = toString(previousConversionData);
+        markPrevious(previousConversionData);
+
+        SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getUpdatedSOAPtoRESTConversionData(
+                previousConversionData, wsdlPath, "Test API", "2.0.0",
+                ConversionOptions.builder().streaming(true).build());
+        assertEquals(previousConversionData.getComponentDigests(), conversionData.getComponentDigests());
+        for (Map.Entry<String, Schema> component :
+                conversionData.getOpenAPI().getComponents().getSchemas().entrySet()) {
+            assertEquals(PREVIOUS_MARKER, component.getValue().getDescription(), component.getKey());
+            component.getValue().setDescription(null);
+        }
+        for (Map.Entry<String, SOAPRequestElement> requestBody : conversionData.getAllSOAPRequestBodies()) {
+            Element documentElement = requestBody.getValue().getSoapRequestBody().getDocumentElement();
+            assertEquals(PREVIOUS_MARKER, documentElement.getAttribute(PREVIOUS_MARKER), requestBody.getKey());
+            documentElement.removeAttribute(PREVIOUS_MARKER);
+        }
+        assertEquals(expectedResult.replace("version: 1.0.0", "version: 2.0.0"), toString(conversionData));
+        // The changes of the result are not in the previous conversion data
+        for (Schema schema : previousConversionData.getOpenAPI().getComponents().getSchemas().values()) {
+            assertEquals(PREVIOUS_MARKER, schema.getDescription());
+        }
+    }
+
+    /**
+     * Marks the schemas and the SOAP payloads of a conversion, so that the ones an incremental conversion reuses can
+     * be told from the ones it generates again.
+     */
+    private static void markPrevious(SOAPtoRESTConversionData conversionData) {
+
+        for (Schema schema : conversionData.getOpenAPI().getComponents().getSchemas().values()) {
+            schema.setDescription(PREVIOUS_MARKER);
+        }
+        for (Map.Entry<String, SOAPRequestElement> requestBody : conversionData.getAllSOAPRequestBodies()) {
+            requestBody.getValue().getSoapRequestBody().getDocumentElement().setAttribute(PREVIOUS_MARKER,
+                    PREVIOUS_MARKER);
+        }
+    }
+
+    /**
+     * Writes the OpenAPI and the SOAP request bodies in a form that does not depend on the iteration order of the
+     * operations.
+     */
+    private static String toString(SOAPtoRESTConversionData conversionData) throws Exception {
+
+        OpenAPI openAPI = conversionData.getOpenAPI();
+        StringBuilder output = new StringBuilder();
+        output.append(Yaml.pretty(openAPI.getInfo()));
+        output.append(Yaml.pretty(new TreeMap<>(openAPI.getPaths())));
+        output.append(Yaml.pretty(openAPI.getComponents()));
+
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+        Map<String, SOAPRequestElement> requestBodies = new TreeMap<>();
+        for (Map.Entry<String, SOAPRequestElement> entry : conversionData.getAllSOAPRequestBodies()) {
+            requestBodies.put(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<String, SOAPRequestElement> entry : requestBodies.entrySet()) {
+            StringWriter writer = new StringWriter();
+            transformer.transform(new DOMSource(entry.getValue().getSoapRequestBody()), new StreamResult(writer));
+            output.append(entry.getKey()).append('\n').append(writer).append('\n');
+        }
+        return output.toString();
+    }
+}
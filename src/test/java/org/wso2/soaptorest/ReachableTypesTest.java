@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.wso2.soaptorest.models.SOAPRequestElement;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+import org.wso2.soaptorest.utils.SyntheticWSDLGenerator;
+
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.File;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the conversions that model only the XSD definitions the operations of a WSDL use. They must leave out the
+ * unused definitions and keep everything else as the conversions of all the definitions generate it.
+ */
+class ReachableTypesTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testUnusedDefinitionsAreLeftOut() throws Exception {
+
+        SyntheticWSDLGenerator generator = new SyntheticWSDLGenerator();
+        generator.setOperationCount(10);
+        generator.setTypeCount(40);
+        generator.setGroupDensity(0.25);
+        generator.setImportChainLength(2);
+        String wsdlPath = generator.generate(tempDir).getPath();
+
+        SOAPtoRESTConversionData conversionData = assertSameAsFullConversion(wsdlPath);
+        // Operation i uses Type(i) and Type(i + 1), and Type11 is the child of Type10
+        Set<String> expectedComponents = new TreeSet<>();
+        for (int i = 0; i < 12; i++) {
+            expectedComponents.add("Type" + i);
+        }
+        for (int i = 0; i < 10; i++) {
+            expectedComponents.add("rootElement_operation" + i + "Request");
+            expectedComponents.add("rootElement_operation" + i + "Response");
+        }
+        // Every fourth type has its content in a group
+        expectedComponents.addAll(Arrays.asList("Group3", "Group7", "Group11"));
+        assertEquals(expectedComponents,
+                new TreeSet<>(conversionData.getOpenAPI().getComponents().getSchemas().keySet()));
+    }
+
+    @Test
+    void testConversionsOfTestResources() throws Exception {
+
+        String[] wsdlPaths = {"src/test/resources/calculator/calculator.wsdl", "src/test/resources/complex/nested.wsdl",
+                "src/test/resources/complex/arrays.wsdl", "src/test/resources/complex/groups.wsdl",
+                "src/test/resources/complex/choice.wsdl", "src/test/resources/imports/orders.wsdl",
+                "src/test/resources/namespaces/shipments.wsdl"};
+        for (String wsdlPath : wsdlPaths) {
+            assertSameAsFullConversion(wsdlPath);
+        }
+    }
+
+    @Test
+    void testCachedConversions() throws Exception {
+
+        SyntheticWSDLGenerator generator = new SyntheticWSDLGenerator();
+        generator.setOperationCount(5);
+        generator.setTypeCount(20);
+        String wsdlPath = generator.generate(tempDir).getPath();
+
+        ConversionCache conversionCache = new ConversionCache();
+        SOAPtoRESTConversionData reachableConversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath,
+                "Test API", "1.0.0",
+                ConversionOptions.builder().conversionCache(conversionCache).reachableTypesOnly(true).build());
+        assertEquals(toYaml(SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath, "Test API", "1.0.0",
+                ConversionOptions.builder().reachableTypesOnly(true).build())), toYaml(reachableConversionData));
+
+        // The schemas cached without their models get them from the conversion of all the definitions
+        SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath,
+                "Test API", "1.0.0", ConversionOptions.builder().conversionCache(conversionCache).build());
+        assertEquals(toYaml(SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath, "Test API", "1.0.0")),
+                toYaml(conversionData));
+        assertEquals(2, conversionCache.getConversionMissCount());
+        assertEquals(2, conversionCache.getSchemaHitCount());
+    }
+
+    /**
+     * Converts the WSDL with and without the unused definitions and checks that they only differ in the components
+     * that are left out.
+     */
+    private static SOAPtoRESTConversionData assertSameAsFullConversion(String wsdlPath) throws Exception {
+
+        SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath,
+                "Test API", "1.0.0");
+        SOAPtoRESTConversionData reachableConversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath,
+                "Test API", "1.0.0", ConversionOptions.builder().reachableTypesOnly(true).build());
+        OpenAPI openAPI = conversionData.getOpenAPI();
+        OpenAPI reachableOpenAPI = reachableConversionData.getOpenAPI();
+        assertEquals(Yaml.pretty(new TreeMap<>(openAPI.getPaths())), Yaml.pretty(new TreeMap<>(reachableOpenAPI
+                .getPaths())), wsdlPath);
+        Map<String, Schema> schemas = openAPI.getComponents().getSchemas();
+        for (Map.Entry<String, Schema> schemaEntry : reachableOpenAPI.getComponents().getSchemas().entrySet()) {
+            assertTrue(schemas.containsKey(schemaEntry.getKey()), schemaEntry.getKey());
+            assertEquals(Yaml.pretty(schemas.get(schemaEntry.getKey())), Yaml.pretty(schemaEntry.getValue()),
+                    schemaEntry.getKey());
+        }
+        assertEquals(getSOAPRequestBodies(conversionData), getSOAPRequestBodies(reachableConversionData), wsdlPath);
+        return reachableConversionData;
+    }
+
+    private static Map<String, String> getSOAPRequestBodies(SOAPtoRESTConversionData conversionData)
+            throws Exception {
+
+        Map<String, String> soapRequestBodies = new TreeMap<>();
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        for (Map.Entry<String, SOAPRequestElement> requestElementEntry : conversionData.getAllSOAPRequestBodies()) {
+            StringWriter writer = new StringWriter();
+            transformer.transform(new DOMSource(requestElementEntry.getValue().getSoapRequestBody()),
+                    new StreamResult(writer));
+            soapRequestBodies.put(requestElementEntry.getKey(), writer.toString());
+        }
+        return soapRequestBodies;
+    }
+
+    private static String toYaml(SOAPtoRESTConversionData conversionData) {
+
+        OpenAPI openAPI = conversionData.getOpenAPI();
+        return Yaml.pretty(new TreeMap<>(openAPI.getPaths())) + Yaml.pretty(openAPI.getComponents());
+    }
+}
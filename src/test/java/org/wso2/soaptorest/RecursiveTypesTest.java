@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.wso2.soaptorest.models.SOAPRequestElement;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+import org.wso2.soaptorest.runtime.SOAPRequestTransformer;
+import org.wso2.soaptorest.runtime.SOAPResponseTransformer;
+import org.wso2.soaptorest.utils.SOAPToRESTConstants;
+
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests a WSDL with recursive types and with a type of 30 levels, each of which has two elements of the type of the
+ * level below. The payload of that type has 2^30 JSON paths, so it is only converted because the paths are cut off.
+ */
+class RecursiveTypesTest {
+
+    private static final String WSDL_PATH = "src/test/resources/recursive/tree.wsdl";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    void testRecursiveTypesAreConverted() throws Exception {
+
+        for (boolean streaming : new boolean[]{false, true}) {
+            SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(WSDL_PATH,
+                    "Test API", "1.0.0", ConversionOptions.builder().streaming(streaming).build());
+            assertEquals(3, conversionData.getAllSOAPRequestBodies().size());
+
+            // A node has a list of nodes, which ends the path at the first recursive reference
+            assertTrue(toString(conversionData.getSOAPRequestBody("getTree")).contains(
+                    "<child ARRAY_PLACEHOLDER=\"payload.getTree.child\">${child}</child>"));
+            // The paths of the left elements come first and are not cut off
+            StringBuilder leftPath = new StringBuilder("payload.getLevels");
+            for (int i = 0; i < 29; i++) {
+                leftPath.append(".left");
+            }
+            assertTrue(toString(conversionData.getSOAPRequestBody("getLevels")).contains("${" + leftPath + ".a}"));
+        }
+    }
+
+    @Test
+    void testRecursiveMessagesAreTransformed() throws Exception {
+
+        SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(WSDL_PATH,
+                "Test API", "1.0.0");
+        SOAPRequestTransformer requestTransformer = SOAPRequestTransformer.compile(conversionData).get("getTree");
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        requestTransformer.transform(new ByteArrayInputStream("{\"getTree\": {\"name\": \"root\", \"child\": []}}"
+                .getBytes(StandardCharsets.UTF_8)), Collections.emptyMap(), outputStream);
+        assertTrue(outputStream.toString(StandardCharsets.UTF_8.name()).contains("<name>root</name>"));
+
+        Map<String, SOAPResponseTransformer> responseTransformers = SOAPResponseTransformer.compile(conversionData);
+        outputStream.reset();
+        responseTransformers.get("getTree").transform(new ByteArrayInputStream(("<soapenv:Envelope " +
+                "xmlns:soapenv=\"" + SOAPToRESTConstants.SOAP11_NAMESPACE + "\"><soapenv:Body>" +
+                "<getTreeResponse><name>root</name><child><name>a</name><child><name>b</name></child></child>" +
+                "<child><name>c</name></child></getTreeResponse></soapenv:Body></soapenv:Envelope>")
+                .getBytes(StandardCharsets.UTF_8)), outputStream);
+        assertEquals(OBJECT_MAPPER.readTree("{\"getTreeResponse\": {\"name\": \"root\", \"child\": [{\"name\": " +
+                        "\"a\", \"child\": [{\"name\": \"b\"}]}, {\"name\": \"c\"}]}}"),
+                OBJECT_MAPPER.readTree(outputStream.toString(StandardCharsets.UTF_8.name())));
+    }
+
+    private static String toString(SOAPRequestElement soapRequestElement) throws Exception {
+
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        StringWriter writer = new StringWriter();
+        transformer.transform(new DOMSource(soapRequestElement.getSoapRequestBody()), new StreamResult(writer));
+        return writer.toString();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.media.Schema;
+import org.apache.ws.commons.schema.XmlSchema;
+import org.junit.jupiter.api.Test;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests a WSDL whose XSD documents import each other in a diamond, with an item document that two documents import
+ * through differently written locations and that imports one of them back.
+ */
+class SchemaImportTest {
+
+    private static final String WSDL_PATH = "src/test/resources/imports/orders.wsdl";
+
+    @Test
+    void testEveryDocumentIsModelledOnce() throws Exception {
+
+        WSDLProcessor wsdlProcessor = new WSDLProcessor();
+        wsdlProcessor.init(WSDL_PATH);
+        assertEquals(4, wsdlProcessor.wsdlSchemaList.size());
+        assertEquals(4, wsdlProcessor.xsdDataModels.size());
+        Set<String> targetNamespaces = new HashSet<>();
+        for (XmlSchema xmlSchema : wsdlProcessor.wsdlSchemaList) {
+            targetNamespaces.add(xmlSchema.getTargetNamespace());
+        }
+        assertEquals(new HashSet<>(Arrays.asList("http://example.com/orders", "http://example.com/order",
+                "http://example.com/receipt", "http://example.com/item")), targetNamespaces);
+    }
+
+    @Test
+    void testConversionOfCyclicImports() throws Exception {
+
+        SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(WSDL_PATH,
+                "Test API", "1.0.0");
+        Map<String, Schema> schemas = conversionData.getOpenAPI().getComponents().getSchemas();
+        assertTrue(schemas.keySet().containsAll(Arrays.asList("Order", "Receipt", "Item")), schemas.keySet()
+                .toString());
+        assertTrue(schemas.get("Item").getProperties().containsKey("backOrder"));
+
+        ConversionCache conversionCache = new ConversionCache();
+        SOAPtoRESTConversionData cachedConversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(WSDL_PATH,
+                "Test API", "1.0.0", ConversionOptions.builder().conversionCache(conversionCache).build());
+        assertEquals(4, conversionCache.getSchemaMissCount());
+        assertEquals(Yaml.pretty(conversionData.getOpenAPI().getComponents()),
+                Yaml.pretty(cachedConversionData.getOpenAPI().getComponents()));
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import org.junit.jupiter.api.Test;
+import org.wso2.soaptorest.models.SOAPRequestElement;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+import org.wso2.soaptorest.models.XSDataType;
+import org.wso2.soaptorest.models.XSElement;
+import org.wso2.soaptorest.models.XSTypeRegistry;
+
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests the conversions that share the anonymous complex types of the same structure as components.
+ */
+class SharedInlineTypesTest {
+
+    private static final String WSDL_PATH = "src/test/resources/complex/inline.wsdl";
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{[^}]+}");
+
+    @Test
+    void testIdenticalInlineTypesAreShared() throws Exception {
+
+        WSDLProcessor wsdlProcessor = new WSDLProcessor();
+        wsdlProcessor.init(WSDL_PATH);
+        XSTypeRegistry typeRegistry = new XSTypeRegistry(wsdlProcessor.xsdDataModels, true);
+        assertEquals(2, typeRegistry.getSharedInlineTypes().size());
+        for (XSDataType sharedInlineType : typeRegistry.getSharedInlineTypes()) {
+            assertSame(wsdlProcessor.xsdDataModels.get(0), typeRegistry.getSharedInlineTypeModel(sharedInlineType));
+        }
+        assertEquals(0, wsdlProcessor.getTypeRegistry().getSharedInlineTypes().size());
+        // A shared inline type is described by its component in the descriptions of the elements that have it
+        for (XSElement xsElement : wsdlProcessor.xsdDataModels.get(0).getElements()) {
+            String description = typeRegistry.describe(xsElement);
+            assertSame(description, typeRegistry.describe(xsElement));
+            assertEquals(description.contains("_inlineType"),
+                    !wsdlProcessor.getTypeRegistry().describe(xsElement).equals(description), description);
+        }
+
+        SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(WSDL_PATH,
+                "Test API", "1.0.0", ConversionOptions.builder().sharedInlineTypes(true).build());
+        Map<String, Schema> schemas = conversionData.getOpenAPI().getComponents().getSchemas();
+        assertEquals(new HashSet<>(Arrays.asList("rootElement_placeOrder", "rootElement_placeOrderResponse",
+                "rootElement_updateOrder", "rootElement_updateOrderResponse", "address_inlineType",
+                "line_inlineType")), schemas.keySet());
+        // The customer type occurs once, so it stays inline
+        Schema<?> customer = (Schema<?>) schemas.get("rootElement_placeOrder").getProperties().get("customer");
+        assertEquals("object", customer.getType());
+        assertEquals("#/components/schemas/address_inlineType", ((Schema<?>) customer.getProperties()
+                .get("address")).get$ref());
+        assertEquals("#/components/schemas/address_inlineType", ((Schema<?>) schemas
+                .get("rootElement_placeOrderResponse").getProperties().get("shippingAddress")).get$ref());
+        assertEquals("#/components/schemas/line_inlineType", ((Schema<?>) schemas.get("rootElement_updateOrder")
+                .getProperties().get("line")).get$ref());
+        assertEquals(Arrays.asList("orderId", "line"), schemas.get("rootElement_updateOrder").getRequired());
+
+        // The payloads map the same JSON paths to the same SOAP elements
+        SOAPtoRESTConversionData inlineConversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(WSDL_PATH,
+                "Test API", "1.0.0");
+        for (Schema<?> schema : inlineConversionData.getOpenAPI().getComponents().getSchemas().values()) {
+            assertFalse(schema.getName().endsWith("_inlineType"), schema.getName());
+        }
+        Map<String, String> soapRequestBodies = getSOAPRequestBodies(conversionData);
+        Map<String, String> inlineSOAPRequestBodies = getSOAPRequestBodies(inlineConversionData);
+        assertEquals(inlineSOAPRequestBodies.keySet(), soapRequestBodies.keySet());
+        assertEquals(inlineSOAPRequestBodies.get("updateOrder"), soapRequestBodies.get("updateOrder"));
+        for (String operationId : soapRequestBodies.keySet()) {
+            assertEquals(getPlaceholders(inlineSOAPRequestBodies.get(operationId)),
+                    getPlaceholders(soapRequestBodies.get(operationId)), operationId);
+        }
+
+        SOAPtoRESTConversionData streamedConversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(WSDL_PATH,
+                "Test API", "1.0.0", ConversionOptions.builder().streaming(true).sharedInlineTypes(true).build());
+        assertEquals(toYaml(conversionData), toYaml(streamedConversionData));
+    }
+
+    @Test
+    void testCachedConversions() throws Exception {
+
+        ConversionCache conversionCache = new ConversionCache();
+        SOAPtoRESTConversionData sharedConversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(WSDL_PATH,
+                "Test API", "1.0.0",
+                ConversionOptions.builder().conversionCache(conversionCache).sharedInlineTypes(true).build());
+        SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(WSDL_PATH,
+                "Test API", "1.0.0", ConversionOptions.builder().conversionCache(conversionCache).build());
+        assertNotSame(sharedConversionData, conversionData);
+        assertFalse(conversionData.getOpenAPI().getComponents().getSchemas().containsKey("address_inlineType"));
+        assertEquals(toYaml(sharedConversionData), toYaml(SOAPToRESTConverter.getSOAPtoRESTConversionData(WSDL_PATH,
+                "Test API", "1.0.0",
+                ConversionOptions.builder().conversionCache(conversionCache).sharedInlineTypes(true).build())));
+        assertEquals(2, conversionCache.getConversionMissCount());
+        assertEquals(1, conversionCache.getConversionHitCount());
+    }
+
+    @Test
+    void testIncrementalConversion() throws Exception {
+
+        ConversionOptions options = ConversionOptions.builder().sharedInlineTypes(true).componentDigests(true).build();
+        SOAPtoRESTConversionData previousConversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(WSDL_PATH,
+                "Test API", "1.0.0", options);
+        SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getUpdatedSOAPtoRESTConversionData(
+                previousConversionData, WSDL_PATH, "Test API", "1.0.0", options);
+        assertEquals(toYaml(previousConversionData), toYaml(conversionData));
+        assertEquals(previousConversionData.getComponentDigests(), conversionData.getComponentDigests());
+    }
+
+    private static Map<String, String> getSOAPRequestBodies(SOAPtoRESTConversionData conversionData)
+            throws Exception {
+
+        Map<String, String> soapRequestBodies = new TreeMap<>();
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        for (Map.Entry<String, SOAPRequestElement> requestElementEntry : conversionData.getAllSOAPRequestBodies()) {
+            StringWriter writer = new StringWriter();
+            transformer.transform(new DOMSource(requestElementEntry.getValue().getSoapRequestBody()),
+                    new StreamResult(writer));
+            soapRequestBodies.put(requestElementEntry.getKey(), writer.toString());
+        }
+        return soapRequestBodies;
+    }
+
+    private static List<String> getPlaceholders(String soapRequestBody) {
+
+        List<String> placeholders = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER.matcher(soapRequestBody);
+        while (matcher.find()) {
+            placeholders.add(matcher.group());
+        }
+        return placeholders;
+    }
+
+    private static String toYaml(SOAPtoRESTConversionData conversionData) {
+
+        OpenAPI openAPI = conversionData.getOpenAPI();
+        return Yaml.pretty(new TreeMap<>(openAPI.getPaths())) + Yaml.pretty(openAPI.getComponents());
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+import org.wso2.soaptorest.models.SOAPRequestElement;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+import org.wso2.soaptorest.models.WSDLInfo;
+import org.wso2.soaptorest.models.WSDLParameter;
+import org.wso2.soaptorest.models.WSDLSOAPOperation;
+import org.wso2.soaptorest.utils.SOAPOperationExtractingUtil;
+import org.wso2.soaptorest.utils.SyntheticWSDLGenerator;
+
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.File;
+import java.io.StringWriter;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests that the streaming loader gives the same conversions as the DOM based WSDL processor, and that the WSDL files
+ * it does not support are converted by the WSDL processor.
+ */
+class StreamingWSDLLoaderTest {
+
+    private static final String[] WSDL_PATHS = {"src/test/resources/calculator/calculator.wsdl",
+            "src/test/resources/complex/nested.wsdl", "src/test/resources/complex/arrays.wsdl",
+            "src/test/resources/complex/groups.wsdl", "src/test/resources/complex/choice.wsdl",
+            "src/test/resources/imports/orders.wsdl", "src/test/resources/namespaces/shipments.wsdl"};
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testConversionsOfTestResources() throws Exception {
+
+        for (String wsdlPath : WSDL_PATHS) {
+            assertSameAsDOMConversion(wsdlPath);
+        }
+    }
+
+    @Test
+    void testConversionsOfGeneratedWSDLs() throws Exception {
+
+        SyntheticWSDLGenerator generator = new SyntheticWSDLGenerator();
+        generator.setOperationCount(20);
+        generator.setTypeCount(60);
+        generator.setNestingDepth(3);
+        generator.setArrayFanOut(2);
+        generator.setChoiceDensity(0.3);
+        generator.setGroupDensity(0.3);
+        generator.setImportChainLength(3);
+        assertSameAsDOMConversion(generator.generate(new File(tempDir, "document")).getPath());
+
+        generator.setImportChainLength(1);
+        generator.setRpcStyle(true);
+        assertSameAsDOMConversion(generator.generate(new File(tempDir, "rpc")).getPath());
+    }
+
+    @Test
+    void testWSDLInfo() throws Exception {
+
+        for (String wsdlPath : WSDL_PATHS) {
+            WSDLProcessor wsdlProcessor = new WSDLProcessor();
+            wsdlProcessor.init(wsdlPath);
+            WSDLInfo wsdlInfo = new SOAPOperationExtractingUtil().getWsdlInfo(wsdlProcessor.getWsdlDefinition());
+            WSDLInfo streamedWSDLInfo = StreamingWSDLLoader.load(new File(wsdlPath).toURI().toURL(), null)
+                    .getWsdlInfo();
+            assertEquals(wsdlInfo.getVersion(), streamedWSDLInfo.getVersion());
+            assertEquals(wsdlInfo.getSoapService(), streamedWSDLInfo.getSoapService());
+            assertEquals(wsdlInfo.getSoapPort(), streamedWSDLInfo.getSoapPort());
+            assertEquals(wsdlInfo.hasSoapBindingOperations(), streamedWSDLInfo.hasSoapBindingOperations());
+            assertEquals(wsdlInfo.isHasSoap12BindingOperations(), streamedWSDLInfo.isHasSoap12BindingOperations());
+            assertEquals(describeOperations(wsdlInfo), describeOperations(streamedWSDLInfo), wsdlPath);
+        }
+    }
+
+    @Test
+    void testUnsupportedWSDLIsConvertedByWSDLProcessor() throws Exception {
+
+        // A WSDL import, which the WSDL processor does not follow either
+        File wsdlFile = new File(tempDir, "calculator.wsdl");
+        String calculatorWSDL = new String(Files.readAllBytes(new File(WSDL_PATHS[0]).toPath()),
+                StandardCharsets.UTF_8);
+        Files.write(wsdlFile.toPath(), calculatorWSDL.replace("<types>",
+                "<import namespace=\"http://example.com/common\" location=\"common.wsdl\"/><types>")
+                .getBytes(StandardCharsets.UTF_8));
+        Files.copy(new File("src/test/resources/calculator/calculator.xsd").toPath(),
+                new File(tempDir, "calculator.xsd").toPath());
+        assertNull(StreamingWSDLLoader.load(wsdlFile.toURI().toURL(), null));
+        assertEquals(toYaml(SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlFile.getPath(), "Test API",
+                "1.0.0")), toYaml(SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlFile.getPath(), "Test API",
+                "1.0.0", ConversionOptions.builder().streaming(true).build())));
+    }
+
+    @Test
+    void testSupportedWSDLThatCannotBeConvertedFails() throws Exception {
+
+        // A binding without a SOAP binding, which the WSDL processor cannot convert either
+        File wsdlFile = new File(tempDir, "calculator.wsdl");
+        String calculatorWSDL = new String(Files.readAllBytes(new File(WSDL_PATHS[0]).toPath()),
+                StandardCharsets.UTF_8);
+        Files.write(wsdlFile.toPath(), calculatorWSDL.replaceAll("<soap:binding [^>]*/>", "")
+                .getBytes(StandardCharsets.UTF_8));
+        Files.copy(new File("src/test/resources/calculator/calculator.xsd").toPath(),
+                new File(tempDir, "calculator.xsd").toPath());
+        SOAPToRESTException exception = assertThrows(SOAPToRESTException.class,
+                () -> StreamingWSDLLoader.load(wsdlFile.toURI().toURL(), null));
+        assertEquals(assertThrows(SOAPToRESTException.class, () -> SOAPToRESTConverter.getSOAPtoRESTConversionData(
+                wsdlFile.getPath(), "Test API", "1.0.0")).getMessage(), exception.getMessage());
+        assertThrows(SOAPToRESTException.class, () -> SOAPToRESTConverter.getSOAPtoRESTConversionData(
+                wsdlFile.getPath(), "Test API", "1.0.0", ConversionOptions.builder().streaming(true).build()));
+    }
+
+    @Test
+    void testExternalEntitiesAreNotRead() throws Exception {
+
+        File secretFile = new File(tempDir, "secret.txt");
+        Files.write(secretFile.toPath(), "secret".getBytes(StandardCharsets.UTF_8));
+        File wsdlFile = new File(tempDir, "entities.wsdl");
+        String calculatorWSDL = new String(Files.readAllBytes(new File(WSDL_PATHS[0]).toPath()),
+                StandardCharsets.UTF_8);
+        Files.write(wsdlFile.toPath(), calculatorWSDL.replace("<definitions", "<!DOCTYPE definitions [<!ENTITY "
+                + "secret SYSTEM \"" + secretFile.toURI() + "\">]><definitions").replace("name=\"CalculatorService\">",
+                "name=\"CalculatorService\"><documentation>&secret;</documentation>")
+                .getBytes(StandardCharsets.UTF_8));
+        assertNull(StreamingWSDLLoader.load(wsdlFile.toURI().toURL(), null));
+    }
+
+    @Test
+    void testCachedConversions() throws Exception {
+
+        ConversionCache conversionCache = new ConversionCache();
+        String wsdlPath = "src/test/resources/imports/orders.wsdl";
+        SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath,
+                "Test API", "1.0.0",
+                ConversionOptions.builder().conversionCache(conversionCache).streaming(true).build());
+        assertEquals(toYaml(SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath, "Test API", "1.0.0")),
+                toYaml(conversionData));
+        // The streamed schemas are not cached, the conversion is
+        assertEquals(0, conversionCache.getSchemaMissCount());
+        assertEquals(toYaml(conversionData), toYaml(SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath,
+                "Test API", "1.0.0", ConversionOptions.builder().conversionCache(conversionCache).streaming(true)
+                        .build())));
+        assertEquals(1, conversionCache.getConversionMissCount());
+    }
+
+    /**
+     * Converts the WSDL with the streaming loader and with the WSDL processor, with all the definitions and with only
+     * the reachable ones, and checks that the conversions are the same.
+     */
+    private static void assertSameAsDOMConversion(String wsdlPath) throws Exception {
+
+        URL wsdlURL = new File(wsdlPath).getAbsoluteFile().toURI().toURL();
+        assertNotNull(StreamingWSDLLoader.load(wsdlURL, null), wsdlPath);
+        for (boolean reachableTypesOnly : new boolean[]{false, true}) {
+            SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath,
+                    "Test API", "1.0.0", ConversionOptions.builder().reachableTypesOnly(reachableTypesOnly).build());
+            SOAPtoRESTConversionData streamedConversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(
+                    wsdlURL, "Test API", "1.0.0",
+                    ConversionOptions.builder().reachableTypesOnly(reachableTypesOnly).streaming(true).build());
+            assertEquals(toYaml(conversionData), toYaml(streamedConversionData), wsdlPath);
+            assertEquals(getSOAPRequestBodies(conversionData), getSOAPRequestBodies(streamedConversionData),
+                    wsdlPath);
+        }
+    }
+
+    private static Map<String, String> describeOperations(WSDLInfo wsdlInfo) {
+
+        Map<String, String> operations = new TreeMap<>();
+        for (WSDLSOAPOperation operation : wsdlInfo.getSoapBindingOperations()) {
+            StringBuilder description = new StringBuilder();
+            description.append(operation.getSoapAction()).append(' ').append(operation.getStyle()).append(' ')
+                    .append(operation.getTargetNamespace()).append(' ').append(operation.getMessageType());
+            for (WSDLParameter parameter : operation.getInputParameterModel()) {
+                description.append(" in:").append(parameter.getQName()).append(parameter.getMessageType());
+            }
+            for (WSDLParameter parameter : operation.getOutputParameterModel()) {
+                description.append(" out:").append(parameter.getQName()).append(parameter.getMessageType());
+            }
+            operations.put(operation.getName(), description.toString());
+        }
+        return operations;
+    }
+
+    private static Map<String, String> getSOAPRequestBodies(SOAPtoRESTConversionData conversionData)
+            throws Exception {
+
+        Map<String, String> soapRequestBodies = new TreeMap<>();
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        for (Map.Entry<String, SOAPRequestElement> requestElementEntry : conversionData.getAllSOAPRequestBodies()) {
+            SOAPRequestElement soapRequestElement = requestElementEntry.getValue();
+            StringWriter writer = new StringWriter();
+            transformer.transform(new DOMSource(soapRequestElement.getSoapRequestBody()), new StreamResult(writer));
+            soapRequestBodies.put(requestElementEntry.getKey(), soapRequestElement.getSoapAction() + ' ' +
+                    soapRequestElement.getNamespace() + ' ' + soapRequestElement.getSoapNamespace() + ' ' + writer);
+        }
+        return soapRequestBodies;
+    }
+
+    private static String toYaml(SOAPtoRESTConversionData conversionData) {
+
+        OpenAPI openAPI = conversionData.getOpenAPI();
+        return Yaml.pretty(new TreeMap<>(openAPI.getPaths())) + Yaml.pretty(openAPI.getComponents()) +
+                conversionData.getSoapService() + ' ' + conversionData.getSoapPort();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import io.swagger.v3.oas.models.media.Schema;
+import org.junit.jupiter.api.Test;
+import org.wso2.soaptorest.models.SOAPRequestElement;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+import org.wso2.soaptorest.models.XSTypeRegistry;
+
+import javax.xml.namespace.QName;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.StringWriter;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests a WSDL that imports two XSD documents, which define data types and elements of the same local names in
+ * different namespaces.
+ */
+class TypeRegistryTest {
+
+    private static final String WSDL_PATH = "src/test/resources/namespaces/shipments.wsdl";
+    private static final String BILLING_NAMESPACE = "http://example.com/billing";
+    private static final String SHIPPING_NAMESPACE = "http://example.com/shipping";
+
+    @Test
+    void testRegistryLookups() throws Exception {
+
+        WSDLProcessor wsdlProcessor = new WSDLProcessor();
+        wsdlProcessor.init(WSDL_PATH);
+        XSTypeRegistry typeRegistry = wsdlProcessor.getTypeRegistry();
+
+        QName billingAddress = new QName(BILLING_NAMESPACE, "Address");
+        QName shippingAddress = new QName(SHIPPING_NAMESPACE, "Address");
+        assertEquals(billingAddress, typeRegistry.getDataType(billingAddress).getName());
+        assertEquals(shippingAddress, typeRegistry.getDataType(shippingAddress).getName());
+        assertEquals("Address", typeRegistry.getTypeComponentName(billingAddress));
+        assertEquals("Address_2", typeRegistry.getTypeComponentName(shippingAddress));
+        assertEquals("rootElement_note", typeRegistry.getElementComponentName(new QName(BILLING_NAMESPACE, "note")));
+        assertEquals("rootElement_note_2",
+                typeRegistry.getElementComponentName(new QName(SHIPPING_NAMESPACE, "note")));
+        assertNotNull(typeRegistry.getElement(new QName("http://example.com/shipments", "createShipment")));
+        assertNull(typeRegistry.getDataType(new QName("http://example.com/shipments", "Address")));
+    }
+
+    @Test
+    void testSameLocalNamesInDifferentNamespaces() throws Exception {
+
+        SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(WSDL_PATH,
+                "Test API", "1.0.0");
+        Map<String, Schema> schemas = conversionData.getOpenAPI().getComponents().getSchemas();
+        assertTrue(schemas.get("Address").getProperties().containsKey("street"));
+        assertTrue(schemas.get("Address_2").getProperties().containsKey("postcode"));
+        assertEquals("int32", schemas.get("rootElement_note").getFormat());
+        assertNull(schemas.get("rootElement_note_2").getFormat());
+
+        Map<String, Schema> requestProperties = schemas.get("rootElement_createShipment").getProperties();
+        assertEquals("#/components/schemas/Address", requestProperties.get("billingAddress").get$ref());
+        assertEquals("#/components/schemas/Address_2", requestProperties.get("shippingAddress").get$ref());
+        Map<String, Schema> shipmentProperties = schemas.get("Shipment").getProperties();
+        assertEquals("#/components/schemas/Address_2", shipmentProperties.get("address").get$ref());
+        assertEquals("#/components/schemas/note_2", shipmentProperties.get("note").get$ref());
+        assertEquals("#/components/schemas/note",
+                ((Schema<?>) schemas.get("Address").getProperties().get("note")).get$ref());
+
+        assertEquals(1, conversionData.getAllSOAPRequestBodies().size());
+        SOAPRequestElement soapRequestElement = conversionData.getAllSOAPRequestBodies().iterator().next().getValue();
+        StringWriter writer = new StringWriter();
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+        transformer.transform(new DOMSource(soapRequestElement.getSoapRequestBody()), new StreamResult(writer));
+        String soapPayload = writer.toString();
+        assertTrue(soapPayload.contains("<street>"), soapPayload);
+        assertTrue(soapPayload.contains("<postcode>"), soapPayload);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest;
+
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+import org.wso2.soaptorest.utils.ImportResolver;
+import org.wso2.soaptorest.utils.WSDLArchive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the conversions of WSDL files in zip archives, which must be the same as the conversions of the extracted
+ * files.
+ */
+class WSDLArchiveTest {
+
+    private static final String[] ORDER_TYPES = {"imports/types/order.xsd", "imports/types/receipt.xsd",
+            "imports/types/item.xsd"};
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testArchiveFile() throws Exception {
+
+        String expectedYaml = toYaml(SOAPToRESTConverter.getSOAPtoRESTConversionData(
+                "src/test/resources/imports/orders.wsdl", "Test API", "1.0.0"));
+        File archiveFile = new File(tempDir, "orders bundle.zip");
+        Files.write(archiveFile.toPath(), createArchive("imports/orders.wsdl", ORDER_TYPES[0], ORDER_TYPES[1],
+                ORDER_TYPES[2]));
+
+        assertEquals(expectedYaml, toYaml(SOAPToRESTConverter.getSOAPtoRESTConversionDataFromArchive(
+                archiveFile.getPath(), null, "Test API", "1.0.0", null)));
+        try (WSDLArchive archive = WSDLArchive.open(archiveFile.getPath())) {
+            ConversionCache conversionCache = new ConversionCache();
+            SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionDataFromArchive(
+                    archive, "imports/orders.wsdl", "Test API", "1.0.0",
+                    ConversionOptions.builder().conversionCache(conversionCache).streaming(true).build());
+            assertEquals(expectedYaml, toYaml(conversionData));
+            assertEquals(expectedYaml, toYaml(SOAPToRESTConverter.getSOAPtoRESTConversionDataFromArchive(archive,
+                    "imports/orders.wsdl", "Test API", "1.0.0",
+                    ConversionOptions.builder().conversionCache(conversionCache).build())));
+            assertEquals(1, conversionCache.getConversionHitCount());
+        }
+    }
+
+    @Test
+    void testArchiveBuffer() throws Exception {
+
+        String expectedYaml = toYaml(SOAPToRESTConverter.getSOAPtoRESTConversionData(
+                "src/test/resources/imports/orders.wsdl", "Test API", "1.0.0"));
+        byte[] archive = createArchive("wsdl-imports/orders-service.wsdl", "wsdl-imports/orders-interface.wsdl",
+                "wsdl-imports/orders-types.wsdl", ORDER_TYPES[0], ORDER_TYPES[1], ORDER_TYPES[2]);
+        // The archive is read from the position of the buffer
+        ByteBuffer buffer = ByteBuffer.allocateDirect(archive.length + 16);
+        buffer.position(16);
+        buffer.put(archive);
+        buffer.position(16);
+
+        try (WSDLArchive wsdlArchive = WSDLArchive.open(buffer)) {
+            assertEquals(Arrays.asList("wsdl-imports/orders-interface.wsdl", "wsdl-imports/orders-service.wsdl",
+                    "wsdl-imports/orders-types.wsdl"), wsdlArchive.getWSDLEntries());
+            SOAPToRESTException exception = assertThrows(SOAPToRESTException.class,
+                    () -> wsdlArchive.getWSDLURL(null));
+            assertEquals("The WSDL archive has 3 WSDL files " + wsdlArchive.getWSDLEntries() + ", the WSDL file " +
+                    "to convert must be given", exception.getMessage());
+            ImportResolver importResolver = ImportResolver.builder().maxConcurrentFetches(4).fetchTimeoutMillis(5000)
+                    .deadlineMillis(30000).resolveWSDLImports(true).build();
+            assertEquals(expectedYaml, toYaml(SOAPToRESTConverter.getSOAPtoRESTConversionDataFromArchive(
+                    wsdlArchive, "wsdl-imports/orders-service.wsdl", "Test API", "1.0.0",
+                    ConversionOptions.builder().importResolver(importResolver).build())));
+        }
+        SOAPToRESTException exception = assertThrows(SOAPToRESTException.class,
+                () -> SOAPToRESTConverter.getSOAPtoRESTConversionDataFromArchive(ByteBuffer.wrap(archive),
+                        "wsdl-imports/missing.wsdl", "Test API", "1.0.0", null));
+        assertEquals("The WSDL archive has no entry wsdl-imports/missing.wsdl", exception.getMessage());
+    }
+
+    private static byte[] createArchive(String... resourcePaths) throws IOException {
+
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(archive)) {
+            for (String resourcePath : resourcePaths) {
+                zipOutputStream.putNextEntry(new ZipEntry(resourcePath));
+                zipOutputStream.write(Files.readAllBytes(new File("src/test/resources", resourcePath).toPath()));
+                zipOutputStream.closeEntry();
+            }
+        }
+        return archive.toByteArray();
+    }
+
+    private static String toYaml(SOAPtoRESTConversionData conversionData) {
+
+        OpenAPI openAPI = conversionData.getOpenAPI();
+        return Yaml.pretty(new TreeMap<>(openAPI.getPaths())) + Yaml.pretty(openAPI.getComponents());
+    }
+}
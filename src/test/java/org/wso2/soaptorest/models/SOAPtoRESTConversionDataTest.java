@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.models;
+
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.info.Info;
+import org.junit.jupiter.api.Test;
+import org.wso2.soaptorest.SOAPToRESTConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SOAPtoRESTConversionDataTest {
+
+    @Test
+    void testStreamedOASMatchesOASString() throws Exception {
+
+        SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(
+                "src/test/resources/complex/groups.wsdl", "Test API", "1.0.0");
+        String expectedYaml = conversionData.getOASString();
+        String expectedJson = Json.pretty(conversionData.getOpenAPI());
+
+        ClosingTrackingOutputStream outputStream = new ClosingTrackingOutputStream();
+        conversionData.writeOAS(outputStream, SOAPtoRESTConversionData.OASFormat.YAML);
+        assertEquals(expectedYaml, outputStream.toString(StandardCharsets.UTF_8.name()));
+        assertFalse(outputStream.closed);
+        outputStream.reset();
+        conversionData.writeOAS(outputStream, SOAPtoRESTConversionData.OASFormat.JSON);
+        assertEquals(expectedJson, outputStream.toString(StandardCharsets.UTF_8.name()));
+
+        StringWriter writer = new StringWriter();
+        conversionData.writeOAS(writer, SOAPtoRESTConversionData.OASFormat.YAML);
+        assertEquals(expectedYaml, writer.toString());
+    }
+
+    @Test
+    void testSerializedOASIsCached() throws Exception {
+
+        SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(
+                "src/test/resources/calculator/calculator.wsdl", "Test API", "1.0.0");
+        String expectedYaml = conversionData.getOASString();
+        ByteBuffer serializedYaml = conversionData.getSerializedOAS(SOAPtoRESTConversionData.OASFormat.YAML);
+        assertTrue(serializedYaml.isReadOnly());
+        assertEquals(expectedYaml, StandardCharsets.UTF_8.decode(serializedYaml).toString());
+
+        // A change of the OpenAPI after the first serialization is not in the serialized form
+        conversionData.getOpenAPI().setInfo(new Info().title("Changed API").version("2.0.0"));
+        ClosingTrackingOutputStream outputStream = new ClosingTrackingOutputStream();
+        conversionData.writeSerializedOAS(outputStream, SOAPtoRESTConversionData.OASFormat.YAML);
+        assertEquals(expectedYaml, outputStream.toString(StandardCharsets.UTF_8.name()));
+        assertFalse(outputStream.closed);
+        assertEquals(Json.pretty(conversionData.getOpenAPI()), StandardCharsets.UTF_8.decode(
+                conversionData.getSerializedOAS(SOAPtoRESTConversionData.OASFormat.JSON)).toString());
+    }
+
+    private static class ClosingTrackingOutputStream extends ByteArrayOutputStream {
+
+        boolean closed;
+
+        @Override
+        public void close() {
+
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.models;
+
+import org.junit.jupiter.api.Test;
+
+import javax.xml.namespace.QName;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XSModelBuilderTest {
+
+    private static final String NAMESPACE = "http://example.com/orders";
+
+    @Test
+    void testNamesAreInterned() {
+
+        XSModelBuilder modelBuilder = new XSModelBuilder();
+        XSElement order = modelBuilder.element(new QName(new String(NAMESPACE), "order"),
+                new QName(new String(NAMESPACE), "Order", "tns"), null, null, false, false);
+        XSElement copy = modelBuilder.element(new QName(new String(NAMESPACE), "order"),
+                new QName(new String(NAMESPACE), "Order", "tns"), null, null, true, true);
+        XSDataType orderType = modelBuilder.complexType(new QName(NAMESPACE, "Order"), null, null, null, null);
+
+        assertSame(order.getName(), copy.getName());
+        assertSame(order.getType(), copy.getType());
+        assertSame(order.getName().getNamespaceURI(), orderType.getName().getNamespaceURI());
+        assertSame(order.getName().getNamespaceURI(),
+                modelBuilder.model(new String(NAMESPACE), true, null, null, null, null).getTargetNamespace());
+        // The prefixes of the names of data types are written to the OpenAPI, so they are kept apart
+        assertEquals(orderType.getName(), order.getType());
+        assertNotSame(orderType.getName(), order.getType());
+        assertEquals("tns", order.getType().getPrefix());
+        assertSame(order.getType(), modelBuilder.intern(new QName(NAMESPACE, "Order", "tns")));
+    }
+
+    @Test
+    void testChildrenAreImmutable() {
+
+        XSModelBuilder modelBuilder = new XSModelBuilder();
+        List<XSElement> elements = new ArrayList<>();
+        elements.add(modelBuilder.element(new QName("id"), new QName("string"), null, null, false, false));
+        elements.add(modelBuilder.element(new QName("item"), new QName("string"), null, null, true, true));
+        XSSequence sequence = modelBuilder.sequence(elements);
+        elements.clear();
+
+        assertEquals(2, sequence.getElementList().size());
+        assertSame(sequence.getElementList().get(0).getType(), sequence.getElementList().get(1).getType());
+        assertThrows(UnsupportedOperationException.class, () -> sequence.getElementList().add(null));
+        assertTrue(sequence.getSequenceList().isEmpty());
+
+        XSModel xsModel = modelBuilder.model(NAMESPACE, false, null, Collections.emptyList(),
+                Collections.singletonList(modelBuilder.group(new QName(NAMESPACE, "items"), sequence)),
+                Arrays.asList(modelBuilder.simpleType(new QName(NAMESPACE, "code"), null)));
+        assertSame(xsModel.getElements(), xsModel.getAttributes());
+        assertEquals(Collections.singletonList(sequence), xsModel.getGroups().get(0).getSequenceList());
+        XSElement simpleContent = xsModel.getXsDataTypes().get(0).getSequence().getElementList().get(0);
+        assertSame(sequence.getElementList().get(0).getType(), simpleContent.getType());
+        assertThrows(UnsupportedOperationException.class, () -> xsModel.getXsDataTypes().remove(0));
+    }
+
+    @Test
+    void testNestedParticles() {
+
+        XSModelBuilder modelBuilder = new XSModelBuilder();
+        XSElement id = modelBuilder.element(new QName("id"), new QName("string"), null, null, false, false);
+        XSElement code = modelBuilder.element(new QName("code"), new QName("string"), null, null, false, false);
+        XSSequence inner = modelBuilder.sequence(Collections.singletonList(id));
+        XSChoice choice = modelBuilder.choice(null, Collections.singletonList(inner), null,
+                Collections.singletonList(modelBuilder.groupReference(new QName(NAMESPACE, "items"))));
+        XSSequence outer = modelBuilder.sequence(Collections.singletonList(code), Collections.singletonList(inner),
+                Collections.singletonList(choice));
+        XSGroup group = modelBuilder.group(new QName(NAMESPACE, "items"), Collections.singletonList(outer),
+                Collections.singletonList(choice));
+
+        assertEquals(Collections.singletonList(inner), outer.getSequenceList());
+        assertEquals(Collections.singletonList(choice), outer.getChoiceList());
+        assertEquals(Collections.singletonList(inner), choice.getSequenceList());
+        assertTrue(choice.getChoiceList().isEmpty());
+        assertEquals(new QName(NAMESPACE, "items"), choice.getGroupsList().get(0).getRefKey());
+        assertEquals(Collections.singletonList(outer), group.getSequenceList());
+        assertEquals(Collections.singletonList(choice), group.getChoiceList());
+        assertThrows(UnsupportedOperationException.class, () -> outer.getChoiceList().add(choice));
+    }
+}
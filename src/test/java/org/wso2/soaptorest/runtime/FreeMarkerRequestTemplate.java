@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.runtime;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import freemarker.core.XMLOutputFormat;
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import freemarker.template.TemplateException;
+import freemarker.template.TemplateExceptionHandler;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.wso2.soaptorest.models.SOAPRequestElement;
+import org.wso2.soaptorest.utils.SOAPToRESTConstants;
+
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Turns a {@link SOAPRequestElement} into a FreeMarker template and renders JSON requests with it, the way a gateway
+ * does without a {@link SOAPRequestTransformer}. Used as the reference the transformer is compared with.
+ */
+public class FreeMarkerRequestTemplate {
+
+    private static final String LIST_PLACEHOLDER = "listPlaceholder";
+    private static final Configuration CONFIGURATION = createConfiguration();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    private final Template template;
+
+    public FreeMarkerRequestTemplate(SOAPRequestElement soapRequestElement) throws IOException, TransformerException {
+
+        template = new Template("request", toFreeMarkerTemplate(soapRequestElement), CONFIGURATION);
+    }
+
+    /**
+     * Parses the JSON request and renders the SOAP envelope in UTF-8.
+     *
+     * @param jsonPayload  JSON request body, or null if the request has none
+     * @param uriVariables values of the URI variables
+     * @param outputStream stream the SOAP envelope is written to
+     */
+    public void process(InputStream jsonPayload, Map<String, String> uriVariables, OutputStream outputStream)
+            throws IOException, TemplateException {
+
+        Map<String, Object> dataModel = new HashMap<>();
+        if (jsonPayload != null) {
+            dataModel.put("payload", OBJECT_MAPPER.readValue(jsonPayload, Object.class));
+        }
+        dataModel.put("uri", Collections.singletonMap("var", uriVariables));
+        Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        template.process(dataModel, writer);
+        writer.flush();
+    }
+
+    /**
+     * Builds the FreeMarker template of a request body: an {@code ifPlaceholder} becomes an {@code <#if>} and an
+     * element with an {@code ARRAY_PLACEHOLDER} attribute is wrapped with a {@code <#list>}.
+     */
+    static String toFreeMarkerTemplate(SOAPRequestElement soapRequestElement) throws TransformerException {
+
+        Document document = (Document) soapRequestElement.getSoapRequestBody().cloneNode(true);
+        NodeList elements = document.getElementsByTagName("*");
+        List<Element> arrayElements = new ArrayList<>();
+        for (int i = 0; i < elements.getLength(); i++) {
+            Element element = (Element) elements.item(i);
+            if (element.hasAttribute(SOAPToRESTConstants.ARRAY_PLACEHOLDER)) {
+                arrayElements.add(element);
+            }
+        }
+        for (Element element : arrayElements) {
+            String name = element.getNodeName().substring(element.getNodeName().indexOf(':') + 1);
+            Element list = document.createElement(LIST_PLACEHOLDER);
+            list.setAttribute(SOAPToRESTConstants.ATTRIBUTE_PLACEHOLDER,
+                    element.getAttribute(SOAPToRESTConstants.ARRAY_PLACEHOLDER) + " as " + escape(name));
+            element.removeAttribute(SOAPToRESTConstants.ARRAY_PLACEHOLDER);
+            element.getParentNode().replaceChild(list, element);
+            list.appendChild(element);
+        }
+
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+        StringWriter writer = new StringWriter();
+        transformer.transform(new DOMSource(document), new StreamResult(writer));
+        String body = writer.toString()
+                .replaceAll("<(ifPlaceholder|" + LIST_PLACEHOLDER + ") attributePlaceholder=\"([^\"]*)\"/>", "")
+                .replaceAll("<ifPlaceholder attributePlaceholder=\"([^\"]*)\">", "<#if $1>")
+                .replace("</ifPlaceholder>", "</#if>")
+                .replaceAll("<" + LIST_PLACEHOLDER + " attributePlaceholder=\"([^\"]*)\">", "<#list $1>")
+                .replace("</" + LIST_PLACEHOLDER + ">", "</#list>")
+                .replace(SOAPToRESTConstants.QUESTION_MARK_PLACEHOLDER, "?");
+        return "<soapenv:Envelope xmlns:soapenv=\"" + soapRequestElement.getSoapNamespace() + "\"><soapenv:Header/>"
+                + "<soapenv:Body>" + body + "</soapenv:Body></soapenv:Envelope>";
+    }
+
+    private static String escape(String name) {
+
+        return name.replace("-", "\\-").replace(".", "\\.").replace(":", "\\:");
+    }
+
+    private static Configuration createConfiguration() {
+
+        Configuration configuration = new Configuration(Configuration.VERSION_2_3_31);
+        configuration.setOutputFormat(XMLOutputFormat.INSTANCE);
+        configuration.setLocale(Locale.ROOT);
+        configuration.setNumberFormat("computer");
+        configuration.setBooleanFormat("c");
+        configuration.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
+        configuration.setLogTemplateExceptions(false);
+        return configuration;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.runtime;
+
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.wso2.soaptorest.SOAPToRESTConverter;
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+import org.wso2.soaptorest.models.SOAPRequestElement;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+import org.wso2.soaptorest.utils.SOAPToRESTConstants;
+import org.wso2.soaptorest.utils.SyntheticWSDLGenerator;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the SOAP requests written by {@link SOAPRequestTransformer} with the ones rendered by the FreeMarker
+ * template of the same request body.
+ */
+class SOAPRequestTransformerTest {
+
+    private static final String NAMESPACE = "http://example.com/";
+    private static final int RANDOM_REQUESTS = 8;
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testTransformationMatchesFreeMarker() throws Exception {
+
+        int renderedCount = 0;
+        for (String wsdlPath : getWSDLPaths()) {
+            SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath,
+                    "Test API", "1.0.0");
+            Map<String, List<String>> jsonPaths = SampleRequestGenerator.getRequestJSONPaths(
+                    conversionData.getOpenAPI());
+            Map<String, SOAPRequestTransformer> transformers = SOAPRequestTransformer.compile(conversionData);
+            Map<String, SOAPRequestElement> requestBodies = new HashMap<>();
+            for (Map.Entry<String, SOAPRequestElement> entry : conversionData.getAllSOAPRequestBodies()) {
+                requestBodies.put(entry.getKey(), entry.getValue());
+            }
+
+            for (PathItem pathItem : conversionData.getOpenAPI().getPaths().values()) {
+                for (Operation operation : pathItem.readOperations()) {
+                    String operationId = operation.getOperationId();
+                    FreeMarkerRequestTemplate template = new FreeMarkerRequestTemplate(
+                            requestBodies.get(operationId));
+                    Map<String, String> uriVariables = SampleRequestGenerator.generateURIVariables(operation);
+                    for (int i = 0; i <= RANDOM_REQUESTS; i++) {
+                        // The first request has every value, the others leave out some of them, which fails both
+                        // transformations if a value that is not optional is left out
+                        SampleRequestGenerator generator = i == 0 ? new SampleRequestGenerator(null, 0) :
+                                new SampleRequestGenerator(new Random(i * 31L + operationId.hashCode()), 0.1);
+                        byte[] payload = jsonPaths.containsKey(operationId) ?
+                                generator.generate(jsonPaths.get(operationId)) : null;
+                        String message = wsdlPath + " " + operationId + " " + (payload == null ? "" :
+                                new String(payload, StandardCharsets.UTF_8));
+
+                        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                        try {
+                            template.process(toInputStream(payload), uriVariables, outputStream);
+                        } catch (Exception e) {
+                            assertTrue(i > 0, message + " cannot be rendered: " + e.getMessage());
+                            assertThrows(SOAPToRESTException.class, () -> transform(transformers.get(operationId),
+                                    payload, uriVariables), message);
+                            continue;
+                        }
+                        assertSameXML(outputStream.toString(StandardCharsets.UTF_8.name()),
+                                transform(transformers.get(operationId), payload, uriVariables), message);
+                        if (i > 0) {
+                            renderedCount++;
+                        }
+                    }
+                }
+            }
+        }
+        assertTrue(renderedCount > 0, "None of the requests with left out values could be rendered");
+    }
+
+    @Test
+    void testTransformation() throws Exception {
+
+        SOAPRequestElement requestElement = createRequestElement();
+        SOAPRequestTransformer transformer = SOAPRequestTransformer.compile(requestElement);
+        Map<String, String> uriVariables = Collections.singletonMap("query", "a&b");
+        String payload = "{\"order\": {\"ignored\": {\"deep\": [1, {\"item\": null}]}, \"id\": \"A<1\", " +
+                "\"item\": [{\"name\": \"first\", \"note\": \"n\"}, {\"name\": \"second\", \"note\": \"\"}, " +
+                "{\"name\": 3.50, \"note\": null}]}}";
+
+        String expected = "<soapenv:Envelope xmlns:soapenv=\"" + SOAPToRESTConstants.SOAP11_NAMESPACE + "\">" +
+                "<soapenv:Header/><soapenv:Body><web:order xmlns:web=\"" + NAMESPACE + "\" id=\"A&lt;1\">" +
+                "<item><name>first</name><note>n</note></item><item><name>second</name></item>" +
+                "<item><name>3.50</name></item><web:query>a&amp;b</web:query></web:order></soapenv:Body>" +
+                "</soapenv:Envelope>";
+        assertSameXML(expected, transform(transformer, payload.getBytes(StandardCharsets.UTF_8), uriVariables),
+                payload);
+
+        // A missing value outside an if check and a value of the wrong type fail the transformation
+        String missingName = "{\"order\": {\"id\": \"1\", \"item\": [{\"note\": \"n\"}]}}";
+        assertThrows(SOAPToRESTException.class, () -> transform(transformer,
+                missingName.getBytes(StandardCharsets.UTF_8), uriVariables));
+        String objectItem = "{\"order\": {\"id\": \"1\", \"item\": {\"name\": \"first\"}}}";
+        assertThrows(SOAPToRESTException.class, () -> transform(transformer,
+                objectItem.getBytes(StandardCharsets.UTF_8), uriVariables));
+        assertThrows(SOAPToRESTException.class, () -> transform(transformer,
+                "{\"order\": ".getBytes(StandardCharsets.UTF_8), uriVariables));
+    }
+
+    /**
+     * Builds a request body with an attribute, an array with an optional member and a URI variable, the way
+     * {@code SOAPRequestBodyGenerator} builds them.
+     */
+    private static SOAPRequestElement createRequestElement() throws Exception {
+
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        Element order = document.createElementNS(NAMESPACE, "web:order");
+        order.setAttribute("id", "${payload.order.id}");
+        document.appendChild(order);
+
+        Element item = document.createElement("item");
+        item.setAttribute(SOAPToRESTConstants.ARRAY_PLACEHOLDER, "payload.order.item");
+        order.appendChild(item);
+        Element name = document.createElement("name");
+        name.setTextContent("${item.name}");
+        item.appendChild(name);
+        Element condition = document.createElement(SOAPToRESTConstants.IF_PLACEHOLDER);
+        condition.setAttribute(SOAPToRESTConstants.ATTRIBUTE_PLACEHOLDER,
+                "item.note" + SOAPToRESTConstants.QUESTION_MARK_PLACEHOLDER + "has_content");
+        item.appendChild(condition);
+        Element note = document.createElement("note");
+        note.setTextContent("${item.note}");
+        condition.appendChild(note);
+
+        Element query = document.createElementNS(NAMESPACE, "web:query");
+        query.setTextContent("${uri.var.query}");
+        order.appendChild(query);
+        return new SOAPRequestElement(document, "order", NAMESPACE, SOAPToRESTConstants.SOAP11_NAMESPACE);
+    }
+
+    private List<String> getWSDLPaths() throws Exception {
+
+        List<String> wsdlPaths = new ArrayList<>();
+        wsdlPaths.add("src/test/resources/calculator/calculator.wsdl");
+        wsdlPaths.add("src/test/resources/complex/nested.wsdl");
+        wsdlPaths.add("src/test/resources/complex/arrays.wsdl");
+        wsdlPaths.add("src/test/resources/complex/groups.wsdl");
+        wsdlPaths.add("src/test/resources/complex/choice.wsdl");
+        for (int i = 0; i < 4; i++) {
+            SyntheticWSDLGenerator generator = new SyntheticWSDLGenerator();
+            generator.setOperationCount(8);
+            generator.setTypeCount(10);
+            generator.setNestingDepth(2 + i % 2);
+            generator.setArrayFanOut(1 + i % 2);
+            generator.setChoiceDensity(i == 2 ? 0.5 : 0);
+            generator.setRpcStyle(i % 2 == 1);
+            wsdlPaths.add(generator.generate(new File(tempDir, "generated" + i)).getPath());
+        }
+        return wsdlPaths;
+    }
+
+    private static String transform(SOAPRequestTransformer transformer, byte[] payload,
+                                    Map<String, String> uriVariables) throws Exception {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        transformer.transform(toInputStream(payload), uriVariables, outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8.name());
+    }
+
+    private static ByteArrayInputStream toInputStream(byte[] payload) {
+
+        return payload == null ? null : new ByteArrayInputStream(payload);
+    }
+
+    private static void assertSameXML(String expected, String actual, String message) throws Exception {
+
+        Document expectedDocument = parse(expected);
+        Document actualDocument = parse(actual);
+        assertTrue(expectedDocument.getDocumentElement().isEqualNode(actualDocument.getDocumentElement()),
+                () -> message + "\nexpected: " + expected + "\nactual:   " + actual);
+        assertEquals(expectedDocument.getDocumentElement().getTextContent(),
+                actualDocument.getDocumentElement().getTextContent(), message);
+    }
+
+    private static Document parse(String xml) throws Exception {
+
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        Document document = factory.newDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+        document.normalizeDocument();
+        return document;
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.runtime;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.BooleanSchema;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.NumberSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.wso2.soaptorest.SOAPToRESTConverter;
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+import org.wso2.soaptorest.utils.SOAPToRESTConstants;
+import org.wso2.soaptorest.utils.SyntheticWSDLGenerator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the JSON responses written by {@link SOAPResponseTransformer}. The round trip test writes the SOAP messages of
+ * typed JSON values with a {@link SampleResponseGenerator}, for the request and the response schema of every
+ * operation, and checks that the transformer writes the same JSON values back.
+ */
+class SOAPResponseTransformerTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String ENVELOPE_START = "<soapenv:Envelope xmlns:soapenv=\"" +
+            SOAPToRESTConstants.SOAP11_NAMESPACE + "\"><soapenv:Header><h:id xmlns:h=\"urn:h\">1</h:id>" +
+            "</soapenv:Header><soapenv:Body>";
+    private static final String ENVELOPE_END = "</soapenv:Body></soapenv:Envelope>";
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testRoundTrip() throws Exception {
+
+        int messageCount = 0;
+        SampleResponseGenerator generator = new SampleResponseGenerator(2);
+        for (String wsdlPath : getWSDLPaths()) {
+            SOAPtoRESTConversionData conversionData = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdlPath,
+                    "Test API", "1.0.0");
+            Map<String, Schema> components = conversionData.getOpenAPI().getComponents().getSchemas();
+            for (PathItem pathItem : conversionData.getOpenAPI().getPaths().values()) {
+                for (Operation operation : pathItem.readOperations()) {
+                    List<Schema<?>> schemas = new ArrayList<>();
+                    schemas.add(operation.getResponses().getDefault().getContent()
+                            .get(SOAPToRESTConstants.DEFAULT_CONTENT_TYPE).getSchema());
+                    if (operation.getRequestBody() != null) {
+                        schemas.add(operation.getRequestBody().getContent()
+                                .get(SOAPToRESTConstants.DEFAULT_CONTENT_TYPE).getSchema());
+                    }
+                    for (Schema<?> schema : schemas) {
+                        JsonNode json = generator.generate(schema, components);
+                        // The parts of an rpc style message are wrapped by an element of the operation
+                        String soapMessage = SampleResponseGenerator.toSOAPMessage(json, wsdlPath.contains("generated1") ||
+                                wsdlPath.contains("generated3") ? operation.getOperationId() : null);
+                        String output = transform(SOAPResponseTransformer.compile(schema, components), soapMessage);
+                        assertEquals(json, OBJECT_MAPPER.readTree(output), wsdlPath + " " +
+                                operation.getOperationId() + "\n" + soapMessage);
+                        messageCount++;
+                    }
+                }
+            }
+        }
+        assertTrue(messageCount > 80, "Only " + messageCount + " messages are transformed");
+    }
+
+    @Test
+    void testTransformation() throws Exception {
+
+        SOAPResponseTransformer transformer = SOAPResponseTransformer.compile(createResponseSchema(),
+                createComponents());
+        String response = ENVELOPE_START + "<m:getOrderResponse xmlns:m=\"urn:m\"><order>" +
+                "<id> +007 </id><unknown><id>1</id></unknown><paid>1</paid><total>INF</total>" +
+                "<item><name>a &amp; b</name><tags>x</tags><tags>y</tags><price currency=\"EUR\">1.50</price></item>" +
+                "<item><name><![CDATA[<c>]]></name><price>2e3</price></item>" +
+                "<note xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xsi:nil=\"true\"/>" +
+                "<ref>r1</ref><code>10</code></order></m:getOrderResponse>" + ENVELOPE_END;
+        String expected = "{\"order\": {\"id\": 7, \"paid\": true, \"total\": \"INF\", \"item\": [" +
+                "{\"name\": \"a & b\", \"tags\": [\"x\", \"y\"], \"price\": {\"ExtensionObject\": 1.50}}, " +
+                "{\"name\": \"<c>\", \"price\": {\"ExtensionObject\": 2E+3}}], \"note\": null, " +
+                "\"ExtensionObject\": {\"ref\": \"r1\"}, \"code\": 10}}";
+        assertEquals(OBJECT_MAPPER.readTree(expected), OBJECT_MAPPER.readTree(transform(transformer, response)));
+
+        // A single item is still an array
+        assertEquals(OBJECT_MAPPER.readTree("{\"order\": {\"item\": [{\"tags\": [\"x\"]}]}}"),
+                OBJECT_MAPPER.readTree(transform(transformer, ENVELOPE_START +
+                        "<order><item><tags>x</tags></item></order>" + ENVELOPE_END)));
+
+        // Repeated elements that cannot be written as one JSON member, a fault and a message that is not SOAP
+        assertThrows(SOAPToRESTException.class, () -> transform(transformer, ENVELOPE_START +
+                "<order><id>1</id><id>2</id></order>" + ENVELOPE_END));
+        assertThrows(SOAPToRESTException.class, () -> transform(transformer, ENVELOPE_START +
+                "<order><item/><id>1</id><item/></order>" + ENVELOPE_END));
+        SOAPToRESTException fault = assertThrows(SOAPToRESTException.class, () -> transform(transformer,
+                ENVELOPE_START + "<soapenv:Fault><faultcode>soapenv:Server</faultcode>" +
+                        "<faultstring>Order not found</faultstring></soapenv:Fault>" + ENVELOPE_END));
+        assertTrue(fault.getMessage().contains("Order not found"), fault.getMessage());
+        assertThrows(SOAPToRESTException.class, () -> transform(transformer, "<order/>"));
+        assertThrows(SOAPToRESTException.class, () -> transform(transformer, ENVELOPE_START + "<order>"));
+    }
+
+    /**
+     * Builds the schemas {@code OASGenerator} builds for an order element with an extension of a base type, an
+     * array of items and an item price with simple content.
+     */
+    private static Schema<?> createResponseSchema() {
+
+        Schema<?> order = new Schema<>();
+        order.set$ref(SOAPToRESTConstants.OAS_DEFINITIONS_ROOT_ELEMENT_PATH + "order");
+        Schema<?> responseSchema = new ObjectSchema();
+        responseSchema.addProperties("order", order);
+        return responseSchema;
+    }
+
+    private static Map<String, Schema> createComponents() {
+
+        Map<String, Schema> components = new HashMap<>();
+        Schema<?> base = new ObjectSchema();
+        base.addProperties("ref", new StringSchema());
+        components.put("BaseType", base);
+
+        Schema<?> price = new ObjectSchema();
+        price.addProperties(SOAPToRESTConstants.EXTENSION_NAME, new NumberSchema());
+        components.put("Price", price);
+
+        Schema<?> item = new ObjectSchema();
+        item.addProperties("name", new StringSchema());
+        item.addProperties("tags", new ArraySchema().items(new StringSchema()));
+        item.addProperties("price", new Schema<>().$ref(SOAPToRESTConstants.OAS_DEFINITIONS_PREFIX + "Price"));
+        components.put("Item", item);
+
+        Schema<?> order = new ObjectSchema();
+        order.addProperties(SOAPToRESTConstants.EXTENSION_NAME,
+                new Schema<>().$ref(SOAPToRESTConstants.OAS_DEFINITIONS_PREFIX + "BaseType"));
+        order.addProperties("id", new IntegerSchema());
+        order.addProperties("paid", new BooleanSchema());
+        order.addProperties("total", new NumberSchema());
+        order.addProperties("item", new ArraySchema().items(
+                new Schema<>().$ref(SOAPToRESTConstants.OAS_DEFINITIONS_PREFIX + "Item")));
+        order.addProperties("note", new StringSchema());
+        order.addProperties("code", new IntegerSchema());
+        components.put("Order", order);
+
+        Schema<?> rootElement = new ObjectSchema();
+        rootElement.set$ref(SOAPToRESTConstants.OAS_DEFINITIONS_PREFIX + "Order");
+        components.put(SOAPToRESTConstants.ROOT_ELEMENT_PREFIX + "order", rootElement);
+        return components;
+    }
+
+    private List<String> getWSDLPaths() throws Exception {
+
+        List<String> wsdlPaths = new ArrayList<>();
+        wsdlPaths.add("src/test/resources/calculator/calculator.wsdl");
+        wsdlPaths.add("src/test/resources/complex/nested.wsdl");
+        wsdlPaths.add("src/test/resources/complex/arrays.wsdl");
+        wsdlPaths.add("src/test/resources/complex/groups.wsdl");
+        wsdlPaths.add("src/test/resources/complex/choice.wsdl");
+        for (int i = 0; i < 4; i++) {
+            SyntheticWSDLGenerator generator = new SyntheticWSDLGenerator();
+            generator.setOperationCount(12);
+            generator.setTypeCount(10);
+            generator.setNestingDepth(2 + i % 2);
+            generator.setArrayFanOut(1 + i % 2);
+            generator.setRpcStyle(i % 2 == 1);
+            wsdlPaths.add(generator.generate(new File(tempDir, "generated" + i)).getPath());
+        }
+        return wsdlPaths;
+    }
+
+    private static String transform(SOAPResponseTransformer transformer, String soapResponse) throws Exception {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        transformer.transform(new ByteArrayInputStream(soapResponse.getBytes(StandardCharsets.UTF_8)), outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8.name());
+    }
+}
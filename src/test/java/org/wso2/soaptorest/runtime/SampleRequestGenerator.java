@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.runtime;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import org.wso2.soaptorest.utils.ListJSONPaths;
+import org.wso2.soaptorest.utils.SOAPToRESTConstants;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates JSON requests for the REST operations of a converted WSDL, from the JSON paths of their request bodies.
+ * Leaves get strings with characters that must be escaped in XML, numbers, booleans or empty strings. A generator
+ * with a {@link Random} also leaves out some of the leaves and gives arrays zero to three items.
+ */
+public class SampleRequestGenerator {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String ARRAY_SUFFIX = "[0]";
+    private static final int DEFAULT_ARRAY_SIZE = 2;
+
+    private final Random random;
+    private final double omittedLeafRatio;
+    private int valueCount;
+
+    /**
+     * @param random           source of the omitted leaves and array sizes, or null to generate complete requests
+     * @param omittedLeafRatio ratio of the leaves that are left out when a random is given
+     */
+    public SampleRequestGenerator(Random random, double omittedLeafRatio) {
+
+        this.random = random;
+        this.omittedLeafRatio = omittedLeafRatio;
+    }
+
+    /**
+     * Lists the JSON paths of the request body of every operation that has one.
+     *
+     * @param openAPI converted OpenAPI
+     * @return the JSON paths mapped by the operation ID
+     */
+    public static Map<String, List<String>> getRequestJSONPaths(OpenAPI openAPI) {
+
+        Map<String, List<String>> jsonPaths = new HashMap<>();
+        for (PathItem pathItem : openAPI.getPaths().values()) {
+            for (Operation operation : pathItem.readOperations()) {
+                if (operation.getRequestBody() != null) {
+                    Schema<?> schema = operation.getRequestBody().getContent()
+                            .get(SOAPToRESTConstants.DEFAULT_CONTENT_TYPE).getSchema();
+                    jsonPaths.put(operation.getOperationId(), ListJSONPaths.getJsonPathsFromSchema(schema,
+                            openAPI.getComponents().getSchemas(), new HashMap<>()));
+                }
+            }
+        }
+        return jsonPaths;
+    }
+
+    /**
+     * Generates a value for every parameter of an operation.
+     *
+     * @param operation operation of the converted OpenAPI
+     * @return the URI variables of a request
+     */
+    public static Map<String, String> generateURIVariables(Operation operation) {
+
+        Map<String, String> uriVariables = new HashMap<>();
+        if (operation.getParameters() != null) {
+            for (Parameter parameter : operation.getParameters()) {
+                uriVariables.put(parameter.getName(), parameter.getName() + " <&> value");
+            }
+        }
+        return uriVariables;
+    }
+
+    /**
+     * Generates a JSON request that has the given JSON paths.
+     *
+     * @param jsonPaths JSON paths of the request body
+     * @return the JSON request
+     */
+    public byte[] generate(List<String> jsonPaths) {
+
+        ObjectNode payload = OBJECT_MAPPER.createObjectNode();
+        for (String jsonPath : jsonPaths) {
+            add(payload, jsonPath.split("\\."), 0);
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(payload);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot write the JSON request", e);
+        }
+    }
+
+    private void add(ObjectNode object, String[] segments, int position) {
+
+        String segment = segments[position];
+        int arrayDepth = 0;
+        while (segment.endsWith(ARRAY_SUFFIX)) {
+            segment = segment.substring(0, segment.length() - ARRAY_SUFFIX.length());
+            arrayDepth++;
+        }
+        boolean isLeaf = position == segments.length - 1;
+        JsonNode existing = object.get(segment);
+        if (arrayDepth > 0) {
+            if (existing == null) {
+                existing = createArray(arrayDepth, isLeaf);
+                object.set(segment, existing);
+            }
+            if (existing instanceof ArrayNode && !isLeaf) {
+                addToItems((ArrayNode) existing, arrayDepth, segments, position + 1);
+            }
+        } else if (isLeaf) {
+            if (existing == null && !isOmitted()) {
+                object.set(segment, createValue());
+            }
+        } else {
+            if (existing == null) {
+                existing = object.putObject(segment);
+            }
+            if (existing instanceof ObjectNode) {
+                add((ObjectNode) existing, segments, position + 1);
+            }
+        }
+    }
+
+    private void addToItems(ArrayNode array, int arrayDepth, String[] segments, int position) {
+
+        for (JsonNode item : array) {
+            if (arrayDepth > 1 && item instanceof ArrayNode) {
+                addToItems((ArrayNode) item, arrayDepth - 1, segments, position);
+            } else if (item instanceof ObjectNode) {
+                add((ObjectNode) item, segments, position);
+            }
+        }
+    }
+
+    private JsonNode createArray(int arrayDepth, boolean isLeaf) {
+
+        ArrayNode array = JsonNodeFactory.instance.arrayNode();
+        int size = random == null ? DEFAULT_ARRAY_SIZE : random.nextInt(4);
+        for (int i = 0; i < size; i++) {
+            if (arrayDepth > 1) {
+                array.add(createArray(arrayDepth - 1, isLeaf));
+            } else if (isLeaf) {
+                array.add(createValue());
+            } else {
+                array.addObject();
+            }
+        }
+        return array;
+    }
+
+    private JsonNode createValue() {
+
+        int value = valueCount++;
+        switch (value % 5) {
+            case 0:
+                return JsonNodeFactory.instance.numberNode(value);
+            case 1:
+                return JsonNodeFactory.instance.numberNode(new BigDecimal(value + ".5"));
+            case 2:
+                return JsonNodeFactory.instance.booleanNode(value % 2 == 0);
+            case 3:
+                return JsonNodeFactory.instance.textNode(random != null && random.nextBoolean() ? "" :
+                        "value " + value);
+            default:
+                return JsonNodeFactory.instance.textNode("<value " + value + " & \"quoted\">");
+        }
+    }
+
+    private boolean isOmitted() {
+
+        return random != null && random.nextDouble() < omittedLeafRatio;
+    }
+}
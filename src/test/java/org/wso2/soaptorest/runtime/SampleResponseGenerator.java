@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.runtime;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.Schema;
+import org.wso2.soaptorest.utils.SOAPToRESTConstants;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Generates typed JSON values for the schemas of a converted WSDL and writes them as the SOAP responses the schemas
+ * describe. Every property has a value and every array has the given number of items, so a
+ * {@link SOAPResponseTransformer} of the schema must write the JSON value back from the SOAP response.
+ */
+public class SampleResponseGenerator {
+
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+    private static final int MAX_RECURSION = 3;
+
+    private final int arraySize;
+    private int valueCount;
+
+    /**
+     * @param arraySize number of items of every array
+     */
+    public SampleResponseGenerator(int arraySize) {
+
+        this.arraySize = arraySize;
+    }
+
+    /**
+     * Creates a JSON value of the type of a schema. A recursive type is expanded a few times and then gets an empty
+     * object.
+     *
+     * @param schema     schema of the JSON value
+     * @param components component schemas of the OpenAPI
+     * @return the JSON value
+     */
+    public JsonNode generate(Schema<?> schema, Map<String, Schema> components) {
+
+        return createValue(schema, components, new HashMap<>());
+    }
+
+    /**
+     * Writes a JSON object as a SOAP 1.1 envelope, with an element for every member and for every item of an array.
+     *
+     * @param json        JSON object of the body
+     * @param wrapperName name of the element that wraps the body, like the one of an rpc style message, or null
+     * @return the SOAP envelope
+     */
+    public static String toSOAPMessage(JsonNode json, String wrapperName) throws XMLStreamException {
+
+        StringWriter message = new StringWriter();
+        XMLStreamWriter writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(message);
+        writer.writeStartElement("soapenv", "Envelope", SOAPToRESTConstants.SOAP11_NAMESPACE);
+        writer.writeNamespace("soapenv", SOAPToRESTConstants.SOAP11_NAMESPACE);
+        writer.writeStartElement("soapenv", "Header", SOAPToRESTConstants.SOAP11_NAMESPACE);
+        writer.writeStartElement("h", "id", "urn:h");
+        writer.writeNamespace("h", "urn:h");
+        writer.writeCharacters("1");
+        writer.writeEndElement();
+        writer.writeEndElement();
+        writer.writeStartElement("soapenv", "Body", SOAPToRESTConstants.SOAP11_NAMESPACE);
+        if (wrapperName != null) {
+            writer.writeStartElement("m", wrapperName, "urn:m");
+            writer.writeNamespace("m", "urn:m");
+        }
+        writeMembers(json, writer);
+        if (wrapperName != null) {
+            writer.writeEndElement();
+        }
+        writer.writeEndElement();
+        writer.writeEndElement();
+        writer.close();
+        return message.toString();
+    }
+
+    private JsonNode createValue(Schema<?> schema, Map<String, Schema> components, Map<String, Integer> recursions) {
+
+        if (schema.get$ref() != null && (schema.getProperties() == null || schema.getProperties().isEmpty())) {
+            String name = schema.get$ref().substring(schema.get$ref().lastIndexOf('/') + 1);
+            Schema<?> component = components.get(name);
+            if (component == null) {
+                component = components.get(SOAPToRESTConstants.ROOT_ELEMENT_PREFIX + name);
+            }
+            int recursion = recursions.containsKey(name) ? recursions.get(name) : 0;
+            if (recursion == MAX_RECURSION) {
+                return JsonNodeFactory.instance.objectNode();
+            }
+            recursions.put(name, recursion + 1);
+            JsonNode value = createValue(component, components, recursions);
+            recursions.put(name, recursion);
+            return value;
+        }
+        if (schema.getProperties() != null && !schema.getProperties().isEmpty()) {
+            ObjectNode object = JsonNodeFactory.instance.objectNode();
+            for (Map.Entry<String, Schema> property : schema.getProperties().entrySet()) {
+                Schema<?> propertySchema = property.getValue();
+                if (propertySchema instanceof ArraySchema) {
+                    ArrayNode array = object.putArray(property.getKey());
+                    for (int i = 0; i < arraySize; i++) {
+                        array.add(createValue(((ArraySchema) propertySchema).getItems(), components, recursions));
+                    }
+                } else {
+                    object.set(property.getKey(), createValue(propertySchema, components, recursions));
+                }
+            }
+            return object;
+        }
+        int value = valueCount++;
+        if ("integer".equals(schema.getType())) {
+            return JsonNodeFactory.instance.numberNode(value);
+        }
+        if ("number".equals(schema.getType())) {
+            return JsonNodeFactory.instance.numberNode(new BigDecimal(value + ".5").doubleValue());
+        }
+        if ("boolean".equals(schema.getType())) {
+            return JsonNodeFactory.instance.booleanNode(value % 2 == 0);
+        }
+        return JsonNodeFactory.instance.textNode("<value " + value + " & \"quoted\">");
+    }
+
+    private static void writeMembers(JsonNode object, XMLStreamWriter writer) throws XMLStreamException {
+
+        Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getValue().isArray()) {
+                for (JsonNode item : field.getValue()) {
+                    writeElement(field.getKey(), item, writer);
+                }
+            } else {
+                writeElement(field.getKey(), field.getValue(), writer);
+            }
+        }
+    }
+
+    private static void writeElement(String name, JsonNode value, XMLStreamWriter writer) throws XMLStreamException {
+
+        writer.writeStartElement(name);
+        if (value.isObject()) {
+            writeMembers(value, writer);
+        } else {
+            writer.writeCharacters(value.asText());
+        }
+        writer.writeEndElement();
+    }
+}
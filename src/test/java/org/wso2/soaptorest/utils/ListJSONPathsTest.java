@@ -17,15 +17,29 @@
  */
 package org.wso2.soaptorest.utils;
 
+import io.swagger.oas.inflector.examples.ExampleBuilder;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.Test;
+import org.wso2.soaptorest.SOAPToRESTConverter;
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
 
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ListJSONPathsTest {
@@ -42,4 +56,95 @@ class ListJSONPathsTest {
         }
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void getJsonPathsFromSchemaMatchesExample() throws SOAPToRESTException {
+
+        for (String wsdl : new String[]{"src/test/resources/calculator/calculator.wsdl",
+                "src/test/resources/complex/nested.wsdl", "src/test/resources/complex/arrays.wsdl",
+                "src/test/resources/complex/groups.wsdl", "src/test/resources/complex/choice.wsdl"}) {
+            OpenAPI openAPI = SOAPToRESTConverter.getSOAPtoRESTConversionData(wsdl, "Test API", "1.0.0")
+                    .getOpenAPI();
+            Map<String, Schema> definitions = openAPI.getComponents().getSchemas();
+            for (PathItem pathItem : openAPI.getPaths().values()) {
+                for (Operation operation : pathItem.readOperations()) {
+                    Schema<?> schema = operation.getRequestBody().getContent()
+                            .get(SOAPToRESTConstants.DEFAULT_CONTENT_TYPE).getSchema();
+                    Map<String, String> exampleMapping = new HashMap<>();
+                    Map<String, String> schemaMapping = new HashMap<>();
+                    ArrayList<String> examplePaths = ListJSONPaths.getJsonPathsFromExample(
+                            ExampleBuilder.fromSchema(schema, definitions), exampleMapping);
+                    ArrayList<String> schemaPaths = ListJSONPaths.getJsonPathsFromSchema(schema, definitions,
+                            schemaMapping);
+                    assertEquals(examplePaths, schemaPaths, wsdl + " " + operation.getOperationId());
+                    assertEquals(exampleMapping, schemaMapping, wsdl + " " + operation.getOperationId());
+                }
+            }
+        }
+    }
+
+    @Test
+    void getJsonPathsFromRecursiveSchema() {
+
+        Schema<?> node = new ObjectSchema();
+        node.setName("node");
+        node.addProperties("name", new StringSchema());
+        node.addProperties("child", new Schema<>().$ref("#/components/schemas/node"));
+        ArraySchema children = new ArraySchema();
+        children.setItems(new Schema<>().$ref("#/components/schemas/leaf"));
+        node.addProperties("children", children);
+        Schema<?> leaf = new ObjectSchema();
+        leaf.setName("leaf");
+        leaf.addProperties("value", new StringSchema());
+        leaf.addProperties("parent", new Schema<>().$ref("#/components/schemas/node"));
+        Map<String, Schema> definitions = new HashMap<>();
+        definitions.put("node", node);
+        definitions.put("leaf", leaf);
+        Schema<?> request = new ObjectSchema();
+        request.addProperties("first", new Schema<>().$ref("#/components/schemas/node"));
+        request.addProperties("second", new Schema<>().$ref("#/components/schemas/node"));
+
+        Map<String, String> jsonPathSchemaMapping = new HashMap<>();
+        ArrayList<String> jsonPaths = ListJSONPaths.getJsonPathsFromSchema(request, definitions,
+                jsonPathSchemaMapping);
+        assertEquals(Arrays.asList("first.name", "first.child", "first.children[0].value",
+                "first.children[0].parent", "second.name", "second.child", "second.children[0].value",
+                "second.children[0].parent"), jsonPaths);
+        assertEquals("node", jsonPathSchemaMapping.get("second"));
+        // The recursive reference ends the path without a schema
+        assertFalse(jsonPathSchemaMapping.containsKey("first.child"));
+    }
+
+    @Test
+    void getJsonPathsWithCutoffs() {
+
+        // Every level has two properties of the level below, so the payload has twice the paths of the level below
+        Map<String, Schema> definitions = new HashMap<>();
+        Schema<?> level = new ObjectSchema();
+        level.addProperties("a", new StringSchema());
+        level.addProperties("b", new StringSchema());
+        definitions.put("level0", level);
+        for (int i = 1; i <= 10; i++) {
+            level = new ObjectSchema();
+            level.addProperties("left", new Schema<>().$ref("#/components/schemas/level" + (i - 1)));
+            level.addProperties("right", new Schema<>().$ref("#/components/schemas/level" + (i - 1)));
+            definitions.put("level" + i, level);
+        }
+        Schema<?> request = new Schema<>().$ref("#/components/schemas/level10");
+
+        assertEquals(2048, ListJSONPaths.getJsonPathsFromSchema(request, definitions, new HashMap<>()).size());
+
+        ArrayList<String> jsonPaths = ListJSONPaths.getJsonPathsFromSchema(request, definitions, new HashMap<>(), 3,
+                ListJSONPaths.DEFAULT_MAX_PATHS);
+        // The reference of the request is the first of the three nested references that are walked
+        assertEquals(Arrays.asList("left.left.left", "left.left.right", "left.right.left", "left.right.right",
+                "right.left.left", "right.left.right", "right.right.left", "right.right.right"), jsonPaths);
+
+        // The 1024 paths of the left element reach the limit, so the right element ends at its reference
+        jsonPaths = ListJSONPaths.getJsonPathsFromSchema(request, definitions, new HashMap<>(),
+                ListJSONPaths.DEFAULT_MAX_DEPTH, 1024);
+        assertEquals(1025, jsonPaths.size());
+        assertEquals("left.left.left.left.left.left.left.left.left.left.a", jsonPaths.get(0));
+        assertEquals("right", jsonPaths.get(jsonPaths.size() - 1));
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Writes synthetic WSDL and XSD files of a configurable size and shape so that the conversion can be exercised with
+ * service descriptions that are much larger than the hand written test resources.
+ * <p>
+ * The complex types {@code Type0 .. TypeN} are linked in chains, where every type except the last one of a chain has
+ * a child element of the next type, so {@code nestingDepth} is the depth of the generated payloads. Operation
+ * {@code i} uses {@code Type(i % typeCount)} for its request and the following type for its response. The types are
+ * spread over {@code importChainLength} schema files, each with its own namespace, where every schema imports the
+ * next one and only the first schema is imported by the WSDL.
+ */
+public class SyntheticWSDLGenerator {
+
+    public static final String TARGET_NAMESPACE = "http://example.com/generated";
+    public static final String SERVICE_NAME = "GeneratedService";
+    public static final String PORT_NAME = "GeneratedPort";
+    private static final String WSDL_FILE_NAME = "generated.wsdl";
+    private static final String XSD_FILE_PREFIX = "generated";
+    private static final String XSD_FILE_EXTENSION = ".xsd";
+    private static final int SIMPLE_FIELDS_PER_TYPE = 4;
+
+    private int operationCount = 10;
+    private int typeCount = 10;
+    private int nestingDepth = 3;
+    private int arrayFanOut = 0;
+    private double choiceDensity = 0;
+    private double groupDensity = 0;
+    private int importChainLength = 1;
+    private boolean rpcStyle = false;
+
+    public int getOperationCount() {
+
+        return operationCount;
+    }
+
+    public void setOperationCount(int operationCount) {
+
+        this.operationCount = operationCount;
+    }
+
+    public int getTypeCount() {
+
+        return typeCount;
+    }
+
+    public void setTypeCount(int typeCount) {
+
+        this.typeCount = typeCount;
+    }
+
+    public int getNestingDepth() {
+
+        return nestingDepth;
+    }
+
+    /**
+     * Sets the length of the type chains, which is the nesting depth of the request and response payloads.
+     *
+     * @param nestingDepth number of nested complex types, at least 1
+     */
+    public void setNestingDepth(int nestingDepth) {
+
+        this.nestingDepth = nestingDepth;
+    }
+
+    public int getArrayFanOut() {
+
+        return arrayFanOut;
+    }
+
+    /**
+     * Sets the number of repeated ({@code maxOccurs="unbounded"}) elements added to every complex type.
+     *
+     * @param arrayFanOut number of array elements per type
+     */
+    public void setArrayFanOut(int arrayFanOut) {
+
+        this.arrayFanOut = arrayFanOut;
+    }
+
+    public double getChoiceDensity() {
+
+        return choiceDensity;
+    }
+
+    /**
+     * Sets the fraction of the complex types that use {@code xs:choice} instead of {@code xs:sequence}.
+     *
+     * @param choiceDensity value between 0 and 1
+     */
+    public void setChoiceDensity(double choiceDensity) {
+
+        this.choiceDensity = choiceDensity;
+    }
+
+    public double getGroupDensity() {
+
+        return groupDensity;
+    }
+
+    /**
+     * Sets the fraction of the complex types whose content is defined by a named {@code xs:group}. Group types take
+     * precedence over choice types when a type is selected for both.
+     *
+     * @param groupDensity value between 0 and 1
+     */
+    public void setGroupDensity(double groupDensity) {
+
+        this.groupDensity = groupDensity;
+    }
+
+    public int getImportChainLength() {
+
+        return importChainLength;
+    }
+
+    /**
+     * Sets the number of schema files the types are spread over. Each schema imports the next one.
+     *
+     * @param importChainLength number of schema files, at least 1
+     */
+    public void setImportChainLength(int importChainLength) {
+
+        this.importChainLength = importChainLength;
+    }
+
+    public boolean isRpcStyle() {
+
+        return rpcStyle;
+    }
+
+    /**
+     * Sets whether the SOAP binding and its operations use the {@code rpc} style instead of the {@code document}
+     * style.
+     *
+     * @param rpcStyle true for an rpc style binding
+     */
+    public void setRpcStyle(boolean rpcStyle) {
+
+        this.rpcStyle = rpcStyle;
+    }
+
+    /**
+     * Writes the WSDL and the imported XSD files into the given directory.
+     *
+     * @param directory directory to write the files into, created if it does not exist
+     * @return the generated WSDL file
+     * @throws IOException if the files cannot be written
+     */
+    public File generate(File directory) throws IOException {
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Cannot create directory " + directory);
+        }
+        File wsdlFile = new File(directory, WSDL_FILE_NAME);
+        Files.write(wsdlFile.toPath(), buildWSDL().getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < importChainLength; i++) {
+            Files.write(new File(directory, getXSDFileName(i)).toPath(),
+                    buildXSD(i).getBytes(StandardCharsets.UTF_8));
+        }
+        return wsdlFile;
+    }
+
+    private String buildXSD(int schemaIndex) {
+
+        StringBuilder xsd = new StringBuilder();
+        xsd.append("<?xml version='1.0' encoding='UTF-8'?>\n");
+        xsd.append("<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\"");
+        xsd.append(" xmlns:tns=\"").append(getNamespace(schemaIndex)).append("\"");
+        if (schemaIndex + 1 < importChainLength) {
+            xsd.append(" xmlns:next=\"").append(getNamespace(schemaIndex + 1)).append("\"");
+        }
+        xsd.append(" targetNamespace=\"").append(getNamespace(schemaIndex)).append("\">\n");
+        if (schemaIndex + 1 < importChainLength) {
+            xsd.append("    <xs:import namespace=\"").append(getNamespace(schemaIndex + 1))
+                    .append("\" schemaLocation=\"").append(getXSDFileName(schemaIndex + 1)).append("\"/>\n");
+        }
+        for (int i = 0; i < operationCount; i++) {
+            if (getSchemaIndex(i % typeCount) == schemaIndex) {
+                xsd.append("    <xs:element name=\"operation").append(i).append("Request\" type=\"tns:Type")
+                        .append(i % typeCount).append("\"/>\n");
+            }
+            if (getSchemaIndex((i + 1) % typeCount) == schemaIndex) {
+                xsd.append("    <xs:element name=\"operation").append(i).append("Response\" type=\"tns:Type")
+                        .append((i + 1) % typeCount).append("\"/>\n");
+            }
+        }
+        for (int i = 0; i < typeCount; i++) {
+            if (getSchemaIndex(i) == schemaIndex) {
+                appendComplexType(xsd, i, schemaIndex);
+            }
+        }
+        xsd.append("</xs:schema>\n");
+        return xsd.toString();
+    }
+
+    private void appendComplexType(StringBuilder xsd, int typeIndex, int schemaIndex) {
+
+        boolean isGroupType = isSelected(typeIndex, groupDensity);
+        boolean isChoiceType = !isGroupType && isSelected(typeIndex, choiceDensity);
+        String compositor = isChoiceType ? "choice" : "sequence";
+        StringBuilder content = new StringBuilder();
+        String indent = "            ";
+        for (int j = 0; j < SIMPLE_FIELDS_PER_TYPE; j++) {
+            content.append(indent).append("<xs:element name=\"field").append(j).append("\" type=\"xs:")
+                    .append(j % 2 == 0 ? "string" : "int").append("\"/>\n");
+        }
+        for (int j = 0; j < arrayFanOut; j++) {
+            content.append(indent).append("<xs:element name=\"list").append(j)
+                    .append("\" type=\"xs:string\" maxOccurs=\"unbounded\"/>\n");
+        }
+        if ((typeIndex + 1) % nestingDepth != 0 && typeIndex + 1 < typeCount) {
+            String prefix = getSchemaIndex(typeIndex + 1) == schemaIndex ? "tns" : "next";
+            content.append(indent).append("<xs:element name=\"child").append(typeIndex + 1).append("\" type=\"")
+                    .append(prefix).append(":Type").append(typeIndex + 1).append("\"/>\n");
+        }
+
+        if (isGroupType) {
+            xsd.append("    <xs:group name=\"Group").append(typeIndex).append("\">\n");
+            xsd.append("        <xs:sequence>\n");
+            xsd.append(content);
+            xsd.append("        </xs:sequence>\n");
+            xsd.append("    </xs:group>\n");
+            xsd.append("    <xs:complexType name=\"Type").append(typeIndex).append("\">\n");
+            xsd.append("        <xs:group ref=\"tns:Group").append(typeIndex).append("\"/>\n");
+            xsd.append("    </xs:complexType>\n");
+        } else {
+            xsd.append("    <xs:complexType name=\"Type").append(typeIndex).append("\">\n");
+            xsd.append("        <xs:").append(compositor).append(">\n");
+            xsd.append(content);
+            xsd.append("        </xs:").append(compositor).append(">\n");
+            xsd.append("    </xs:complexType>\n");
+        }
+    }
+
+    private String buildWSDL() {
+
+        StringBuilder wsdl = new StringBuilder();
+        wsdl.append("<?xml version='1.0' encoding='UTF-8'?>\n");
+        wsdl.append("<definitions xmlns:soap=\"http://schemas.xmlsoap.org/wsdl/soap/\" xmlns:tns=\"")
+                .append(TARGET_NAMESPACE).append("\"\n");
+        for (int i = 0; i < importChainLength; i++) {
+            wsdl.append("        xmlns:s").append(i).append("=\"").append(getNamespace(i)).append("\"\n");
+        }
+        wsdl.append("        xmlns:xsd=\"http://www.w3.org/2001/XMLSchema\" ")
+                .append("xmlns=\"http://schemas.xmlsoap.org/wsdl/\"\n");
+        wsdl.append("        targetNamespace=\"").append(TARGET_NAMESPACE).append("\" name=\"")
+                .append(SERVICE_NAME).append("\">\n");
+        wsdl.append("    <types>\n");
+        wsdl.append("        <xsd:schema>\n");
+        wsdl.append("            <xsd:import namespace=\"").append(getNamespace(0)).append("\" schemaLocation=\"")
+                .append(getXSDFileName(0)).append("\"/>\n");
+        wsdl.append("        </xsd:schema>\n");
+        wsdl.append("    </types>\n");
+        for (int i = 0; i < operationCount; i++) {
+            wsdl.append("    <message name=\"operation").append(i).append("Input\">\n");
+            wsdl.append("        <part name=\"parameters\" element=\"s").append(getSchemaIndex(i % typeCount))
+                    .append(":operation").append(i).append("Request\"/>\n");
+            wsdl.append("    </message>\n");
+            wsdl.append("    <message name=\"operation").append(i).append("Output\">\n");
+            wsdl.append("        <part name=\"parameters\" element=\"s").append(getSchemaIndex((i + 1) % typeCount))
+                    .append(":operation").append(i).append("Response\"/>\n");
+            wsdl.append("    </message>\n");
+        }
+        wsdl.append("    <portType name=\"GeneratedPortType\">\n");
+        for (int i = 0; i < operationCount; i++) {
+            wsdl.append("        <operation name=\"operation").append(i).append("\">\n");
+            wsdl.append("            <input message=\"tns:operation").append(i).append("Input\"/>\n");
+            wsdl.append("            <output message=\"tns:operation").append(i).append("Output\"/>\n");
+            wsdl.append("        </operation>\n");
+        }
+        wsdl.append("    </portType>\n");
+        wsdl.append("    <binding name=\"GeneratedBinding\" type=\"tns:GeneratedPortType\">\n");
+        wsdl.append("        <soap:binding transport=\"http://schemas.xmlsoap.org/soap/http\" style=\"")
+                .append(rpcStyle ? "rpc" : "document").append("\"/>\n");
+        for (int i = 0; i < operationCount; i++) {
+            wsdl.append("        <operation name=\"operation").append(i).append("\">\n");
+            wsdl.append("            <soap:operation soapAction=\"urn:operation").append(i).append("\"");
+            if (rpcStyle) {
+                wsdl.append(" style=\"rpc\"");
+            }
+            wsdl.append("/>\n");
+            wsdl.append("            <input>\n");
+            wsdl.append("                <soap:body use=\"literal\"/>\n");
+            wsdl.append("            </input>\n");
+            wsdl.append("            <output>\n");
+            wsdl.append("                <soap:body use=\"literal\"/>\n");
+            wsdl.append("            </output>\n");
+            wsdl.append("        </operation>\n");
+        }
+        wsdl.append("    </binding>\n");
+        wsdl.append("    <service name=\"").append(SERVICE_NAME).append("\">\n");
+        wsdl.append("        <port name=\"").append(PORT_NAME).append("\" binding=\"tns:GeneratedBinding\">\n");
+        wsdl.append("            <soap:address location=\"http://localhost:8080/generated\"/>\n");
+        wsdl.append("        </port>\n");
+        wsdl.append("    </service>\n");
+        wsdl.append("</definitions>\n");
+        return wsdl.toString();
+    }
+
+    /**
+     * Spreads the selected types evenly over the type indexes, so that a density of 0.25 selects every fourth type.
+     */
+    private static boolean isSelected(int typeIndex, double density) {
+
+        return Math.floor((typeIndex + 1) * density) > Math.floor(typeIndex * density);
+    }
+
+    private int getSchemaIndex(int typeIndex) {
+
+        return (int) ((long) typeIndex * importChainLength / typeCount);
+    }
+
+    private String getNamespace(int schemaIndex) {
+
+        return importChainLength == 1 ? TARGET_NAMESPACE : TARGET_NAMESPACE + "/" + schemaIndex;
+    }
+
+    private String getXSDFileName(int schemaIndex) {
+
+        return importChainLength == 1 ? XSD_FILE_PREFIX + XSD_FILE_EXTENSION :
+                XSD_FILE_PREFIX + schemaIndex + XSD_FILE_EXTENSION;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+import org.wso2.soaptorest.exceptions.SOAPToRESTException;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WSDLProcessingUtilTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testPooledDocumentBuildersKeepTheHardening() throws Exception {
+
+        File secretFile = new File(tempDir, "secret.txt");
+        Files.write(secretFile.toPath(), "secret".getBytes(StandardCharsets.UTF_8));
+        byte[] content = ("<!DOCTYPE definitions [<!ENTITY secret SYSTEM \"" + secretFile.toURI() + "\">]>" +
+                "<definitions>&secret;</definitions>").getBytes(StandardCharsets.UTF_8);
+        // Every parse after the first one reuses a builder of the pool
+        for (int i = 0; i < 3; i++) {
+            Document document = WSDLProcessingUtil.getSecuredParsedDocumentFromBytes(content, null);
+            assertFalse(document.getDocumentElement().getTextContent().contains("secret"));
+        }
+        assertThrows(SOAPToRESTException.class, () -> WSDLProcessingUtil.getSecuredParsedDocumentFromBytes(
+                "<definitions>".getBytes(StandardCharsets.UTF_8), null));
+        // A builder that failed is reset before it is reused
+        assertEquals("definitions", WSDLProcessingUtil.getSecuredParsedDocumentFromBytes(content, null)
+                .getDocumentElement().getLocalName());
+    }
+
+    @Test
+    void testConcurrentParses() throws Exception {
+
+        byte[] content = Files.readAllBytes(new File("src/test/resources/calculator/calculator.wsdl").toPath());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Document>> parses = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                parses.add(executor.submit(() -> WSDLProcessingUtil.getSecuredParsedDocumentFromBytes(content,
+                        null)));
+            }
+            for (Future<Document> parse : parses) {
+                assertEquals("definitions", parse.get().getDocumentElement().getLocalName());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2026, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.soaptorest.utils;
+
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.wso2.soaptorest.ConversionOptions;
+import org.wso2.soaptorest.SOAPToRESTConverter;
+import org.wso2.soaptorest.models.SOAPtoRESTConversionData;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XMLCatalogTest {
+
+    private static final String CATALOG_HEADER = "<?xml version=\"1.0\"?><!DOCTYPE catalog PUBLIC " +
+            "\"-//OASIS//DTD XML Catalogs V1.1//EN\" " +
+            "\"http://www.oasis-open.org/committees/entity/release/1.1/catalog.dtd\">" +
+            "<catalog xmlns=\"urn:oasis:names:tc:entity:xmlns:xml:catalog\">";
+    private static final String REMOTE_TYPES = "http://schemas.example.invalid/orders/types/";
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    void testRemoteImportsReadFromArchive() throws Exception {
+
+        String expectedYaml = toYaml(SOAPToRESTConverter.getSOAPtoRESTConversionData(
+                "src/test/resources/imports/orders.wsdl", "Test API", "1.0.0"));
+        String wsdl = new String(Files.readAllBytes(new File("src/test/resources/imports/orders.wsdl").toPath()),
+                StandardCharsets.UTF_8);
+        write("orders.wsdl", wsdl.replace("schemaLocation=\"types/", "schemaLocation=\"" + REMOTE_TYPES));
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(new FileOutputStream(new File(tempDir,
+                "schemas.zip")))) {
+            addEntry(zipOutputStream, "xsd/order.xsd", ZipEntry.DEFLATED);
+            addEntry(zipOutputStream, "xsd/receipt.xsd", ZipEntry.DEFLATED);
+            addEntry(zipOutputStream, "xsd/item.xsd", ZipEntry.STORED);
+        }
+        // The XSD documents import each other by relative locations, which are rewritten as well
+        write("catalog.xml", CATALOG_HEADER + "<rewriteURI uriStartString=\"" + REMOTE_TYPES + "\" " +
+                "rewritePrefix=\"jar:schemas.zip!/xsd/\"/></catalog>");
+        XMLCatalog catalog = XMLCatalog.read(new File(tempDir, "catalog.xml").getPath());
+
+        ImportResolver importResolver = ImportResolver.builder().maxConcurrentFetches(4).fetchTimeoutMillis(1000)
+                .deadlineMillis(30000).catalog(catalog).build();
+        for (boolean streaming : new boolean[]{false, true}) {
+            assertEquals(expectedYaml, toYaml(SOAPToRESTConverter.getSOAPtoRESTConversionData(new File(tempDir,
+                    "orders.wsdl").getPath(), "Test API", "1.0.0",
+                    ConversionOptions.builder().streaming(streaming).importResolver(importResolver).build())));
+        }
+        ResolvedDocuments resolvedDocuments = importResolver.resolve(new File(tempDir, "orders.wsdl").toURI()
+                .toURL());
+        assertEquals(3, resolvedDocuments.getDocumentCount());
+    }
+
+    @Test
+    void testCatalogEntries() throws Exception {
+
+        new File(tempDir, "local").mkdirs();
+        write("catalog.xml", CATALOG_HEADER +
+                "<uri name=\"http://example.com/a.xsd\" uri=\"local/a.xsd\"/>" +
+                "<uri name=\"http://example.com/a.xsd\" uri=\"local/ignored.xsd\"/>" +
+                "<system systemId=\"http://example.com/b.xsd\" uri=\"local/b.xsd\"/>" +
+                "<rewriteURI uriStartString=\"http://example.com/\" rewritePrefix=\"local/all/\"/>" +
+                "<rewriteSystem systemIdStartString=\"http://example.com/deep/\" rewritePrefix=\"local/deep/\"/>" +
+                "<group xml:base=\"local/group/\"><uriSuffix uriSuffix=\"/common.xsd\" uri=\"common.xsd\"/>" +
+                "</group><nextCatalog catalog=\"local/next.xml\"/></catalog>");
+        write("local/next.xml", CATALOG_HEADER + "<uri name=\"http://other.example.com/c.xsd\" " +
+                "uri=\"jar:schemas.jar!/c.xsd\"/><nextCatalog catalog=\"../catalog.xml\"/></catalog>");
+        XMLCatalog catalog = XMLCatalog.read(new File(tempDir, "catalog.xml").getPath());
+
+        String localURL = new File(tempDir, "local").toURI().toString();
+        assertEquals(localURL + "a.xsd", catalog.resolve("http://example.com/a.xsd"));
+        assertEquals(localURL + "b.xsd", catalog.resolve("http://example.com/b.xsd"));
+        assertEquals(localURL + "all/x/y.xsd", catalog.resolve("http://example.com/x/y.xsd"));
+        // The longest prefix is rewritten
+        assertEquals(localURL + "deep/y.xsd", catalog.resolve("http://example.com/deep/y.xsd"));
+        assertEquals(localURL + "group/common.xsd", catalog.resolve("http://other.example.com/v1/common.xsd"));
+        assertEquals("jar:" + localURL + "schemas.jar!/c.xsd", catalog.resolve("http://other.example.com/c.xsd"));
+        assertNull(catalog.resolve("http://other.example.com/d.xsd"));
+    }
+
+    @Test
+    void testModifiedArchiveIsMappedAgain() throws Exception {
+
+        File archiveFile = new File(tempDir, "schemas.jar");
+        writeArchive(archiveFile, "first");
+        URL entryURL = new URL("jar:" + archiveFile.toURI() + "!/dir/entry.xsd");
+        assertEquals("first", new String(MappedArchive.readEntry(entryURL), StandardCharsets.UTF_8));
+        assertSame(MappedArchive.getArchive(archiveFile), MappedArchive.getArchive(archiveFile));
+
+        writeArchive(archiveFile, "second entry");
+        archiveFile.setLastModified(archiveFile.lastModified() + 2000);
+        assertEquals("second entry", new String(MappedArchive.readEntry(entryURL), StandardCharsets.UTF_8));
+        assertArrayEquals(new byte[0], MappedArchive.readEntry(new URL("jar:" + archiveFile.toURI() +
+                "!/empty.xsd")));
+        assertThrows(IOException.class, () -> MappedArchive.readEntry(new URL("jar:" + archiveFile.toURI() +
+                "!/missing.xsd")));
+    }
+
+    @Test
+    void testLeastRecentlyUsedArchiveIsEvicted() throws Exception {
+
+        File firstArchiveFile = new File(tempDir, "first.jar");
+        writeArchive(firstArchiveFile, "first");
+        MappedArchive firstArchive = MappedArchive.getArchive(firstArchiveFile);
+        for (int i = 0; i < MappedArchive.MAX_ARCHIVES; i++) {
+            File archiveFile = new File(tempDir, "archive" + i + ".jar");
+            writeArchive(archiveFile, "archive " + i);
+            MappedArchive.getArchive(archiveFile);
+        }
+        assertNotSame(firstArchive, MappedArchive.getArchive(firstArchiveFile));
+    }
+
+    @Test
+    void testCorruptedArchiveIsNotRead() throws Exception {
+
+        File archiveFile = new File(tempDir, "corrupted.jar");
+        writeArchive(archiveFile, "content");
+        byte[] archive = Files.readAllBytes(archiveFile.toPath());
+        ByteBuffer buffer = ByteBuffer.wrap(archive).order(ByteOrder.LITTLE_ENDIAN);
+        int centralDirectoryOffset = buffer.getInt(archive.length - 22 + 16);
+        int entryHeaderOffset = centralDirectoryOffset + 46 + "dir/".length();
+        int localHeaderOffset = buffer.getInt(entryHeaderOffset + 42);
+        URL entryURL = new URL("jar:" + archiveFile.toURI() + "!/dir/entry.xsd");
+
+        // The file name of the local header runs past the end of the archive
+        ByteBuffer truncated = ByteBuffer.wrap(archive.clone()).order(ByteOrder.LITTLE_ENDIAN);
+        truncated.putShort(localHeaderOffset + 26, (short) 0xffff);
+        Files.write(archiveFile.toPath(), truncated.array());
+        archiveFile.setLastModified(archiveFile.lastModified() + 2000);
+        IOException exception = assertThrows(IOException.class, () -> MappedArchive.readEntry(entryURL));
+        assertTrue(exception.getMessage().contains("truncated"), exception.getMessage());
+
+        // The declared size of the entry is not allocated
+        ByteBuffer oversized = ByteBuffer.wrap(archive.clone()).order(ByteOrder.LITTLE_ENDIAN);
+        oversized.putInt(entryHeaderOffset + 24, Integer.MAX_VALUE);
+        Files.write(archiveFile.toPath(), oversized.array());
+        archiveFile.setLastModified(archiveFile.lastModified() + 2000);
+        exception = assertThrows(IOException.class, () -> MappedArchive.readEntry(entryURL));
+        assertTrue(exception.getMessage().contains("larger than"), exception.getMessage());
+
+        // The central directory runs past the end of the archive
+        ByteBuffer corrupted = ByteBuffer.wrap(archive.clone()).order(ByteOrder.LITTLE_ENDIAN);
+        corrupted.putInt(archive.length - 22 + 16, archive.length - 30);
+        Files.write(archiveFile.toPath(), corrupted.array());
+        archiveFile.setLastModified(archiveFile.lastModified() + 2000);
+        assertThrows(IOException.class, () -> MappedArchive.readEntry(entryURL));
+    }
+
+    private void writeArchive(File archiveFile, String content) throws IOException {
+
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(new FileOutputStream(archiveFile))) {
+            zipOutputStream.putNextEntry(new ZipEntry("dir/"));
+            zipOutputStream.closeEntry();
+            zipOutputStream.putNextEntry(new ZipEntry("dir/entry.xsd"));
+            zipOutputStream.write(content.getBytes(StandardCharsets.UTF_8));
+            zipOutputStream.closeEntry();
+            zipOutputStream.putNextEntry(new ZipEntry("empty.xsd"));
+            zipOutputStream.closeEntry();
+        }
+    }
+
+    private void addEntry(ZipOutputStream zipOutputStream, String name, int method) throws IOException {
+
+        byte[] content = Files.readAllBytes(new File("src/test/resources/imports/types",
+                new File(name).getName()).toPath());
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(method);
+        if (method == ZipEntry.STORED) {
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            entry.setSize(content.length);
+            entry.setCompressedSize(content.length);
+            entry.setCrc(crc.getValue());
+        }
+        zipOutputStream.putNextEntry(entry);
+        zipOutputStream.write(content);
+        zipOutputStream.closeEntry();
+    }
+
+    private void write(String path, String content) throws IOException {
+
+        Files.write(new File(tempDir, path).toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String toYaml(SOAPtoRESTConversionData conversionData) {
+
+        OpenAPI openAPI = conversionData.getOpenAPI();
+        return Yaml.pretty(new TreeMap<>(openAPI.getPaths())) + Yaml.pretty(openAPI.getComponents());
+    }
+}